@@ -21,8 +21,8 @@ package org.darisadesigns.polyglotlina.CustomControls;
 
 import java.util.Enumeration;
 import javax.swing.tree.TreeNode;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 /**
  * This node represents a chapter within the grammar recording section of
@@ -40,6 +40,6 @@ public interface GrammarChapNode {
     public void setName(String _name);
     public int getChildCount();
     public Enumeration<? extends TreeNode> children(String _filter);
-    public void writeXML(Document doc, Element rootElement);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException;
     public GrammarSectionNode getChild(int i);
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.CustomControls;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable collation engine built from a snapshot of a PAlphaMap. Converts
+ * strings into arrays of alphabet ordinals (collation keys) by greedily
+ * matching the longest alphabet entry at each position, so that custom
+ * alphabetical comparisons become simple integer array comparisons.
+ * 
+ * @author Draque Thompson
+ */
+public final class PAlphaCollator {
+    /**
+     * Ordinal recorded when no alphabet entry matches the remainder of a value.
+     * Always the final element of any key in which it appears.
+     */
+    public static final int UNMATCHED = -1;
+    
+    private final TrieNode root;
+    private final int version;
+    
+    PAlphaCollator(Map<String, Integer> alphabet, int _version) {
+        BuildNode buildRoot = new BuildNode();
+        
+        for (Map.Entry<String, Integer> entry : alphabet.entrySet()) {
+            String letter = entry.getKey();
+            
+            if (letter == null || letter.isEmpty()) {
+                continue;
+            }
+            
+            BuildNode curNode = buildRoot;
+            
+            for (char c : letter.toCharArray()) {
+                curNode = curNode.children.computeIfAbsent(c, k -> new BuildNode());
+            }
+            
+            curNode.ordinal = entry.getValue();
+        }
+        
+        root = buildRoot.freeze();
+        version = _version;
+    }
+    
+    /**
+     * @return version of the PAlphaMap this collator was built from
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Builds collation key for a value. Mirrors the legacy recursive comparison:
+     * the longest alphabet entry at the front of the value is consumed, the
+     * remainder is trimmed, and the process repeats. If no entry matches, 
+     * UNMATCHED is appended and the key ends.
+     * 
+     * @param value string to build key for
+     * @return array of alphabet ordinals
+     */
+    public int[] getCollationKey(String value) {
+        int end = value.length();
+        int[] buffer = new int[end + 1];
+        int count = 0;
+        int pos = 0;
+        
+        while (pos < end) {
+            TrieNode curNode = root;
+            int matchOrdinal = UNMATCHED;
+            int matchEnd = pos;
+            
+            for (int i = pos; i < end; i++) {
+                curNode = curNode.getChild(value.charAt(i));
+                
+                if (curNode == null) {
+                    break;
+                }
+                
+                if (curNode.ordinal != UNMATCHED) {
+                    matchOrdinal = curNode.ordinal;
+                    matchEnd = i + 1;
+                }
+            }
+            
+            buffer[count++] = matchOrdinal;
+            
+            if (matchOrdinal == UNMATCHED) {
+                break;
+            }
+            
+            // remainders are trimmed before the next comparison (as String.trim())
+            pos = matchEnd;
+            while (pos < end && value.charAt(pos) <= ' ') {
+                pos++;
+            }
+            while (end > pos && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        
+        return Arrays.copyOf(buffer, count);
+    }
+    
+    /**
+     * Compares two collation keys element by element. Shorter keys sort before
+     * longer keys they are a prefix of.
+     * 
+     * @param me key of the value being compared
+     * @param comp key of the value being compared against
+     * @return -1, 0 or 1 as per Comparable
+     */
+    public static int compareKeys(int[] me, int[] comp) {
+        int ret = Arrays.compare(me, comp);
+        
+        return Integer.signum(ret);
+    }
+    
+    private static final class TrieNode {
+        private final char[] keys;
+        private final TrieNode[] children;
+        private final int ordinal;
+        
+        private TrieNode(char[] _keys, TrieNode[] _children, int _ordinal) {
+            keys = _keys;
+            children = _children;
+            ordinal = _ordinal;
+        }
+        
+        private TrieNode getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            
+            return index < 0 ? null : children[index];
+        }
+    }
+    
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private int ordinal = UNMATCHED;
+        
+        private TrieNode freeze() {
+            char[] keys = new char[children.size()];
+            TrieNode[] frozen = new TrieNode[children.size()];
+            int i = 0;
+            
+            for (Map.Entry<Character, BuildNode> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                frozen[i] = child.getValue().freeze();
+                i++;
+            }
+            
+            return new TrieNode(keys, frozen, ordinal);
+        }
+    }
+}
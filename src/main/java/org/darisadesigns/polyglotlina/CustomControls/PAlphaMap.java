@@ -36,6 +36,8 @@ public class PAlphaMap<K, V> {
     private boolean missingChars = false;
     private int longestEntry = 0;
     private final HashMap<K, V> delegate = new HashMap<>();
+    private int version = 0;
+    private PAlphaCollator collator = null;
     
     /**
      *
@@ -50,6 +52,7 @@ public class PAlphaMap<K, V> {
             longestEntry = keyLen;
         }
         
+        version++;
         return delegate.put(key, orderVal);
     }
     
@@ -70,9 +73,34 @@ public class PAlphaMap<K, V> {
     }
     
     public void clear() {
+        version++;
         delegate.clear();
     }
     
+    /**
+     * Returns collation engine for the current state of the alphabet. Built
+     * once per version of the map, and rebuilt only if entries change.
+     * @return collator matching current alphabet
+     */
+    @SuppressWarnings("unchecked")
+    public PAlphaCollator getCollator() {
+        PAlphaCollator ret = collator;
+        
+        if (ret == null || ret.getVersion() != version) {
+            ret = new PAlphaCollator((Map<String, Integer>)delegate, version);
+            collator = ret;
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * @return number of times the alphabet has been modified
+     */
+    public int getVersion() {
+        return version;
+    }
+    
     public boolean isMissingChars() {
         return missingChars;
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.darisadesigns.polyglotlina.Nodes.Payload;
+
+/**
+ * Media or reversion bytes left in a language archive until they are needed.
+ * The entry's CRC and size are recorded when bound, and reads are refused
+ * unless the archive still holds exactly that content, since the entry may
+ * otherwise hold something else entirely. Changes to the file which leave
+ * the entry intact (a touch, or a sync rewriting it unchanged) do not matter.
+ *
+ * @author draque
+ */
+final class ArchiveEntryPayload implements Payload {
+
+    private final File archive;
+    private final String entryName;
+    private final long crc;
+    private final long size;
+
+    /**
+     * @param _archive archive holding entry
+     * @param _entry entry as read from the archive's central directory
+     */
+    ArchiveEntryPayload(File _archive, ZipEntry _entry) {
+        this(_archive, _entry.getName(), _entry.getCrc(), _entry.getSize());
+    }
+
+    /**
+     * @param _archive archive holding entry
+     * @param _entry entry as written to the archive
+     */
+    ArchiveEntryPayload(File _archive, PArchiveSnapshot.RawEntry _entry) {
+        this(_archive, _entry.name, _entry.crc, _entry.size);
+    }
+
+    private ArchiveEntryPayload(File _archive, String _entryName, long _crc, long _size) {
+        archive = _archive.getAbsoluteFile();
+        entryName = _entryName;
+        crc = _crc;
+        size = _size;
+    }
+
+    File getArchive() {
+        return archive;
+    }
+
+    String getEntryName() {
+        return entryName;
+    }
+
+    long getCrc() {
+        return crc;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] read() throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            ZipEntry entry = zipFile.getEntry(entryName);
+
+            if (entry == null) {
+                throw new IOException("Language file " + archive.getName() + " is missing entry: " + entryName);
+            }
+
+            if (entry.getCrc() != crc || entry.getSize() != size) {
+                throw changedOnDisk();
+            }
+
+            byte[] ret;
+
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                ret = in.readAllBytes();
+            }
+
+            CRC32 readCrc = new CRC32();
+            readCrc.update(ret);
+
+            if (ret.length != size || readCrc.getValue() != crc) {
+                throw changedOnDisk();
+            }
+
+            return ret;
+        }
+    }
+
+    private IOException changedOnDisk() {
+        return new IOException("Language file " + archive.getName()
+                + " has changed on disk since it was opened. Reopen it to access: " + entryName);
+    }
+
+    /**
+     * Includes CRC and size, as the same entry of the same archive may hold
+     * different content over time
+     */
+    @Override
+    public String toString() {
+        return archive.getPath() + "!" + entryName + "[crc=" + Long.toHexString(crc) + ", size=" + size + "]";
+    }
+}
@@ -25,12 +25,13 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarChapNode;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarSectionNode;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopGrammarManager;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This node represents a chapter within the grammar recording section of
@@ -58,6 +59,10 @@ public class DesktopGrammarChapNode extends DefaultMutableTreeNode implements Gr
 
     @Override
     public void setName(String _name) {
+        if (parentManager != null && !name.equals(_name)) {
+            parentManager.markChanged();
+        }
+        
         name = _name;
     }
 
@@ -88,6 +93,8 @@ public class DesktopGrammarChapNode extends DefaultMutableTreeNode implements Gr
         
         if (parentManager != null && node instanceof DesktopGrammarChapNode) {
             parentManager.removeChapter((DesktopGrammarChapNode)node);
+        } else if (parentManager != null) {
+            parentManager.markChanged();
         }
     }
     
@@ -96,6 +103,8 @@ public class DesktopGrammarChapNode extends DefaultMutableTreeNode implements Gr
         
         if (parentManager != null && node instanceof DesktopGrammarChapNode) {
             parentManager.addChapterAtIndex((DesktopGrammarChapNode)node, index);
+        } else if (parentManager != null) {
+            parentManager.markChanged();
         }
     }
 
@@ -150,6 +159,10 @@ public class DesktopGrammarChapNode extends DefaultMutableTreeNode implements Gr
     public void insert() {
         this.add(buffer);
         clear();
+        
+        if (parentManager != null) {
+            parentManager.markChanged();
+        }
     }
 
     /**
@@ -166,22 +179,17 @@ public class DesktopGrammarChapNode extends DefaultMutableTreeNode implements Gr
     }
     
     @Override
-    public void writeXML(Document doc, Element rootElement) {
-        Element chapNode = doc.createElement(PGTUtil.GRAMMAR_CHAPTER_NODE_XID);
-            rootElement.appendChild(chapNode);
-
-            Element chapElement = doc.createElement(PGTUtil.GRAMMAR_CHAPTER_NAME_XID);
-            chapElement.appendChild(doc.createTextNode(this.name));
-            chapNode.appendChild(chapElement);
-            
-            chapElement = doc.createElement(PGTUtil.GRAMMAR_SECTIONS_LIST_XID);
-            
-            for (int i = 0; i < this.getChildCount(); i++) {
-                DesktopGrammarSectionNode curSec = (DesktopGrammarSectionNode)this.getChildAt(i);                
-                curSec.writeXML(doc, chapElement);
-            }
-            
-            chapNode.appendChild(chapElement);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.GRAMMAR_CHAPTER_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.GRAMMAR_CHAPTER_NAME_XID, this.name);
+        
+        writer.writeStartElement(PGTUtil.GRAMMAR_SECTIONS_LIST_XID);
+        for (int i = 0; i < this.getChildCount(); i++) {
+            ((DesktopGrammarSectionNode)this.getChildAt(i)).writeXML(writer);
+        }
+        writer.writeEndElement();
+        
+        writer.writeEndElement();
     }
     
     @Override
@@ -22,14 +22,15 @@ package org.darisadesigns.polyglotlina.Desktop.CustomControls;
 import java.util.Objects;
 import java.util.regex.Pattern;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarSectionNode;
 import org.darisadesigns.polyglotlina.Desktop.DesktopPropertiesManager;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopGrammarManager;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.WebInterface;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This is a chapter section of the PolyGlot grammar guide.
@@ -55,6 +56,10 @@ public class DesktopGrammarSectionNode extends DefaultMutableTreeNode implements
     
     @Override
     public void setName(String _name) {
+        if (!name.equals(_name)) {
+            manager.markChanged();
+        }
+        
         name = _name;
     }
     @Override
@@ -64,6 +69,10 @@ public class DesktopGrammarSectionNode extends DefaultMutableTreeNode implements
     
     @Override
     public void setRecordingId(int _recordingId) {
+        if (recordingId != _recordingId) {
+            manager.markChanged();
+        }
+        
         recordingId = _recordingId;
     }
     
@@ -74,7 +83,13 @@ public class DesktopGrammarSectionNode extends DefaultMutableTreeNode implements
     
     @Override
     public void setSectionText(String _sectionText) {
-         sectionText = packSectionText(_sectionText);
+        String packed = packSectionText(_sectionText);
+        
+        if (!sectionText.equals(packed)) {
+            manager.markChanged();
+        }
+        
+        sectionText = packed;
     }
 
     @Override
@@ -165,29 +180,20 @@ public class DesktopGrammarSectionNode extends DefaultMutableTreeNode implements
 
     @Override
     public void setGptSelected(boolean gptSelected) {
+        if (this.gptSelected != gptSelected) {
+            manager.markChanged();
+        }
+        
         this.gptSelected = gptSelected;
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element secNode = doc.createElement(PGTUtil.GRAMMAR_SECTION_NODE_XID);
-                
-        Element secElement = doc.createElement(PGTUtil.GRAMMAR_SECTION_NAME_XID);
-        secElement.appendChild(doc.createTextNode(this.name));
-        secNode.appendChild(secElement);
-
-        secElement = doc.createElement(PGTUtil.GRAMMAR_SECTION_RECORDING_XID);
-        secElement.appendChild(doc.createTextNode(this.getRecordingId().toString()));
-        secNode.appendChild(secElement);
-
-        secElement = doc.createElement(PGTUtil.GRAMMAR_SECTION_TEXT_XID);
-        secElement.appendChild(doc.createTextNode(unpackSectionText(this.sectionText)));
-        secNode.appendChild(secElement);
-        
-        secElement = doc.createElement(PGTUtil.GRAMMAR_SECTION_IS_GPT_SELECTED);
-        secElement.appendChild(doc.createTextNode(gptSelected ? PGTUtil.TRUE : PGTUtil.FALSE));
-        secNode.appendChild(secElement);
-
-        rootElement.appendChild(secNode);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.GRAMMAR_SECTION_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.GRAMMAR_SECTION_NAME_XID, this.name);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.GRAMMAR_SECTION_RECORDING_XID, this.getRecordingId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.GRAMMAR_SECTION_TEXT_XID, unpackSectionText(this.sectionText));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.GRAMMAR_SECTION_IS_GPT_SELECTED, gptSelected ? PGTUtil.TRUE : PGTUtil.FALSE);
+        writer.writeEndElement();
     }
     
     @Override
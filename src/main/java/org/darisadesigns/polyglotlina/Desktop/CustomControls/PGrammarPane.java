@@ -203,7 +203,7 @@ public class PGrammarPane extends JTextPane {
         try {
             MutableAttributeSet inputAttributes = getInputAttributes();
             inputAttributes.removeAttributes(inputAttributes);
-            StyleConstants.setIcon(inputAttributes, new ImageIcon(image.getImagePath()));
+            StyleConstants.setIcon(inputAttributes, new ImageIcon(DesktopIOHandler.getInstance().getDecodedImage(image.readImageBytes())));
             inputAttributes.addAttribute(PGTUtil.IMAGE_ID_ATTRIBUTE, image.getId());
             imageReplaceSelection(" ");
             inputAttributes.removeAttributes(inputAttributes);
@@ -23,6 +23,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
+import java.awt.Toolkit;
 import java.awt.Window;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.ActionEvent;
@@ -32,6 +33,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Enumeration;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
 import javax.swing.JTextPane;
@@ -51,6 +56,10 @@ import org.darisadesigns.polyglotlina.WebInterface;
  * @author draque
  */
 public final class PTextPane extends JTextPane implements CoreUpdateSubscriptionInterface {
+    // document property consulted by Swing's HTML image views before loading from a URL
+    private static final String IMAGE_CACHE_PROPERTY = "imageCache";
+    
+    private final Dictionary<URL, Image> imageCache = new CoreImageCache();
     private final String defText;
     private DictCore core;
     private boolean disableMedia = false;
@@ -154,10 +163,15 @@ public final class PTextPane extends JTextPane implements CoreUpdateSubscription
         setText(html);
     }
 
+    /**
+     * Sets text, resolving any archived image references for display
+     * @param t html to display
+     */
     @Override
     public void setText(String t) {
         try {
-            super.setText(t);
+            getDocument().putProperty(IMAGE_CACHE_PROPERTY, imageCache);
+            super.setText(t == null ? null : WebInterface.unarchiveHTML(t));
         } catch (Exception e) {
             DesktopIOHandler.getInstance().writeErrorLog(e);
             core.getOSHandler().getInfoBox().error("Set text error", "Could not set text component: " + e.getLocalizedMessage());
@@ -263,8 +277,7 @@ public final class PTextPane extends JTextPane implements CoreUpdateSubscription
 
         super.paste();
         String newText = getRawHTML();
-        String imagePath = image.getImagePath();
-        imagePath = "<img src=\"file:///" + imagePath + "\">";
+        String imagePath = "<img src=\"" + WebInterface.getImageDisplayUrl(image.getId()) + "\">";
         setText(newText.replace(placeHold, imagePath));
         test.restoreClipboard();
     }
@@ -390,9 +403,13 @@ public final class PTextPane extends JTextPane implements CoreUpdateSubscription
         return ret;
     }
 
+    /**
+     * Gets text with image references in archived form
+     * @return html
+     */
     @Override
     public String getText() {
-        return FormattedTextHelper.HTMLLineBreakParse(super.getText());
+        return WebInterface.archiveHTML(FormattedTextHelper.HTMLLineBreakParse(super.getText()), core);
     }
 
     /**
@@ -408,4 +425,61 @@ public final class PTextPane extends JTextPane implements CoreUpdateSubscription
     public void updateFromCore() {
         setFontFromCore();
     }
+    
+    /**
+     * Resolves image display references to images in the core, so images are
+     * shown without being written to disk. Any other URL is loaded normally.
+     */
+    private final class CoreImageCache extends Dictionary<URL, Image> {
+        @Override
+        public Image get(Object key) {
+            if (!(key instanceof URL url)) {
+                return null;
+            }
+            
+            Integer imageId = WebInterface.getImageIdFromDisplayUrl(url.toString());
+            
+            if (imageId == null) {
+                return Toolkit.getDefaultToolkit().createImage(url);
+            }
+            
+            try {
+                ImageNode image = core.getImageCollection().getNodeById(imageId);
+                return DesktopIOHandler.getInstance().getDecodedImage(image.readImageBytes());
+            } catch (Exception e) {
+                DesktopIOHandler.getInstance().writeErrorLog(e, "Unable to display image: " + imageId);
+                return null;
+            }
+        }
+        
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public Enumeration<URL> keys() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public Enumeration<Image> elements() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public Image put(URL key, Image value) {
+            return null;
+        }
+
+        @Override
+        public Image remove(Object key) {
+            return null;
+        }
+    }
 }
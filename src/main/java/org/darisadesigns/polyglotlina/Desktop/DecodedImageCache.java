@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Least recently used cache of decoded images, bounded by the memory their
+ * pixel data occupies. Images are keyed by the identity of the encoded array
+ * they were decoded from, so replacing a node's image bytes never returns a
+ * stale decode.
+ *
+ * Returned images are shared, and must not be drawn on.
+ *
+ * @author draque
+ */
+public final class DecodedImageCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final long maxBytes;
+    private final Map<EncodedKey, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    /**
+     * @param _maxBytes most memory decoded images may occupy. A single image
+     * larger than this is decoded but never cached.
+     */
+    public DecodedImageCache(long _maxBytes) {
+        maxBytes = _maxBytes;
+    }
+
+    /**
+     * Gets decoded image, decoding it only if not already cached
+     *
+     * @param imageBytes encoded image
+     * @return decoded image
+     * @throws IOException if bytes are not a readable image
+     */
+    public BufferedImage getImage(byte[] imageBytes) throws IOException {
+        EncodedKey key = new EncodedKey(imageBytes);
+
+        synchronized (images) {
+            BufferedImage ret = images.get(key);
+
+            if (ret != null) {
+                return ret;
+            }
+        }
+
+        // decoding happens outside the lock; two threads racing on one image both decode it
+        BufferedImage ret = imageBytes == null ? null : ImageIO.read(new ByteArrayInputStream(imageBytes));
+
+        if (ret == null) {
+            throw new IOException("Image unreadable.");
+        }
+
+        long cost = getCost(ret, imageBytes);
+
+        if (cost <= maxBytes) {
+            synchronized (images) {
+                BufferedImage prior = images.put(key, ret);
+
+                if (prior != null) {
+                    totalBytes -= getCost(prior, imageBytes);
+                }
+
+                totalBytes += cost;
+                evict();
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return memory currently occupied by cached images, in bytes
+     */
+    public long getTotalBytes() {
+        synchronized (images) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * @return number of images currently cached
+     */
+    public int size() {
+        synchronized (images) {
+            return images.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (images) {
+            images.clear();
+            totalBytes = 0;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<EncodedKey, BufferedImage>> it = images.entrySet().iterator();
+
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<EncodedKey, BufferedImage> eldest = it.next();
+            totalBytes -= getCost(eldest.getValue(), eldest.getKey().bytes);
+            it.remove();
+        }
+    }
+
+    /**
+     * Memory held on account of an entry: the decoded pixel data plus the
+     * encoded array the key keeps alive
+     */
+    private static long getCost(BufferedImage image, byte[] imageBytes) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long pixelBytes = (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+
+        return pixelBytes + imageBytes.length;
+    }
+
+    private static final class EncodedKey {
+
+        private final byte[] bytes;
+
+        private EncodedKey(byte[] _bytes) {
+            bytes = _bytes;
+        }
+
+        @Override
+        public boolean equals(Object comp) {
+            return comp instanceof EncodedKey key && key.bytes == bytes;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bytes);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.awt.Point;
 import java.awt.Window;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
@@ -37,13 +38,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -51,15 +50,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Enumeration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
@@ -69,31 +74,31 @@ import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import org.apache.commons.lang3.exception.ExceptionUtils;
+import javax.xml.stream.XMLStreamException;
 import org.darisadesigns.polyglotlina.CryptographyHandler;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarChapNode;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarSectionNode;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.DesktopGrammarChapNode;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.DesktopInfoBox;
+import org.darisadesigns.polyglotlina.Desktop.DesktopPFontHandler.LoadedFont;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopGrammarManager;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManager;
+import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManager.SaveVerification;
+import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManager.WebServiceExecutor;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManagerException;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.DomParser.PDomParser;
+import org.darisadesigns.polyglotlina.DomParser.PStaxParser;
 import org.darisadesigns.polyglotlina.IOHandler;
 import org.darisadesigns.polyglotlina.ManagersCollections.GrammarManager;
 import org.darisadesigns.polyglotlina.ManagersCollections.LogoCollection;
+import org.darisadesigns.polyglotlina.ManagersCollections.ReversionDelta;
 import org.darisadesigns.polyglotlina.ManagersCollections.ReversionManager;
 import org.darisadesigns.polyglotlina.Nodes.ImageNode;
 import org.darisadesigns.polyglotlina.Nodes.LogoNode;
+import org.darisadesigns.polyglotlina.Nodes.Payload;
 import org.darisadesigns.polyglotlina.Nodes.ReversionNode;
 import org.darisadesigns.polyglotlina.XMLRecoveryTool;
-import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 /**
@@ -104,6 +109,37 @@ import org.xml.sax.SAXException;
 public final class DesktopIOHandler implements IOHandler {
 
     private static DesktopIOHandler ioHandler;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int MAX_ARCHIVE_SNAPSHOTS = 16;
+    // images, fonts and reversions are read alongside the XML parse
+    private static final int ARCHIVE_LOAD_THREADS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors()));
+    
+    // last known contents of recently read/written archives, used for incremental saves
+    private final Map<String, PArchiveSnapshot> archiveSnapshots = new LinkedHashMap<>(MAX_ARCHIVE_SNAPSHOTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PArchiveSnapshot> eldest) {
+            return size() > MAX_ARCHIVE_SNAPSHOTS;
+        }
+    };
+
+    // decoded forms of recently displayed images
+    private final DecodedImageCache decodedImages = new DecodedImageCache(DecodedImageCache.DEFAULT_MAX_BYTES);
+
+    // errors are written from a background thread, never the caller's
+    private final ErrorLogWriter errorLogWriter = new ErrorLogWriter(this::getErrorLogFile,
+            this::getSystemInformation, PGTUtil.MAX_LOG_CHARACTERS, ErrorLogWriter.DEFAULT_QUEUE_CAPACITY);
+
+    /**
+     * Decodes image, reusing the prior decode of the same array if it is
+     * still cached. The returned image is shared and must not be drawn on.
+     *
+     * @param imageBytes encoded image
+     * @return decoded image
+     * @throws IOException if bytes are not a readable image
+     */
+    public BufferedImage getDecodedImage(byte[] imageBytes) throws IOException {
+        return decodedImages.getImage(imageBytes);
+    }
 
     /**
      * Opens and returns image from URL given (can be file path)
@@ -148,11 +184,11 @@ public final class DesktopIOHandler implements IOHandler {
         File tmpFile = File.createTempFile(fileName, ".png",
             PGTUtil.getTempDirectory().toFile());
         tmpFile.deleteOnExit();
-        ByteArrayInputStream stream = new ByteArrayInputStream(imageBytes);
-        BufferedImage img = ImageIO.read(stream);
-        ImageIO.write(img, "PNG",
-            new FileOutputStream(tmpFile)
-        );
+        
+        try (FileOutputStream out = new FileOutputStream(tmpFile)) {
+            out.write(toPngBytes(imageBytes, fileName));
+        }
+        
         return tmpFile;
     }
 
@@ -364,26 +400,40 @@ public final class DesktopIOHandler implements IOHandler {
     @Override
     public void writeFile(
             String _fileName,
-            Document doc,
             DictCore core,
             File workingDirectory,
             Instant saveTime,
             boolean writeToReversionMgr,
             boolean forceClean
     )
-            throws IOException, TransformerException {
+            throws IOException {
         File finalFile = new File(_fileName);
         String writeLog;
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
         final File tmpSaveLocation = makeTempSaveFile(workingDirectory);
+        final SaveVerification verification = getSaveVerification();
+        final Map<String, Integer> expectedCounts = verification == SaveVerification.STRUCTURAL
+                ? SaveVerifier.countRecords(core) : null;
+        final List<String> expectedMedia = SaveVerifier.listMediaEntries(core);
+        final Map<String, byte[]> writtenSources;
+        final List<PArchiveSnapshot.RawEntry> writtenEntries;
+        final Map<ReversionNode, String> writtenReversions = new LinkedHashMap<>();
         boolean success = false;
 
-        try (StringWriter writer = new StringWriter()) {
-            transformer.transform(new DOMSource(doc), new StreamResult(writer));
+        try {
+            try (PArchiveWriter out = new PArchiveWriter(
+                    new BufferedOutputStream(new FileOutputStream(tmpSaveLocation)),
+                    getArchiveSnapshot(finalFile))) {
+                writeLog = writeRawFileOutput(out, core, saveTime, writtenReversions);
+                writtenSources = out.getWrittenSources();
+                writtenEntries = out.getWrittenEntries();
+            }
 
-            byte[] xmlData = String.valueOf(writer.getBuffer()).getBytes(StandardCharsets.UTF_8);
-            writeLog = writeRawFileOutput(tmpSaveLocation, xmlData, core);
+            // media skipped while writing would be lost once the original is replaced
+            try {
+                SaveVerifier.verifyEntriesWritten(writtenEntries, expectedMedia);
+            } catch (IOException e) {
+                throw new IOException(e.getMessage() + writeLog, e);
+            }
 
             // copy tmp file to final location folder
             var tmpSaveFinalLocation = new File(finalFile.getParent() + File.separator + tmpSaveLocation.getName());
@@ -394,20 +444,14 @@ public final class DesktopIOHandler implements IOHandler {
             // - else if no file exists in final location: Warn user of inconsistency while saving as normal
             // - else: ask user permission to overwrite file, while giving relevant warning - explain that otherwise it will be saved to "<ORIGINAL-NAME>-WARN.pgd"
 
-            // attempt to open file in dummy core. On success, copy file to end
-            // destination, on fail, delete file and inform user by bubbling error
+            // verify written file. On success, copy file to end destination,
+            // on fail, delete file and inform user by bubbling error
             try {
-                DesktopHelpHandler helpHandler = new DesktopHelpHandler();
-                DesktopPFontHandler fontHandler = new DesktopPFontHandler();
-                var osHandler = new DesktopOSHandler(DesktopIOHandler.getInstance(), new DummyInfoBox(), helpHandler, fontHandler);
-                DictCore test = new DictCore(new DesktopPropertiesManager(), osHandler, new PGTUtil(), new DesktopGrammarManager());
-                PolyGlot.getTestShell(test);
-                test.readFile(tmpSaveFinalLocation.getAbsolutePath());
-
-                // TODO: Once #1393 is complete, uncomment this - until then it does more damage than good.
-//                if (!core.equals(test)) {
-//                    throw new Exception("Written file does not match file in memory.");
-//                }
+                if (verification == SaveVerification.FULL) {
+                    verifyByReload(tmpSaveFinalLocation);
+                } else {
+                    SaveVerifier.verify(tmpSaveFinalLocation, writtenEntries, expectedCounts);
+                }
             } catch (Exception ex) {
                 throw new IOException(ex);
             }
@@ -418,10 +462,19 @@ public final class DesktopIOHandler implements IOHandler {
 
             tmpSaveFinalLocation.renameTo(finalFile);
             success = true;
+            rememberArchive(new PArchiveSnapshot(finalFile, writtenSources, true));
             tmpSaveLocation.delete(); // wipe temp file if successful
+            Map<String, PArchiveSnapshot.RawEntry> writtenByName = indexWrittenEntries(writtenEntries);
+            bindReversionsToArchive(finalFile, writtenReversions, writtenByName, writeToReversionMgr);
+            bindMediaToArchive(finalFile, core, writtenByName, writeToReversionMgr);
 
             if (writeToReversionMgr) {
-                core.getReversionManager().addVersion(xmlData, saveTime);
+                // XML is streamed straight into the archive, so the newest version is left there
+                PArchiveSnapshot.RawEntry langEntry = writtenByName.get(PGTUtil.LANG_FILE_NAME);
+                core.getReversionManager().addVersion(
+                        new ArchiveEntryPayload(finalFile, langEntry),
+                        (int) langEntry.size,
+                        saveTime);
             }
         } finally {
             if ((success || forceClean) && tmpSaveLocation.exists()) {
@@ -435,44 +488,85 @@ public final class DesktopIOHandler implements IOHandler {
     }
 
     /**
-     * Creates raw output file (processed for safety/security upstream)
+     * Opens written file in a dummy core, confirming it fully loads
+     */
+    private void verifyByReload(File savedFile) throws Exception {
+        DesktopHelpHandler helpHandler = new DesktopHelpHandler();
+        DesktopPFontHandler fontHandler = new DesktopPFontHandler();
+        var osHandler = new DesktopOSHandler(DesktopIOHandler.getInstance(), new DummyInfoBox(), helpHandler, fontHandler);
+        DictCore test = new DictCore(new DesktopPropertiesManager(), osHandler, new PGTUtil(), new DesktopGrammarManager());
+        PolyGlot.getTestShell(test);
+        test.readFile(savedFile.getAbsolutePath(), null, true, false);
+
+        // TODO: Once #1393 is complete, uncomment this - until then it does more damage than good.
+//        if (!core.equals(test)) {
+//            throw new Exception("Written file does not match file in memory.");
+//        }
+    }
+
+    /**
+     * Gets verification to perform after saves from options, using the
+     * default where no options are loaded
+     */
+    private SaveVerification getSaveVerification() {
+        PolyGlot polyGlot = PolyGlot.getPolyGlot();
+
+        return polyGlot == null || polyGlot.getOptionsManager() == null
+                ? DesktopOptionsManager.DEFAULT_SAVE_VERIFICATION
+                : polyGlot.getOptionsManager().getSaveVerification();
+    }
+
+    /**
+     * Creates raw output file (processed for safety/security upstream). Media,
+     * fonts and reversions unchanged since the previous archive are copied
+     * from it without recompression.
      */
-    private String writeRawFileOutput(File tmpSaveLocation, byte[] xmlData, DictCore core) throws IOException {
+    private String writeRawFileOutput(PArchiveWriter out, DictCore core, Instant saveTime,
+            Map<ReversionNode, String> writtenReversions) throws IOException {
         String writeLog;
 
-        try (FileOutputStream fileOutputStream = new FileOutputStream(tmpSaveLocation)) {
-            try (ZipOutputStream out = new ZipOutputStream(fileOutputStream, StandardCharsets.UTF_8)) {
-                ZipEntry e = new ZipEntry(PGTUtil.LANG_FILE_NAME);
-                out.putNextEntry(e);
+        ZipEntry e = new ZipEntry(PGTUtil.LANG_FILE_NAME);
+        out.putNextEntry(e);
 
-                out.write(xmlData, 0, xmlData.length);
+        core.writeXml(out, saveTime);
 
-                out.closeEntry();
+        out.closeEntry();
 
-                writeLog = DesktopPFontHandler.writeFont(out,
-                        ((DesktopPropertiesManager) core.getPropertiesManager()).getFontCon(),
-                        core.getPropertiesManager().getCachedFont(),
-                        core,
-                        true);
+        writeLog = DesktopPFontHandler.writeFont(out,
+                ((DesktopPropertiesManager) core.getPropertiesManager()).getFontCon(),
+                core.getPropertiesManager().getCachedFont(),
+                core,
+                true);
 
-                writeLog += DesktopPFontHandler.writeFont(out,
-                        ((DesktopPropertiesManager) core.getPropertiesManager()).getFontLocal(),
-                        core.getPropertiesManager().getCachedLocalFont(),
-                        core,
-                        false);
+        writeLog += DesktopPFontHandler.writeFont(out,
+                ((DesktopPropertiesManager) core.getPropertiesManager()).getFontLocal(),
+                core.getPropertiesManager().getCachedLocalFont(),
+                core,
+                false);
 
-                writeLog += writeLogoNodesToArchive(out, core);
-                writeLog += writeImagesToArchive(out, core);
-                writeLog += writeWavToArchive(out, core);
-                writeLog += writePriorStatesToArchive(out, core);
+        writeLog += writeLogoNodesToArchive(out, core);
+        writeLog += writeImagesToArchive(out, core);
+        writeLog += writeWavToArchive(out, core);
+        writeLog += writePriorStatesToArchive(out, core, writtenReversions);
 
-                out.finish();
-            }
-        }
+        out.finish();
 
         return writeLog;
     }
 
+    /**
+     * @return written entries keyed by name
+     */
+    private static Map<String, PArchiveSnapshot.RawEntry> indexWrittenEntries(List<PArchiveSnapshot.RawEntry> writtenEntries) {
+        Map<String, PArchiveSnapshot.RawEntry> ret = new HashMap<>();
+
+        for (PArchiveSnapshot.RawEntry entry : writtenEntries) {
+            ret.put(entry.name, entry);
+        }
+
+        return ret;
+    }
+
     /**
      * Gets temporary file when saving PolyGlot archive. If temporary file
      * already exists, backs file up based on current epoch second then creates
@@ -551,20 +645,51 @@ public final class DesktopIOHandler implements IOHandler {
         }
     }
 
-    private String writePriorStatesToArchive(ZipOutputStream out, DictCore core) throws IOException {
+    /**
+     * Writes prior states along with a manifest of their metadata. States
+     * still sitting unchanged in the archive being replaced are copied raw.
+     * A state which cannot be read is dropped from history rather than
+     * failing the save.
+     *
+     * @param writtenReversions populated with each written state and the
+     * name of the entry it was written to
+     */
+    private String writePriorStatesToArchive(PArchiveWriter out, DictCore core,
+            Map<ReversionNode, String> writtenReversions) throws IOException {
         String writeLog = "";
         ReversionNode[] reversionList = core.getReversionManager().getReversionList();
+        StringBuilder manifest = new StringBuilder("version=" + PGTUtil.REVERSION_MANIFEST_VERSION + "\n");
+        ReversionNode lastWritten = null;
+        int index = 0;
 
         try {
             out.putNextEntry(new ZipEntry(PGTUtil.REVERSION_SAVE_PATH));
 
-            for (int i = 0; i < reversionList.length; i++) {
-                ReversionNode node = reversionList[i];
+            for (ReversionNode node : reversionList) {
+                // deltas are always stored against the entry before them, otherwise the full state is written
+                boolean asDelta = node.isDelta() && node.getBase() == lastWritten;
+                String entryName = PGTUtil.REVERSION_SAVE_PATH
+                        + (asDelta ? PGTUtil.REVERSION_DELTA_FILE_NAME : PGTUtil.REVERSION_BASE_FILE_NAME) + index;
 
-                out.putNextEntry(new ZipEntry(PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_BASE_FILE_NAME + i));
-                out.write(node.getValue());
-                out.closeEntry();
+                try {
+                    if (!(asDelta == node.isDelta() && copyFromSource(out, entryName, node.getPayload()))) {
+                        out.writeEntry(entryName, asDelta ? node.getDelta() : node.getValue(), true);
+                    }
+                } catch (IOException e) {
+                    writeErrorLog(e);
+                    writeLog += "\nUnable to keep prior version " + node.toString() + ": " + e.getLocalizedMessage();
+                    continue;
+                }
+
+                manifest.append(index).append('=').append(node.getSaveTime()).append(',')
+                        .append(node.getSize()).append(',').append(node.getWordCount()).append('\n');
+                writtenReversions.put(node, entryName);
+                lastWritten = node;
+                index++;
             }
+
+            out.writeEntry(PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_MANIFEST_FILE_NAME,
+                    manifest.toString().getBytes(StandardCharsets.UTF_8), true);
         }
         catch (IOException e) {
             throw new IOException("Unable to create reversion files.", e);
@@ -573,7 +698,125 @@ public final class DesktopIOHandler implements IOHandler {
         return writeLog;
     }
 
-    private String writeLogoNodesToArchive(ZipOutputStream out, DictCore core) {
+    /**
+     * Points prior states at their entries in a newly written archive,
+     * releasing any copies held in memory. Required whenever the archive they
+     * were read from has been replaced.
+     */
+    private void bindReversionsToArchive(File archive, Map<ReversionNode, String> writtenReversions,
+            Map<String, PArchiveSnapshot.RawEntry> writtenEntries, boolean always) {
+        File target = archive.getAbsoluteFile();
+        boolean rebind = always;
+
+        for (ReversionNode node : writtenReversions.keySet()) {
+            if (node.getPayload() instanceof ArchiveEntryPayload payload && payload.getArchive().equals(target)) {
+                rebind = true;
+            }
+        }
+
+        if (rebind) {
+            for (Entry<ReversionNode, String> written : writtenReversions.entrySet()) {
+                boolean isFull = written.getValue().startsWith(PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_BASE_FILE_NAME);
+                written.getKey().setPayload(new ArchiveEntryPayload(target, writtenEntries.get(written.getValue())), isFull);
+            }
+        }
+    }
+
+    /**
+     * Points media still unchanged since being read at their entries in a
+     * newly written archive. Required whenever the archive they were read
+     * from has been replaced.
+     */
+    private void bindMediaToArchive(File archive, DictCore core, Map<String, PArchiveSnapshot.RawEntry> written,
+            boolean always) {
+        File target = archive.getAbsoluteFile();
+
+        for (ImageNode image : core.getImageCollection().getAllImages()) {
+            String entryName = PGTUtil.IMAGES_SAVE_PATH + image.getId() + ".png";
+
+            if (shouldRebind(image.getImagePayload(), target, always) && written.containsKey(entryName)) {
+                image.setImagePayload(new ArchiveEntryPayload(target, written.get(entryName)));
+            }
+        }
+
+        for (LogoNode logo : core.getLogoCollection().getAllLogos()) {
+            String entryName = PGTUtil.LOGOGRAPH_SAVE_PATH + logo.getId() + ".png";
+
+            if (shouldRebind(logo.getLogoPayload(), target, always) && written.containsKey(entryName)) {
+                logo.setLogoPayload(new ArchiveEntryPayload(target, written.get(entryName)));
+            }
+        }
+
+        GrammarManager grammarManager = core.getGrammarManager();
+
+        for (Integer soundId : grammarManager.getRecordingIds()) {
+            String entryName = PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH + soundId + ".raw";
+
+            if (shouldRebind(grammarManager.getRecordingSource(soundId), target, always) && written.containsKey(entryName)) {
+                grammarManager.addRecordingSource(soundId, new ArchiveEntryPayload(target, written.get(entryName)));
+            }
+        }
+    }
+
+    private static boolean shouldRebind(Payload source, File target, boolean always) {
+        return source instanceof ArchiveEntryPayload payload && (always || payload.getArchive().equals(target));
+    }
+
+    /**
+     * Copies entry raw from the archive its content was read from, if that
+     * is the archive being replaced and it still holds the same content
+     *
+     * @return true if copied, false if the content must be written
+     */
+    private static boolean copyFromSource(PArchiveWriter out, String entryName, Payload source) throws IOException {
+        return source instanceof ArchiveEntryPayload payload
+                && out.copyEntry(entryName, payload.getArchive(), payload.getEntryName(),
+                        payload.getCrc(), payload.getSize());
+    }
+
+    /**
+     * Reads reversion manifest, if present
+     *
+     * @return index of each state mapped to its save time, size and word
+     * count. Empty if there is no manifest, or it is of a later version.
+     */
+    private Map<Integer, String[]> readReversionManifest(ZipFile zipFile) throws IOException {
+        Map<Integer, String[]> ret = new HashMap<>();
+        ZipEntry entry = zipFile.getEntry(PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_MANIFEST_FILE_NAME);
+
+        if (entry == null) {
+            return ret;
+        }
+
+        String manifest;
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            manifest = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        for (String line : manifest.split("\n")) {
+            String[] keyValue = line.split("=", 2);
+
+            if (keyValue.length != 2) {
+                continue;
+            }
+
+            if (keyValue[0].equals("version")) {
+                if (!keyValue[1].trim().equals(PGTUtil.REVERSION_MANIFEST_VERSION)) {
+                    return new HashMap<>();
+                }
+            } else {
+                String[] values = keyValue[1].trim().split(",");
+
+                if (values.length == 3 && keyValue[0].matches("\\d+")) {
+                    ret.put(Integer.valueOf(keyValue[0]), values);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    private String writeLogoNodesToArchive(PArchiveWriter out, DictCore core) {
         String writeLog = "";
         LogoNode[] logoNodes = core.getLogoCollection().getAllLogos();
         if (logoNodes.length != 0) {
@@ -584,14 +827,12 @@ public final class DesktopIOHandler implements IOHandler {
                         continue;
                     }
 
-                    try {
-                        out.putNextEntry(new ZipEntry(PGTUtil.LOGOGRAPH_SAVE_PATH
-                                + curNode.getId() + ".png"));
-
-                        BufferedImage write = ImageIO.read(new ByteArrayInputStream(curNode.getLogoBytes()));
-                        ImageIO.write(write, "png", out);
+                    String entryName = PGTUtil.LOGOGRAPH_SAVE_PATH + curNode.getId() + ".png";
 
-                        out.closeEntry();
+                    try {
+                        if (!copyFromSource(out, entryName, curNode.getLogoPayload())) {
+                            writeImageEntry(out, entryName, curNode.readLogoBytes());
+                        }
                     }
                     catch (IOException e) {
                         writeErrorLog(e);
@@ -608,26 +849,24 @@ public final class DesktopIOHandler implements IOHandler {
         return writeLog;
     }
 
-    private String writeWavToArchive(ZipOutputStream out, DictCore core) {
+    private String writeWavToArchive(PArchiveWriter out, DictCore core) {
         String writeLog = "";
-        Map<Integer, byte[]> grammarSoundMap = core.getGrammarManager().getSoundMap();
-        Iterator<Entry<Integer, byte[]>> gramSoundIt = grammarSoundMap.entrySet().iterator();
+        GrammarManager grammarManager = core.getGrammarManager();
+        Iterator<Integer> gramSoundIt = grammarManager.getRecordingIds().iterator();
         if (gramSoundIt.hasNext()) {
             try {
                 out.putNextEntry(new ZipEntry(PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH));
 
                 while (gramSoundIt.hasNext()) {
-                    Entry<Integer, byte[]> curEntry = gramSoundIt.next();
-                    Integer curId = curEntry.getKey();
-                    byte[] curSound = curEntry.getValue();
+                    Integer curId = gramSoundIt.next();
+                    String entryName = PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH + curId + ".raw";
 
                     try {
-                        out.putNextEntry(new ZipEntry(PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH
-                                + curId + ".raw"));
-                        out.write(curSound);
-                        out.closeEntry();
+                        if (!copyFromSource(out, entryName, grammarManager.getRecordingSource(curId))) {
+                            out.writeEntry(entryName, grammarManager.getRecording(curId), true);
+                        }
                     }
-                    catch (IOException e) {
+                    catch (Exception e) {
                         writeErrorLog(e);
                         writeLog += "\nUnable to save sound: " + e.getLocalizedMessage();
                     }
@@ -642,21 +881,19 @@ public final class DesktopIOHandler implements IOHandler {
         return writeLog;
     }
 
-    private String writeImagesToArchive(ZipOutputStream out, DictCore core) {
+    private String writeImagesToArchive(PArchiveWriter out, DictCore core) {
         String writeLog = "";
         ImageNode[] imageNodes = core.getImageCollection().getAllImages();
         if (imageNodes.length != 0) {
             try {
                 out.putNextEntry(new ZipEntry(PGTUtil.IMAGES_SAVE_PATH));
                 for (ImageNode curNode : imageNodes) {
-                    try {
-                        out.putNextEntry(new ZipEntry(PGTUtil.IMAGES_SAVE_PATH
-                                + curNode.getId() + ".png"));
-
-                        BufferedImage write = ImageIO.read(new ByteArrayInputStream(curNode.getImageBytes()));
-                        ImageIO.write(write, "png", out);
+                    String entryName = PGTUtil.IMAGES_SAVE_PATH + curNode.getId() + ".png";
 
-                        out.closeEntry();
+                    try {
+                        if (!copyFromSource(out, entryName, curNode.getImagePayload())) {
+                            writeImageEntry(out, entryName, curNode.readImageBytes());
+                        }
                     }
                     catch (IOException e) {
                         writeErrorLog(e);
@@ -672,6 +909,120 @@ public final class DesktopIOHandler implements IOHandler {
         return writeLog;
     }
 
+    /**
+     * Writes image to archive as PNG. PNG bytes are already compressed, so
+     * they are copied as-is into a STORED entry. Anything else is transcoded.
+     */
+    private void writeImageEntry(PArchiveWriter out, String entryName, byte[] imageBytes) throws IOException {
+        out.writeEntry(entryName, toPngBytes(imageBytes, entryName), false);
+    }
+
+    /**
+     * Gets snapshot of archive's contents as last read or written, if the
+     * file has not been changed since
+     *
+     * @param archive archive file
+     * @return snapshot or null if none is current
+     */
+    public PArchiveSnapshot getArchiveSnapshot(File archive) {
+        synchronized (archiveSnapshots) {
+            PArchiveSnapshot ret = archiveSnapshots.get(archive.getAbsolutePath());
+            return ret != null && ret.isCurrent() ? ret : null;
+        }
+    }
+
+    private void rememberArchive(PArchiveSnapshot snapshot) {
+        synchronized (archiveSnapshots) {
+            archiveSnapshots.put(snapshot.getArchive().getPath(), snapshot);
+        }
+    }
+
+    /**
+     * Collects arrays loaded from archive entries so that they may be copied
+     * on next save if left untouched. Media left in the archive is copied by
+     * way of its source instead, so is skipped here rather than read.
+     */
+    private Map<String, byte[]> collectLoadedSources(DictCore core) {
+        Map<String, byte[]> ret = new HashMap<>();
+
+        for (ImageNode image : core.getImageCollection().getAllImages()) {
+            if (image.getImagePayload() == null) {
+                ret.put(PGTUtil.IMAGES_SAVE_PATH + image.getId() + ".png", image.getImageBytes());
+            }
+        }
+
+        for (LogoNode logo : core.getLogoCollection().getAllLogos()) {
+            if (logo.getLogoPayload() == null && logo.isImageSet()) {
+                ret.put(PGTUtil.LOGOGRAPH_SAVE_PATH + logo.getId() + ".png", logo.getLogoBytes());
+            }
+        }
+
+        GrammarManager grammarManager = core.getGrammarManager();
+
+        for (Entry<Integer, byte[]> sound : grammarManager.getSoundMap().entrySet()) {
+            if (grammarManager.getRecordingSource(sound.getKey()) == null) {
+                ret.put(PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH + sound.getKey() + ".raw", sound.getValue());
+            }
+        }
+
+        ret.put(PGTUtil.CON_FONT_FILE_NAME, core.getPropertiesManager().getCachedFont());
+        ret.put(PGTUtil.LOCAL_FONT_FILE_NAME, core.getPropertiesManager().getCachedLocalFont());
+
+        return ret;
+    }
+
+    /**
+     * Tests whether bytes begin with the PNG file signature
+     *
+     * @param imageBytes bytes to test
+     * @return true if bytes are PNG encoded
+     */
+    public static boolean isPngBytes(byte[] imageBytes) {
+        if (imageBytes == null || imageBytes.length < PNG_SIGNATURE.length) {
+            return false;
+        }
+
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (imageBytes[i] != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns image bytes in PNG form. Bytes which are already PNG encoded are
+     * returned untouched without being decoded.
+     *
+     * @param imageBytes encoded image
+     * @param description description of image for error reporting
+     * @return PNG encoded image
+     * @throws IOException if bytes are not a readable image
+     */
+    public byte[] toPngBytes(byte[] imageBytes, String description) throws IOException {
+        if (isPngBytes(imageBytes)) {
+            return imageBytes;
+        }
+
+        var img = imageBytes == null ? null : ImageIO.read(new ByteArrayInputStream(imageBytes));
+
+        if (img == null) {
+            throw new IOException("Image " + description + " unreadable.");
+        }
+
+        return loadImageBytesFromImage(img);
+    }
+
+    /**
+     * Tests whether an archive entry holds a PNG, reading only its signature
+     */
+    private static boolean isPngEntry(ZipFile zipFile, ZipEntry entry) throws IOException {
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            return isPngBytes(in.readNBytes(PNG_SIGNATURE.length));
+        }
+    }
+
     /**
      * Tests whether a file at a particular location exists. Wrapped to avoid IO
      * code outside this file
@@ -687,24 +1038,33 @@ public final class DesktopIOHandler implements IOHandler {
 
     @Override
     public void loadImageAssetWithId(InputStream imageStream, int imageId, DictCore core) throws Exception {
-        var img = ImageIO.read(imageStream);
-        
-        if (img == null) {
-            throw new IOException("Image with id: " + imageId + " unreadable.");
-        }
-        
+        // stored bytes are kept as-is; decoding happens only when displayed
+        byte[] imageBytes = toPngBytes(imageStream.readAllBytes(), "with id: " + imageId);
         var imageCollection = core.getImageCollection();
 
         ImageNode imageNode = new ImageNode(core);
         imageNode.setId(imageId);
-        imageNode.setImageBytes(loadImageBytesFromImage(img));
+        imageNode.setImageBytes(imageBytes);
         imageCollection.getBuffer().setEqual(imageNode);
         imageCollection.insert(imageId);
     }
 
     /**
-     * loads all images into their logographs from archive and images into the
-     * generalized image collection
+     * Adds image to be read from the given source when first used
+     */
+    private void loadImageSourceWithId(Payload imageSource, int imageId, DictCore core) throws Exception {
+        var imageCollection = core.getImageCollection();
+
+        ImageNode imageNode = new ImageNode(core);
+        imageNode.setId(imageId);
+        imageNode.setImagePayload(imageSource);
+        imageCollection.getBuffer().setEqual(imageNode);
+        imageCollection.insert(imageId);
+    }
+
+    /**
+     * Binds logographs to their images in the archive. PNG images are left
+     * there to be read on first use; anything else is read and converted now.
      *
      * @param logoCollection logocollection from dictionary core
      * @param zipFile
@@ -712,20 +1072,63 @@ public final class DesktopIOHandler implements IOHandler {
      */
     @Override
     public void loadLogographs(LogoCollection logoCollection, ZipFile zipFile) throws IOException {
-        var errors = false;
-        for (LogoNode curNode : logoCollection.getAllLogos()) {
+        var logoIds = Arrays.stream(logoCollection.getAllLogos())
+                .map(LogoNode::getId)
+                .toList();
+        applyLogographs(logoCollection, readArchivedLogographs(logoIds, zipFile));
+    }
+
+    /**
+     * Reads images of the given logographs from the archive without touching
+     * the logographs themselves
+     *
+     * @param logoIds ids of logographs to read images of
+     * @param zipFile
+     * @return images by logograph id, including any that failed to read
+     */
+    private Map<Integer, ArchivedImage> readArchivedLogographs(List<Integer> logoIds, ZipFile zipFile) {
+        Map<Integer, ArchivedImage> ret = new HashMap<>();
+        var archive = new File(zipFile.getName());
+
+        for (Integer logoId : logoIds) {
             ZipEntry imgEntry = zipFile.getEntry(PGTUtil.LOGOGRAPH_SAVE_PATH
-                    + curNode.getId() + ".png");
+                    + logoId + ".png");
 
             if (imgEntry == null) {
                 continue;
             }
 
-            try (InputStream imageStream = zipFile.getInputStream(imgEntry)) {
-                var img = ImageIO.read(imageStream);
-                curNode.setLogoBytes(loadImageBytesFromImage(img));
+            try {
+                ret.put(logoId, readArchivedImage(zipFile, archive, imgEntry, logoId, "for logograph: " + logoId));
             }
             catch (IOException e) {
+                ret.put(logoId, new ArchivedImage(imgEntry.getName(), logoId, null, null));
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Binds logographs to images read by readArchivedLogographs
+     *
+     * @throws IOException if any image could not be read
+     */
+    private void applyLogographs(LogoCollection logoCollection, Map<Integer, ArchivedImage> images) throws IOException {
+        var errors = false;
+
+        for (LogoNode curNode : logoCollection.getAllLogos()) {
+            ArchivedImage image = images.get(curNode.getId());
+
+            if (image == null) {
+                continue;
+            }
+
+            if (image.source != null) {
+                curNode.setLogoPayload(image.source);
+            } else if (image.bytes != null) {
+                curNode.setLogoBytes(image.bytes);
+            } else {
                 errors = true;
             }
         }
@@ -736,7 +1139,9 @@ public final class DesktopIOHandler implements IOHandler {
     }
 
     /**
-     * Loads all reversion XML files from polyglot archive
+     * Loads all reversion states from polyglot archive. Each entry is either
+     * a full XML file or a delta against the entry before it. Only metadata
+     * is read here; the entries themselves are read if a state is requested.
      *
      * @param reversionManager reversion manager to load to
      * @param zipFile
@@ -745,31 +1150,47 @@ public final class DesktopIOHandler implements IOHandler {
     @Override
     public void loadReversionStates(ReversionManager reversionManager, ZipFile zipFile) throws IOException {
         var errors = false;
+        var priorLoaded = false;
+        var archive = new File(zipFile.getName());
+        var manifest = readReversionManifest(zipFile);
+
+        for (int i = 0; i < reversionManager.getMaxReversionsCount(); i++) {
+            ZipEntry reversion = zipFile.getEntry(
+                    PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_BASE_FILE_NAME + i
+            );
+            ZipEntry delta = zipFile.getEntry(
+                    PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_DELTA_FILE_NAME + i
+            );
+
+            if (reversion == null && delta == null) {
+                break;
+            }
 
-        int i = 0;
+            boolean isDelta = reversion == null;
 
-        ZipEntry reversion = zipFile.getEntry(
-                PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_BASE_FILE_NAME + i
-        );
+            if (isDelta && !priorLoaded) {
+                // base of this delta failed to load, so it cannot be applied
+                errors = true;
+                continue;
+            }
 
-        while (reversion != null && i < reversionManager.getMaxReversionsCount()) {
             try {
-                reversionManager.addVersionToEnd(streamToByteArray(zipFile.getInputStream(reversion)));
-                reversion = zipFile.getEntry(
-                        PGTUtil.REVERSION_SAVE_PATH + PGTUtil.REVERSION_BASE_FILE_NAME + i
-                );
+                loadReversionState(reversionManager, zipFile, archive, isDelta ? delta : reversion, isDelta, manifest.get(i));
+                priorLoaded = true;
             } catch (IOException e) {
                 // TODO: Capture nature of problem from error string
                 errors = true;
-            } finally {
-                i++;
+                priorLoaded = false;
             }
         }
 
         // remember to load the latest state in addition to all prior ones
         try {
-            reversion = zipFile.getEntry(PGTUtil.LANG_FILE_NAME);
-            reversionManager.addVersionToEnd(streamToByteArray(zipFile.getInputStream(reversion)));
+            ZipEntry current = zipFile.getEntry(PGTUtil.LANG_FILE_NAME);
+
+            if (current != null) {
+                loadReversionState(reversionManager, zipFile, archive, current, false, null);
+            }
         }
         catch (IOException e) {
             // If the XML file is unreadable, it is handled in its own section. Ignore here and recover elsewhere.
@@ -780,6 +1201,40 @@ public final class DesktopIOHandler implements IOHandler {
         }
     }
 
+    /**
+     * Adds one state to reversion manager, leaving its bytes in the archive.
+     * Metadata missing from the manifest is read from the head of the entry.
+     */
+    private void loadReversionState(ReversionManager reversionManager, ZipFile zipFile, File archive,
+            ZipEntry entry, boolean isDelta, String[] metadata) throws IOException {
+        Instant saveTime = null;
+        int size = isDelta ? -1 : (int) entry.getSize();
+        int wordCount = -1;
+
+        if (metadata != null) {
+            try {
+                saveTime = Instant.parse(metadata[0]);
+                size = Integer.parseInt(metadata[1]);
+                wordCount = Integer.parseInt(metadata[2]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                saveTime = null;
+            }
+        }
+
+        if (saveTime == null) {
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                saveTime = isDelta
+                        ? ReversionDelta.getSaveTime(in.readNBytes(64))
+                        : ReversionNode.readSaveTime(in);
+            }
+        }
+
+        ReversionNode node = reversionManager.addVersionToEnd(
+                new ArchiveEntryPayload(archive, entry), isDelta, saveTime);
+        node.setSize(size);
+        node.setWordCount(wordCount);
+    }
+
     /**
      * Exports font in PGD to external file
      *
@@ -859,10 +1314,15 @@ public final class DesktopIOHandler implements IOHandler {
                         PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH + curNode.getRecordingId() + ".raw"
                 );
 
-                try (InputStream soundStream = zipFile.getInputStream(soundEntry)) {
-                    grammarManager.addChangeRecording(
+                try {
+                    if (soundEntry == null) {
+                        throw new IOException("Sound " + curNode.getRecordingId() + " missing from archive.");
+                    }
+
+                    // read when first played
+                    grammarManager.addRecordingSource(
                             curNode.getRecordingId(),
-                            streamToByteArray(soundStream)
+                            new ArchiveEntryPayload(new File(zipFile.getName()), soundEntry)
                     );
                 } catch (Exception e) {
                     curNode.setRecordingId(-1);
@@ -994,9 +1454,21 @@ public final class DesktopIOHandler implements IOHandler {
             nextLine = PGTUtil.OPTIONS_UI_WEB_SERVICE_INDIVIDUAL_TOKEN_REFILL + "=" + opMan.getWebServiceIndividualTokenRefil();
             f0.write(nextLine + newLine);
 
+            nextLine = PGTUtil.OPTIONS_UI_WEB_SERVICE_EXECUTOR + "=" + opMan.getWebServiceExecutor().name();
+            f0.write(nextLine + newLine);
+
+            nextLine = PGTUtil.OPTIONS_UI_WEB_SERVICE_THREAD_COUNT + "=" + opMan.getWebServiceThreadCount();
+            f0.write(nextLine + newLine);
+
+            nextLine = PGTUtil.OPTIONS_UI_WEB_SERVICE_REQUEST_BACKLOG + "=" + opMan.getWebServiceRequestBacklog();
+            f0.write(nextLine + newLine);
+
             nextLine = PGTUtil.OPTIONS_ZOMPIST_USE_CONFONT + "=" + (opMan.isZompistUseConlangFont() ? PGTUtil.TRUE : PGTUtil.FALSE);
             f0.write(nextLine + newLine);
             
+            nextLine = PGTUtil.OPTIONS_SAVE_VERIFICATION + "=" + opMan.getSaveVerification().name();
+            f0.write(nextLine + newLine);
+            
             nextLine = PGTUtil.OPTIONS_PDF_PRINT_ORTH + "=" + (opMan.isPdfPrintOrth() ? PGTUtil.TRUE : PGTUtil.FALSE);
             f0.write(nextLine + newLine);
             
@@ -1159,6 +1631,12 @@ public final class DesktopIOHandler implements IOHandler {
                             opMan.setWebServiceIndividualTokenCapacity(Integer.parseInt(bothVal[1]));
                         case PGTUtil.OPTIONS_UI_WEB_SERVICE_INDIVIDUAL_TOKEN_REFILL ->
                             opMan.setWebServiceIndividualTokenRefil(Integer.parseInt(bothVal[1]));
+                        case PGTUtil.OPTIONS_UI_WEB_SERVICE_EXECUTOR ->
+                            opMan.setWebServiceExecutor(WebServiceExecutor.valueOf(bothVal[1]));
+                        case PGTUtil.OPTIONS_UI_WEB_SERVICE_THREAD_COUNT ->
+                            opMan.setWebServiceThreadCount(Integer.parseInt(bothVal[1]));
+                        case PGTUtil.OPTIONS_UI_WEB_SERVICE_REQUEST_BACKLOG ->
+                            opMan.setWebServiceRequestBacklog(Integer.parseInt(bothVal[1]));
                         case PGTUtil.OPTIONS_GPT_API_KEY ->
                             opMan.setGptApiKey(CryptographyHandler.decrypt(
                                     bothVal[1],
@@ -1166,6 +1644,8 @@ public final class DesktopIOHandler implements IOHandler {
                             );
                         case PGTUtil.OPTIONS_ZOMPIST_USE_CONFONT ->
                             opMan.setZompistUseConlangFont(bothVal[1].equals(PGTUtil.TRUE));
+                        case PGTUtil.OPTIONS_SAVE_VERIFICATION ->
+                            opMan.setSaveVerification(SaveVerification.valueOf(bothVal[1]));
                         
                         case PGTUtil.OPTIONS_PDF_PRINT_ORTH ->
                             opMan.setPdfPrintOrth(bothVal[1].equals(PGTUtil.TRUE));
@@ -1280,75 +1760,26 @@ public final class DesktopIOHandler implements IOHandler {
 
     @Override
     public void clearErrorLog() throws IOException {
-        var logFile = getErrorLogFile();
-        var success = true;
-
-        if (logFile.exists()) {
-            success = logFile.delete();
-        }
-
-        if (success) {
-            success = logFile.createNewFile();
-        }
-
-        if (!success) {
-            throw new IOException("Unable to clear prior log file and create new one.");
-        }
+        errorLogWriter.clear();
     }
 
     /**
-     * Writes to the PolyGlot error log file
+     * Writes to the PolyGlot error log file. The error is queued and written
+     * from a background thread, so this returns immediately.
      *
      * @param exception
      * @param comment
      */
     @Override
     public void writeErrorLog(Throwable exception, String comment) {
-        String curContents = "";
-        String errorMessage = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss").format(LocalDateTime.now());
-        errorMessage += "-" + exception.getLocalizedMessage() + "-" + exception.getClass().getName();
-        Throwable rootCause = ExceptionUtils.getRootCause(exception);
-        rootCause = rootCause == null ? exception : rootCause;
-        errorMessage += "\n" + ExceptionUtils.getStackTrace(rootCause);
-
-        if (!comment.isEmpty()) {
-            errorMessage = comment + ":\n" + errorMessage;
-        }
-
-        try {
-            File errorLog = getErrorLogFile();
-            if (errorLog.exists()) {
-                try (Scanner logScanner = new Scanner(errorLog).useDelimiter("\\Z")) {
-                    curContents = logScanner.hasNext() ? logScanner.next() : "";
-
-                    // wipe old system info if it still exists
-                    if (curContents.contains(PGTUtil.ERROR_LOG_SPEARATOR)) {
-                        curContents = curContents.substring(
-                                curContents.indexOf(PGTUtil.ERROR_LOG_SPEARATOR)
-                                + PGTUtil.ERROR_LOG_SPEARATOR.length());
-                    }
-
-                    int length = curContents.length();
-                    int newLength = length + errorMessage.length();
-
-                    if (newLength > PGTUtil.MAX_LOG_CHARACTERS) {
-                        curContents = curContents.substring(newLength - PGTUtil.MAX_LOG_CHARACTERS);
-                    }
-                }
-            }
+        errorLogWriter.write(exception, comment);
+    }
 
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(errorLog))) {
-                String output = getSystemInformation() + PGTUtil.ERROR_LOG_SPEARATOR
-                        + curContents + errorMessage + "\n";
-                writer.write(output);
-            }
-        }
-        catch (IOException e) {
-            // Fail silently. This fails almost exclusively due to being run in write protected folder, caught elsewhere
-            // do not log to written file for obvious reasons (causes further write failure)
-            // WHY DO PEOPLE INSTALL THIS TO WRITE PROTECTED FOLDERS AND SYSTEM32. WHY.
-            // IOHandler.writeErrorLog(e);
-        }
+    /**
+     * Waits until all errors logged so far have been written to the log file
+     */
+    public void flushErrorLog() {
+        errorLogWriter.flush();
     }
 
     @Override
@@ -1357,10 +1788,34 @@ public final class DesktopIOHandler implements IOHandler {
         return PGTUtil.getErrorDirectory().resolve(PGTUtil.ERROR_LOG_FILE).toFile();
     }
 
+    /**
+     * Gets the error log. If the log was recently rotated, the tail of the
+     * rotated file is read ahead of it, up to the maximum log size.
+     *
+     * @return error log text
+     * @throws IOException if unable to read log
+     */
     @Override
     public String getErrorLog() throws IOException {
+        flushErrorLog();
         var errorLog = getErrorLogFile();
-        return Files.readString(errorLog.toPath());
+        var rotatedLog = ErrorLogWriter.getRotatedFile(errorLog);
+        String ret = errorLog.exists() ? Files.readString(errorLog.toPath()) : "";
+        int room = PGTUtil.MAX_LOG_CHARACTERS - ret.length();
+
+        if (room > 0 && rotatedLog.exists()) {
+            String rotated = Files.readString(rotatedLog.toPath());
+
+            if (rotated.length() > room) {
+                // start the tail on a whole line
+                rotated = rotated.substring(rotated.length() - room);
+                rotated = rotated.substring(rotated.indexOf('\n') + 1);
+            }
+
+            ret = rotated + ret;
+        }
+
+        return ret;
     }
 
     /**
@@ -1501,7 +1956,7 @@ public final class DesktopIOHandler implements IOHandler {
             var test = new DictCore(new DesktopPropertiesManager(), osHandler, new PGTUtil(), new DesktopGrammarManager());
 
             PolyGlot.getTestShell(test);
-            test.readFile(targetPath);
+            test.readFile(targetPath, null, true, false);
         }
     }
 
@@ -1664,6 +2119,11 @@ public final class DesktopIOHandler implements IOHandler {
 
     @Override
     public String[] readFile(DictCore core, String filePath, byte[] overrideXML) throws IOException, IllegalStateException, ParserConfigurationException {
+        return readFile(core, filePath, overrideXML, true);
+    }
+
+    @Override
+    public String[] readFile(DictCore core, String filePath, byte[] overrideXML, boolean rememberArchive) throws IOException, IllegalStateException, ParserConfigurationException {
         var file = new File(filePath);
         String[] warningsAndErrors = {"", ""};
         String[] xmlWarningsAndErrors;
@@ -1678,15 +2138,53 @@ public final class DesktopIOHandler implements IOHandler {
             throw new IOException("File " + filePath + " is not a valid PolyGlot archive.");
         }
 
+        ExecutorService loadExecutor = Executors.newFixedThreadPool(ARCHIVE_LOAD_THREADS, runnable -> {
+            var thread = new Thread(runnable, "PolyGlot archive load");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Work that does not depend on the language XML runs alongside its
+        // parse. Results are applied to the core only from this thread, once
+        // joined, and in the same order as when loaded one after the other.
         try (ZipFile zipFile = new ZipFile(filePath)) {
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            var entries = Collections.list(zipFile.entries());
+            var conFontEntry = zipFile.getEntry(PGTUtil.CON_FONT_FILE_NAME);
+            var localFontEntry = zipFile.getEntry(PGTUtil.LOCAL_FONT_FILE_NAME);
+
+            Future<List<ArchivedImage>> images = loadExecutor.submit(() -> readArchivedImages(zipFile, entries));
+            Future<LoadedFont> conFont = conFontEntry == null ? null
+                    : loadExecutor.submit(() -> readArchivedFont(zipFile, conFontEntry));
+            Future<LoadedFont> localFont = localFontEntry == null ? null
+                    : loadExecutor.submit(() -> readArchivedFont(zipFile, localFontEntry));
+            Future<Void> reversions = loadExecutor.submit(() -> {
+                // reversion manager is touched by nothing else while loading
+                loadReversionStates(core.getReversionManager(), zipFile);
+                return null;
+            });
 
-            while (entries.hasMoreElements()) {
-                var entry = entries.nextElement();
-                warningsAndErrors[0] += readArchiveElement(zipFile, entry, core);
+            xmlWarningsAndErrors = readArchivedXml(overrideXML, zipFile, core);
+
+            for (ArchivedImage image : joinLoad(images)) {
+                warningsAndErrors[0] += loadArchivedImage(image, core);
             }
 
-            xmlWarningsAndErrors = readArchivedXml(overrideXML, zipFile, core);
+            // applied after the XML so that embedded fonts take the style and
+            // size it defines, and replace any font it found on the system
+            if (conFont != null) {
+                warningsAndErrors[0] += applyArchivedFont(joinLoad(conFont), true, core);
+            }
+
+            if (localFont != null) {
+                warningsAndErrors[0] += applyArchivedFont(joinLoad(localFont), false, core);
+            }
+
+            // logographs exist only once the XML has been read
+            var logoIds = Arrays.stream(core.getLogoCollection().getAllLogos())
+                    .map(LogoNode::getId)
+                    .toList();
+            Future<Map<Integer, ArchivedImage>> logographs
+                    = loadExecutor.submit(() -> readArchivedLogographs(logoIds, zipFile));
 
             try {
                 loadGrammarSounds(zipFile, core.getGrammarManager());
@@ -1705,7 +2203,7 @@ public final class DesktopIOHandler implements IOHandler {
             }
 
             try {
-                loadLogographs(core.getLogoCollection(), zipFile);
+                applyLogographs(core.getLogoCollection(), joinLoad(logographs));
             }
             catch (IOException e) {
                 writeErrorLog(e);
@@ -1713,13 +2211,23 @@ public final class DesktopIOHandler implements IOHandler {
             }
 
             try {
-                loadReversionStates(core.getReversionManager(), zipFile);
+                joinLoad(reversions);
             }
             catch (IOException e) {
                 writeErrorLog(e);
                 warningsAndErrors[0] += e.getLocalizedMessage() + "\n";
             }
         }
+        finally {
+            // stops any work left behind if the XML could not be read
+            loadExecutor.shutdownNow();
+        }
+
+        // reads made only to check a file must not replace the snapshot its
+        // editing core will save against
+        if (rememberArchive) {
+            rememberArchive(new PArchiveSnapshot(file, collectLoadedSources(core), false));
+        }
 
         if (xmlWarningsAndErrors != null) {
             warningsAndErrors[0] = xmlWarningsAndErrors[0] + warningsAndErrors[0];
@@ -1730,7 +2238,9 @@ public final class DesktopIOHandler implements IOHandler {
     }
 
     /**
-     * Loads XML from archive, attempts recovery if damage detected
+     * Loads XML from archive, attempts recovery if damage detected. XML is
+     * streamed, and only if found to be damaged is it repaired and loaded via
+     * DOM.
      *
      * @param overrideXML
      * @param zipFile
@@ -1746,6 +2256,25 @@ public final class DesktopIOHandler implements IOHandler {
         if (rawXml == null) {
             var entry = zipFile.getEntry(PGTUtil.LANG_FILE_NAME);
 
+            if (entry != null) {
+                var parser = new PStaxParser(core);
+
+                try (InputStream ioStream = zipFile.getInputStream(entry)) {
+                    parser.readXml(ioStream);
+                }
+                catch (IOException e) {
+                    // read as damaged below
+                    parser = null;
+                }
+
+                if (parser != null && !isDamagedXml(parser)) {
+                    return collectParseResults(parser.getError(), parser.getIssues(), warningAndErrors);
+                }
+
+                // damage is only found partway through, once part is loaded
+                core.resetLanguage();
+            }
+
             try (InputStream ioStream = zipFile.getInputStream(entry)) {
                 rawXml = ioStream.readAllBytes();
             }
@@ -1754,6 +2283,15 @@ public final class DesktopIOHandler implements IOHandler {
                 rawXml = recoverFileBytesFromArchive(zipFile, PGTUtil.LANG_FILE_NAME);
                 warningAndErrors[1] = "Encountered corrupted XML file. Recovery-read attempted.\n";
             }
+        } else {
+            var parser = new PStaxParser(core);
+            parser.readXml(new ByteArrayInputStream(rawXml));
+
+            if (!isDamagedXml(parser)) {
+                return collectParseResults(parser.getError(), parser.getIssues(), warningAndErrors);
+            }
+
+            core.resetLanguage();
         }
 
         var parser = new PDomParser(core);
@@ -1772,63 +2310,192 @@ public final class DesktopIOHandler implements IOHandler {
             if (parser.getError() != null) {
                 throw new IOException(parser.getError());
             }
-        } else if (parseException != null) {
+            
+            return collectParseResults(null, parser.getIssues(), warningAndErrors);
+        }
+        
+        return collectParseResults(parseException, parser.getIssues(), warningAndErrors);
+    }
+    
+    /**
+     * Tests whether a streamed parse failed on malformed or unreadable XML,
+     * which must instead go through recovery, requiring the DOM parser
+     *
+     * @param parser parser which has read XML
+     * @return true if XML must be recovered
+     */
+    private boolean isDamagedXml(PStaxParser parser) {
+        return parser.getError() instanceof XMLStreamException;
+    }
+    
+    /**
+     * Appends results of XML parse to warnings and errors
+     *
+     * @param parseException irrecoverable parse error, if any
+     * @param issues issues encountered in parsing
+     * @param warningAndErrors [0] = warnings, [1] = errors
+     * @return warningAndErrors
+     */
+    private String[] collectParseResults(Exception parseException, List<String> issues, String[] warningAndErrors) {
+        if (parseException != null) {
             warningAndErrors[1] += "Unrecoverable error encountered while reading file: "
                     + parseException.getLocalizedMessage() + "\n";
         }
 
-        for (String issue : parser.getIssues()) {
+        for (String issue : issues) {
             warningAndErrors[0] += issue + "\n";
         }
         return warningAndErrors;
     }
 
     /**
-     * Processes/loads PolyGlot archive element (ultimately reads non-logograph
-     * images and fonts)
+     * Reads non-logograph images from the archive. PNG images are left there
+     * to be read on first use; anything else is read and converted now. Does
+     * not touch the core, so may be run alongside the XML parse.
      *
      * @param zipFile
-     * @param entry
-     * @param core
-     * @return
-     * @throws IOException
+     * @param entries all entries of zipFile
+     * @return images in archive order, including any that failed to read
      */
-    private String readArchiveElement(ZipFile zipFile, ZipEntry entry, DictCore core) throws IOException {
-        var entryName = entry.getName();
-
-        if (entryName.equals(PGTUtil.LANG_FILE_NAME)
-                || entryName.equals(PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH)
-                || entryName.equals(PGTUtil.REVERSION_SAVE_PATH)
-                || entryName.equals(PGTUtil.IMAGES_SAVE_PATH)) {
-            // Some elements loaded elsewhere (or ignored as directories)
-            return "";
-        } else if (entryName.startsWith(PGTUtil.IMAGES_SAVE_PATH)) {
-            try (InputStream imageStream = zipFile.getInputStream(entry)) {
+    private List<ArchivedImage> readArchivedImages(ZipFile zipFile, List<? extends ZipEntry> entries) {
+        List<ArchivedImage> ret = new ArrayList<>();
+        var archive = new File(zipFile.getName());
+
+        for (ZipEntry entry : entries) {
+            var entryName = entry.getName();
+
+            if (!entryName.startsWith(PGTUtil.IMAGES_SAVE_PATH)
+                    || entryName.equals(PGTUtil.IMAGES_SAVE_PATH)) {
+                continue;
+            }
+
+            try {
                 String idString = entryName
                         .replace(".png", "")
                         .replace(PGTUtil.IMAGES_SAVE_PATH, "");
                 int imageId = Integer.parseInt(idString);
-                loadImageAssetWithId(imageStream, imageId, core);
+
+                ret.add(readArchivedImage(zipFile, archive, entry, imageId, "with id: " + imageId));
             } catch (Exception e) {
-                return "\nProblem loading image: " + entryName;
+                ret.add(new ArchivedImage(entryName, -1, null, null));
             }
-        } else if (entryName.equals(PGTUtil.CON_FONT_FILE_NAME)) {
-            try {
-                DesktopPFontHandler.setFontFromIstream(zipFile.getInputStream(entry), true, core);
-            } catch (FontFormatException ex) {
-                return "\nUnable to load conlang font.";
-            }
-        } else if (entryName.equals(PGTUtil.LOCAL_FONT_FILE_NAME)) {
-            try {
-                DesktopPFontHandler.setFontFromIstream(zipFile.getInputStream(entry), false, core);
-            } catch (FontFormatException ex) {
-                return "\nUnable to load local lang font.";
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads a single image entry, leaving it in the archive if it is a PNG
+     */
+    private ArchivedImage readArchivedImage(ZipFile zipFile, File archive, ZipEntry entry,
+            int id, String description) throws IOException {
+        if (isPngEntry(zipFile, entry)) {
+            return new ArchivedImage(entry.getName(), id, new ArchiveEntryPayload(archive, entry), null);
+        }
+
+        try (InputStream imageStream = zipFile.getInputStream(entry)) {
+            return new ArchivedImage(entry.getName(), id, null, toPngBytes(imageStream.readAllBytes(), description));
+        }
+    }
+
+    /**
+     * Adds image read by readArchivedImages to the image collection
+     *
+     * @return warning text, empty on success
+     */
+    private String loadArchivedImage(ArchivedImage image, DictCore core) {
+        try {
+            if (image.source != null) {
+                loadImageSourceWithId(image.source, image.id, core);
+            } else if (image.bytes != null) {
+                loadImageAssetWithId(new ByteArrayInputStream(image.bytes), image.id, core);
+            } else {
+                return "\nProblem loading image: " + image.entryName;
             }
+        } catch (Exception e) {
+            return "\nProblem loading image: " + image.entryName;
+        }
+
+        return "";
+    }
+
+    /**
+     * Reads an embedded font without applying it
+     *
+     * @return font read, or null if entry is not a usable font
+     * @throws IOException on read error
+     */
+    private LoadedFont readArchivedFont(ZipFile zipFile, ZipEntry entry) throws IOException {
+        try (InputStream fontStream = zipFile.getInputStream(entry)) {
+            return DesktopPFontHandler.readFontFromIstream(fontStream);
+        } catch (FontFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies an embedded font read by readArchivedFont
+     *
+     * @return warning text, empty on success
+     */
+    private String applyArchivedFont(LoadedFont font, boolean isConFont, DictCore core) {
+        if (font == null) {
+            return isConFont ? "\nUnable to load conlang font." : "\nUnable to load local lang font.";
         }
 
+        DesktopPFontHandler.applyLoadedFont(font, isConFont, core);
         return "";
     }
 
+    /**
+     * Waits on work started while loading an archive, surfacing its failure
+     * as it would have been had the work been run directly
+     *
+     * @param <T> result type
+     * @param load work to wait on
+     * @return result of work
+     * @throws IOException if the work failed or was interrupted
+     */
+    private static <T> T joinLoad(Future<T> load) throws IOException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading archive.", e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Image or logograph read from an archive ahead of being bound to the
+     * core. Holds either a source to read the image from later or its bytes;
+     * neither if it could not be read.
+     */
+    private static final class ArchivedImage {
+        private final String entryName;
+        private final int id;
+        private final Payload source;
+        private final byte[] bytes;
+
+        private ArchivedImage(String _entryName, int _id, Payload _source, byte[] _bytes) {
+            entryName = _entryName;
+            id = _id;
+            source = _source;
+            bytes = _bytes;
+        }
+    }
+
     @Override
     public byte[] loadImageBytes(String path) throws IOException {
         ImageIcon loadBlank = new ImageIcon(getClass().getResource(path));
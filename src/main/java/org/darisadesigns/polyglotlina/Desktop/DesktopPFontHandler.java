@@ -36,8 +36,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 import org.darisadesigns.polyglotlina.DictCore;
 
 /**
@@ -48,25 +46,68 @@ import org.darisadesigns.polyglotlina.DictCore;
 public class DesktopPFontHandler extends org.darisadesigns.polyglotlina.PFontHandler {
 
     public static void setFontFromIstream(InputStream is, boolean isConFont, DictCore core) throws IOException, FontFormatException {
+        applyLoadedFont(readFontFromIstream(is), isConFont, core);
+    }
+
+    /**
+     * Reads a font from a stream without applying it to any language. Touches
+     * no shared state, so may be run off of the thread loading the language.
+     *
+     * @param is stream containing a true type font
+     * @return the font along with its raw bytes
+     * @throws IOException on read error
+     * @throws FontFormatException if stream does not contain a usable font
+     */
+    public static LoadedFont readFontFromIstream(InputStream is) throws IOException, FontFormatException {
         var tempFile = File.createTempFile("stream2file", ".tmp",
             PGTUtil.getTempDirectory().toFile());
         tempFile.deleteOnExit();
-        
+
         // Java only respects ligatures when loading fonts SPECIFICALLY from files, hence the tmp file
         try (FileOutputStream os = new FileOutputStream(tempFile)) {
             is.transferTo(os);
+        }
+
+        return new LoadedFont(getFontFromFile(tempFile.getAbsolutePath()),
+                Files.readAllBytes(tempFile.toPath()));
+    }
 
-            byte[] cachedFont = core.getOSHandler().getIOHandler().getByteArrayFromFile(tempFile);
+    /**
+     * Sets a font read via readFontFromIstream as the con or local font
+     *
+     * @param loadedFont font to apply
+     * @param isConFont true if con font, false if local font
+     * @param core
+     */
+    public static void applyLoadedFont(LoadedFont loadedFont, boolean isConFont, DictCore core) {
+        var propMan = (DesktopPropertiesManager) core.getPropertiesManager();
 
-            if (isConFont) {
-                ((DesktopPropertiesManager) core.getPropertiesManager())
-                        .setFontFromFile(tempFile.getAbsolutePath());
-                core.getPropertiesManager().setCachedFont(cachedFont);
-            } else {
-                ((DesktopPropertiesManager) core.getPropertiesManager())
-                        .setLocalFontFromFile(tempFile.getAbsolutePath());
-                core.getPropertiesManager().setCachedLocalFont(cachedFont);
-            }
+        if (isConFont) {
+            propMan.setFontFromLoaded(loadedFont.getFont(), loadedFont.getFontBytes());
+        } else {
+            propMan.setLocalFontFromLoaded(loadedFont.getFont(), loadedFont.getFontBytes());
+        }
+    }
+
+    /**
+     * A font read from an archive alongside the bytes it was read from, which
+     * are kept so the font can be written back out unchanged
+     */
+    public static final class LoadedFont {
+        private final Font font;
+        private final byte[] fontBytes;
+
+        public LoadedFont(Font _font, byte[] _fontBytes) {
+            font = _font;
+            fontBytes = _fontBytes;
+        }
+
+        public Font getFont() {
+            return font;
+        }
+
+        public byte[] getFontBytes() {
+            return fontBytes;
         }
     }
 
@@ -346,8 +387,11 @@ public class DesktopPFontHandler extends org.darisadesigns.polyglotlina.PFontHan
         return ret;
     }
 
-    public static String writeFont(ZipOutputStream out, Font outputFont, byte[] cachedFont, DictCore core, boolean isConFont) {
+    public static String writeFont(PArchiveWriter out, Font outputFont, byte[] cachedFont, DictCore core, boolean isConFont) {
         String writeLog = "";
+        String entryName = isConFont
+                ? org.darisadesigns.polyglotlina.PGTUtil.CON_FONT_FILE_NAME
+                : org.darisadesigns.polyglotlina.PGTUtil.LOCAL_FONT_FILE_NAME;
         try {
             // only search for font if the cached font is null
             if (cachedFont == null) {
@@ -372,31 +416,12 @@ public class DesktopPFontHandler extends org.darisadesigns.polyglotlina.PFontHan
                         } else {
                             core.getPropertiesManager().setCachedLocalFont(fontBytes);
                         }
-                    }
-                    byte[] buffer = new byte[1024];
-                    try (FileInputStream fis = new FileInputStream(fontFile)) {
-                        if (isConFont) {
-                            out.putNextEntry(new ZipEntry(org.darisadesigns.polyglotlina.PGTUtil.CON_FONT_FILE_NAME));
-                        } else {
-                            out.putNextEntry(new ZipEntry(org.darisadesigns.polyglotlina.PGTUtil.LOCAL_FONT_FILE_NAME));
-                        }
-                        int length;
 
-                        while ((length = fis.read(buffer)) > 0) {
-                            out.write(buffer, 0, length);
-                        }
-
-                        out.closeEntry();
+                        out.writeEntry(entryName, fontBytes, true);
                     }
                 }
             } else {
-                if (isConFont) {
-                    out.putNextEntry(new ZipEntry(org.darisadesigns.polyglotlina.PGTUtil.CON_FONT_FILE_NAME));
-                } else {
-                    out.putNextEntry(new ZipEntry(org.darisadesigns.polyglotlina.PGTUtil.LOCAL_FONT_FILE_NAME));
-                }
-                out.write(cachedFont);
-                out.closeEntry();
+                out.writeEntry(entryName, cachedFont, true);
             }
         }
         catch (IOException e) {
@@ -65,6 +65,10 @@ public class DesktopPropertiesManager extends PropertiesManager {
             cachedLocalFont = null;
         }
         
+        if (!Objects.equals(localFont, _localFont) || localFontSize != size) {
+            markChanged();
+        }
+        
         localFont = _localFont; 
         localFontSize = size;
         core.getOSHandler().getPFontHandler().updateLocalFont(core);
@@ -72,6 +76,10 @@ public class DesktopPropertiesManager extends PropertiesManager {
     
     @Override
     public void setLocalFontSize(double size) {
+        if (localFontSize != size) {
+            markChanged();
+        }
+        
         localFontSize = size;
         core.getOSHandler().getPFontHandler().updateLocalFont(core);
     }
@@ -134,21 +142,46 @@ public class DesktopPropertiesManager extends PropertiesManager {
                 && !conFont.getFamily().equals(fontCon.getFamily())) {
             cachedConFont = null;
         }
+        
+        Font newFont = fontCon == null ? PGTUtil.CHARIS_UNICODE : fontCon;
+        
+        if (!Objects.equals(conFont, newFont)) {
+            markChanged();
+        }
 
-        conFont = fontCon == null ? PGTUtil.CHARIS_UNICODE : fontCon;
+        conFont = newFont;
     }
     
     public void setFontFromFile(String fontPath) throws IOException, FontFormatException {
-        setFontCon(DesktopPFontHandler.getFontFromFile(fontPath)
-                .deriveFont(conFontStyle, (float)conFontSize), conFontStyle, (float)conFontSize);
-        cachedConFont = core.getOSHandler().getIOHandler().getFileByteArray(fontPath);
+        setFontFromLoaded(DesktopPFontHandler.getFontFromFile(fontPath),
+                core.getOSHandler().getIOHandler().getFileByteArray(fontPath));
     }
-    
+
+    /**
+     * Sets con font from one already loaded, caching the bytes it came from
+     *
+     * @param font font loaded from fontBytes
+     * @param fontBytes raw bytes of font file
+     */
+    public void setFontFromLoaded(Font font, byte[] fontBytes) {
+        setFontCon(font.deriveFont(conFontStyle, (float)conFontSize), conFontStyle, (float)conFontSize);
+        setCachedFont(fontBytes);
+    }
+
     public void setLocalFontFromFile(String fontPath) throws IOException, FontFormatException {
-        var font = DesktopPFontHandler.getFontFromFile(fontPath)
-                .deriveFont((float)localFontSize);
-        setLocalFont(font);
-        cachedLocalFont = core.getOSHandler().getIOHandler().getFileByteArray(fontPath);
+        setLocalFontFromLoaded(DesktopPFontHandler.getFontFromFile(fontPath),
+                core.getOSHandler().getIOHandler().getFileByteArray(fontPath));
+    }
+
+    /**
+     * Sets local font from one already loaded, caching the bytes it came from
+     *
+     * @param font font loaded from fontBytes
+     * @param fontBytes raw bytes of font file
+     */
+    public void setLocalFontFromLoaded(Font font, byte[] fontBytes) {
+        setLocalFont(font.deriveFont((float)localFontSize));
+        setCachedLocalFont(fontBytes);
     }
 
     /**
@@ -163,6 +196,7 @@ public class DesktopPropertiesManager extends PropertiesManager {
             return false;
         }
         
+        byte[] oldCachedFont = cachedConFont;
         cachedConFont = null;
         if (fontFile.getName().toLowerCase().endsWith("ttc")) {
             throw new Exception("PolyGlot does not currently support ttc (true type collection) caching or ligatures.");
@@ -174,6 +208,10 @@ public class DesktopPropertiesManager extends PropertiesManager {
             conFont = DesktopPFontHandler.getFontFromFile(fontFile.getCanonicalPath());
         }
         
+        if (!Arrays.equals(oldCachedFont, cachedConFont)) {
+            markChanged();
+        }
+        
         return cachedConFont != null;
     }
     
@@ -242,6 +280,10 @@ public class DesktopPropertiesManager extends PropertiesManager {
      */
     @Override
     public void setFontStyle(Integer _fontStyle) {
+        if (!Objects.equals(conFontStyle, _fontStyle)) {
+            markChanged();
+        }
+        
         conFontStyle = _fontStyle;
         
         if (conFont != null) {
@@ -257,7 +299,13 @@ public class DesktopPropertiesManager extends PropertiesManager {
     @Override
     public void setFontSize(double _fontSize) {
         var curFont = this.getFontCon();
-        conFontSize = _fontSize < 0 ? 12 : _fontSize;
+        double newSize = _fontSize < 0 ? 12 : _fontSize;
+        
+        if (conFontSize != newSize) {
+            markChanged();
+        }
+        
+        conFontSize = newSize;
         conFont = curFont.deriveFont(conFontStyle, (float)conFontSize);
     }
     
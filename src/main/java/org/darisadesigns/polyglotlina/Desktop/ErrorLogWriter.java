@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.darisadesigns.polyglotlina.PGTUtil;
+
+/**
+ * Writes the error log from a single background thread. Callers only queue
+ * the error, so logging never waits on disk. The log is appended to rather
+ * than rewritten, and is moved aside to a single rotated file once it grows
+ * past its maximum size.
+ *
+ * System information is written once at the head of each session (and again
+ * at the head of a fresh file). An error whose stack trace matches the one
+ * logged just before it is counted rather than written again, with the count
+ * written once the run of repeats ends. Distinct messages among the repeats
+ * are listed with the count, up to a limit, past which only the number of
+ * repeats left unlisted is written.
+ *
+ * If the queue fills, further errors are dropped and counted until the
+ * writer catches up.
+ *
+ * @author draque
+ */
+public final class ErrorLogWriter {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int MAX_REPEAT_MESSAGES = 20;
+    private static final long IDLE_WAIT_MS = 500;
+    private static final long FLUSH_WAIT_MS = 5000;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+
+    private final Callable<File> logFileSource;
+    private final Supplier<String> systemInformation;
+    private final long maxLogSize;
+    private final BlockingQueue<LogRecord> queue;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private Thread writerThread = null;
+
+    // state below is only touched by the writer thread
+    private boolean sessionStarted = false;
+    private String lastKey = null;
+    private int repeatCount = 0;
+    private int unlistedRepeatCount = 0;
+    private LocalDateTime lastRepeatTime = null;
+    private final Set<String> repeatMessages = new LinkedHashSet<>();
+
+    /**
+     * @param _logFileSource supplies the current log file
+     * @param _systemInformation supplies system information for headers
+     * @param _maxLogSize size in bytes beyond which the log is rotated
+     * @param _queueCapacity most errors that may wait to be written
+     */
+    public ErrorLogWriter(Callable<File> _logFileSource, Supplier<String> _systemInformation,
+            long _maxLogSize, int _queueCapacity) {
+        logFileSource = _logFileSource;
+        systemInformation = _systemInformation;
+        maxLogSize = _maxLogSize;
+        queue = new ArrayBlockingQueue<>(_queueCapacity);
+    }
+
+    /**
+     * Queues error to be written. Never blocks.
+     *
+     * @param exception error to log
+     * @param comment comment to precede error, empty for none
+     */
+    public void write(Throwable exception, String comment) {
+        ensureStarted();
+
+        if (!queue.offer(new LogRecord(exception, comment, LocalDateTime.now()))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until everything queued before this call has been written
+     */
+    public void flush() {
+        runOnWriter(new LogRecord(LogRecord.Action.FLUSH));
+    }
+
+    /**
+     * Deletes the log, once everything queued before this call is written.
+     * The next error written starts a fresh log with a new header.
+     *
+     * @throws IOException if unable to clear log
+     */
+    public void clear() throws IOException {
+        var record = runOnWriter(new LogRecord(LogRecord.Action.CLEAR));
+
+        if (record.failure != null) {
+            throw record.failure;
+        }
+    }
+
+    /**
+     * Gets the file the log is moved to when rotated
+     *
+     * @param logFile current log file
+     * @return rotated log file
+     */
+    public static File getRotatedFile(File logFile) {
+        return new File(logFile.getPath() + ".1");
+    }
+
+    private LogRecord runOnWriter(LogRecord record) {
+        ensureStarted();
+
+        try {
+            if (queue.offer(record, FLUSH_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                record.done.await(FLUSH_WAIT_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return record;
+    }
+
+    private synchronized void ensureStarted() {
+        if (writerThread != null) {
+            return;
+        }
+
+        writerThread = new Thread(this::writeLoop, "PolyGlot error log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        // errors queued just before exit are still written
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "PolyGlot error log flush"));
+    }
+
+    private void writeLoop() {
+        List<LogRecord> batch = new ArrayList<>();
+
+        while (true) {
+            try {
+                LogRecord first = queue.poll(IDLE_WAIT_MS, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    // idle: end of any run of repeats
+                    writeBatch(batch);
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // never let a bad record stop logging for the session
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes batch in one append, completing any flush or clear requests it
+     * contains once everything ahead of them is written
+     */
+    private void writeBatch(List<LogRecord> batch) {
+        var text = new StringBuilder();
+
+        for (LogRecord record : batch) {
+            if (record.action == LogRecord.Action.ENTRY) {
+                appendEntry(text, record);
+                continue;
+            }
+
+            appendRepeats(text);
+            append(text);
+            text.setLength(0);
+
+            if (record.action == LogRecord.Action.CLEAR) {
+                try {
+                    clearFiles();
+                } catch (IOException e) {
+                    record.failure = e;
+                }
+            }
+
+            record.done.countDown();
+        }
+
+        if (batch.isEmpty()) {
+            appendRepeats(text);
+        }
+
+        append(text);
+    }
+
+    private void appendEntry(StringBuilder text, LogRecord record) {
+        int droppedCount = dropped.getAndSet(0);
+
+        if (droppedCount > 0) {
+            appendRepeats(text);
+            text.append(TIME_FORMAT.format(record.time))
+                    .append("-Error log queue full, ")
+                    .append(droppedCount)
+                    .append(" error(s) not logged\n");
+        }
+
+        var key = record.getKey();
+
+        if (key.equals(lastKey)) {
+            addRepeat(record);
+            return;
+        }
+
+        appendRepeats(text);
+        lastKey = key;
+        text.append(record.format());
+    }
+
+    private void addRepeat(LogRecord record) {
+        var message = record.getMessage();
+        repeatCount++;
+        lastRepeatTime = record.time;
+
+        if (!repeatMessages.contains(message)) {
+            if (repeatMessages.size() < MAX_REPEAT_MESSAGES) {
+                repeatMessages.add(message);
+            } else {
+                unlistedRepeatCount++;
+            }
+        }
+    }
+
+    private void appendRepeats(StringBuilder text) {
+        if (repeatCount == 0) {
+            return;
+        }
+
+        text.append(TIME_FORMAT.format(lastRepeatTime))
+                .append("-Previous error repeated ")
+                .append(repeatCount)
+                .append(" more time(s), with message(s):\n");
+
+        for (String message : repeatMessages) {
+            text.append('\t').append(message).append('\n');
+        }
+
+        if (unlistedRepeatCount > 0) {
+            text.append("\t(")
+                    .append(unlistedRepeatCount)
+                    .append(" more with messages not listed)\n");
+        }
+
+        repeatCount = 0;
+        unlistedRepeatCount = 0;
+        lastRepeatTime = null;
+        repeatMessages.clear();
+    }
+
+    /**
+     * Appends text to log, first rotating the log if the text would take it
+     * past its maximum size
+     */
+    private void append(CharSequence text) {
+        if (text.isEmpty()) {
+            return;
+        }
+
+        try {
+            File logFile = logFileSource.call();
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            long curSize = logFile.exists() ? logFile.length() : 0;
+
+            if (curSize > 0 && curSize + bytes.length > maxLogSize) {
+                Files.move(logFile.toPath(), getRotatedFile(logFile).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                curSize = 0;
+            }
+
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(logFile, true), StandardCharsets.UTF_8))) {
+                if (curSize == 0 || !sessionStarted) {
+                    writer.write(getHeader(curSize > 0));
+                    sessionStarted = true;
+                }
+
+                writer.write(text.toString());
+            }
+        } catch (Exception e) {
+            // Fail silently. This fails almost exclusively due to being run in write protected folder, caught elsewhere
+            // do not log to written file for obvious reasons (causes further write failure)
+        }
+    }
+
+    private String getHeader(boolean isAppended) {
+        return (isAppended ? "\n" : "")
+                + "Session started " + TIME_FORMAT.format(LocalDateTime.now()) + "\n"
+                + systemInformation.get()
+                + PGTUtil.ERROR_LOG_SPEARATOR;
+    }
+
+    private void clearFiles() throws IOException {
+        File logFile;
+
+        try {
+            logFile = logFileSource.call();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+
+        Files.deleteIfExists(getRotatedFile(logFile).toPath());
+        Files.deleteIfExists(logFile.toPath());
+
+        if (!logFile.createNewFile()) {
+            throw new IOException("Unable to clear prior log file and create new one.");
+        }
+
+        lastKey = null;
+    }
+
+    /**
+     * An error waiting to be written, or a request to the writer thread
+     */
+    private static final class LogRecord {
+
+        enum Action { ENTRY, FLUSH, CLEAR }
+
+        private final Action action;
+        private final Throwable exception;
+        private final String comment;
+        private final LocalDateTime time;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private IOException failure = null;
+
+        private LogRecord(Throwable _exception, String _comment, LocalDateTime _time) {
+            action = Action.ENTRY;
+            exception = _exception;
+            comment = _comment == null ? "" : _comment;
+            time = _time;
+        }
+
+        private LogRecord(Action _action) {
+            action = _action;
+            exception = null;
+            comment = "";
+            time = LocalDateTime.now();
+        }
+
+        private Throwable getRootCause() {
+            Throwable rootCause = ExceptionUtils.getRootCause(exception);
+            return rootCause == null ? exception : rootCause;
+        }
+
+        /**
+         * Identifies the stack trace of the error. Messages are left out, as
+         * the same failure repeated across many records differs only there.
+         */
+        private String getKey() {
+            var rootCause = getRootCause();
+            return comment + "\n" + exception.getClass().getName()
+                    + "\n" + rootCause.getClass().getName()
+                    + "\n" + Arrays.toString(rootCause.getStackTrace());
+        }
+
+        private String getMessage() {
+            return String.valueOf(exception.getLocalizedMessage());
+        }
+
+        private String format() {
+            String errorMessage = TIME_FORMAT.format(time);
+            errorMessage += "-" + getMessage() + "-" + exception.getClass().getName();
+            errorMessage += "\n" + ExceptionUtils.getStackTrace(getRootCause());
+
+            if (!comment.isEmpty()) {
+                errorMessage = comment + ":\n" + errorMessage;
+            }
+
+            return errorMessage + "\n";
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.darisadesigns.polyglotlina.Desktop;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -120,12 +121,20 @@ public class ExportFileHelper {
                     }
 
                     row.createCell(colNum + 1).setCellValue("DEFINITION");
+                    
+                    // generate all forms for this part of speech up front, in parallel
+                    List<String> combinedIds = new ArrayList<>();
+                    for (ConjugationPair curDec : conjList) {
+                        combinedIds.add(curDec.combinedId);
+                    }
+                    String[][] generatedForms = core.getConjugationManager()
+                            .declineWords(Arrays.asList(list), combinedIds);
 
                     int rowCount  =1;
                     for (ConWord word : list) {
                         row = sheet.createRow(rowCount);
 
-                        Object[] wordArray = getWordForm(core, word, conjList).toArray();
+                        Object[] wordArray = getWordForm(core, word, conjList, generatedForms[rowCount - 1]).toArray();
                         for (int colCount = 0; colCount < wordArray.length; colCount++) {
                             Cell cell = row.createCell(colCount);
                             cell.setCellValue((String)wordArray[colCount]);
@@ -290,9 +299,10 @@ public class ExportFileHelper {
      * @param core language
      * @param conWord
      * @param conjList
+     * @param generatedForms forms generated for each entry of conjList (null where failed)
      * @return 
      */
-    private static List<String> getWordForm(DictCore core, ConWord conWord, ConjugationPair[] conjList) {
+    private static List<String> getWordForm(DictCore core, ConWord conWord, ConjugationPair[] conjList, String[] generatedForms) {
         List<String> ret = new ArrayList<>();
 
         ret.add(conWord.getValue());
@@ -339,18 +349,15 @@ public class ExportFileHelper {
         
         ret.add(classes);
 
-        for (ConjugationPair conjugation : conjList) {
-            try {
-                ConjugationManager conMan= core.getConjugationManager();
-                ConjugationNode existingValue = conMan.getConjugationByCombinedId(conWord.getId(), conjugation.combinedId);
-                
-                if (existingValue != null && conWord.isOverrideAutoConjugate()) {
-                    ret.add(existingValue.getValue());
-                }
-                else {
-                    ret.add(conMan.declineWord(conWord, conjugation.combinedId));
-                }
-            } catch (Exception e) {
+        for (int i = 0; i < conjList.length; i++) {
+            ConjugationManager conMan= core.getConjugationManager();
+            ConjugationNode existingValue = conMan.getConjugationByCombinedId(conWord.getId(), conjList[i].combinedId);
+
+            if (existingValue != null && conWord.isOverrideAutoConjugate()) {
+                ret.add(existingValue.getValue());
+            } else if (generatedForms[i] != null) {
+                ret.add(generatedForms[i]);
+            } else {
                 ret.add("DECLENSION ERROR");
             }
         }
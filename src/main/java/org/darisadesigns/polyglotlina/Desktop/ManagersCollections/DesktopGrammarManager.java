@@ -20,7 +20,6 @@
 package org.darisadesigns.polyglotlina.Desktop.ManagersCollections;
 
 import java.util.Arrays;
-import java.util.Map;
 import java.util.Objects;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.DesktopGrammarChapNode;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.DesktopGrammarSectionNode;
@@ -69,15 +68,16 @@ public class DesktopGrammarManager extends GrammarManager {
             ret = chapters.equals(compMan.chapters);
             
             if (ret) {
-                for (Map.Entry<Integer, byte[]> entry : soundMap.entrySet()) {
-                    int id = entry.getKey();
-                    byte[] soundVal = entry.getValue();
-
-                    if (compMan.soundMap.containsKey(id)) {
-                        ret = Arrays.equals(soundVal, compMan.soundMap.get(id));
-                    } else {
-                        break;
+                ret = getRecordingIds().equals(compMan.getRecordingIds());
+            }
+            
+            if (ret) {
+                try {
+                    for (Integer id : getRecordingIds()) {
+                        ret = ret && Arrays.equals(getRecording(id), compMan.getRecording(id));
                     }
+                } catch (Exception e) {
+                    ret = false;
                 }
             }
         }
@@ -89,7 +89,7 @@ public class DesktopGrammarManager extends GrammarManager {
     public int hashCode() {
         int hash = 7;
         hash = 89 * hash + Objects.hashCode(this.chapters);
-        hash = 89 * hash + Objects.hashCode(this.soundMap);
+        hash = 89 * hash + Objects.hashCode(getRecordingIds());
         return hash;
     }
 }
\ No newline at end of file
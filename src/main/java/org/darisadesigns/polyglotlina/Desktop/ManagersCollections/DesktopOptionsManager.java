@@ -36,6 +36,30 @@ import org.darisadesigns.polyglotlina.DictCore;
  */
 public class DesktopOptionsManager {
 
+    /**
+     * Check performed on a file after it is written, before it replaces the
+     * prior version. FULL loads it into a second core. STRUCTURAL streams the
+     * XML, comparing record counts, and checks all entries. CHECKSUM only
+     * checks entries by CRC and length.
+     */
+    public enum SaveVerification {
+        FULL, STRUCTURAL, CHECKSUM
+    }
+
+    public static final SaveVerification DEFAULT_SAVE_VERIFICATION = SaveVerification.STRUCTURAL;
+
+    /**
+     * How the web service runs requests. VIRTUAL starts a virtual thread for
+     * each request. POOLED runs requests on a fixed number of threads.
+     */
+    public enum WebServiceExecutor {
+        VIRTUAL, POOLED
+    }
+
+    public static final WebServiceExecutor DEFAULT_WEB_SERVICE_EXECUTOR = WebServiceExecutor.VIRTUAL;
+    public static final int DEFAULT_WEB_SERVICE_THREAD_COUNT = 16;
+    public static final int DEFAULT_WEB_SERVICE_REQUEST_BACKLOG = 64;
+
     private boolean animateWindows = false;
     private boolean nightMode = false;
     private final List<String> lastFiles = new ArrayList<>();
@@ -53,7 +77,11 @@ public class DesktopOptionsManager {
     private int webServiceMasterTokenRefill = 15;
     private int webServiceindividualTokenCapacity = 10;
     private int webServiceindividualTokenRefil = 3;
+    private WebServiceExecutor webServiceExecutor = DEFAULT_WEB_SERVICE_EXECUTOR;
+    private int webServiceThreadCount = DEFAULT_WEB_SERVICE_THREAD_COUNT;
+    private int webServiceRequestBacklog = DEFAULT_WEB_SERVICE_REQUEST_BACKLOG;
     private boolean zompistUseConlangFont = false;
+    private SaveVerification saveVerification = DEFAULT_SAVE_VERIFICATION;
     private DictCore core;
     private final javafx.scene.text.Font menuFontFX;
     private String gptApiKey = "";
@@ -101,8 +129,12 @@ public class DesktopOptionsManager {
         toDoBarPosition = -1;
         uiScale = 2;
         gptApiKey = "";
+        saveVerification = DEFAULT_SAVE_VERIFICATION;
         setWebServicePort(8080);
         setWebServiceTargetFolder(PGTUtil.getStateDirectory().resolve("WebService"));
+        webServiceExecutor = DEFAULT_WEB_SERVICE_EXECUTOR;
+        webServiceThreadCount = DEFAULT_WEB_SERVICE_THREAD_COUNT;
+        webServiceRequestBacklog = DEFAULT_WEB_SERVICE_REQUEST_BACKLOG;
         pdfPrintOrth = true;
         pdfPrintGloss = true;
         pdfPrintLocalLang = true;
@@ -166,6 +198,37 @@ public class DesktopOptionsManager {
     public void setWebServiceIndividualTokenRefil(int individualTokenRefil) {
         this.webServiceindividualTokenRefil = individualTokenRefil;
     }
+
+    public WebServiceExecutor getWebServiceExecutor() {
+        return webServiceExecutor;
+    }
+
+    public void setWebServiceExecutor(WebServiceExecutor _webServiceExecutor) {
+        webServiceExecutor = _webServiceExecutor;
+    }
+
+    /**
+     * @return number of threads requests run on when executor is POOLED
+     */
+    public int getWebServiceThreadCount() {
+        return webServiceThreadCount;
+    }
+
+    public void setWebServiceThreadCount(int _webServiceThreadCount) {
+        webServiceThreadCount = Math.max(1, _webServiceThreadCount);
+    }
+
+    /**
+     * @return most connections that may wait to be accepted, and most
+     * requests that may wait for a thread when executor is POOLED
+     */
+    public int getWebServiceRequestBacklog() {
+        return webServiceRequestBacklog;
+    }
+
+    public void setWebServiceRequestBacklog(int _webServiceRequestBacklog) {
+        webServiceRequestBacklog = Math.max(1, _webServiceRequestBacklog);
+    }
     
     /**
      * returns map of all screen positions
@@ -408,6 +471,14 @@ public class DesktopOptionsManager {
         this.zompistUseConlangFont = zompistUseConlangFont;
     }
     
+    public SaveVerification getSaveVerification() {
+        return saveVerification;
+    }
+
+    public void setSaveVerification(SaveVerification _saveVerification) {
+        saveVerification = _saveVerification;
+    }
+    
     public boolean isPdfPrintOrth() {
         return pdfPrintOrth;
     }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+/**
+ * Record of the contents of a PolyGlot archive as last read or written. Each
+ * entry remembers the in memory byte array it was written from (or loaded
+ * into). On the next save to the same file, an entry whose source array is
+ * still the very same instance has not changed, and its compressed bytes can
+ * be copied directly from the old archive.
+ *
+ * @author draque
+ */
+public final class PArchiveSnapshot {
+
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+    private static final int END_OF_CENTRAL_SIG = 0x06054b50;
+    private static final int END_OF_CENTRAL_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private final File archive;
+    private final long lastModified;
+    private final long length;
+    private final boolean trusted;
+    private final Map<String, WeakReference<byte[]>> sources = new HashMap<>();
+    private Map<String, RawEntry> rawEntries = null;
+
+    /**
+     * Records archive and the arrays its entries correspond to
+     *
+     * @param _archive archive file as it currently exists on disk
+     * @param _sources entry names mapped to the arrays they hold
+     * @param _trusted true if the arrays are known to be exactly what was
+     * written. Untrusted arrays are checked against the archive's CRC before
+     * any reuse.
+     */
+    public PArchiveSnapshot(File _archive, Map<String, byte[]> _sources, boolean _trusted) {
+        archive = _archive.getAbsoluteFile();
+        lastModified = archive.lastModified();
+        length = archive.length();
+        trusted = _trusted;
+
+        for (Entry<String, byte[]> entry : _sources.entrySet()) {
+            if (entry.getValue() != null) {
+                sources.put(entry.getKey(), new WeakReference<>(entry.getValue()));
+            }
+        }
+    }
+
+    public File getArchive() {
+        return archive;
+    }
+
+    /**
+     * Tests whether the archive on disk is still the one this snapshot
+     * describes
+     *
+     * @return false if the file has been removed or modified since
+     */
+    public boolean isCurrent() {
+        return archive.exists()
+                && archive.lastModified() == lastModified
+                && archive.length() == length;
+    }
+
+    /**
+     * Builds lookup from still living source arrays to the names of the
+     * entries which hold them
+     *
+     * @return identity keyed map of reusable sources
+     */
+    Map<byte[], String> getLiveSources() {
+        Map<byte[], String> ret = new IdentityHashMap<>();
+
+        for (Entry<String, WeakReference<byte[]>> entry : sources.entrySet()) {
+            byte[] source = entry.getValue().get();
+
+            if (source != null) {
+                ret.put(source, entry.getKey());
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Finds raw entry holding given data, if it can be safely copied
+     *
+     * @param entryName name of entry in this archive
+     * @param data data the entry is expected to hold
+     * @return raw entry, or null if it is missing or does not match
+     * @throws IOException on archive read error
+     */
+    RawEntry getReusableEntry(String entryName, byte[] data) throws IOException {
+        RawEntry entry = getEntry(entryName);
+
+        if (entry == null || entry.size != data.length) {
+            return null;
+        }
+
+        if (!trusted) {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+
+            if (crc.getValue() != entry.crc) {
+                return null;
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Finds raw entry by name alone
+     *
+     * @param entryName name of entry in this archive
+     * @return raw entry, or null if missing or the archive cannot be reused
+     * @throws IOException on archive read error
+     */
+    RawEntry getEntry(String entryName) throws IOException {
+        if (rawEntries == null) {
+            rawEntries = readCentralDirectory();
+        }
+
+        return rawEntries.get(entryName);
+    }
+
+    /**
+     * Opens archive for raw reading of entries
+     *
+     * @return read only channel over archive
+     * @throws IOException on open failure
+     */
+    FileChannel openChannel() throws IOException {
+        return FileChannel.open(archive.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Locates start of compressed data of entry within archive
+     *
+     * @param channel open channel over archive
+     * @param entry entry to locate
+     * @return position of entry's data
+     * @throws IOException if local header is damaged
+     */
+    static long getDataOffset(FileChannel channel, RawEntry entry) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header, entry.localHeaderOffset);
+
+        if (header.getInt(0) != LOCAL_HEADER_SIG) {
+            throw new IOException("Bad local header for archive entry: " + entry.name);
+        }
+
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+
+        return entry.localHeaderOffset + 30 + nameLength + extraLength;
+    }
+
+    /**
+     * Reads central directory of archive. Archives requiring Zip64 extensions
+     * or using encryption are not reused, and produce an empty map.
+     */
+    private Map<String, RawEntry> readCentralDirectory() throws IOException {
+        Map<String, RawEntry> ret = new HashMap<>();
+
+        try (FileChannel channel = openChannel()) {
+            long fileSize = channel.size();
+            int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_SIZE + MAX_COMMENT_SIZE);
+            ByteBuffer tail = ByteBuffer.allocate(tailSize).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, tail, fileSize - tailSize);
+
+            int endPos = -1;
+            for (int i = tailSize - END_OF_CENTRAL_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_SIG) {
+                    endPos = i;
+                    break;
+                }
+            }
+
+            if (endPos == -1) {
+                return ret;
+            }
+
+            int entryCount = tail.getShort(endPos + 10) & 0xFFFF;
+            long centralSize = tail.getInt(endPos + 12) & 0xFFFFFFFFL;
+            long centralOffset = tail.getInt(endPos + 16) & 0xFFFFFFFFL;
+
+            if (entryCount == 0xFFFF || centralSize == 0xFFFFFFFFL || centralOffset == 0xFFFFFFFFL
+                    || centralOffset + centralSize > fileSize) {
+                return ret;
+            }
+
+            ByteBuffer central = ByteBuffer.allocate((int) centralSize).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, central, centralOffset);
+
+            int pos = 0;
+            for (int i = 0; i < entryCount; i++) {
+                if (pos + 46 > centralSize || central.getInt(pos) != CENTRAL_HEADER_SIG) {
+                    return new HashMap<>();
+                }
+
+                RawEntry entry = new RawEntry();
+                entry.flags = central.getShort(pos + 8) & 0xFFFF;
+                entry.method = central.getShort(pos + 10) & 0xFFFF;
+                entry.time = central.getShort(pos + 12) & 0xFFFF;
+                entry.date = central.getShort(pos + 14) & 0xFFFF;
+                entry.crc = central.getInt(pos + 16) & 0xFFFFFFFFL;
+                entry.compressedSize = central.getInt(pos + 20) & 0xFFFFFFFFL;
+                entry.size = central.getInt(pos + 24) & 0xFFFFFFFFL;
+                int nameLength = central.getShort(pos + 28) & 0xFFFF;
+                int extraLength = central.getShort(pos + 30) & 0xFFFF;
+                int commentLength = central.getShort(pos + 32) & 0xFFFF;
+                entry.localHeaderOffset = central.getInt(pos + 42) & 0xFFFFFFFFL;
+
+                byte[] name = new byte[nameLength];
+                central.get(pos + 46, name);
+                entry.name = new String(name, StandardCharsets.UTF_8);
+
+                boolean encrypted = (entry.flags & 0x1) != 0;
+                boolean zip64 = entry.compressedSize == 0xFFFFFFFFL
+                        || entry.size == 0xFFFFFFFFL
+                        || entry.localHeaderOffset == 0xFFFFFFFFL;
+
+                if (!encrypted && !zip64) {
+                    ret.put(entry.name, entry);
+                }
+
+                pos += 46 + nameLength + extraLength + commentLength;
+            }
+        }
+
+        return ret;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+
+            if (read < 0) {
+                throw new IOException("Unexpected end of archive.");
+            }
+        }
+    }
+
+    /**
+     * Location and metadata of a single entry within an existing archive
+     */
+    static final class RawEntry {
+        String name;
+        int flags;
+        int method;
+        int time;
+        int date;
+        long crc;
+        long compressedSize;
+        long size;
+        long localHeaderOffset;
+        RawEntry copiedFrom = null; // set when copied raw from a prior archive
+        long copiedCrc = -1; // CRC of content as it was copied
+        long copiedSize = -1; // uncompressed length of content as it was copied
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Zip writer for PolyGlot archives. Works like ZipOutputStream, but entries
+ * whose content is unchanged since a previous archive (see PArchiveSnapshot)
+ * are copied from it as raw compressed bytes, without being inflated or
+ * deflated again.
+ *
+ * Archives are limited to 65535 entries and 4GB, as Zip64 is not written.
+ *
+ * @author draque
+ */
+public final class PArchiveWriter extends OutputStream {
+
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIG = 0x08074b50;
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+    private static final int END_OF_CENTRAL_SIG = 0x06054b50;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    private final CountingOutputStream out;
+    private final PArchiveSnapshot previous;
+    private final Map<byte[], String> previousSources;
+    private final List<PArchiveSnapshot.RawEntry> written = new ArrayList<>();
+    private final Map<String, byte[]> writtenSources = new HashMap<>();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final byte[] deflateBuffer = new byte[16384];
+    private final CRC32 crc = new CRC32();
+    private FileChannel previousChannel = null;
+    private PArchiveSnapshot.RawEntry current = null;
+    private long currentSize = 0;
+    private int copiedCount = 0;
+    private boolean finished = false;
+
+    /**
+     * @param _out stream to write archive to
+     * @param _previous prior archive to copy unchanged entries from. May be
+     * null, or no longer current, in which case everything is written fresh.
+     */
+    public PArchiveWriter(OutputStream _out, PArchiveSnapshot _previous) {
+        out = new CountingOutputStream(_out);
+
+        if (_previous != null && _previous.isCurrent()) {
+            previous = _previous;
+            previousSources = _previous.getLiveSources();
+        } else {
+            previous = null;
+            previousSources = new HashMap<>();
+        }
+    }
+
+    /**
+     * Writes complete entry from given data. If the data is the same array an
+     * entry of the previous archive was written from, that entry's raw bytes
+     * are copied instead.
+     *
+     * @param name name of entry
+     * @param data full content of entry
+     * @param compress true to deflate, false to store (for data which is
+     * already compressed)
+     * @throws IOException on write error
+     */
+    public void writeEntry(String name, byte[] data, boolean compress) throws IOException {
+        if (!copyPreviousEntry(name, data)) {
+            ZipEntry entry = new ZipEntry(name);
+
+            if (!compress) {
+                crc.reset();
+                crc.update(data);
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(data.length);
+                entry.setCrc(crc.getValue());
+            }
+
+            putNextEntry(entry);
+            write(data, 0, data.length);
+            closeEntry();
+        }
+
+        writtenSources.put(name, data);
+    }
+
+    /**
+     * Copies an entry of the previous archive raw, under a new name
+     *
+     * @param name name of entry in this archive
+     * @param archive archive the entry is expected to come from
+     * @param previousName name of entry in that archive
+     * @return false if the previous archive is not the one given, or no
+     * longer holds the entry, in which case nothing is written
+     * @throws IOException on read or write error
+     */
+    public boolean copyEntry(String name, File archive, String previousName) throws IOException {
+        return copyEntry(name, archive, previousName, -1, -1);
+    }
+
+    /**
+     * Copies an entry of the previous archive raw, under a new name, only if
+     * it still holds the content expected
+     *
+     * @param name name of entry in this archive
+     * @param archive archive the entry is expected to come from
+     * @param previousName name of entry in that archive
+     * @param crc expected CRC of entry, or -1 to accept any
+     * @param size expected uncompressed size of entry, or -1 to accept any
+     * @return false if the previous archive is not the one given, or no
+     * longer holds the entry as expected, in which case nothing is written
+     * @throws IOException on read or write error
+     */
+    boolean copyEntry(String name, File archive, String previousName, long crc, long size) throws IOException {
+        if (previous == null || !previous.getArchive().equals(archive.getAbsoluteFile())) {
+            return false;
+        }
+
+        PArchiveSnapshot.RawEntry source = previous.getEntry(previousName);
+
+        if (source == null || (crc != -1 && source.crc != crc) || (size != -1 && source.size != size)) {
+            return false;
+        }
+
+        copyRawEntry(name, source);
+        return true;
+    }
+
+    /**
+     * Begins a new entry. As with ZipOutputStream, STORED entries must have
+     * their size and CRC set in advance.
+     *
+     * @param entry entry to begin
+     * @throws IOException on write error
+     */
+    public void putNextEntry(ZipEntry entry) throws IOException {
+        ensureOpen();
+
+        if (current != null) {
+            closeEntry();
+        }
+
+        PArchiveSnapshot.RawEntry raw = newRawEntry(entry.getName());
+        raw.method = entry.getMethod() == ZipEntry.STORED ? ZipEntry.STORED : ZipEntry.DEFLATED;
+
+        if (raw.method == ZipEntry.STORED) {
+            if (entry.getSize() == -1 || entry.getCrc() == -1) {
+                throw new ZipException("STORED entry missing size or CRC: " + entry.getName());
+            }
+
+            raw.size = entry.getSize();
+            raw.compressedSize = entry.getSize();
+            raw.crc = entry.getCrc();
+        } else {
+            raw.flags |= FLAG_DATA_DESCRIPTOR;
+            deflater.reset();
+        }
+
+        writeLocalHeader(raw);
+        crc.reset();
+        currentSize = 0;
+        current = raw;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (current == null) {
+            throw new ZipException("No current archive entry.");
+        }
+
+        if (len == 0) {
+            return;
+        }
+
+        crc.update(b, off, len);
+        currentSize += len;
+
+        if (current.method == ZipEntry.STORED) {
+            out.write(b, off, len);
+        } else {
+            deflater.setInput(b, off, len);
+
+            while (!deflater.needsInput()) {
+                deflate();
+            }
+        }
+    }
+
+    /**
+     * Finishes current entry
+     *
+     * @throws IOException on write error, or if a STORED entry did not match
+     * its declared size or CRC
+     */
+    public void closeEntry() throws IOException {
+        if (current == null) {
+            return;
+        }
+
+        if (current.method == ZipEntry.STORED) {
+            if (currentSize != current.size || crc.getValue() != current.crc) {
+                throw new ZipException("Invalid size or CRC for STORED entry: " + current.name);
+            }
+        } else {
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                deflate();
+            }
+
+            current.crc = crc.getValue();
+            current.size = currentSize;
+            current.compressedSize = deflater.getBytesWritten();
+            checkSize(current);
+
+            writeInt(DATA_DESCRIPTOR_SIG);
+            writeInt(current.crc);
+            writeInt(current.compressedSize);
+            writeInt(current.size);
+        }
+
+        written.add(current);
+        current = null;
+    }
+
+    /**
+     * @return number of entries copied raw from the previous archive
+     */
+    public int getCopiedEntryCount() {
+        return copiedCount;
+    }
+
+    /**
+     * @return all entries written so far, in archive order
+     */
+    public List<PArchiveSnapshot.RawEntry> getWrittenEntries() {
+        return written;
+    }
+
+    /**
+     * @return names of entries written via writeEntry mapped to the arrays
+     * they were written from
+     */
+    public Map<String, byte[]> getWrittenSources() {
+        return writtenSources;
+    }
+
+    /**
+     * Writes central directory, completing the archive without closing the
+     * underlying stream
+     *
+     * @throws IOException on write error
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        closeEntry();
+        closePrevious();
+
+        if (written.size() > MAX_ENTRIES) {
+            throw new ZipException("Too many entries in archive: " + written.size());
+        }
+
+        long centralOffset = out.getCount();
+
+        for (PArchiveSnapshot.RawEntry entry : written) {
+            byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+
+            writeInt(CENTRAL_HEADER_SIG);
+            writeShort(20); // version made by
+            writeShort(versionNeeded(entry));
+            writeShort(entry.flags);
+            writeShort(entry.method);
+            writeShort(entry.time);
+            writeShort(entry.date);
+            writeInt(entry.crc);
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+            writeShort(name.length);
+            writeShort(0); // extra length
+            writeShort(0); // comment length
+            writeShort(0); // disk number
+            writeShort(0); // internal attributes
+            writeInt(0); // external attributes
+            writeInt(entry.localHeaderOffset);
+            out.write(name);
+        }
+
+        long centralSize = out.getCount() - centralOffset;
+
+        if (centralOffset > MAX_SIZE || centralSize > MAX_SIZE) {
+            throw new ZipException("Archive too large to write.");
+        }
+
+        writeInt(END_OF_CENTRAL_SIG);
+        writeShort(0); // disk number
+        writeShort(0); // disk with central directory
+        writeShort(written.size());
+        writeShort(written.size());
+        writeInt(centralSize);
+        writeInt(centralOffset);
+        writeShort(0); // comment length
+
+        out.flush();
+        deflater.end();
+        finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            closePrevious();
+            deflater.end();
+            out.close();
+        }
+    }
+
+    /**
+     * Copies entry raw from previous archive if data is unchanged since it
+     * was written there
+     *
+     * @return true if copied
+     */
+    private boolean copyPreviousEntry(String name, byte[] data) throws IOException {
+        String previousName = previousSources.get(data);
+
+        if (previousName == null) {
+            return false;
+        }
+
+        PArchiveSnapshot.RawEntry source = previous.getReusableEntry(previousName, data);
+
+        if (source == null) {
+            return false;
+        }
+
+        copyRawEntry(name, source);
+        return true;
+    }
+
+    private void copyRawEntry(String name, PArchiveSnapshot.RawEntry source) throws IOException {
+        ensureOpen();
+
+        if (current != null) {
+            closeEntry();
+        }
+
+        if (previousChannel == null) {
+            previousChannel = previous.openChannel();
+        }
+
+        PArchiveSnapshot.RawEntry raw = newRawEntry(name);
+        raw.method = source.method;
+        raw.time = source.time;
+        raw.date = source.date;
+        raw.crc = source.crc;
+        raw.compressedSize = source.compressedSize;
+        raw.size = source.size;
+        raw.copiedFrom = source;
+
+        long dataOffset = PArchiveSnapshot.getDataOffset(previousChannel, source);
+        writeLocalHeader(raw);
+
+        // content is checksummed as it passes, so verification covers copies too
+        CRC32 copiedCrc = new CRC32();
+        Inflater inflater = source.method == ZipEntry.STORED ? null : new Inflater(true);
+        ByteBuffer buffer = ByteBuffer.allocate(deflateBuffer.length);
+        long remaining = source.compressedSize;
+        long position = dataOffset;
+        long copiedSize = 0;
+
+        try {
+            while (remaining > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                int read = previousChannel.read(buffer, position);
+
+                if (read <= 0) {
+                    throw new IOException("Unable to copy archive entry: " + source.name);
+                }
+
+                out.write(buffer.array(), 0, read);
+
+                if (inflater == null) {
+                    copiedCrc.update(buffer.array(), 0, read);
+                    copiedSize += read;
+                } else {
+                    inflater.setInput(buffer.array(), 0, read);
+                    copiedSize += inflate(inflater, copiedCrc, source.name);
+                }
+
+                position += read;
+                remaining -= read;
+            }
+
+            if (inflater != null && !inflater.finished()) {
+                // raw inflation may need a dummy byte to complete
+                inflater.setInput(new byte[1]);
+                copiedSize += inflate(inflater, copiedCrc, source.name);
+            }
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        raw.copiedCrc = copiedCrc.getValue();
+        raw.copiedSize = copiedSize;
+        written.add(raw);
+        copiedCount++;
+    }
+
+    /**
+     * Inflates all input given to inflater, adding output to CRC
+     *
+     * @return number of bytes inflated
+     */
+    private long inflate(Inflater inflater, CRC32 target, String name) throws IOException {
+        byte[] inflated = new byte[deflateBuffer.length];
+        long ret = 0;
+
+        try {
+            while (!inflater.finished() && !inflater.needsInput()) {
+                int len = inflater.inflate(inflated);
+                target.update(inflated, 0, len);
+                ret += len;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Archive entry is corrupt: " + name, e);
+        }
+
+        return ret;
+    }
+
+    private PArchiveSnapshot.RawEntry newRawEntry(String name) {
+        PArchiveSnapshot.RawEntry raw = new PArchiveSnapshot.RawEntry();
+        LocalDateTime now = LocalDateTime.now();
+
+        raw.name = name;
+        raw.flags = FLAG_UTF8;
+        raw.localHeaderOffset = out.getCount();
+        raw.time = (now.getHour() << 11) | (now.getMinute() << 5) | (now.getSecond() >> 1);
+        raw.date = (Math.max(now.getYear() - 1980, 0) << 9) | (now.getMonthValue() << 5) | now.getDayOfMonth();
+
+        return raw;
+    }
+
+    private void writeLocalHeader(PArchiveSnapshot.RawEntry raw) throws IOException {
+        byte[] name = raw.name.getBytes(StandardCharsets.UTF_8);
+        boolean descriptor = (raw.flags & FLAG_DATA_DESCRIPTOR) != 0;
+
+        checkSize(raw);
+
+        writeInt(LOCAL_HEADER_SIG);
+        writeShort(versionNeeded(raw));
+        writeShort(raw.flags);
+        writeShort(raw.method);
+        writeShort(raw.time);
+        writeShort(raw.date);
+        writeInt(descriptor ? 0 : raw.crc);
+        writeInt(descriptor ? 0 : raw.compressedSize);
+        writeInt(descriptor ? 0 : raw.size);
+        writeShort(name.length);
+        writeShort(0); // extra length
+        out.write(name);
+    }
+
+    private void deflate() throws IOException {
+        int len = deflater.deflate(deflateBuffer, 0, deflateBuffer.length);
+
+        if (len > 0) {
+            out.write(deflateBuffer, 0, len);
+        }
+    }
+
+    private void checkSize(PArchiveSnapshot.RawEntry raw) throws ZipException {
+        if (raw.size > MAX_SIZE || raw.compressedSize > MAX_SIZE || raw.localHeaderOffset > MAX_SIZE) {
+            throw new ZipException("Archive entry too large to write: " + raw.name);
+        }
+    }
+
+    private static int versionNeeded(PArchiveSnapshot.RawEntry raw) {
+        return raw.method == ZipEntry.STORED ? 10 : 20;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Archive already finished.");
+        }
+    }
+
+    private void closePrevious() throws IOException {
+        if (previousChannel != null) {
+            previousChannel.close();
+            previousChannel = null;
+        }
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xFFFF));
+        writeShort((int) ((value >>> 16) & 0xFFFF));
+    }
+
+    /**
+     * Tracks position in archive being written
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream target;
+        private long count = 0;
+
+        CountingOutputStream(OutputStream _target) {
+            target = _target;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
+}
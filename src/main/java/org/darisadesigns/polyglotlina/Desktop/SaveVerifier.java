@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.Nodes.ImageNode;
+import org.darisadesigns.polyglotlina.Nodes.LogoNode;
+import org.darisadesigns.polyglotlina.PGTUtil;
+
+/**
+ * Lightweight checks of a freshly written archive, used in place of loading it
+ * into a second DictCore. Cost is proportional to what changed: entries
+ * copied from the previous archive are checked by the CRC and length of the
+ * content as it was copied, rather than being read back.
+ *
+ * @author draque
+ */
+public final class SaveVerifier {
+
+    private SaveVerifier() {}
+
+    /**
+     * Counts records the language XML is expected to contain per section
+     *
+     * @param core core about to be written
+     * @return section element names mapped to number of direct children
+     */
+    public static Map<String, Integer> countRecords(DictCore core) {
+        Map<String, Integer> ret = new HashMap<>();
+
+        ret.put(PGTUtil.LEXICON_XID, core.getWordCollection().getWordNodes().length);
+        ret.put(PGTUtil.POS_COLLECTION_XID, core.getTypes().getNodes().length);
+        ret.put(PGTUtil.PHRASEBOOK_XID, core.getPhraseManager().getAllValues().size());
+        ret.put(PGTUtil.LOGOGRAPHS_COLLECTION_XID, core.getLogoCollection().getAllLogos().length);
+
+        return ret;
+    }
+
+    /**
+     * Lists media entries the archive is expected to hold
+     *
+     * @param core core about to be written
+     * @return names of logograph, image and recording entries
+     */
+    public static List<String> listMediaEntries(DictCore core) {
+        List<String> ret = new ArrayList<>();
+
+        for (LogoNode logo : core.getLogoCollection().getAllLogos()) {
+            if (logo.isImageSet()) {
+                ret.add(PGTUtil.LOGOGRAPH_SAVE_PATH + logo.getId() + ".png");
+            }
+        }
+
+        for (ImageNode image : core.getImageCollection().getAllImages()) {
+            ret.add(PGTUtil.IMAGES_SAVE_PATH + image.getId() + ".png");
+        }
+
+        for (Integer id : core.getGrammarManager().getRecordingIds()) {
+            ret.add(PGTUtil.GRAMMAR_SOUNDS_SAVE_PATH + id + ".raw");
+        }
+
+        return ret;
+    }
+
+    /**
+     * Verifies each expected entry was written. Media which could not be read
+     * is skipped by the writer, and would be lost once the original archive
+     * is replaced.
+     *
+     * @param written entries as recorded by the writer
+     * @param expected names of entries which must be present
+     * @throws IOException naming first missing entry
+     */
+    public static void verifyEntriesWritten(List<PArchiveSnapshot.RawEntry> written, List<String> expected) throws IOException {
+        Set<String> names = new HashSet<>();
+
+        for (PArchiveSnapshot.RawEntry entry : written) {
+            names.add(entry.name);
+        }
+
+        for (String name : expected) {
+            if (!names.contains(name)) {
+                throw new IOException("Unable to write archive entry: " + name);
+            }
+        }
+    }
+
+    /**
+     * Verifies every written entry is present with the expected CRC and
+     * length. Content copied from a previous archive must match the CRC and
+     * length recorded for it, while newly written entries are read back in
+     * full.
+     *
+     * @param archive archive to check
+     * @param written entries as recorded by the writer
+     * @param expectedCounts expected record counts of XML sections, or null
+     * to skip structural validation of the XML
+     * @throws IOException describing first problem found
+     */
+    public static void verify(File archive, List<PArchiveSnapshot.RawEntry> written, Map<String, Integer> expectedCounts) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            for (PArchiveSnapshot.RawEntry expected : written) {
+                ZipEntry entry = zipFile.getEntry(expected.name);
+
+                if (entry == null) {
+                    throw new IOException("Saved archive missing entry: " + expected.name);
+                }
+
+                if (entry.getCrc() != expected.crc || entry.getSize() != expected.size) {
+                    throw new IOException("Saved archive entry does not match written data: " + expected.name);
+                }
+
+                if (expected.copiedFrom != null) {
+                    if (expected.copiedCrc != entry.getCrc()
+                            || expected.copiedSize != entry.getSize()
+                            || expected.copiedFrom.compressedSize != entry.getCompressedSize()) {
+                        throw new IOException("Copied archive entry does not match its source: " + expected.name);
+                    }
+
+                    continue;
+                }
+
+                CRC32 crc = new CRC32();
+
+                try (CheckedInputStream in = new CheckedInputStream(zipFile.getInputStream(entry), crc)) {
+                    if (expectedCounts != null && expected.name.equals(PGTUtil.LANG_FILE_NAME)) {
+                        verifyXmlStructure(in, expectedCounts);
+                    }
+
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+
+                if (crc.getValue() != expected.crc) {
+                    throw new IOException("Saved archive entry corrupted: " + expected.name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams language XML, confirming it is well formed and that each
+     * section holds the expected number of records
+     *
+     * @param xml stream of language XML (not closed)
+     * @param expectedCounts section element names mapped to expected number
+     * of direct children
+     * @throws IOException if XML is malformed or counts differ
+     */
+    public static void verifyXmlStructure(InputStream xml, Map<String, Integer> expectedCounts) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+
+        Map<String, Integer> counts = new HashMap<>();
+        Deque<String> open = new ArrayDeque<>();
+        XMLStreamReader reader = null;
+
+        try {
+            // the JDK reader closes its source at end of document
+            reader = factory.createXMLStreamReader(new FilterInputStream(xml) {
+                @Override
+                public void close() {}
+            });
+
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+
+                    if (open.isEmpty() && !name.equals(PGTUtil.DICTIONARY_XID)) {
+                        throw new IOException("Saved XML has unexpected root element: " + name);
+                    }
+
+                    String parent = open.peek();
+                    if (parent != null && expectedCounts.containsKey(parent)) {
+                        counts.merge(parent, 1, Integer::sum);
+                    }
+
+                    open.push(name);
+                } else if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                    open.pop();
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Saved XML is malformed: " + e.getLocalizedMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing further to release
+                }
+            }
+        }
+
+        for (Entry<String, Integer> expected : expectedCounts.entrySet()) {
+            int found = counts.getOrDefault(expected.getKey(), 0);
+
+            if (found != expected.getValue()) {
+                throw new IOException("Saved XML section " + expected.getKey() + " has "
+                        + found + " records, expected " + expected.getValue() + ".");
+            }
+        }
+    }
+}
@@ -20,20 +20,19 @@
 package org.darisadesigns.polyglotlina;
 
 import java.nio.file.Path;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import org.darisadesigns.polyglotlina.CustomControls.CoreUpdateSubscriptionInterface;
 import org.darisadesigns.polyglotlina.CustomControls.PAlphaMap;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConWordCollection;
@@ -54,8 +53,6 @@ import org.darisadesigns.polyglotlina.ManagersCollections.WordClassCollection;
 import org.darisadesigns.polyglotlina.OSHandler.CoreUpdatedListener;
 import org.darisadesigns.polyglotlina.OSHandler.FileReadListener;
 import org.darisadesigns.polyglotlina.PLanguageStats.PLanguageStatsProgress;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * This is the core of PolyGlot. It manages the top level of all aspects of the
@@ -86,7 +83,8 @@ public class DictCore {
     private Instant lastSaveTime = Instant.MIN;
     private String curFileName = "";
     private List<CoreUpdateSubscriptionInterface> subscribers;
-    private DictCore loadState = null;
+    private final AtomicLong modificationCount = new AtomicLong();
+    private volatile long savedModificationCount = -1;
 
     /**
      * Language core initialization
@@ -119,7 +117,7 @@ public class DictCore {
             imageCollection = new ImageCollection(this);
             etymologyManager = new EtymologyManager(this);
             reversionManager = new ReversionManager(this);
-            toDoManager = new ToDoManager();
+            toDoManager = new ToDoManager(this);
             phraseManager = new PhraseManager(this);
 
             PAlphaMap<String, Integer> alphaOrder = propertiesManager.getAlphaOrder();
@@ -365,13 +363,30 @@ public class DictCore {
      */
     public void readFile(String _fileName, byte[] overrideXML, boolean useFileReadListener) 
             throws IOException, IllegalStateException, ParserConfigurationException {
+        readFile(_fileName, overrideXML, useFileReadListener, true);
+    }
+
+    /**
+     * Reads from given file
+     *
+     * @param _fileName filename to read from
+     * @param overrideXML override to where the XML should be loaded from
+     * @param useFileReadListener whether to use file read listener
+     * @param rememberArchive false if this core is read only to check the
+     * file, so later saves of the file by other cores are unaffected by it
+     * @throws java.io.IOException for unrecoverable errors
+     * @throws IllegalStateException for recoverable errors
+     * @throws javax.xml.parsers.ParserConfigurationException
+     */
+    public void readFile(String _fileName, byte[] overrideXML, boolean useFileReadListener, boolean rememberArchive) 
+            throws IOException, IllegalStateException, ParserConfigurationException {
         curLoading = true;
         curFileName = _fileName;
         String errorLog = "";
         String warningLog = "";
 
         try {
-            var warningsAndErrors = this.osHandler.getIOHandler().readFile(this, _fileName, overrideXML);
+            var warningsAndErrors = this.osHandler.getIOHandler().readFile(this, _fileName, overrideXML, rememberArchive);
             warningLog = warningsAndErrors[0];
             errorLog = warningsAndErrors[1];
         } finally {
@@ -394,17 +409,57 @@ public class DictCore {
         }
     }
 
-    public void setLoadState(DictCore _loadState) {
-        loadState = _loadState;
+    /**
+     * Discards everything read into this core, so that a load which failed
+     * partway can be retried from scratch. Properties are kept, as reading the
+     * file again sets each of them anew. Reversions are also kept, as they are
+     * read apart from the language itself.
+     */
+    public void resetLanguage() {
+        var keptSubscribers = subscribers;
+        var keptReversions = reversionManager;
+        
+        grammarManager.clearChapters();
+        initializeDictCore(propertiesManager, grammarManager);
+        
+        subscribers = keptSubscribers;
+        reversionManager = keptReversions;
     }
 
     /**
-     * Returns true if language has changed state since last load
+     * Records that the language has been edited. Called by the mutators of
+     * every manager, collection and node which is part of the language.
+     */
+    public void markChanged() {
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Gets count of edits made to the language since this core was created.
+     * Only ever increases.
+     *
+     * @return modification count
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Records the current state of the language as its saved state. Until
+     * this is called, hasChanged() always returns false.
+     */
+    public void markSavedState() {
+        savedModificationCount = modificationCount.get();
+    }
+
+    /**
+     * Returns true if language has been edited since last load or save.
      *
      * @return
      */
     public boolean hasChanged() {
-        return loadState != null && !this.equals(loadState);
+        long savedCount = savedModificationCount;
+        return savedCount != -1 && modificationCount.get() != savedCount;
     }
 
     /**
@@ -443,12 +498,11 @@ public class DictCore {
         try {
             PGTUtil.claimWriteLock();
             Instant newSaveTime = Instant.now();
-            Document doc = getXmlDoc();
+            long savedCount = modificationCount.get();
 
-            // have IOHandler write constructed document to file
+            // have IOHandler stream language to file
             this.osHandler.getIOHandler().writeFile(
                     _fileName,
-                    doc,
                     this,
                     this.getConfigDirectory().toFile(),
                     newSaveTime,
@@ -457,6 +511,11 @@ public class DictCore {
             );
 
             lastSaveTime = newSaveTime;
+
+            // autosaves and temporary exports leave the language unsaved
+            if (writeToReversionMgr && savedModificationCount != -1) {
+                savedModificationCount = savedCount;
+            }
         }
         finally {
             if (PGTUtil.isWriteLock()) {
@@ -468,72 +527,65 @@ public class DictCore {
     /**
      * Generates and returns the raw XML of a language file
      * @return 
-     * @throws javax.xml.parsers.ParserConfigurationException 
      * @throws java.io.IOException 
-     * @throws javax.xml.transform.TransformerException 
      */
-    public String getRawXml() throws ParserConfigurationException, IOException, TransformerException {
-        Document doc = getXmlDoc();
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
+    public String getRawXml() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeXml(out, Instant.now());
         
-        try (StringWriter writer = new StringWriter()) {
-            transformer.transform(new DOMSource(doc), new StreamResult(writer));
-
-            return String.valueOf(writer.getBuffer());
-        }
+        return out.toString(StandardCharsets.UTF_8);
     }
 
     /**
-     * Gets full XML document of language
+     * Streams full XML document of language to given output. Nothing is built
+     * in memory beyond the values of the node currently being written.
+     * 
+     * @param out stream to write to (not closed)
+     * @param saveTime save time to record in file
+     * @throws IOException on write failure
      */
-    private Document getXmlDoc() throws ParserConfigurationException {
-        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-        Instant newSaveTime = Instant.now();
-
+    public void writeXml(OutputStream out, Instant saveTime) throws IOException {
         // clean up etymological entries which might be orphaned
         etymologyManager.cleanBrokenEtymologyRoots();
-
-        // root elements
-        Document doc = docBuilder.newDocument();
-        Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-        doc.appendChild(rootElement);
-
-        // store system info for troubleshooting
-        Element sysInfo = doc.createElement(PGTUtil.SYS_INFO_XID);
-        sysInfo.appendChild(doc.createTextNode(osHandler.getIOHandler().getSystemInformation()));
-        rootElement.appendChild(sysInfo);
-
-        // collect XML representation of all dictionary elements
-        writeXMLHeader(doc, rootElement, newSaveTime);
-        propertiesManager.writeXML(doc, rootElement);
-        wordClassCollection.writeXML(doc, rootElement);
-        typeCollection.writeXML(doc, rootElement);
-        wordCollection.writeXML(doc, rootElement);
-        etymologyManager.writeXML(doc, rootElement);
-        conjugationMgr.writeXML(doc, rootElement);
-        pronuncMgr.writeXML(doc, rootElement);
-        romMgr.writeXML(doc, rootElement);
-        logoCollection.writeXML(doc, rootElement);
-        grammarManager.writeXML(doc, rootElement);
-        toDoManager.writeXML(doc, rootElement);
-        phraseManager.writeXML(doc, rootElement);
-
-        // write family entries
-        rootElement.appendChild(famManager.writeToSaveXML(doc));
         
-        return doc;
+        try {
+            XMLStreamWriter writer = XMLStreamTools.newWriter(out);
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(PGTUtil.DICTIONARY_XID);
+
+            // store system info for troubleshooting
+            XMLStreamTools.writeTextElement(writer, PGTUtil.SYS_INFO_XID, osHandler.getIOHandler().getSystemInformation());
+
+            // stream XML representation of all dictionary elements
+            writeXMLHeader(writer, saveTime);
+            propertiesManager.writeXML(writer);
+            wordClassCollection.writeXML(writer);
+            typeCollection.writeXML(writer);
+            wordCollection.writeXML(writer);
+            etymologyManager.writeXML(writer);
+            conjugationMgr.writeXML(writer);
+            pronuncMgr.writeXML(writer);
+            romMgr.writeXML(writer);
+            logoCollection.writeXML(writer);
+            grammarManager.writeXML(writer);
+            toDoManager.writeXML(writer);
+            phraseManager.writeXML(writer);
+
+            // write family entries
+            famManager.writeToSaveXML(writer);
+
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to write language XML: " + e.getLocalizedMessage(), e);
+        }
     }
 
-    private static void writeXMLHeader(Document doc, Element rootElement, Instant saveTime) {
-        Element headerElement = doc.createElement(PGTUtil.PGVERSION_XID);
-        headerElement.appendChild(doc.createTextNode(PGTUtil.PGT_VERSION));
-        rootElement.appendChild(headerElement);
-
-        headerElement = doc.createElement(PGTUtil.DICTIONARY_SAVE_DATE);
-        headerElement.appendChild(doc.createTextNode(saveTime.toString()));
-        rootElement.appendChild(headerElement);
+    private static void writeXMLHeader(XMLStreamWriter writer, Instant saveTime) throws XMLStreamException {
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PGVERSION_XID, PGTUtil.PGT_VERSION);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DICTIONARY_SAVE_DATE, saveTime.toString());
     }
 
     /**
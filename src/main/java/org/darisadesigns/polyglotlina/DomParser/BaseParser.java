@@ -40,13 +40,23 @@ public abstract class BaseParser {
         NodeList childNodes = parent.getChildNodes();
 
         for (int i = 0; i < childNodes.getLength(); i++) {
-            try {
-                this.consumeChild(childNodes.item(i), core);
-            } catch (Exception e) {
-                // e.printStackTrace();
-                DesktopIOHandler.getInstance().writeErrorLog(e);
-                parseIssues.add(this.getClass().getName() + ": " + e.getLocalizedMessage());
-            }
+            consumeChildLogged(childNodes.item(i), core);
+        }
+    }
+    
+    /**
+     * Consumes single child, logging any failure as a parse issue rather than
+     * bubbling it. Also used by PStaxParser, which feeds children one at a time.
+     * @param node child node to consume
+     * @param core core to load into
+     */
+    void consumeChildLogged(Node node, DictCore core) {
+        try {
+            this.consumeChild(node, core);
+        } catch (Exception e) {
+            // e.printStackTrace();
+            DesktopIOHandler.getInstance().writeErrorLog(e);
+            parseIssues.add(this.getClass().getName() + ": " + e.getLocalizedMessage());
         }
     }
     
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.DomParser;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
+import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.PGTUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Streaming counterpart to PDomParser. Rather than building a DOM of the
+ * entire language file, large collections (lexicon, etymology, phrasebook,
+ * etc.) are read record by record, each record being built as a small
+ * detached DOM fragment and handed to the same BaseParser subclasses used by
+ * PDomParser. Peak memory is bounded by the largest single record rather than
+ * the size of the file.
+ * 
+ * This parser is not able to roll back partial loads. Damaged input is
+ * reported through getError() as an XMLStreamException once reached, by which
+ * point records ahead of it are loaded, so the core should be reset before the
+ * file is repaired with XMLRecoveryTool and loaded via PDomParser.
+ * 
+ * @author draque
+ */
+public class PStaxParser {
+    
+    // sections whose children are streamed one at a time rather than built whole
+    private static final Map<String, StreamedSection> ROOT_SECTIONS = Map.of(
+            PGTUtil.LEXICON_XID, new StreamedSection(LexiconParser::new),
+            PGTUtil.POS_COLLECTION_XID, new StreamedSection(PartOfSpeechCollectionParser::new),
+            PGTUtil.DECLENSION_COLLECTION_XID, new StreamedSection(DeclensionsCollectionParser::new),
+            PGTUtil.ETY_COLLECTION_XID, new StreamedSection(EtymologyCollectionParser::new),
+            PGTUtil.GRAMMAR_SECTION_XID, new StreamedSection(GrammarCollectionParser::new),
+            PGTUtil.PHRASEBOOK_XID, new StreamedSection(PhraseCollectionParser::new),
+            PGTUtil.LOGO_ROOT_NOTE_XID, new StreamedSection(LogoParser::new, Map.of(
+                    PGTUtil.LOGOGRAPHS_COLLECTION_XID, new StreamedSection(LogographCollectionParser::new),
+                    PGTUtil.LOGO_RELATION_COLLECTION_XID, new StreamedSection(LogographRelationCollectionParser::new)
+            ))
+    );
+
+    private final DictCore core;
+    private List<String> parseIssues;
+    private Exception parseError = null;
+    private Document fragmentFactory;
+
+    public PStaxParser(DictCore _core) {
+        core = _core;
+    }
+    
+    /**
+     * Reads language XML from stream, loading it into core
+     * @param xml_is stream to read from (not closed by this method)
+     */
+    public void readXml(InputStream xml_is) {
+        XMLStreamReader reader = null;
+        
+        try {
+            fragmentFactory = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            reader = newInputFactory().createXMLStreamReader(xml_is);
+            
+            if (!advanceToRoot(reader) || !qualifiedName(reader).equals(PGTUtil.DICTIONARY_XID)) {
+                throw new PDomException("Language file missing dictionary node.");
+            }
+            
+            RootParser parser = new RootParser(new ArrayList<>());
+            streamChildren(reader, parser, ROOT_SECTIONS);
+            parser.finishParse(core);
+            
+            parseIssues = parser.getIssues();
+        }
+        catch (PDomException | ParserConfigurationException | XMLStreamException e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e);
+            parseIssues = new ArrayList<>();
+            parseError = e;
+        }
+        finally {
+            fragmentFactory = null;
+            closeQuietly(reader);
+        }
+    }
+    
+    /**
+     * Gets parsing issues generated during process
+     * @return 
+     */
+    public List<String> getIssues() {
+        return parseIssues;
+    }
+    
+    /**
+     * Irrecoverable errors logged here
+     * @return 
+     */
+    public Exception getError() {
+        return parseError;
+    }
+    
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // node names and text runs are kept as the DOM parser reports them
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+    
+    private static boolean advanceToRoot(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // nothing further to read: safe to ignore
+            }
+        }
+    }
+    
+    private static String qualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+    
+    private static String qualifiedAttributeName(XMLStreamReader reader, int index) {
+        String prefix = reader.getAttributePrefix(index);
+        String localName = reader.getAttributeLocalName(index);
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+    
+    /**
+     * Feeds each child of the current element to parser in document order,
+     * exactly as BaseParser.parse() would. Children which are themselves
+     * streamed sections are descended into rather than built. Returns once the
+     * current element's end tag is consumed.
+     */
+    private void streamChildren(XMLStreamReader reader, 
+            BaseParser parser, 
+            Map<String, StreamedSection> sections) throws XMLStreamException {
+        // adjacent character events are merged into a single text node, as in DOM
+        StringBuilder text = new StringBuilder();
+        
+        while (true) {
+            int event = reader.next();
+            
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+                continue;
+            }
+            
+            if (!text.isEmpty()) {
+                parser.consumeChildLogged(fragmentFactory.createTextNode(text.toString()), core);
+                text.setLength(0);
+            }
+            
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    StreamedSection section = sections.get(qualifiedName(reader));
+                    
+                    if (section == null) {
+                        parser.consumeChildLogged(readElement(reader), core);
+                    } else {
+                        streamChildren(reader, section.newParser(parser.parseIssues), section.children);
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    return;
+                }
+                case XMLStreamConstants.END_DOCUMENT -> {
+                    throw new XMLStreamException("Unexpected end of document.");
+                }
+                default -> {
+                    Node node = readNonElement(reader, event);
+                    
+                    if (node != null) {
+                        parser.consumeChildLogged(node, core);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds a detached DOM element for the element the reader is positioned
+     * at, consuming through its end tag
+     */
+    private Element readElement(XMLStreamReader reader) throws XMLStreamException {
+        Element root = createElement(reader);
+        Node current = root;
+        StringBuilder text = new StringBuilder();
+        
+        while (current != null) {
+            int event = reader.next();
+            
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+                continue;
+            }
+            
+            if (!text.isEmpty()) {
+                current.appendChild(fragmentFactory.createTextNode(text.toString()));
+                text.setLength(0);
+            }
+            
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    Element child = createElement(reader);
+                    current.appendChild(child);
+                    current = child;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    current = current.getParentNode();
+                }
+                case XMLStreamConstants.END_DOCUMENT -> {
+                    throw new XMLStreamException("Unexpected end of document.");
+                }
+                default -> {
+                    Node node = readNonElement(reader, event);
+                    
+                    if (node != null) {
+                        current.appendChild(node);
+                    }
+                }
+            }
+        }
+        
+        return root;
+    }
+    
+    private Element createElement(XMLStreamReader reader) {
+        Element ret = fragmentFactory.createElement(qualifiedName(reader));
+        
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            ret.setAttribute(qualifiedAttributeName(reader, i), reader.getAttributeValue(i));
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Creates DOM equivalent of non element, non text events. Returns null for
+     * events which produce no node in DOM.
+     */
+    private Node readNonElement(XMLStreamReader reader, int event) {
+        return switch (event) {
+            case XMLStreamConstants.CDATA -> fragmentFactory.createCDATASection(reader.getText());
+            case XMLStreamConstants.COMMENT -> fragmentFactory.createComment(reader.getText());
+            case XMLStreamConstants.PROCESSING_INSTRUCTION -> 
+                fragmentFactory.createProcessingInstruction(reader.getPITarget(), reader.getPIData());
+            default -> null;
+        };
+    }
+    
+    /**
+     * Section of the file read child by child, with the parser that would
+     * consume it under PDomParser, and any of its own children also streamed
+     */
+    private static class StreamedSection {
+        private final Function<List<String>, BaseParser> parserFactory;
+        private final Map<String, StreamedSection> children;
+        
+        public StreamedSection(Function<List<String>, BaseParser> _parserFactory) {
+            this(_parserFactory, Map.of());
+        }
+        
+        public StreamedSection(Function<List<String>, BaseParser> _parserFactory, 
+                Map<String, StreamedSection> _children) {
+            parserFactory = _parserFactory;
+            children = _children;
+        }
+        
+        public BaseParser newParser(List<String> parseIssues) {
+            return parserFactory.apply(parseIssues);
+        }
+    }
+}
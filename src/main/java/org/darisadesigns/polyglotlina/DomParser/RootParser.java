@@ -40,7 +40,15 @@ public class RootParser extends BaseParser {
     @Override
     public void parse(Node parent, DictCore core) throws PDomException {
         super.parse(parent, core);
-
+        finishParse(core);
+    }
+    
+    /**
+     * Applies fixes which depend on the version of the file once all children
+     * are consumed
+     * @param core core loaded into
+     */
+    void finishParse(DictCore core) {
         // Version 2.3 implemented class filters for conj rules. Default to all on.
         if (fileVersionHierarchy < PGTUtil.getVersionHierarchy("2.2")) {
             core.getConjugationManager().setAllConjugationRulesToAllClasses();
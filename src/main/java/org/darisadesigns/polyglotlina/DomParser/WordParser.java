@@ -23,7 +23,6 @@ import java.util.List;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.darisadesigns.polyglotlina.WebInterface;
 import org.w3c.dom.Node;
 
 /**
@@ -70,11 +69,8 @@ public class WordParser extends BaseParser {
                 conWord.setPronunciation(node.getTextContent());
             }
             case PGTUtil.WORD_DEF_XID -> {
-                try {
-                    conWord.setDefinition(WebInterface.unarchiveHTML(node.getTextContent(), core));
-                } catch (Exception e) {
-                    throw new PDomException(e);
-                }
+                // kept archived: image references are resolved when displayed
+                conWord.setDefinition(node.getTextContent());
             }
             case PGTUtil.WORD_PROCOVERRIDE_XID -> {
                 conWord.setProcOverride(node.getTextContent().equals(PGTUtil.TRUE));
@@ -26,11 +26,9 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 import org.darisadesigns.polyglotlina.ManagersCollections.GrammarManager;
 import org.darisadesigns.polyglotlina.ManagersCollections.LogoCollection;
 import org.darisadesigns.polyglotlina.ManagersCollections.ReversionManager;
-import org.w3c.dom.Document;
 
 /**
  * This class handles file IO for PolyGlot
@@ -102,27 +100,25 @@ public interface IOHandler {
     boolean isFileZipArchive(String _fileName) throws IOException;
 
     /**
+     * Writes language to file, streaming its XML directly into the archive
      *
      * @param _fileName
-     * @param doc
      * @param core
      * @param workingDirectory home directory
      * @param saveTime time of save initiation
      * @param writeToReversionMgr Whether to add this version to the reversion manager
      * @param forceClean Forces the cleaning of the temp file even on failure
      * @throws IOException
-     * @throws TransformerException
      */
     void writeFile(
             String _fileName,
-            Document doc,
             DictCore core,
             File workingDirectory,
             Instant saveTime,
             boolean writeToReversionMgr,
             boolean forceClean
     )
-            throws IOException, TransformerException;
+            throws IOException;
 
     /**
      * Gets most recent temporary save file if one exists, null otherwise
@@ -320,4 +316,20 @@ public interface IOHandler {
      * @throws javax.xml.parsers.ParserConfigurationException
      */
     String[] readFile(DictCore core, String _fileName, byte[] overrideXML) throws IOException, IllegalStateException, ParserConfigurationException;
+
+    /**
+     * Reads from given file
+     *
+     * @param core
+     * @param _fileName filename to read from
+     * @param overrideXML override to where the XML should be loaded from
+     * @param rememberArchive false if the core is read only to check the file,
+     * and will never save it, so nothing about the read should be kept for
+     * later saves
+     * @return String array of two entries [0] = warnings, [1] = errors
+     * @throws java.io.IOException for unrecoverable errors
+     * @throws IllegalStateException for recoverable errors
+     * @throws javax.xml.parsers.ParserConfigurationException
+     */
+    String[] readFile(DictCore core, String _fileName, byte[] overrideXML, boolean rememberArchive) throws IOException, IllegalStateException, ParserConfigurationException;
 }
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.ManagersCollections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import org.darisadesigns.polyglotlina.Nodes.ConWord;
+import org.darisadesigns.polyglotlina.Nodes.ConjugationGenRule;
+import org.darisadesigns.polyglotlina.Nodes.ConjugationGenTransform;
+
+/**
+ * Compiled form of the conjugation generation rules of a single part of
+ * speech. Regexes are compiled once, rules are grouped by combined ID in
+ * application order, and class filters are reduced to bitmasks over the
+ * class/value pairs referenced within each group.
+ * 
+ * Produces exactly the forms of applying each rule in turn via
+ * ConjugationGenRule.doesRuleApplyToWord() and String.replaceAll(). Instances
+ * are immutable once built and may be shared between threads.
+ * 
+ * @author Draque Thompson
+ */
+final class CompiledConjugationRules {
+    private final int typeId;
+    private final boolean hasRules;
+    private final Map<String, RuleGroup> groups;
+    
+    // rules with regexes that fail to compile. These fail generation of any
+    // form of words their class filters admit, as uncompiled rules once did
+    private final CompiledRule[] malformedRules;
+    
+    private CompiledConjugationRules(int _typeId, 
+            boolean _hasRules, 
+            Map<String, RuleGroup> _groups, 
+            CompiledRule[] _malformedRules) {
+        typeId = _typeId;
+        hasRules = _hasRules;
+        groups = _groups;
+        malformedRules = _malformedRules;
+    }
+    
+    /**
+     * Compiles rules of a part of speech
+     * @param typeId ID of part of speech
+     * @param rules all rules of part of speech, sorted in application order
+     * (may be null)
+     * @return compiled rules
+     */
+    static CompiledConjugationRules compile(int typeId, List<ConjugationGenRule> rules) {
+        Map<String, List<CompiledRule>> groupedRules = new LinkedHashMap<>();
+        List<CompiledRule> malformed = new ArrayList<>();
+        
+        if (rules != null) {
+            for (ConjugationGenRule rule : rules) {
+                // rules filed under another part of speech never apply
+                if (rule.getTypeId() != typeId) {
+                    continue;
+                }
+                
+                CompiledRule compiled = new CompiledRule(rule);
+                
+                if (compiled.regexError != null) {
+                    malformed.add(compiled);
+                } else {
+                    groupedRules.computeIfAbsent(rule.getCombinationId(), k -> new ArrayList<>()).add(compiled);
+                }
+            }
+        }
+        
+        Map<String, RuleGroup> groups = new HashMap<>();
+        
+        for (Entry<String, List<CompiledRule>> entry : groupedRules.entrySet()) {
+            groups.put(entry.getKey(), new RuleGroup(entry.getValue()));
+        }
+        
+        return new CompiledConjugationRules(typeId, 
+                rules != null && !rules.isEmpty(), 
+                groups, 
+                malformed.toArray(new CompiledRule[0]));
+    }
+    
+    /**
+     * Generates a form of a word
+     * @param word word to decline (must be of this part of speech)
+     * @param combinedId combined ID of form to generate
+     * @param classes word class collection of word's language
+     * @return generated form, empty string if part of speech has no rules,
+     * or null if a transform has been edited in place since compilation
+     * (recompile and retry)
+     * @throws Exception on malformed regex
+     */
+    String decline(ConWord word, String combinedId, WordClassCollection classes) throws Exception {
+        if (!hasRules) {
+            return "";
+        }
+        
+        if (word.getCore() == null) {
+            throw new NullPointerException("Words without populated dictionary cores cannot be tested.");
+        }
+        
+        ClassTest classTest = new ClassTest(word, classes);
+        
+        for (CompiledRule rule : malformedRules) {
+            if (rule.appliesToClasses(classTest)) {
+                throw rule.regexError;
+            }
+        }
+        
+        String ret = word.getValue();
+        RuleGroup group = groups.get(combinedId);
+        
+        if (group != null) {
+            String value = ret;
+            long[] wordMask = null;
+            
+            for (CompiledRule rule : group.rules) {
+                if (rule.mask != null && classTest.typeHasClasses()) {
+                    if (wordMask == null) {
+                        wordMask = group.getWordMask(word);
+                    }
+                    
+                    if (!rule.maskMatches(wordMask)) {
+                        continue;
+                    }
+                }
+                
+                if (!rule.regex.matcher(value).matches()) {
+                    continue;
+                }
+                
+                for (CompiledTransform trans : rule.transforms) {
+                    if (!trans.isCurrent()) {
+                        return null;
+                    }
+                    
+                    try {
+                        if (trans.error != null) {
+                            throw trans.error;
+                        }
+                        
+                        ret = trans.regex.matcher(ret).replaceAll(trans.replaceText);
+                    } catch (Exception e) {
+                        throw new Exception("Unable to create declension/conjugation "
+                                + "due to malformed regex (modify in Parts of Speech->Autogeneration): "
+                                + e.getLocalizedMessage(), e);
+                    }
+                }
+            }
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Lazily evaluated class properties of a single word
+     */
+    private final class ClassTest {
+        private final ConWord word;
+        private final WordClassCollection classes;
+        private Boolean typeHasClasses = null;
+        
+        private ClassTest(ConWord _word, WordClassCollection _classes) {
+            word = _word;
+            classes = _classes;
+        }
+        
+        private boolean typeHasClasses() {
+            if (typeHasClasses == null) {
+                typeHasClasses = classes.hasClassesForType(typeId);
+            }
+            
+            return typeHasClasses;
+        }
+    }
+    
+    /**
+     * All rules of a single combined ID, along with the class/value pairs
+     * their filters reference. Bit N of a mask corresponds to pair N.
+     */
+    private static final class RuleGroup {
+        private final CompiledRule[] rules;
+        private final int[] pairClassIds;
+        private final int[] pairValueIds;
+        
+        private RuleGroup(List<CompiledRule> _rules) {
+            List<Integer> classIds = new ArrayList<>();
+            List<Integer> valueIds = new ArrayList<>();
+            Map<Long, Integer> pairBits = new HashMap<>();
+            
+            rules = _rules.toArray(new CompiledRule[0]);
+            
+            for (CompiledRule rule : rules) {
+                rule.buildMask(pairBits, classIds, valueIds);
+            }
+            
+            pairClassIds = toArray(classIds);
+            pairValueIds = toArray(valueIds);
+        }
+        
+        private long[] getWordMask(ConWord word) {
+            long[] ret = new long[maskLength(pairClassIds.length)];
+            
+            for (int i = 0; i < pairClassIds.length; i++) {
+                if (word.wordHasClassValue(pairClassIds[i], pairValueIds[i])) {
+                    ret[i >> 6] |= 1L << (i & 63);
+                }
+            }
+            
+            return ret;
+        }
+        
+        private static int[] toArray(List<Integer> list) {
+            int[] ret = new int[list.size()];
+            
+            for (int i = 0; i < ret.length; i++) {
+                ret[i] = list.get(i);
+            }
+            
+            return ret;
+        }
+    }
+    
+    private static final class CompiledRule {
+        private final Map<Integer, Integer> classFilter;
+        private final boolean universal;
+        private final Pattern regex;
+        private final RuntimeException regexError;
+        private final CompiledTransform[] transforms;
+        
+        // null if rule applies regardless of class values
+        private long[] mask = null;
+        
+        private CompiledRule(ConjugationGenRule rule) {
+            Pattern compiled = null;
+            RuntimeException error = null;
+            
+            try {
+                compiled = Pattern.compile(rule.getRegex());
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            
+            regex = compiled;
+            regexError = error;
+            classFilter = new HashMap<>(rule.getClassFilterList());
+            universal = classFilter.isEmpty() || classFilter.containsKey(-1);
+            
+            ConjugationGenTransform[] sourceTransforms = rule.getTransforms();
+            transforms = new CompiledTransform[sourceTransforms.length];
+            
+            for (int i = 0; i < sourceTransforms.length; i++) {
+                transforms[i] = new CompiledTransform(sourceTransforms[i]);
+            }
+        }
+        
+        private void buildMask(Map<Long, Integer> pairBits, List<Integer> classIds, List<Integer> valueIds) {
+            if (universal) {
+                return;
+            }
+            
+            List<Integer> bits = new ArrayList<>();
+            
+            for (Entry<Integer, Integer> entry : classFilter.entrySet()) {
+                long pair = ((long)entry.getKey() << 32) | (entry.getValue() & 0xFFFFFFFFL);
+                Integer bit = pairBits.get(pair);
+                
+                if (bit == null) {
+                    bit = classIds.size();
+                    pairBits.put(pair, bit);
+                    classIds.add(entry.getKey());
+                    valueIds.add(entry.getValue());
+                }
+                
+                bits.add(bit);
+            }
+            
+            int maxBit = 0;
+            
+            for (int bit : bits) {
+                maxBit = Math.max(maxBit, bit);
+            }
+            
+            mask = new long[maskLength(maxBit + 1)];
+            
+            for (int bit : bits) {
+                mask[bit >> 6] |= 1L << (bit & 63);
+            }
+        }
+        
+        private boolean maskMatches(long[] wordMask) {
+            for (int i = 0; i < mask.length; i++) {
+                if ((mask[i] & wordMask[i]) != mask[i]) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        /**
+         * Tests class filter directly. Used only for malformed rules, which
+         * have no group.
+         */
+        private boolean appliesToClasses(ClassTest classTest) {
+            boolean ret = true;
+            
+            if (!universal && classTest.typeHasClasses()) {
+                for (Entry<Integer, Integer> entry : classFilter.entrySet()) {
+                    if (!classTest.word.wordHasClassValue(entry.getKey(), entry.getValue())) {
+                        ret = false;
+                        break;
+                    }
+                }
+            }
+            
+            return ret;
+        }
+    }
+    
+    private static final class CompiledTransform {
+        private final ConjugationGenTransform source;
+        private final String regexSource;
+        private final String replaceText;
+        private final Pattern regex;
+        private final RuntimeException error;
+        
+        private CompiledTransform(ConjugationGenTransform _source) {
+            Pattern compiled = null;
+            RuntimeException compileError = null;
+            
+            source = _source;
+            regexSource = _source.regex;
+            replaceText = _source.replaceText;
+            
+            try {
+                compiled = Pattern.compile(regexSource);
+            } catch (RuntimeException e) {
+                compileError = e;
+            }
+            
+            regex = compiled;
+            error = compileError;
+        }
+        
+        /**
+         * Transforms expose their values as public fields, so in-place edits
+         * are detected by identity as each transform is applied
+         */
+        private boolean isCurrent() {
+            return source.regex == regexSource && source.replaceText == replaceText;
+        }
+    }
+    
+    private static int maskLength(int bitCount) {
+        return (bitCount + 63) >> 6;
+    }
+}
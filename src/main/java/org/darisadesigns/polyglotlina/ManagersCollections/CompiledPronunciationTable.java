@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.ManagersCollections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.darisadesigns.polyglotlina.Nodes.PronunciationNode;
+import org.darisadesigns.polyglotlina.RegexTools;
+
+/**
+ * Compiled form of an ordered pronunciation (or romanization) table. Every
+ * pattern is compiled once. Patterns with no regex syntax are also held in a
+ * trie, so literal matches at a position are found in a single walk rather
+ * than by testing each pattern in turn.
+ * 
+ * Segmentation picks, at each position, the first pattern in table order
+ * which both matches and leaves a remainder that can itself be segmented.
+ * This is the same result as the original backtracking search, but each
+ * position is solved only once, so it cannot go exponential.
+ * 
+ * Instances are immutable and are discarded when the table or the settings
+ * it was compiled under change.
+ * 
+ * @author Draque Thompson
+ */
+final class CompiledPronunciationTable {
+    private final List<PronunciationNode> source;
+    private final PronunciationNode[] nodes;
+    private final String[] values;
+    private final String[] pronunciations;
+    private final boolean recurse;
+    private final boolean disableRegex;
+    private final boolean ignoreCase;
+    
+    // regex mode: anchored-at-start wrapper patterns and the original patterns used to build output
+    private final Pattern[] wrappers;
+    private final RuntimeException[] wrapperErrors;
+    private final Pattern[] patterns;
+    private final RuntimeException[] patternErrors;
+    
+    // patterns with no regex syntax, matched via trie (null entries otherwise)
+    private final String[] literals;
+    private final boolean[] anchored;
+    private final TrieNode trie;
+    private final int[] nonLiteralNodes;
+    
+    private CompiledPronunciationTable(List<PronunciationNode> _source, 
+            boolean _recurse, 
+            boolean _disableRegex, 
+            boolean _ignoreCase) {
+        source = _source;
+        nodes = _source.toArray(new PronunciationNode[0]);
+        recurse = _recurse;
+        disableRegex = _disableRegex;
+        ignoreCase = _ignoreCase;
+        
+        int count = nodes.length;
+        values = new String[count];
+        pronunciations = new String[count];
+        wrappers = new Pattern[count];
+        wrapperErrors = new RuntimeException[count];
+        patterns = new Pattern[count];
+        patternErrors = new RuntimeException[count];
+        literals = new String[count];
+        anchored = new boolean[count];
+        trie = new TrieNode();
+        List<Integer> nonLiteral = new ArrayList<>();
+        
+        for (int i = 0; i < count; i++) {
+            values[i] = nodes[i].getValue();
+            pronunciations[i] = nodes[i].getPronunciation();
+        }
+        
+        if (recurse || !disableRegex) {
+            for (int i = 0; i < count; i++) {
+                try {
+                    patterns[i] = Pattern.compile(values[i]);
+                } catch (RuntimeException e) {
+                    patternErrors[i] = e;
+                }
+            }
+        }
+        
+        if (!recurse && !disableRegex) {
+            for (int i = 0; i < count; i++) {
+                String pattern = values[i];
+                anchored[i] = pattern.startsWith("^");
+                String body = anchored[i] ? pattern.substring(1) : pattern;
+                
+                try {
+                    wrappers[i] = Pattern.compile("^(" + body + ").*");
+                } catch (RuntimeException e) {
+                    wrapperErrors[i] = e;
+                }
+                
+                if (!RegexTools.containsRegexSyntax(body)) {
+                    literals[i] = body;
+                    trie.add(body, i);
+                } else {
+                    nonLiteral.add(i);
+                }
+            }
+        } else if (!recurse && !ignoreCase) {
+            for (int i = 0; i < count; i++) {
+                literals[i] = values[i];
+                trie.add(values[i], i);
+            }
+        } else if (!recurse) {
+            for (int i = 0; i < count; i++) {
+                nonLiteral.add(i);
+            }
+        }
+        
+        nonLiteralNodes = nonLiteral.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    static CompiledPronunciationTable compile(List<PronunciationNode> source, 
+            boolean recurse, 
+            boolean disableRegex, 
+            boolean ignoreCase) {
+        return new CompiledPronunciationTable(source, recurse, disableRegex, ignoreCase);
+    }
+    
+    /**
+     * Tests whether this was compiled from the current state of the table and
+     * settings. Nodes edited in place are detected by identity of their values.
+     */
+    boolean isCurrent(List<PronunciationNode> _source, 
+            boolean _recurse, 
+            boolean _disableRegex, 
+            boolean _ignoreCase) {
+        if (source != _source 
+                || nodes.length != _source.size() 
+                || recurse != _recurse 
+                || disableRegex != _disableRegex 
+                || ignoreCase != _ignoreCase) {
+            return false;
+        }
+        
+        for (int i = 0; i < nodes.length; i++) {
+            PronunciationNode node = _source.get(i);
+            
+            if (node != nodes[i] 
+                    || node.getValue() != values[i] 
+                    || node.getPronunciation() != pronunciations[i]) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Returns pronunciation elements of a word
+     * @param base word to find pronunciation elements of (non-empty)
+     * @return elements of pronunciation for word. Empty if no perfect match
+     * found
+     * @throws Exception on malformed pattern encountered
+     */
+    List<PronunciationNode> getElements(String base) throws Exception {
+        List<PronunciationNode> ret;
+        
+        if (recurse) {
+            ret = getElementsRecurse(base);
+        } else {
+            ret = new Segmentation(base).getElements();
+        }
+        
+        return ret;
+    }
+    
+    private List<PronunciationNode> getElementsRecurse(String base) throws Exception {
+        List<PronunciationNode> ret = new ArrayList<>();
+        
+        // when using recursion, only a single node can be returned, inherently.
+        String retStr = base;
+        PronunciationNode retNode = new PronunciationNode();
+        
+        for (int i = 0; i < nodes.length; i++) {
+            if (patternErrors[i] != null) {
+                throw patternErrors[i];
+            }
+            
+            retStr = patterns[i].matcher(retStr).replaceAll(pronunciations[i]);
+        }
+        
+        retNode.setPronunciation(retStr);
+        ret.add(retNode);
+        
+        return ret;
+    }
+    
+    /**
+     * Memoized segmentation of a single word. Each position is marked
+     * UNSOLVED until tested, then holds the chosen node or FAILED.
+     */
+    private final class Segmentation {
+        private static final int UNSOLVED = -2;
+        private static final int FAILED = -1;
+        
+        private final String base;
+        private final int length;
+        private final boolean literalsSafe;
+        private final int[] chosenNode;
+        private final int[] chosenLength;
+        private final String[] chosenText;
+        private final String[] chosenOutput;
+        private final Matcher[] matchers = new Matcher[nodes.length];
+        
+        private Segmentation(String _base) {
+            base = _base;
+            length = _base.length();
+            chosenNode = new int[length];
+            chosenLength = new int[length];
+            chosenText = new String[length];
+            chosenOutput = new String[length];
+            Arrays.fill(chosenNode, UNSOLVED);
+            
+            // ".*" in wrapper patterns will not cross line terminators, which plain prefix tests would
+            literalsSafe = disableRegex || !RegexTools.containsLineTerminator(_base);
+        }
+        
+        private List<PronunciationNode> getElements() throws Exception {
+            List<PronunciationNode> ret = new ArrayList<>();
+            
+            if (solve(0)) {
+                int pos = 0;
+                
+                while (pos < length) {
+                    PronunciationNode finalNode = new PronunciationNode();
+                    finalNode.setEqual(nodes[chosenNode[pos]]);
+                    
+                    if (chosenOutput[pos] != null) {
+                        finalNode.setPronunciation(chosenOutput[pos]);
+                    }
+                    
+                    finalNode.setOriginPattern(chosenText[pos]);
+                    ret.add(finalNode);
+                    pos += chosenLength[pos];
+                }
+            }
+            
+            return ret;
+        }
+        
+        /**
+         * @param pos position in word to segment from (less than length)
+         * @return true if remainder of word from pos can be segmented
+         */
+        private boolean solve(int pos) throws Exception {
+            if (chosenNode[pos] != UNSOLVED) {
+                return chosenNode[pos] != FAILED;
+            }
+            
+            chosenNode[pos] = FAILED;
+            
+            if (!literalsSafe) {
+                for (int node = 0; node < nodes.length; node++) {
+                    if (tryNode(pos, node, false)) {
+                        return true;
+                    }
+                }
+                
+                return false;
+            }
+            
+            int[] literalMatches = findLiterals(pos);
+            int literalIndex = 0;
+            int nonLiteralIndex = 0;
+            
+            // visit literal and non-literal candidates merged back into table order
+            while (literalIndex < literalMatches.length || nonLiteralIndex < nonLiteralNodes.length) {
+                int node;
+                boolean isLiteral;
+                
+                if (nonLiteralIndex >= nonLiteralNodes.length 
+                        || (literalIndex < literalMatches.length 
+                            && literalMatches[literalIndex] < nonLiteralNodes[nonLiteralIndex])) {
+                    node = literalMatches[literalIndex++];
+                    isLiteral = true;
+                } else {
+                    node = nonLiteralNodes[nonLiteralIndex++];
+                    isLiteral = false;
+                }
+                
+                if (tryNode(pos, node, isLiteral)) {
+                    return true;
+                }
+            }
+            
+            return false;
+        }
+        
+        private boolean tryNode(int pos, int node, boolean isLiteral) throws Exception {
+            String text;
+            int advance;
+            
+            if (disableRegex) {
+                String pattern = values[node];
+                
+                if (isLiteral) {
+                    text = pattern;
+                } else {
+                    // case insensitive comparison, as per String.toLowerCase() on both
+                    if (pattern.length() > length - pos) {
+                        return false;
+                    }
+                    
+                    String comp = base.substring(pos, pos + pattern.length()).toLowerCase();
+                    text = pattern.toLowerCase();
+                    
+                    if (!comp.equals(text)) {
+                        return false;
+                    }
+                }
+                
+                advance = text.length();
+            } else {
+                if (anchored[node] && pos != 0) {
+                    return false;
+                }
+                
+                text = isLiteral ? literals[node] : matchWrapper(pos, node);
+                
+                // empty and unmatched patterns are skipped
+                if (text == null || text.isEmpty()) {
+                    return false;
+                }
+                
+                advance = text.length();
+            }
+            
+            if (advance == 0 || pos + advance > length) {
+                return false;
+            }
+            
+            int next = pos + advance;
+            
+            if (next == length || solve(next)) {
+                chosenNode[pos] = node;
+                chosenLength[pos] = advance;
+                chosenText[pos] = text;
+                chosenOutput[pos] = disableRegex ? null : buildOutput(node, text);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        /**
+         * @return text matched by node's pattern at pos, or null if no match
+         */
+        private String matchWrapper(int pos, int node) {
+            if (wrapperErrors[node] != null) {
+                throw wrapperErrors[node];
+            }
+            
+            Matcher matcher = matchers[node];
+            
+            if (matcher == null) {
+                matcher = wrappers[node].matcher(base);
+                matchers[node] = matcher;
+            }
+            
+            // region bounds are opaque and anchoring, so behave as a substring would
+            matcher.region(pos, length);
+            
+            return matcher.matches() ? matcher.group(1) : null;
+        }
+        
+        private String buildOutput(int node, String leadingChars) throws Exception {
+            if (patternErrors[node] != null) {
+                throw patternErrors[node];
+            }
+            
+            try {
+                return patterns[node].matcher(leadingChars).replaceAll(pronunciations[node]);
+            } catch (IndexOutOfBoundsException e) {
+                throw new Exception("The pronunciation pair " + values[node] + "->"
+                        + pronunciations[node] + " is generating a regex error. Please correct."
+                        + "\nError: " + e.getLocalizedMessage() + e.getClass().getName(), e);
+            }
+        }
+        
+        /**
+         * @return indices of all literal nodes matching at pos, in table order
+         */
+        private int[] findLiterals(int pos) {
+            int[] found = new int[nodes.length];
+            int count = 0;
+            TrieNode cur = trie;
+            
+            for (int i = pos; cur != null; i++) {
+                for (int node : cur.terminals) {
+                    found[count++] = node;
+                }
+                
+                cur = i < length ? cur.children.get(base.charAt(i)) : null;
+            }
+            
+            Arrays.sort(found, 0, count);
+            
+            return Arrays.copyOf(found, count);
+        }
+    }
+    
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private int[] terminals = new int[0];
+        
+        private void add(String literal, int node) {
+            TrieNode cur = this;
+            
+            for (int i = 0; i < literal.length(); i++) {
+                cur = cur.children.computeIfAbsent(literal.charAt(i), k -> new TrieNode());
+            }
+            
+            cur.terminals = Arrays.copyOf(cur.terminals, cur.terminals.length + 1);
+            cur.terminals[cur.terminals.length - 1] = node;
+        }
+    }
+}
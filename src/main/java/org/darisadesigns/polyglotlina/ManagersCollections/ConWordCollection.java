@@ -25,16 +25,20 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
-import org.darisadesigns.polyglotlina.FormattedTextHelper;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationNode;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationPair;
@@ -46,8 +50,6 @@ import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.RankedObject;
 import org.darisadesigns.polyglotlina.RegexTools;
 import org.darisadesigns.polyglotlina.RegexTools.ReplaceOptions;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * @author Draque Thompson
@@ -58,6 +60,7 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
     private static final String SPLIT_CHAR = ",";
     private final DictCore core;
     private boolean orderByLocal = false;
+    private LexiconSearchIndex searchIndex = null;
 
     public ConWordCollection(DictCore _core) {
         super(new ConWord());
@@ -405,12 +408,20 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
     public void deleteNodeById(Integer _id) throws Exception {
         super.deleteNodeById(_id);
         core.getConjugationManager().clearAllConjugationsWord(_id);
+        
+        if (searchIndex != null) {
+            searchIndex.remove(_id);
+        }
     }
 
     @Override
     public void modifyNode(Integer _id, ConWord _modNode) throws Exception {
         _modNode.setCore(core);
         super.modifyNode(_id, _modNode);
+        
+        if (searchIndex != null) {
+            searchIndex.update(_modNode);
+        }
     }
 
     /**
@@ -426,7 +437,13 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
     protected Integer insert(Integer _id, ConWord _buffer) throws Exception {
         _buffer.setCore(core);
         _buffer.setParent(this);
-        return super.insert(_id, _buffer);
+        Integer ret = super.insert(_id, _buffer);
+        
+        if (searchIndex != null) {
+            searchIndex.update(_buffer);
+        }
+        
+        return ret;
     }
 
     /**
@@ -570,55 +587,81 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
         ConWordCollection retValues = new ConWordCollection(core);
         retValues.setAlphaOrder(alphaOrder);
 
-        Iterator<Entry<Integer, ConWord>> filterList = nodeMap.entrySet().iterator();
-        Entry<Integer, ConWord> curEntry;
-        ConWord curWord;
+        boolean ignoreCase = core.getPropertiesManager().isIgnoreCase();
         // definition search should always ignore case
         _filter.setDefinition(_filter.getDefinition().toLowerCase());
 
         // set filter to lowercase if ignoring case
-        if (core.getPropertiesManager().isIgnoreCase()) {
+        if (ignoreCase) {
             _filter.setDefinition(_filter.getDefinition().toLowerCase());
             _filter.setLocalWord(_filter.getLocalWord().toLowerCase());
             _filter.setValue(_filter.getValue().toLowerCase());
             _filter.setPronunciation(_filter.getPronunciation().toLowerCase());
         }
-
-        while (filterList.hasNext()) {
-            curEntry = filterList.next();
-            curWord = curEntry.getValue();
-            try {
-                // definition should always ignore case
-                String definition = FormattedTextHelper.getTextBody(curWord.getDefinition()).toLowerCase();
-                int type = curWord.getWordTypeId();
-                String local;
-                String proc;
-
-                // if set to ignore case, set up caseless matches, normal otherwise
-                if (core.getPropertiesManager().isIgnoreCase()) {
-                    local = curWord.getLocalWord().toLowerCase();
-                    proc = curWord.getPronunciation().toLowerCase();
-                } else {
-                    local = curWord.getLocalWord();
-                    proc = curWord.getPronunciation();
+        
+        LexiconSearchIndex index = getSearchIndex();
+        // null signifies that no text filter has narrowed candidates yet
+        Set<Integer> candidates = null;
+        List<Set<Integer>> valueMatches = new ArrayList<>();
+        
+        try {
+            // each text filter resolved against index, narrowing candidates
+            // definition
+            if (!_filter.getDefinition().trim().isEmpty()) {
+                Set<Integer> defMatches = new HashSet<>();
+                
+                for (String def1 : _filter.getDefinition().split(SPLIT_CHAR)) {
+                    defMatches.addAll(index.matchDefinition(def1));
                 }
-
-                // each filter test split up to minimize compares                
-                // definition
-                if (!_filter.getDefinition().trim().isEmpty()) {
-                    boolean cont = true;
-
-                    for (String def1 : _filter.getDefinition().split(SPLIT_CHAR)) {
-                        if (definition.matches(".*" + def1 + ".*")) {
-                            cont = false;
-                            break;
-                        }
-                    }
-
-                    if (cont) {
-                        continue;
+                
+                candidates = defMatches;
+            }
+            
+            // local word
+            if (!_filter.getLocalWord().trim().isEmpty()) {
+                candidates = intersect(candidates, index.matchLocal(_filter.getLocalWord().trim()));
+            }
+            
+            // pronunciation
+            if (!_filter.getPronunciation().trim().isEmpty()) {
+                index.synchronizePronunciations(nodeMap.values(), 
+                        core.getPronunciationMgr().getRulesVersion());
+                candidates = intersect(candidates, index.matchPronunciation(_filter.getPronunciation()));
+            }
+            
+            // con word (matches headword or any generated conjugation/declension)
+            if (!_filter.getValue().trim().isEmpty()) {
+                index.synchronizeForms(nodeMap.values(), core.getConjugationManager());
+                
+                for (String val1 : _filter.getValue().split(SPLIT_CHAR)) {
+                    Set<Integer> matches = index.matchValue(val1);
+                    
+                    if (!val1.trim().isEmpty()) {
+                        matches.addAll(index.matchForms(val1));
                     }
+                    
+                    valueMatches.add(matches);
                 }
+            }
+        } catch (Exception e) {
+            throw new Exception("FILTERING ERROR: " + e.getMessage(), e);
+        }
+        
+        Collection<ConWord> searchWords;
+        
+        if (candidates == null) {
+            searchWords = nodeMap.values();
+        } else {
+            searchWords = new ArrayList<>();
+            
+            for (Integer id : candidates) {
+                searchWords.add(nodeMap.get(id));
+            }
+        }
+
+        for (ConWord curWord : searchWords) {
+            try {
+                int type = curWord.getWordTypeId();
 
                 // type (exact match only)
                 if (_filter.getWordTypeId() != 0
@@ -626,22 +669,12 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
                     continue;
                 }
 
-                // local word
-                if (!_filter.getLocalWord().trim().isEmpty()) {
-                    String match = _filter.getLocalWord().trim();
-                    
-                    if (!local.contains(match)
-                            && !local.matches(match)) {
-                        continue;
-                    }
-                }
-
                 // con word
-                if (!_filter.getValue().trim().isEmpty()) {
+                if (!valueMatches.isEmpty()) {
                     boolean cont = true;
 
-                    for (String val1 : _filter.getValue().split(SPLIT_CHAR)) {
-                        if (matchHeadAndDeclensions(val1, curWord)) {
+                    for (Set<Integer> matches : valueMatches) {
+                        if (matches.contains(curWord.getId())) {
                             cont = false;
                             break;
                         }
@@ -651,16 +684,6 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
                         continue;
                     }
                 }
-
-                // pronunciation
-                if (!_filter.getPronunciation().trim().isEmpty()) {
-                    String match = _filter.getPronunciation();
-                    
-                    if (!proc.contains(match)
-                            && !proc.matches(match)) {
-                        continue;
-                    }
-                }
                 
                 // etymological root
                 Object parent = _filter.getFilterEtyParent();
@@ -690,50 +713,36 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
 
         return retValues.getWordNodes();
     }
-
+    
     /**
-     * Tests whether matchText matches the headword of the passed word, or any
-     * declensions/conjugations of the word.
-     *
-     * @param matchText Text to match.
-     * @param word Word within which to search for matches
-     * @return true if match, false otherwise
+     * Returns search index for this collection, synchronized with current
+     * state of all words. Index is built on first use.
+     * @return current search index
      */
-    private boolean matchHeadAndDeclensions(String matchText, ConWord word) {
-        boolean ret = false;
-        boolean ignoreCase = core.getPropertiesManager().isIgnoreCase();
-
-        String head = ignoreCase ? word.getValue().toLowerCase() : word.getValue();
-
-        if (matchText.trim().isEmpty()
-                || head.matches(matchText)
-                || head.contains(matchText)) {
-            ret = true;
+    private LexiconSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new LexiconSearchIndex();
         }
-        TypeNode type = core.getTypes().getNodeById(word.getWordTypeId());
-
-        if (type != null && !ret) {
-            int typeId = type.getId();
-            ConjugationPair[] decPairs = core.getConjugationManager().getAllCombinedIds(typeId);
-
-            for (ConjugationPair curPair : decPairs) {
-                // silently skip erroring entries. Too cumbersome to deal with during a search
-                try {
-                    String declension = core.getConjugationManager()
-                            .declineWord(word, curPair.combinedId);
-
-                    if (!declension.trim().isEmpty()
-                            && (declension.matches(matchText)
-                            || declension.contains(matchText))) {
-                        ret = true;
-                    }
-                } catch (Exception e) {
-                    // do nothing (see above comment)
-                    // IOHandler.writeErrorLog(e);
-                }
-            }
+        
+        searchIndex.synchronize(nodeMap.values(), core.getPropertiesManager().isIgnoreCase());
+        
+        return searchIndex;
+    }
+    
+    /**
+     * Intersects set of candidates with new matches
+     * @param candidates current candidates (null if none selected yet)
+     * @param matches matches to intersect with
+     * @return intersection (matches alone if candidates null)
+     */
+    private static Set<Integer> intersect(Set<Integer> candidates, Set<Integer> matches) {
+        Set<Integer> ret = matches;
+        
+        if (candidates != null) {
+            ret = new HashSet<>(candidates);
+            ret.retainAll(matches);
         }
-
+        
         return ret;
     }
 
@@ -778,11 +787,7 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
      * @return List of ConWords
      */
     public List<ConWord> getWordNodesList() {
-        List<ConWord> retList = new ArrayList<>(nodeMap.values());
-
-        this.safeSort(retList);
-
-        return retList;
+        return this.getSortedNodes();
     }
 
     /**
@@ -880,20 +885,19 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
     }
 
     /**
-     * Writes all word information to XML document
+     * Writes all word information to XML stream
      *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * @param writer writer to write to
+     * @throws XMLStreamException on write failure
      */
-    public void writeXML(Document doc, Element rootElement) {
-        ConWord[] wordLoop = getWordNodes();
-        Element lexicon = doc.createElement(PGTUtil.LEXICON_XID);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.LEXICON_XID);
         
-        for (ConWord curWord : wordLoop) {
-            curWord.writeXML(doc, lexicon);
+        for (ConWord curWord : getWordNodes()) {
+            curWord.writeXML(writer);
         }
         
-        rootElement.appendChild(lexicon);
+        writer.writeEndElement();
     }
 
     /**
@@ -948,6 +952,11 @@ public class ConWordCollection extends DictionaryCollection<ConWord> {
         });
     }
     
+    @Override
+    public void markChanged() {
+        core.markChanged();
+    }
+
     @Override
     public ConWord notFoundNode() {
         ConWord notFound = new ConWord();
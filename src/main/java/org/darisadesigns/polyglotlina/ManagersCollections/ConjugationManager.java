@@ -19,6 +19,8 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationDimension;
 import org.darisadesigns.polyglotlina.DictCore;
@@ -37,12 +39,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 import org.darisadesigns.polyglotlina.Nodes.EvolutionPair;
 import org.darisadesigns.polyglotlina.Nodes.EvolutionPair.EvolutionType;
 import org.darisadesigns.polyglotlina.RegexTools;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -50,6 +53,9 @@ import org.w3c.dom.Element;
  */
 public class ConjugationManager {
 
+    // maximum number of words declined by a single task of a batch
+    private static final int BATCH_TASK_WORDS = 32;
+    
     private final DictCore core;
     private final List<String> decGenDebug = new ArrayList<>();
     private Integer topId = 0;
@@ -59,6 +65,13 @@ public class ConjugationManager {
     private final Map<Integer, List<ConjugationGenRule>> generationRules = new HashMap<>();
     private ConjugationGenRule ruleBuffer = new ConjugationGenRule();
     
+    // compiled generation rules by PoS, validated against that PoS's rule version before use
+    private final Map<Integer, CompiledRuleEntry> compiledRules = new HashMap<>();
+    // by PoS, bumped on every change to its rules, including edits to rules held here
+    private final Map<Integer, Long> ruleVersions = new HashMap<>();
+    // bumped on every change to conjugation templates or conjugations held here
+    private final AtomicLong conjugationVersion = new AtomicLong();
+    
     // Integer is ID of related word, list is list of declension nodes
     private final Map<Integer, List<ConjugationNode>> dList = new HashMap<>();
 
@@ -129,11 +142,11 @@ public class ConjugationManager {
         List<EvolutionPair> ret = new ArrayList<>();
         if (posFilter > 0) {
             if (generationRules.containsKey(posFilter)) {
-                ret = this.evolveSingleRuleList(generationRules.get(posFilter), regex, replacement);
+                ret = this.evolveSingleRuleList(posFilter, generationRules.get(posFilter), regex, replacement);
             }
         } else {
-            for (List<ConjugationGenRule> ruleList : generationRules.values()) {
-                ret.addAll(this.evolveSingleRuleList(ruleList, regex, replacement));
+            for (Entry<Integer, List<ConjugationGenRule>> ruleList : generationRules.entrySet()) {
+                ret.addAll(this.evolveSingleRuleList(ruleList.getKey(), ruleList.getValue(), regex, replacement));
             }
         }
         
@@ -145,13 +158,18 @@ public class ConjugationManager {
      * speech filter. If the filter is set to 0, it is not used, and the evolutions
      * are applied to all entries. The evolutions are applied to both the regex and
      * the replacement text of the rules' transformations.
+     * @param typeId ID of part of speech rules are held under
      * @param ruleList
      * @param regex
      * @param replacement
      * @return List of EvolutionPair values representing results (including errors)
      */
-    private List<EvolutionPair> evolveSingleRuleList(List<ConjugationGenRule> ruleList, String regex, String replacement) {
+    private List<EvolutionPair> evolveSingleRuleList(int typeId, 
+            List<ConjugationGenRule> ruleList, 
+            String regex, 
+            String replacement) {
         List<EvolutionPair> ret = new ArrayList<>();
+        rulesChanged(typeId);
         
         for (ConjugationGenRule rule : ruleList) {
             for (ConjugationGenTransform transform : rule.getTransforms()) {
@@ -209,6 +227,10 @@ public class ConjugationManager {
 
     public void setCombinedConjSuppressed(String _combId, Integer _typeId, boolean _suppress) {
         String storeId = _typeId + "," + _combId;
+        
+        if (isCombinedConjlSurpressed(_combId, _typeId) != _suppress) {
+            core.markChanged();
+        }
 
         if (combSettings.containsKey(storeId)) {
             combSettings.replace(storeId, _suppress);
@@ -297,6 +319,8 @@ public class ConjugationManager {
     public void addConjugationGenRule(ConjugationGenRule newRule) {
         int typeId = newRule.getTypeId();
         List<ConjugationGenRule> rules;
+        
+        newRule.setManager(this);
 
         if (generationRules.containsKey(typeId)) {
             rules = generationRules.get(typeId);
@@ -317,6 +341,7 @@ public class ConjugationManager {
         }
 
         rules.add(newRule);
+        rulesChanged(typeId);
     }
 
     /**
@@ -326,6 +351,7 @@ public class ConjugationManager {
      */
     public void wipeConjugationGenRules(int typeId) {
         generationRules.remove(typeId);
+        rulesChanged(typeId);
     }
 
     /**
@@ -355,6 +381,8 @@ public class ConjugationManager {
         if (generationRules.containsKey(typeId)) {
             generationRules.get(typeId).remove(delRule);
         }
+        
+        rulesChanged(typeId);
     }
 
     /**
@@ -366,13 +394,9 @@ public class ConjugationManager {
     public void deleteConjugationGenRules(int typeId, String combinedId) {
         if (generationRules.containsKey(typeId)) {
             List<ConjugationGenRule> rules = generationRules.get(typeId);
-            List<ConjugationGenRule> iter = new ArrayList<>(rules);
             
-            // iterate on copy of array to avoid concurrent modification
-            for (ConjugationGenRule rule : iter) {
-                if (rule.getCombinationId().equals(combinedId)) {
-                    rules.remove(rule);
-                }
+            if (rules.removeIf(rule -> rule.getCombinationId().equals(combinedId))) {
+                rulesChanged(typeId);
             }
         }
     }
@@ -485,14 +509,118 @@ public class ConjugationManager {
      * @throws java.lang.Exception on bad regex
      */
     public String declineWord(ConWord word, String combinedId) throws Exception {
+        return declineWord(word, combinedId, false);
+    }
+
+    /**
+     * Generates the new form of a declined/conjugated word based on rules for
+     * its type. Rules are applied in compiled form unless debugging, in which
+     * case a breakdown of each rule's application is recorded, retrievable
+     * via getDecGenDebug().
+     *
+     * @param word to transform
+     * @param combinedId combined ID of word form to create
+     * @param debug true to record breakdown of rules applied (slower)
+     * @return new word value if exists, empty string otherwise
+     * @throws java.lang.Exception on bad regex
+     */
+    public String declineWord(ConWord word, String combinedId, boolean debug) throws Exception {
+        if (debug) {
+            List<String> breakdown = new ArrayList<>();
+            String ret = declineWordByRule(word, combinedId, breakdown);
+            
+            synchronized (decGenDebug) {
+                decGenDebug.clear();
+                decGenDebug.addAll(breakdown);
+            }
+            
+            return ret;
+        }
+        
+        int typeId = word.getWordTypeId();
+        WordClassCollection classes = core.getWordClassCollection();
+        String ret = getCompiledRules(typeId).decline(word, combinedId, classes);
+        
+        // a transform was edited in place: recompile once, falling back if still in flux
+        if (ret == null) {
+            invalidateCompiledRules(typeId);
+            ret = getCompiledRules(typeId).decline(word, combinedId, classes);
+            
+            if (ret == null) {
+                ret = declineWordByRule(word, combinedId, null);
+            }
+        }
+        
+        return ret;
+    }
+
+    /**
+     * Generates forms of many words at once, splitting the work across the
+     * common fork-join pool. Each task applies the compiled rules of each
+     * word's part of speech, sharing no mutable state, and no debug breakdown
+     * is recorded. Words may be of differing parts of speech.
+     *
+     * @param words words to decline
+     * @param combinedIds combined IDs of forms to generate for every word
+     * @return table of generated forms, indexed [word][combined ID]. Values
+     * are as returned by declineWord(), with null in place of forms which
+     * failed to generate.
+     */
+    public String[][] declineWords(List<ConWord> words, List<String> combinedIds) {
+        String[][] ret = new String[words.size()][combinedIds.size()];
+        Map<Integer, CompiledConjugationRules> compiled = new HashMap<>();
+        
+        for (ConWord word : words) {
+            compiled.computeIfAbsent(word.getWordTypeId(), this::getCompiledRules);
+        }
+        
+        ForkJoinPool.commonPool().invoke(new DeclineTask(words, 
+                combinedIds, 
+                compiled, 
+                core.getWordClassCollection(), 
+                ret, 
+                0, 
+                words.size()));
+        
+        // forms which failed or met rules edited mid-batch are retried singly
+        for (int i = 0; i < ret.length; i++) {
+            for (int j = 0; j < ret[i].length; j++) {
+                if (ret[i][j] == null) {
+                    try {
+                        ret[i][j] = declineWord(words.get(i), combinedIds.get(j));
+                    } catch (Exception e) {
+                        // left null: caller determines how to represent failures
+                    }
+                }
+            }
+        }
+        
+        return ret;
+    }
+
+    /**
+     * Generates word form by testing and applying each rule in turn,
+     * optionally recording a debug breakdown of each. Shares no state between
+     * calls, so it is safe alongside the parallel declension path.
+     *
+     * @param word to transform
+     * @param combinedId combined ID of word form to create
+     * @param breakdown receives breakdown of each rule applied, null if unwanted
+     * @return new word value if exists, empty string otherwise
+     * @throws java.lang.Exception on bad regex
+     */
+    private String declineWordByRule(ConWord word, String combinedId, List<String> breakdown) throws Exception {
         ConjugationGenRule[] rules = getConjugationRules(word);
-        decGenDebug.clear();
-        decGenDebug.add("APPLIED RULES BREAKDOWN:\n");
         String ret = word.getValue();
+        
+        if (breakdown != null) {
+            breakdown.add("APPLIED RULES BREAKDOWN:\n");
+        }
 
         for (ConjugationGenRule curRule : rules) {
             boolean ruleAppliesCombId = curRule.getCombinationId().equals(combinedId);
-            boolean ruleAppliesToWord = curRule.doesRuleApplyToWord(word);
+            StringBuilder ruleDebug = new StringBuilder();
+            boolean ruleAppliesToWord = curRule.doesRuleApplyToWord(word, ruleDebug);
             
             String debugString = "--------------------------------------\n";
             
@@ -500,12 +628,15 @@ public class ConjugationManager {
             if (!ruleAppliesCombId) {
                 continue;
             } else if (!ruleAppliesToWord) {
-                debugString += curRule.getDebugString();
-                decGenDebug.add(debugString);
+                debugString += ruleDebug;
+                
+                if (breakdown != null) {
+                    breakdown.add(debugString);
+                }
                 continue;
             }
             
-            debugString += curRule.getDebugString();
+            debugString += ruleDebug;
 
             ConjugationGenTransform[] transforms = curRule.getTransforms();
 
@@ -525,7 +656,9 @@ public class ConjugationManager {
                 }
             }
             
-            decGenDebug.add(debugString);
+            if (breakdown != null) {
+                breakdown.add(debugString);
+            }
         }
 
         // if rules are empty, no transformation took place: return blank string
@@ -534,6 +667,108 @@ public class ConjugationManager {
         return ret;
     }
 
+    /**
+     * Returns version of all state that determines the forms generated for
+     * words of a given part of speech: its rules, its conjugation templates
+     * and the word classes. Each is tracked by a counter bumped whenever it
+     * changes, and as counters only increase, their sum changes whenever any
+     * one of them does. Used to detect when cached forms must be regenerated.
+     *
+     * @param typeId ID of part of speech
+     * @return generation version
+     */
+    public long getGenerationVersion(int typeId) {
+        return getRuleVersion(typeId) 
+                + conjugationVersion.get() 
+                + core.getWordClassCollection().getModificationCount();
+    }
+    
+    private synchronized long getRuleVersion(int typeId) {
+        return ruleVersions.getOrDefault(typeId, 0L);
+    }
+
+    /**
+     * Gets compiled rules for a part of speech, compiling them if absent or
+     * if that part of speech's rules have changed since last compiled. Rules
+     * are sorted and their indices made contiguous first, as when fetched by
+     * getConjugationRules().
+     *
+     * @param typeId ID of part of speech
+     * @return current compiled rules
+     */
+    synchronized CompiledConjugationRules getCompiledRules(int typeId) {
+        CompiledRuleEntry entry = compiledRules.get(typeId);
+        
+        if (entry == null || entry.ruleVersion != getRuleVersion(typeId)) {
+            List<ConjugationGenRule> rules = generationRules.get(typeId);
+            
+            if (rules != null) {
+                Collections.sort(rules);
+                int i = 1;
+                
+                for (ConjugationGenRule curRule : rules) {
+                    if (curRule.getIndex() != i) {
+                        curRule.setIndex(i);
+                    }
+                    
+                    i++;
+                }
+            }
+            
+            // read after indices are made contiguous, as that bumps the version itself
+            long version = getRuleVersion(typeId);
+            entry = new CompiledRuleEntry(CompiledConjugationRules.compile(typeId, rules), version);
+            compiledRules.put(typeId, entry);
+        }
+        
+        return entry.compiled;
+    }
+    
+    private synchronized void invalidateCompiledRules(int typeId) {
+        compiledRules.remove(typeId);
+    }
+    
+    /**
+     * Call on any change to rule lists not made through ConjugationGenRule
+     * setters
+     * @param typeId ID of part of speech rules are held under
+     */
+    private void rulesChanged(int typeId) {
+        bumpRuleVersion(typeId);
+        core.markChanged();
+    }
+    
+    private synchronized void bumpRuleVersion(int typeId) {
+        ruleVersions.merge(typeId, 1L, Long::sum);
+    }
+    
+    /**
+     * Called by rules held here when they are edited
+     * @param typeId ID of part of speech rule is held under
+     */
+    public void ruleEdited(int typeId) {
+        bumpRuleVersion(typeId);
+        core.markChanged();
+    }
+    
+    /**
+     * Called by rules held here when their index changes. Indices are made
+     * contiguous whenever rules are fetched or saved, so this alone is not
+     * recorded as a change to the language. Moves record their own change.
+     * @param typeId ID of part of speech rule is held under
+     */
+    public void ruleReordered(int typeId) {
+        bumpRuleVersion(typeId);
+    }
+    
+    /**
+     * Records an edit to conjugations or their templates with the core
+     */
+    public void markChanged() {
+        conjugationVersion.incrementAndGet();
+        core.markChanged();
+    }
+
     public void addConjugationToWord(Integer wordId, Integer declensionId, ConjugationNode declension) {
         ConjugationManager.this.addConjugation(wordId, declensionId, declension, dList);
     }
@@ -904,8 +1139,10 @@ public class ConjugationManager {
 
         ConjugationNode addNode = new ConjugationNode(topId, this);
         addNode.setValue(declension);
+        addNode.setHeld();
 
         wordList.add(addNode);
+        markChanged();
 
         return addNode;
     }
@@ -937,8 +1174,10 @@ public class ConjugationManager {
 
         ConjugationNode addNode = new ConjugationNode(declensionId, this);
         addNode.setEqual(declension);
+        addNode.setHeld();
 
         wordList.add(addNode);
+        markChanged();
 
         if (declensionId > topId) {
             topId = declensionId;
@@ -1008,6 +1247,7 @@ public class ConjugationManager {
                 ConjugationNode curNode = copyFrom.next();
 
                 if (curNode.getId().equals(declensionId)) {
+                    markChanged();
                     continue;
                 }
 
@@ -1037,7 +1277,13 @@ public class ConjugationManager {
                 if (curNode.getId().equals(declensionId)) {
                     ConjugationNode modified = new ConjugationNode(declensionId, this);
                     modified.setEqual(declension);
+                    modified.setHeld();
                     copyTo.add(modified);
+                    
+                    if (!sameContent(curNode, modified)) {
+                        markChanged();
+                    }
+                    
                     continue;
                 }
 
@@ -1055,7 +1301,27 @@ public class ConjugationManager {
      * @param wordId ID of word to clear of all declensions
      */
     private void clearAllConjugations(Integer wordId, Map<Integer, List<ConjugationNode>> list) {
-        list.remove(wordId);
+        if (list.remove(wordId) != null) {
+            markChanged();
+        }
+    }
+    
+    /**
+     * Compares all saved values of two conjugations exactly
+     */
+    private static boolean sameContent(ConjugationNode a, ConjugationNode b) {
+        boolean ret = a.getValue().equals(b.getValue())
+                && a.getNotes().equals(b.getNotes())
+                && a.getCombinedDimId().equals(b.getCombinedDimId())
+                && a.isDimensionless() == b.isDimensionless()
+                && a.getDimensions().size() == b.getDimensions().size();
+        
+        for (ConjugationDimension dim : a.getDimensions()) {
+            ConjugationDimension compDim = b.getConjugationDimensionById(dim.getId());
+            ret = ret && compDim != null && dim.getValue().equals(compDim.getValue());
+        }
+        
+        return ret;
     }
 
     /**
@@ -1180,69 +1446,58 @@ public class ConjugationManager {
         List<ConjugationNode> wordList = dList.get(wordId);
 
         removeVals.forEach((remNode) -> {
-            wordList.remove(remNode);
+            if (wordList.remove(remNode)) {
+                markChanged();
+            }
         });
     }
 
     /**
-     * Writes all declension information to XML document
+     * Writes all declension information to XML stream
      *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * @param writer writer to write to
+     * @throws XMLStreamException on write failure
      */
-    public void writeXML(Document doc, Element rootElement) {
-        Set<Entry<Integer, List<ConjugationNode>>> declensionSet;
-        Element declensionCollection = doc.createElement(PGTUtil.DECLENSION_COLLECTION_XID);
-        rootElement.appendChild(declensionCollection);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DECLENSION_COLLECTION_XID);
         
         // ensure rule IDs are contiguous before save
         this.smoothRules();
 
         // record declension templates
-        declensionSet = dTemplates.entrySet();
-        for (Entry<Integer, List<ConjugationNode>> e : declensionSet) {
-            final Integer relatedId = e.getKey();
-
-            e.getValue().forEach((curNode) -> {
-                curNode.writeXMLTemplate(doc, declensionCollection, relatedId);
-            });
+        for (Entry<Integer, List<ConjugationNode>> e : dTemplates.entrySet()) {
+            for (ConjugationNode curNode : e.getValue()) {
+                curNode.writeXMLTemplate(writer, e.getKey());
+            }
         }
 
         // record word declensions
-        declensionSet = dList.entrySet();
-        for (Entry<Integer, List<ConjugationNode>> e : declensionSet) {
-            final Integer relatedId = e.getKey();
-
-            e.getValue().forEach((curNode) -> {
-                curNode.writeXMLWordConjugation(doc, declensionCollection, relatedId);
-            });
+        for (Entry<Integer, List<ConjugationNode>> e : dList.entrySet()) {
+            for (ConjugationNode curNode : e.getValue()) {
+                curNode.writeXMLWordConjugation(writer, e.getKey());
+            }
         }
 
         // record declension autogeneration rules
-        generationRules.values().forEach((rules) -> {
-            rules.forEach((rule) -> {
-                rule.writeXML(doc, declensionCollection);
-            });
-        });
+        for (List<ConjugationGenRule> rules : generationRules.values()) {
+            for (ConjugationGenRule rule : rules) {
+                rule.writeXML(writer);
+            }
+        }
+        
+        writer.writeEndElement();
 
         // record combined form settings
-        Element combinedForms = doc.createElement(PGTUtil.DEC_COMBINED_FORM_SECTION_XID);
-        rootElement.appendChild(combinedForms);
-
-        combSettings.entrySet().stream().map((pairs) -> {
-            Element curCombForm = doc.createElement(PGTUtil.DEC_COMBINED_FORM_XID);
-            Element curAttrib;
-            // This section will have to be slightly rewritten if the combined settings become more complex
-            curAttrib = doc.createElement(PGTUtil.DEC_COMBINED_ID_XID);
-            curAttrib.appendChild(doc.createTextNode(pairs.getKey()));
-            curCombForm.appendChild(curAttrib);
-            curAttrib = doc.createElement(PGTUtil.DEC_COMBINED_SURPRESS_XID);
-            curAttrib.appendChild(doc.createTextNode(pairs.getValue() ? PGTUtil.TRUE : PGTUtil.FALSE));
-            curCombForm.appendChild(curAttrib);
-            return curCombForm;
-        }).forEachOrdered((curCombForm) -> {
-            combinedForms.appendChild(curCombForm);
-        });
+        writer.writeStartElement(PGTUtil.DEC_COMBINED_FORM_SECTION_XID);
+        
+        for (Entry<String, Boolean> pairs : combSettings.entrySet()) {
+            writer.writeStartElement(PGTUtil.DEC_COMBINED_FORM_XID);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_COMBINED_ID_XID, pairs.getKey());
+            XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_COMBINED_SURPRESS_XID, pairs.getValue() ? PGTUtil.TRUE : PGTUtil.FALSE);
+            writer.writeEndElement();
+        }
+        
+        writer.writeEndElement();
     }
 
     /**
@@ -1418,7 +1673,9 @@ public class ConjugationManager {
      * @return 
      */
     public String[] getDecGenDebug() {
-        return decGenDebug.toArray(new String[0]);
+        synchronized (decGenDebug) {
+            return decGenDebug.toArray(new String[0]);
+        }
     }
     
     public boolean isEmpty() {
@@ -1493,6 +1750,7 @@ public class ConjugationManager {
             
             // finally, take the rule which was previously above the block and give it the last index
             beforeFirst.setIndex(lastIndex);
+            core.markChanged();
         }
     }
     
@@ -1538,10 +1796,79 @@ public class ConjugationManager {
             
             // finally, take the rule which was previously belo the block and give it the first index
             afterLast.setIndex(firstIndex);
+            core.markChanged();
         }
     }
     
     public DictCore getCore() {
         return this.core;
     }
+    
+    /**
+     * Declines a range of words from a batch, splitting until small enough
+     * to run directly. Writes only to its own rows of the result table.
+     */
+    private static final class DeclineTask extends RecursiveAction {
+        private final List<ConWord> words;
+        private final List<String> combinedIds;
+        private final Map<Integer, CompiledConjugationRules> compiled;
+        private final WordClassCollection classes;
+        private final String[][] results;
+        private final int start;
+        private final int end;
+        
+        private DeclineTask(List<ConWord> _words, 
+                List<String> _combinedIds, 
+                Map<Integer, CompiledConjugationRules> _compiled, 
+                WordClassCollection _classes, 
+                String[][] _results, 
+                int _start, 
+                int _end) {
+            words = _words;
+            combinedIds = _combinedIds;
+            compiled = _compiled;
+            classes = _classes;
+            results = _results;
+            start = _start;
+            end = _end;
+        }
+        
+        @Override
+        protected void compute() {
+            if (end - start > BATCH_TASK_WORDS) {
+                int mid = (start + end) >>> 1;
+                invokeAll(new DeclineTask(words, combinedIds, compiled, classes, results, start, mid),
+                        new DeclineTask(words, combinedIds, compiled, classes, results, mid, end));
+                return;
+            }
+            
+            for (int i = start; i < end; i++) {
+                ConWord word = words.get(i);
+                CompiledConjugationRules rules = compiled.get(word.getWordTypeId());
+                
+                for (int j = 0; j < combinedIds.size(); j++) {
+                    try {
+                        results[i][j] = rules.decline(word, combinedIds.get(j), classes);
+                    } catch (Exception e) {
+                        // retried singly once batch completes
+                        results[i][j] = null;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Compiled rules of a part of speech along with the rule version they
+     * were compiled from
+     */
+    private static final class CompiledRuleEntry {
+        private final CompiledConjugationRules compiled;
+        private final long ruleVersion;
+        
+        private CompiledRuleEntry(CompiledConjugationRules _compiled, long _ruleVersion) {
+            compiled = _compiled;
+            ruleVersion = _ruleVersion;
+        }
+    }
 }
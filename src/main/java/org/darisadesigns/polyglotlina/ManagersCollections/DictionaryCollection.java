@@ -20,6 +20,7 @@
 
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import org.darisadesigns.polyglotlina.CustomControls.PAlphaCollator;
 import org.darisadesigns.polyglotlina.CustomControls.PAlphaMap;
 import org.darisadesigns.polyglotlina.Nodes.DictNode;
 import java.util.ArrayList;
@@ -30,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.TreeMap;
 
 /**
  *
@@ -43,6 +45,12 @@ public abstract class DictionaryCollection<N extends DictNode> {
     protected N bufferNode;
 
     private int highestNodeId = 1;
+    
+    // ordered index of nodes: built on first ordered read, then maintained incrementally
+    private final Object sortedIndexLock = new Object();
+    private TreeMap<SortKey, N> sortedIndex = null;
+    private final Map<Integer, SortKey> sortedIndexKeys = new HashMap<>();
+    private PAlphaCollator sortedIndexCollator = null;
 
     protected DictionaryCollection(N _bufferNode) {
         bufferNode = _bufferNode;
@@ -60,6 +68,13 @@ public abstract class DictionaryCollection<N extends DictNode> {
      */
     public abstract N notFoundNode();
     
+    /**
+     * Records that this collection or one of its nodes has been edited. Does
+     * nothing unless overridden by collections which are part of a language.
+     */
+    public void markChanged() {
+    }
+    
     public int addNode(N node) throws Exception {
         int ret;
         
@@ -93,6 +108,8 @@ public abstract class DictionaryCollection<N extends DictNode> {
 
         nodeMap.remove(_id);
         nodeMap.put(myNode.getId(), _modNode);
+        indexNode(_modNode);
+        markChanged();
     }
     
     /**
@@ -132,6 +149,8 @@ public abstract class DictionaryCollection<N extends DictNode> {
         }
 
         nodeMap.remove(_id);
+        unindexNode(_id);
+        markChanged();
     }
 
     public void setAlphaOrder(PAlphaMap<String, Integer> _alphaOrder) {
@@ -187,6 +206,8 @@ public abstract class DictionaryCollection<N extends DictNode> {
         myBuffer.setParent(this);
 
         nodeMap.put(_id, _buffer);
+        indexNode(_buffer);
+        markChanged();
 
         return _id;
     }
@@ -349,4 +370,118 @@ public abstract class DictionaryCollection<N extends DictNode> {
     public PAlphaMap<String, Integer> getAlphaOrder() {
         return alphaOrder;
     }
+    
+    /**
+     * Returns all nodes in alphabetical order without re-sorting the collection.
+     * Order is kept in an index which is updated on insert/modify/delete. Nodes
+     * whose values were changed in place are re-indexed individually, and the
+     * index is only rebuilt in full if the alphabet itself changes.
+     * 
+     * @return new list of all nodes, ordered
+     */
+    protected List<N> getSortedNodes() {
+        synchronized (sortedIndexLock) {
+            // mirrors safeSort: always attempt alphabetic ordering first
+            alphaOrder.setMissingChars(false);
+            PAlphaCollator collator = alphaOrder.isEmpty() ? null : alphaOrder.getCollator();
+            
+            if (sortedIndex == null || collator != sortedIndexCollator) {
+                rebuildSortedIndex(collator);
+            } else {
+                List<N> stale = new ArrayList<>();
+                
+                for (Map.Entry<SortKey, N> entry : sortedIndex.entrySet()) {
+                    // identity check: any reassignment of the value marks entry stale
+                    if (entry.getKey().value != entry.getValue().getValue()) {
+                        stale.add(entry.getValue());
+                    }
+                }
+                
+                for (N node : stale) {
+                    indexNode(node);
+                }
+            }
+            
+            return new ArrayList<>(sortedIndex.values());
+        }
+    }
+    
+    private void rebuildSortedIndex(PAlphaCollator collator) {
+        sortedIndex = new TreeMap<>();
+        sortedIndexKeys.clear();
+        sortedIndexCollator = collator;
+        
+        for (N node : nodeMap.values()) {
+            indexNode(node);
+        }
+    }
+    
+    private void indexNode(N node) {
+        synchronized (sortedIndexLock) {
+            if (sortedIndex == null) {
+                return;
+            }
+            
+            Integer nodeId = node.getId();
+            SortKey oldKey = sortedIndexKeys.remove(nodeId);
+            
+            if (oldKey != null) {
+                sortedIndex.remove(oldKey);
+            }
+            
+            String nodeValue = node.getValue();
+            int[] collationKey = sortedIndexCollator == null ? null : node.getCollationKey(sortedIndexCollator);
+            SortKey newKey = new SortKey(collationKey, nodeValue, nodeId);
+            
+            sortedIndex.put(newKey, node);
+            sortedIndexKeys.put(nodeId, newKey);
+        }
+    }
+    
+    private void unindexNode(Integer nodeId) {
+        synchronized (sortedIndexLock) {
+            if (sortedIndex == null) {
+                return;
+            }
+            
+            SortKey oldKey = sortedIndexKeys.remove(nodeId);
+            
+            if (oldKey != null) {
+                sortedIndex.remove(oldKey);
+            }
+        }
+    }
+    
+    /**
+     * Snapshot of a node's ordering state at the time it was indexed. Ordered
+     * by collation key (or raw value when no alphabet is defined), then ID.
+     */
+    private static final class SortKey implements Comparable<SortKey> {
+        private final int[] collationKey;
+        private final String value;
+        private final int id;
+        
+        private SortKey(int[] _collationKey, String _value, int _id) {
+            collationKey = _collationKey;
+            value = _value;
+            id = _id;
+        }
+
+        @Override
+        public int compareTo(SortKey _compare) {
+            int ret;
+            
+            if (collationKey != null && _compare.collationKey != null) {
+                ret = PAlphaCollator.compareKeys(collationKey, _compare.collationKey);
+            } else {
+                ret = value.compareTo(_compare.value);
+            }
+            
+            if (ret == 0) {
+                ret = Integer.compare(id, _compare.id);
+            }
+            
+            return ret;
+        }
+    }
 }
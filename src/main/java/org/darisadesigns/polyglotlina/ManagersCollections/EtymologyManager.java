@@ -19,6 +19,8 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.EtyExternalParent;
@@ -32,8 +34,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.HashSet;
 import java.util.Set;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This records parent->child relationships between lexical entries and serves
@@ -130,11 +131,13 @@ public class EtymologyManager {
 
             if (!myList.contains(child)) {
                 myList.add(child);
+                core.markChanged();
             }
         } else {
             Set<Integer> newList = new HashSet<>();
             newList.add(child);
             parentToChild.put(parent, newList);
+            core.markChanged();
         }
 
         if (childToParent.containsKey(child)) {
@@ -230,11 +233,13 @@ public class EtymologyManager {
                 Map<String, EtyExternalParent> myMap = childToExtParent.get(child);
                 if (!myMap.containsKey(parent.getUniqueId())) {
                     myMap.put(parent.getUniqueId(), parent);
+                    core.markChanged();
                 }
             } else {
                 Map<String, EtyExternalParent> myMap = new HashMap<>();
                 myMap.put(parent.getUniqueId(), parent);
                 childToExtParent.put(child, myMap);
+                core.markChanged();
             }
         }
     }
@@ -249,7 +254,10 @@ public class EtymologyManager {
             
             if (childToExtParent.containsKey(child)) {
                 Map<String, EtyExternalParent> myMap = childToExtParent.get(child);
-                myMap.remove(parent.getUniqueId());
+                
+                if (myMap.remove(parent.getUniqueId()) != null) {
+                    core.markChanged();
+                }
             }
         }
     }
@@ -289,7 +297,10 @@ public class EtymologyManager {
         
         if (childToParent.containsKey(childId)) {
             Set<Integer> myList = childToParent.get(childId);
-            myList.remove(parentId);
+            
+            if (myList.remove(parentId)) {
+                core.markChanged();
+            }
         }
     }
     
@@ -348,14 +359,13 @@ public class EtymologyManager {
     }
 
     /**
-     * Writes all word information to XML document
-     *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * Writes all etymology information to XML stream
+     * @param writer writer to write to
+     * @throws XMLStreamException on write failure
      */
-    public void writeXML(Document doc, Element rootElement) {
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
         ConWordCollection wordCollection = core.getWordCollection();
-        Element collection = doc.createElement(PGTUtil.ETY_COLLECTION_XID);
+        writer.writeStartElement(PGTUtil.ETY_COLLECTION_XID);
         
         // we only need to record the relationship one way, the bidirection will be regenerated
         for (Entry<Integer, Set<Integer>> curEntry : parentToChild.entrySet()) {
@@ -364,50 +374,36 @@ public class EtymologyManager {
                 continue;
             }
             
-            Element myNode = doc.createElement(PGTUtil.ETY_INT_RELATION_NODE_XID);
-            myNode.appendChild(doc.createTextNode(curEntry.getKey().toString()));
+            writer.writeStartElement(PGTUtil.ETY_INT_RELATION_NODE_XID);
+            XMLStreamTools.writeText(writer, curEntry.getKey().toString());
             
             for (Integer curChild : curEntry.getValue()) {
-                if (!wordCollection.exists(curChild)) {
-                    continue;
+                if (wordCollection.exists(curChild)) {
+                    XMLStreamTools.writeTextElement(writer, PGTUtil.ETY_INT_CHILD_XID, curChild.toString());
                 }
-                
-                Element child = doc.createElement(PGTUtil.ETY_INT_CHILD_XID);
-                child.appendChild(doc.createTextNode(curChild.toString()));
-                myNode.appendChild(child);
             }
-            collection.appendChild(myNode);
+            
+            writer.writeEndElement();
         }
         
         // adds a node for each word with at least one external parent
-        childToExtParent.entrySet().stream().map((curEntry) -> {
-            Element childContainer = doc.createElement(PGTUtil.ETY_CHILD_EXTERNALS_XID);
-            childContainer.appendChild(doc.createTextNode(curEntry.getKey().toString()));
+        for (Entry<Integer, Map<String, EtyExternalParent>> curEntry : childToExtParent.entrySet()) {
+            writer.writeStartElement(PGTUtil.ETY_CHILD_EXTERNALS_XID);
+            XMLStreamTools.writeText(writer, curEntry.getKey().toString());
+            
             // creates a node for each external parent within a word
-            curEntry.getValue().values().forEach((parent) -> {
-                Element extParentNode = doc.createElement(PGTUtil.ETY_EXTERNAL_WORD_NODE_XID);
-                // record external word value
-                Element curElement = doc.createElement(PGTUtil.ETY_EXTERNAL_WORD_VALUE_XID);
-                curElement.appendChild(doc.createTextNode(parent.getValue()));
-                extParentNode.appendChild(curElement);
-                // record external word origin
-                curElement = doc.createElement(PGTUtil.ETY_EXTERNAL_WORD_ORIGIN_XID);
-                curElement.appendChild(doc.createTextNode(parent.getExternalLanguage()));
-                extParentNode.appendChild(curElement);
-                // record external word definition
-                curElement = doc.createElement(PGTUtil.ETY_EXTERNAL_WORD_DEFINITION_XID);
-                curElement.appendChild(doc.createTextNode(parent.getDefinition()));
-                extParentNode.appendChild(curElement);
-                
-                childContainer.appendChild(extParentNode);
-                
-            });
-            return childContainer;
-        }).forEachOrdered((childContainer) -> {
-            collection.appendChild(childContainer);
-        });
+            for (EtyExternalParent parent : curEntry.getValue().values()) {
+                writer.writeStartElement(PGTUtil.ETY_EXTERNAL_WORD_NODE_XID);
+                XMLStreamTools.writeTextElement(writer, PGTUtil.ETY_EXTERNAL_WORD_VALUE_XID, parent.getValue());
+                XMLStreamTools.writeTextElement(writer, PGTUtil.ETY_EXTERNAL_WORD_ORIGIN_XID, parent.getExternalLanguage());
+                XMLStreamTools.writeTextElement(writer, PGTUtil.ETY_EXTERNAL_WORD_DEFINITION_XID, parent.getDefinition());
+                writer.writeEndElement();
+            }
+            
+            writer.writeEndElement();
+        }
         
-        rootElement.appendChild(collection);
+        writer.writeEndElement();
     }
     
     /**
@@ -19,6 +19,8 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.PGTUtil;
@@ -28,8 +30,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This is the manager class for dictionary family entries
@@ -44,6 +45,13 @@ public class FamilyManager {
         core = _core;
     }
     
+    /**
+     * Records an edit to the families with the core
+     */
+    public void markChanged() {
+        core.markChanged();
+    }
+    
     /**
      * Gets root family node
      * @return 
@@ -112,50 +120,31 @@ public class FamilyManager {
     }
     
     /**
-     * returns Element containing all family data to be saved to XML
-     * @param doc the document this is to be inserted into
-     * @return an element containing all family data
+     * Writes all family data to XML stream
+     * @param writer writer to write to
+     * @throws XMLStreamException on write failure
      */
-    public Element writeToSaveXML(Document doc) {
-        return writeToSaveXML(doc, famRoot);
+    public void writeToSaveXML(XMLStreamWriter writer) throws XMLStreamException {
+        writeToSaveXML(writer, famRoot);
     }
     
-    /**
-     * this is the recursive function that completes the work of its overridden method
-     * @param doc the document this is to be inserted into
-     * @param curNode node to build element for
-     * @return an element containing all family data
-     */
-    private Element writeToSaveXML(Document doc, FamNode curNode) {
-        Element curElement = doc.createElement(PGTUtil.FAM_NODE_XID);
+    private void writeToSaveXML(XMLStreamWriter writer, FamNode curNode) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.FAM_NODE_XID);
         
-        if (curNode == null) {
-            return curElement;
-        }
+        if (curNode != null) {
+            XMLStreamTools.writeTextElement(writer, PGTUtil.FAM_NAME_XID, curNode.getValue());
+            XMLStreamTools.writeTextElement(writer, PGTUtil.FAM_NOTES_XID, WebInterface.archiveHTML(curNode.getNotes(), core));
 
-        // save name
-        Element property = doc.createElement(PGTUtil.FAM_NAME_XID);
-        property.appendChild(doc.createTextNode(curNode.getValue()));
-        curElement.appendChild(property);
-        
-        // save notes
-        property = doc.createElement(PGTUtil.FAM_NOTES_XID);
-        property.appendChild(doc.createTextNode(WebInterface.archiveHTML(curNode.getNotes(), core)));
-        curElement.appendChild(property);
-        
-        // save words
-        for (ConWord curWord : curNode.getWords()) {    
-            property = doc.createElement(PGTUtil.FAM_WORD_XID);
-            property.appendChild(doc.createTextNode(curWord.getId().toString()));
-            curElement.appendChild(property);
-        }
-        
-        // save subnodes
-        for (FamNode child : curNode.getNodes()) {
-            curElement.appendChild(writeToSaveXML(doc, child));
+            for (ConWord curWord : curNode.getWords()) {
+                XMLStreamTools.writeTextElement(writer, PGTUtil.FAM_WORD_XID, curWord.getId().toString());
+            }
+
+            for (FamNode child : curNode.getNodes()) {
+                writeToSaveXML(writer, child);
+            }
         }
         
-        return curElement;
+        writer.writeEndElement();
     }
     
     /**
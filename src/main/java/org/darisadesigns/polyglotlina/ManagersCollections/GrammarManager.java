@@ -19,15 +19,18 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.CustomControls.GrammarChapNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import org.darisadesigns.polyglotlina.DictCore;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.Nodes.Payload;
 
 /**
  * Grammar manager for PolyGlot organizes and stores all grammar data
@@ -36,11 +39,13 @@ import org.w3c.dom.Element;
 public abstract class GrammarManager {
     protected final List<GrammarChapNode> chapters;
     protected final Map<Integer, byte[]> soundMap;
+    protected final Map<Integer, Payload> soundSources;
     protected GrammarChapNode buffer;
     protected DictCore core;
     
     public GrammarManager() {
         soundMap = new HashMap<>();
+        soundSources = new HashMap<>();
         chapters = new ArrayList<>();
     }
     
@@ -52,6 +57,15 @@ public abstract class GrammarManager {
         return this.core;
     }
     
+    /**
+     * Records an edit to the grammar guide with the core
+     */
+    public void markChanged() {
+        if (core != null) {
+            core.markChanged();
+        }
+    }
+    
     /**
      * Fetches buffer chapter node
      * @return buffer chapter node
@@ -60,12 +74,25 @@ public abstract class GrammarManager {
         return buffer;
     }
     
+    /**
+     * Discards all chapters and their recordings, leaving the manager as if
+     * nothing had been loaded
+     */
+    public void clearChapters() {
+        markChanged();
+        chapters.clear();
+        soundMap.clear();
+        soundSources.clear();
+        clear();
+    }
+    
     /**
      * Inserts current buffer node to chapter list and clears buffer
      */
     public void insert() {
         chapters.add(buffer);
         clear();
+        markChanged();
     }
     
     /**
@@ -74,24 +101,55 @@ public abstract class GrammarManager {
      */
     public void addChapter(GrammarChapNode newChap) {
         chapters.add(newChap);
+        markChanged();
     }
     
+    /**
+     * @return recordings currently held in memory. Recordings yet to be read
+     * from their source are not included (see getRecordingIds).
+     */
     public Map<Integer, byte[]> getSoundMap() {
         return soundMap;
     }
     
     /**
-     * Writes all Grammar information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * @return IDs of all recordings, whether or not they have been read, in
+     * ascending order
+     */
+    public SortedSet<Integer> getRecordingIds() {
+        SortedSet<Integer> ret = new TreeSet<>(soundMap.keySet());
+        ret.addAll(soundSources.keySet());
+        return ret;
+    }
+    
+    /**
+     * Registers a recording to be read from the given source when first
+     * requested. Any bytes already held for it are kept, and must match the
+     * source.
+     * @param id ID of recording
+     * @param source source of the recording's bytes
+     */
+    public void addRecordingSource(Integer id, Payload source) {
+        soundSources.put(id, source);
+    }
+    
+    /**
+     * @param id ID of recording
+     * @return source the recording was read (or is yet to be read) from, or
+     * null if the recording has been changed since
      */
-    public void writeXML(Document doc, Element rootElement) {
-        Element grammarRoot = doc.createElement(PGTUtil.GRAMMAR_SECTION_XID);
-        rootElement.appendChild(grammarRoot);
+    public Payload getRecordingSource(Integer id) {
+        return soundSources.get(id);
+    }
+    
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.GRAMMAR_SECTION_XID);
+        
+        for (GrammarChapNode chapter : chapters) {
+            chapter.writeXML(writer);
+        }
         
-        chapters.forEach((chapter)->{
-            chapter.writeXML(doc, grammarRoot);
-        });
+        writer.writeEndElement();
     }
     
     /**
@@ -105,6 +163,8 @@ public abstract class GrammarManager {
         } else {
             chapters.add(index, newChap);
         }
+        
+        markChanged();
     }
     
     /**
@@ -112,7 +172,9 @@ public abstract class GrammarManager {
      * @param remove chapter to remove
      */
     public void removeChapter(GrammarChapNode remove) {
-        chapters.remove(remove);
+        if (chapters.remove(remove)) {
+            markChanged();
+        }
     }
     
     /**
@@ -129,18 +191,23 @@ public abstract class GrammarManager {
         }
         
         if (ret == -1) {
-            for (ret = 0; soundMap.containsKey(ret); ret++){}
+            for (ret = 0; soundMap.containsKey(ret) || soundSources.containsKey(ret); ret++){}
         } else {
             soundMap.remove(ret);
+            soundSources.remove(ret);
         }
         soundMap.put(ret, newRec);
+        markChanged();
 
         return ret;
     }
     
     public void deleteRecording(int id) {
-        if (soundMap.containsKey(id)) {
-            soundMap.remove(id);
+        boolean removed = soundMap.remove(id) != null;
+        removed = soundSources.remove(id) != null || removed;
+        
+        if (removed) {
+            markChanged();
         }
     }
     
@@ -150,6 +217,9 @@ public abstract class GrammarManager {
         if (id != -1) {
             if (soundMap.containsKey(id)) {
                 ret = soundMap.get(id);
+            } else if (soundSources.containsKey(id)) {
+                ret = soundSources.get(id).read();
+                soundMap.put(id, ret);
             } else {
                 throw new Exception("Unable to retrieve related recording with ID: " + id);
             }
@@ -68,6 +68,11 @@ public class ImageCollection extends DictionaryCollection<ImageNode> {
         return super.insert(_buffer);
     }
 
+    @Override
+    public void markChanged() {
+        core.markChanged();
+    }
+
     @Override
     public ImageNode notFoundNode() {
         ImageNode emptyImage = new ImageNode(core);
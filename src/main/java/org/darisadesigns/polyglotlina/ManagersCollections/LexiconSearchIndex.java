@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.ManagersCollections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.darisadesigns.polyglotlina.FormattedTextHelper;
+import org.darisadesigns.polyglotlina.Nodes.ConWord;
+import org.darisadesigns.polyglotlina.Nodes.ConjugationPair;
+import org.darisadesigns.polyglotlina.RegexTools;
+
+/**
+ * In-memory trigram index over the searchable text fields of a lexicon. Plain
+ * substring searches resolve through the index; searches containing regex
+ * syntax fall back to a scan using a single compiled pattern. Text is held
+ * already normalized (lower cased where the language ignores case) and
+ * definitions are held already stripped of formatting.
+ * 
+ * The index is kept current by ConWordCollection on insert/modify/delete and
+ * is re-synchronized before each query to catch words edited in place.
+ * 
+ * Generated conjugation/declension forms are also materialized here, per word,
+ * so that searches do not re-run generation rules for every word each query.
+ * A word's forms are regenerated only when its value, part of speech or class
+ * values change, or when the generation version of its part of speech changes.
+ * 
+ * @author Draque Thompson
+ */
+class LexiconSearchIndex {
+    // separates forms within the joined text of a word (matches are verified per form)
+    private static final String FORM_SEPARATOR = "\u0000";
+    
+    private final Map<Integer, IndexedWord> indexedWords = new HashMap<>();
+    private final TrigramField values = new TrigramField();
+    private final TrigramField localWords = new TrigramField();
+    private final TrigramField definitions = new TrigramField();
+    private final TrigramField pronunciations = new TrigramField();
+    private final Map<Integer, IndexedForms> indexedForms = new HashMap<>();
+    private final TrigramField forms = new TrigramField();
+    private boolean ignoreCase = false;
+    
+    // pronunciations are generated, so are indexed lazily and only once asked for
+    private boolean pronunciationsIndexed = false;
+    private long pronunciationVersion = 0;
+    
+    /**
+     * Brings index up to date with the current state of all words. Only words
+     * whose values have changed since last indexed are reprocessed.
+     * 
+     * @param words all words in lexicon
+     * @param _ignoreCase whether the language currently ignores case
+     */
+    synchronized void synchronize(Collection<ConWord> words, boolean _ignoreCase) {
+        if (_ignoreCase != ignoreCase) {
+            ignoreCase = _ignoreCase;
+            clear();
+        }
+        
+        for (ConWord word : words) {
+            IndexedWord indexed = indexedWords.get(word.getId());
+            
+            if (indexed == null || !indexed.isCurrent(word)) {
+                update(word);
+            }
+        }
+        
+        if (indexedWords.size() != words.size()) {
+            Set<Integer> present = new HashSet<>();
+            
+            for (ConWord word : words) {
+                present.add(word.getId());
+            }
+            
+            for (Integer id : new ArrayList<>(indexedWords.keySet())) {
+                if (!present.contains(id)) {
+                    remove(id);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Ensures generated pronunciations are indexed and current
+     * @param words all words in lexicon
+     * @param _pronunciationVersion rules version of pronunciation manager
+     * @throws Exception if pronunciation generation fails
+     */
+    synchronized void synchronizePronunciations(Collection<ConWord> words, long _pronunciationVersion) throws Exception {
+        if (!pronunciationsIndexed || pronunciationVersion != _pronunciationVersion) {
+            pronunciations.clear();
+            pronunciationsIndexed = true;
+            pronunciationVersion = _pronunciationVersion;
+        }
+        
+        for (ConWord word : words) {
+            if (pronunciations.get(word.getId()) == null) {
+                String proc = word.getPronunciation();
+                pronunciations.put(word.getId(), ignoreCase ? proc.toLowerCase() : proc);
+            }
+        }
+    }
+    
+    /**
+     * Ensures generated forms of all words are materialized and current. Only
+     * words or parts of speech that have changed since last call are
+     * regenerated.
+     * @param words all words in lexicon
+     * @param conjugationMan conjugation manager to generate forms with
+     */
+    synchronized void synchronizeForms(Collection<ConWord> words, ConjugationManager conjugationMan) {
+        Map<Integer, Long> typeVersions = new HashMap<>();
+        Map<Integer, List<ConWord>> staleByType = new HashMap<>();
+        
+        for (ConWord word : words) {
+            int typeId = word.getWordTypeId();
+            Long typeVersion = typeVersions.get(typeId);
+            
+            if (typeVersion == null) {
+                typeVersion = conjugationMan.getGenerationVersion(typeId);
+                typeVersions.put(typeId, typeVersion);
+            }
+            
+            IndexedForms indexed = indexedForms.get(word.getId());
+            
+            if (indexed == null || !indexed.isCurrent(word, typeVersion)) {
+                staleByType.computeIfAbsent(typeId, k -> new ArrayList<>()).add(word);
+            }
+        }
+        
+        // stale words regenerated as one parallel batch per part of speech
+        for (Map.Entry<Integer, List<ConWord>> entry : staleByType.entrySet()) {
+            int typeId = entry.getKey();
+            List<ConWord> stale = entry.getValue();
+            List<String> combinedIds = new ArrayList<>();
+            
+            if (stale.get(0).getCore().getTypes().getNodeById(typeId) != null) {
+                for (ConjugationPair curPair : conjugationMan.getAllCombinedIds(typeId)) {
+                    combinedIds.add(curPair.combinedId);
+                }
+            }
+            
+            String[][] generated = conjugationMan.declineWords(stale, combinedIds);
+            
+            for (int i = 0; i < stale.size(); i++) {
+                ConWord word = stale.get(i);
+                IndexedForms indexed = new IndexedForms(word, typeVersions.get(typeId), nonBlankForms(generated[i]));
+                indexedForms.put(word.getId(), indexed);
+                forms.put(word.getId(), String.join(FORM_SEPARATOR, indexed.forms));
+            }
+        }
+    }
+    
+    /**
+     * Forms which failed to generate are silently skipped, as they are too
+     * cumbersome to deal with during a search.
+     * @param generated forms as generated (null where failed)
+     * @return all non-blank forms
+     */
+    private static String[] nonBlankForms(String[] generated) {
+        List<String> ret = new ArrayList<>();
+        
+        for (String declension : generated) {
+            if (declension != null && !declension.trim().isEmpty()) {
+                ret.add(declension);
+            }
+        }
+        
+        return ret.toArray(new String[0]);
+    }
+    
+    /**
+     * Indexes or re-indexes a single word
+     * @param word word to index
+     */
+    synchronized void update(ConWord word) {
+        Integer id = word.getId();
+        String value = word.getValue();
+        String local = word.getLocalWord();
+        
+        indexedWords.put(id, new IndexedWord(word));
+        values.put(id, ignoreCase ? value.toLowerCase() : value);
+        localWords.put(id, ignoreCase ? local.toLowerCase() : local);
+        
+        // definition search always ignores case
+        definitions.put(id, FormattedTextHelper.getTextBody(word.getDefinition()).toLowerCase());
+        pronunciations.remove(id);
+        indexedForms.remove(id);
+        forms.remove(id);
+    }
+    
+    synchronized void remove(Integer id) {
+        indexedWords.remove(id);
+        values.remove(id);
+        localWords.remove(id);
+        definitions.remove(id);
+        pronunciations.remove(id);
+        indexedForms.remove(id);
+        forms.remove(id);
+    }
+    
+    synchronized void clear() {
+        indexedWords.clear();
+        values.clear();
+        localWords.clear();
+        definitions.clear();
+        pronunciations.clear();
+        pronunciationsIndexed = false;
+        indexedForms.clear();
+        forms.clear();
+    }
+    
+    /**
+     * Finds words whose headword matches, with the same semantics as
+     * String.matches(term) || String.contains(term). Blank terms match all.
+     * @param term normalized search term
+     * @return IDs of matching words
+     */
+    synchronized Set<Integer> matchValue(String term) {
+        Set<Integer> ret;
+        
+        if (term.trim().isEmpty()) {
+            ret = new HashSet<>(indexedWords.keySet());
+        } else {
+            ret = values.matchContainsOrWhole(term);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Finds words whose local word matches, with the same semantics as
+     * String.contains(term) || String.matches(term)
+     * @param term normalized search term
+     * @return IDs of matching words
+     */
+    synchronized Set<Integer> matchLocal(String term) {
+        return localWords.matchContainsOrWhole(term);
+    }
+    
+    /**
+     * Finds words whose generated pronunciation matches. Call
+     * synchronizePronunciations() first.
+     * @param term normalized search term
+     * @return IDs of matching words
+     */
+    synchronized Set<Integer> matchPronunciation(String term) {
+        return pronunciations.matchContainsOrWhole(term);
+    }
+    
+    /**
+     * Finds words with any generated form matching, with the same semantics
+     * as String.matches(term) || String.contains(term) on each form. Call
+     * synchronizeForms() first. Forms are held as generated (never lower
+     * cased). Malformed regex terms match no forms.
+     * @param term search term
+     * @return IDs of matching words
+     */
+    synchronized Set<Integer> matchForms(String term) {
+        Set<Integer> ret = new HashSet<>();
+        
+        if (RegexTools.containsRegexSyntax(term)) {
+            Pattern pattern;
+            
+            try {
+                pattern = Pattern.compile(term);
+            } catch (PatternSyntaxException e) {
+                return ret;
+            }
+            
+            for (Map.Entry<Integer, IndexedForms> entry : indexedForms.entrySet()) {
+                for (String form : entry.getValue().forms) {
+                    if (pattern.matcher(form).matches() || form.contains(term)) {
+                        ret.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+        } else {
+            // joined text narrows candidates; each form verified individually
+            for (Integer id : forms.findContaining(term)) {
+                for (String form : indexedForms.get(id).forms) {
+                    if (form.contains(term)) {
+                        ret.add(id);
+                        break;
+                    }
+                }
+            }
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Finds words whose definition text matches, with the same semantics as
+     * String.matches(".*" + term + ".*")
+     * @param term lower cased search term
+     * @return IDs of matching words
+     */
+    synchronized Set<Integer> matchDefinition(String term) {
+        Set<Integer> ret;
+        
+        if (RegexTools.containsRegexSyntax(term)) {
+            ret = definitions.matchWhole(Pattern.compile(".*" + term + ".*"));
+        } else {
+            ret = new HashSet<>();
+            
+            // ".*" does not span line breaks, so multi-line text never matched under regex semantics
+            for (Integer id : definitions.findContaining(term)) {
+                if (!RegexTools.containsLineTerminator(definitions.get(id))) {
+                    ret.add(id);
+                }
+            }
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Snapshot of the field references of a word as last indexed. Identity
+     * comparison detects any reassignment of the underlying values.
+     */
+    private static final class IndexedWord {
+        private final ConWord word;
+        private final String value;
+        private final String localWord;
+        private final String definition;
+        private final String pronunciation;
+        private final boolean procOverride;
+        
+        private IndexedWord(ConWord _word) {
+            word = _word;
+            value = _word.getValue();
+            localWord = _word.getLocalWord();
+            definition = _word.getDefinition();
+            pronunciation = _word.getStoredPronunciation();
+            procOverride = _word.isProcOverride();
+        }
+        
+        private boolean isCurrent(ConWord _word) {
+            return word == _word
+                    && value == _word.getValue()
+                    && localWord == _word.getLocalWord()
+                    && definition == _word.getDefinition()
+                    && pronunciation == _word.getStoredPronunciation()
+                    && procOverride == _word.isProcOverride();
+        }
+    }
+    
+    /**
+     * Generated forms of a word along with everything they were generated
+     * from. Value is compared by identity to catch in-place edits.
+     */
+    private static final class IndexedForms {
+        private final ConWord word;
+        private final String value;
+        private final int typeId;
+        private final Map<Integer, Integer> classValues = new HashMap<>();
+        private final long typeVersion;
+        private final String[] forms;
+        
+        private IndexedForms(ConWord _word, long _typeVersion, String[] _forms) {
+            word = _word;
+            value = _word.getValue();
+            typeId = _word.getWordTypeId();
+            typeVersion = _typeVersion;
+            forms = _forms;
+            
+            for (Map.Entry<Integer, Integer> entry : _word.getClassValues()) {
+                classValues.put(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        private boolean isCurrent(ConWord _word, long _typeVersion) {
+            return word == _word
+                    && value == _word.getValue()
+                    && typeId == _word.getWordTypeId()
+                    && typeVersion == _typeVersion
+                    && _word.classValuesEqual(classValues);
+        }
+    }
+    
+    /**
+     * Single indexed text field. Posting lists are append only: entries for
+     * replaced text are left in place and filtered out at query time, with the
+     * postings compacted once stale entries outnumber live ones.
+     */
+    private static final class TrigramField {
+        private static final int GRAM_LENGTH = 3;
+        
+        private final Map<Integer, String> texts = new HashMap<>();
+        private final Map<Long, IntList> postings = new HashMap<>();
+        private long livePostings = 0;
+        private long stalePostings = 0;
+        
+        private String get(Integer id) {
+            return texts.get(id);
+        }
+        
+        private void put(Integer id, String text) {
+            String old = texts.put(id, text);
+            
+            if (old != null) {
+                if (old.equals(text)) {
+                    return;
+                }
+                
+                int oldCount = countGrams(old);
+                livePostings -= oldCount;
+                stalePostings += oldCount;
+            }
+            
+            addPostings(id, text);
+            compactIfNeeded();
+        }
+        
+        private void remove(Integer id) {
+            String old = texts.remove(id);
+            
+            if (old != null) {
+                int oldCount = countGrams(old);
+                livePostings -= oldCount;
+                stalePostings += oldCount;
+                compactIfNeeded();
+            }
+        }
+        
+        private void clear() {
+            texts.clear();
+            postings.clear();
+            livePostings = 0;
+            stalePostings = 0;
+        }
+        
+        /**
+         * @param term plain text to search for
+         * @return IDs of all entries containing term
+         */
+        private Set<Integer> findContaining(String term) {
+            Set<Integer> ret = new HashSet<>();
+            
+            if (term.length() < GRAM_LENGTH) {
+                for (Map.Entry<Integer, String> entry : texts.entrySet()) {
+                    if (entry.getValue().contains(term)) {
+                        ret.add(entry.getKey());
+                    }
+                }
+            } else {
+                IntList smallest = null;
+                
+                for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                    IntList posting = postings.get(gramAt(term, i));
+                    
+                    if (posting == null) {
+                        return ret;
+                    }
+                    
+                    if (smallest == null || posting.size < smallest.size) {
+                        smallest = posting;
+                    }
+                }
+                
+                // candidates verified against current text (also discards stale postings)
+                for (int i = 0; i < smallest.size; i++) {
+                    Integer id = smallest.data[i];
+                    String text = texts.get(id);
+                    
+                    if (text != null && text.contains(term)) {
+                        ret.add(id);
+                    }
+                }
+            }
+            
+            return ret;
+        }
+        
+        /**
+         * Matches with semantics of text.contains(term) || text.matches(term).
+         * Plain terms can only match whole when contained, so need no regex.
+         * @param term term to search for
+         * @return IDs of matching entries
+         */
+        private Set<Integer> matchContainsOrWhole(String term) {
+            Set<Integer> ret = findContaining(term);
+            
+            if (RegexTools.containsRegexSyntax(term)) {
+                ret.addAll(matchWhole(Pattern.compile(term)));
+            }
+            
+            return ret;
+        }
+        
+        private Set<Integer> matchWhole(Pattern pattern) {
+            Set<Integer> ret = new HashSet<>();
+            
+            for (Map.Entry<Integer, String> entry : texts.entrySet()) {
+                if (pattern.matcher(entry.getValue()).matches()) {
+                    ret.add(entry.getKey());
+                }
+            }
+            
+            return ret;
+        }
+        
+        private void addPostings(int id, String text) {
+            Set<Long> seen = new HashSet<>();
+            
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                Long gram = gramAt(text, i);
+                
+                if (seen.add(gram)) {
+                    postings.computeIfAbsent(gram, k -> new IntList()).add(id);
+                    livePostings++;
+                }
+            }
+        }
+        
+        private void compactIfNeeded() {
+            if (stalePostings > 1024 && stalePostings > livePostings) {
+                postings.clear();
+                livePostings = 0;
+                stalePostings = 0;
+                
+                for (Map.Entry<Integer, String> entry : texts.entrySet()) {
+                    addPostings(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        
+        private static int countGrams(String text) {
+            Set<Long> seen = new HashSet<>();
+            
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                seen.add(gramAt(text, i));
+            }
+            
+            return seen.size();
+        }
+        
+        private static long gramAt(String text, int pos) {
+            return ((long)text.charAt(pos) << 32) 
+                    | ((long)text.charAt(pos + 1) << 16) 
+                    | text.charAt(pos + 2);
+        }
+    }
+    
+    /**
+     * Minimal growable list of primitive ints
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size = 0;
+        
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            
+            data[size++] = value;
+        }
+    }
+}
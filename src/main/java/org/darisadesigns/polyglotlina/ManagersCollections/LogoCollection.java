@@ -19,6 +19,8 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.LogoNode;
@@ -31,8 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -84,6 +85,7 @@ public class LogoCollection extends DictionaryCollection<LogoNode> {
         
         logoToWord.get(logo.getId()).add(word.getId());
         wordToLogo.get(word.getId()).add(logo.getId());
+        core.markChanged();
         
         return true;
     }
@@ -95,7 +97,10 @@ public class LogoCollection extends DictionaryCollection<LogoNode> {
      */
     public void removeWordLogoRelation(ConWord word, LogoNode logo) {
         logoToWord.get(logo.getId()).remove(word.getId());
-        wordToLogo.get(word.getId()).remove(logo.getId());
+        
+        if (wordToLogo.get(word.getId()).remove(logo.getId())) {
+            core.markChanged();
+        }
     }
     
     /**
@@ -120,11 +125,7 @@ public class LogoCollection extends DictionaryCollection<LogoNode> {
      * @return list of all logographs
      */
     public LogoNode[] getAllLogos() {
-        List<LogoNode> retList = new ArrayList<>(nodeMap.values());
-
-        this.safeSort(retList);
-
-        return retList.toArray(new LogoNode[0]);
+        return this.getSortedNodes().toArray(new LogoNode[0]);
     }
     
     /**
@@ -256,45 +257,35 @@ public class LogoCollection extends DictionaryCollection<LogoNode> {
         return retList.toArray(new LogoNode[0]);
     }
     
-    /**
-     * Writes all word information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
-     */
-    public void writeXML(Document doc, Element rootElement) {
-        Element logoRoot = doc.createElement(PGTUtil.LOGO_ROOT_NOTE_XID);
-        rootElement.appendChild(logoRoot);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.LOGO_ROOT_NOTE_XID);
         
         // write all logographs to XML
-        Element logoCollection = doc.createElement(PGTUtil.LOGOGRAPHS_COLLECTION_XID);
-        logoRoot.appendChild(logoCollection);
-        
+        writer.writeStartElement(PGTUtil.LOGOGRAPHS_COLLECTION_XID);
         for (LogoNode curNode : getAllLogos()) {
-            curNode.writeXML(doc, logoCollection);
+            curNode.writeXML(writer);
         }
+        writer.writeEndElement();
         
         // write all logo->word relations to XML (reverse will be inferred on load)
-        Iterator<Entry<Integer, ArrayList<Integer>>> setIt = logoToWord.entrySet().iterator();
-        Element relationsCollection = doc.createElement(PGTUtil.LOGO_RELATION_COLLECTION_XID);
-        logoRoot.appendChild(relationsCollection);
-        while (setIt.hasNext()) {
-            Entry<Integer, ArrayList<Integer>> curEntry = setIt.next();
-            Iterator<Integer> relIt = curEntry.getValue().iterator();
-            String logoId = curEntry.getKey().toString();
-            String wordIds = "";
-            
-            while (relIt.hasNext()) {
-                wordIds += ("," + relIt.next());
+        writer.writeStartElement(PGTUtil.LOGO_RELATION_COLLECTION_XID);
+        for (Entry<Integer, ArrayList<Integer>> curEntry : logoToWord.entrySet()) {
+            // only add if there is one more more relation
+            if (curEntry.getValue().isEmpty()) {
+                continue;
             }
             
-            // only add if there is one more more relation
-            if (!wordIds.isEmpty()) {
-                Element node = doc.createElement(PGTUtil.LOGO_WORD_RELATION_XID);
-                // node is encoded with the logograph ID first, followed by all related words IDs
-                node.appendChild(doc.createTextNode(logoId + wordIds));
-                relationsCollection.appendChild(node);
+            // node is encoded with the logograph ID first, followed by all related words IDs
+            StringBuilder relation = new StringBuilder(curEntry.getKey().toString());
+            for (Integer wordId : curEntry.getValue()) {
+                relation.append(',').append(wordId);
             }
+            
+            XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_WORD_RELATION_XID, relation.toString());
         }
+        writer.writeEndElement();
+        
+        writer.writeEndElement();
     }
     
     public LogoNode getBufferNode() {
@@ -378,6 +369,11 @@ public class LogoCollection extends DictionaryCollection<LogoNode> {
         bufferNode = new LogoNode(core);
     }
 
+    @Override
+    public void markChanged() {
+        core.markChanged();
+    }
+
     @Override
     public LogoNode notFoundNode() {
         LogoNode emptyNode = new LogoNode(core);
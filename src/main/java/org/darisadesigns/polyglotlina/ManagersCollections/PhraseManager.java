@@ -22,11 +22,11 @@ package org.darisadesigns.polyglotlina.ManagersCollections;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.PhraseNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
@@ -110,19 +110,19 @@ public class PhraseManager extends DictionaryCollection<PhraseNode> {
         return super.insert();
     }
     
-    /**
-     * Writes all word information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
-     */
-    public void writeXML(Document doc, Element rootElement) {
-        Element phraseCollection = doc.createElement(PGTUtil.PHRASEBOOK_XID);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.PHRASEBOOK_XID);
         
         for (PhraseNode curNode : this.getAllValues()) {
-            curNode.writeXML(doc, phraseCollection);
+            curNode.writeXML(writer);
         }
         
-        rootElement.appendChild(phraseCollection);
+        writer.writeEndElement();
+    }
+
+    @Override
+    public void markChanged() {
+        core.markChanged();
     }
 
     @Override
@@ -23,19 +23,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.IPAHandler;
 import org.darisadesigns.polyglotlina.Nodes.PronunciationNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -43,23 +44,46 @@ import org.w3c.dom.Element;
  */
 public class PronunciationMgr {
 
-    private final DictCore core;
+    protected final DictCore core;
     protected boolean recurse = false;
     private List<PronunciationNode> pronunciations = new ArrayList<>();
     private final Set<String> syllables = new HashSet<>();
     private boolean syllableCompositionEnabled = false;
     private final List<String> illegalClusters = new ArrayList<>();
     
+    // compiled form of pronunciations, discarded on change to table or settings
+    private CompiledPronunciationTable compiledTable = null;
+    
+    // bumped on every change to state affecting generated values
+    private long rulesVersion = 0;
+    
+    // generated values by input word, valid only for rules version they were generated with
+    private final Map<String, CachedResult> resultCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > PGTUtil.PRONUNCIATION_CACHE_SIZE;
+        }
+    };
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
+    
     public PronunciationMgr(DictCore _core) {
         core = _core;
     }
     
     public void addSyllable(String syllable) {
-        syllables.add(syllable);
+        if (syllables.add(syllable)) {
+            core.markChanged();
+            rulesChanged();
+        }
     }
 
     public void clearSyllables() {
-        syllables.clear();
+        if (!syllables.isEmpty()) {
+            core.markChanged();
+            syllables.clear();
+            rulesChanged();
+        }
     }
     
     public boolean isSyllableCompositionEnabled() {
@@ -76,7 +100,12 @@ public class PronunciationMgr {
     }
     
     public void setSyllableCompositionEnabled(boolean _syllableCompositionEnabled) {
+        if (syllableCompositionEnabled != _syllableCompositionEnabled) {
+            core.markChanged();
+        }
+        
         syllableCompositionEnabled = _syllableCompositionEnabled;
+        rulesChanged();
     }
 
     /**
@@ -85,7 +114,12 @@ public class PronunciationMgr {
      * @param _pronunciations new list to replace old
      */
     public void setPronunciations(List<PronunciationNode> _pronunciations) {
+        if (!sameValues(pronunciations, _pronunciations)) {
+            core.markChanged();
+        }
+        
         pronunciations = _pronunciations;
+        rulesChanged();
     }
 
     /**
@@ -105,7 +139,9 @@ public class PronunciationMgr {
      * @param newNode node to be inserted
      */
     public void addAtPosition(int index, PronunciationNode newNode) {
+        core.markChanged();
         pronunciations.add(index, newNode);
+        rulesChanged();
     }
 
     /**
@@ -121,8 +157,10 @@ public class PronunciationMgr {
             return;
         }
 
+        core.markChanged();
         pronunciations.remove(index);
         pronunciations.add(index - 1, node);
+        rulesChanged();
     }
 
     /**
@@ -138,18 +176,24 @@ public class PronunciationMgr {
             return;
         }
 
+        core.markChanged();
         pronunciations.remove(index);
         pronunciations.add(index + 1, node);
+        rulesChanged();
     }
     
     public void deletePronunciation(int orderedLocation) {
         if (orderedLocation >= 0 && orderedLocation < pronunciations.size()) {
+            core.markChanged();
             pronunciations.remove(orderedLocation);
+            rulesChanged();
         }
     }
 
     public void addPronunciation(PronunciationNode newNode) {
+        core.markChanged();
         pronunciations.add(newNode);
+        rulesChanged();
     }
 
     /**
@@ -161,38 +205,49 @@ public class PronunciationMgr {
      * @throws java.lang.Exception on malformed regex statements encountered
      */
     public String getPronunciation(String base) throws Exception {
+        long version = getRulesVersion();
+        CachedResult cached = getCachedResult(base, version, false);
+        
+        if (cached != null) {
+            return cached.pronunciation;
+        }
+        
+        String ret = generatePronunciation(base);
+        cacheResult(base, version, ret, null);
+        
+        return ret;
+    }
+    
+    private String generatePronunciation(String base) throws Exception {
         String[] spaceDelimited = base.trim().split(" ");
-        String ret = "";
+        StringBuilder ret = new StringBuilder();
         
         for (String fragment : spaceDelimited) {
-            ret += " " + getPronunciationInternal(fragment);
+            ret.append(' ');
+            getPronunciationInternal(fragment, ret);
         }
         
-        return ret.trim();
+        return ret.toString().trim();
     }
     
-    private String getPronunciationInternal(String base) throws Exception {
-        String ret = "";
-
-        int[] syllableBreaks = new int[0];
+    private void getPronunciationInternal(String base, StringBuilder ret) throws Exception {
+        Set<Integer> syllableBreaks = new HashSet<>();
         if (syllableCompositionEnabled) {
-            syllableBreaks = this.getSyllableBreaks(base);
+            for (int syllableBreak : this.getSyllableBreaks(base)) {
+                syllableBreaks.add(syllableBreak);
+            }
         }
         
-        // -base.length() fed as initial depth to ensure that longer words cannot be artificially labeled as breaking max depth
-        List<PronunciationNode> procCycle = getPronunciationElements(base, -base.length(), true);
+        List<PronunciationNode> procCycle = findPronunciationElements(base);
         int charCount = 0;
         for (PronunciationNode curProc : procCycle) {
-            ret += curProc.getPronunciation();
+            ret.append(curProc.getPronunciation());
             
             charCount += curProc.getOriginPattern().length();
-            final int godDamnIt = charCount;
-            if (syllableCompositionEnabled && IntStream.of(syllableBreaks).anyMatch(x -> x == godDamnIt)) {
-                ret += "˙";
+            if (syllableCompositionEnabled && syllableBreaks.contains(charCount)) {
+                ret.append('˙');
             }
         }
-
-        return ret;
     }
     
     /**
@@ -203,10 +258,18 @@ public class PronunciationMgr {
      * @return 
      */
     private int[] getSyllableBreaks(String base) {
-        return getSyllableBreaksRecurse(base, 0);
+        return getSyllableBreaksRecurse(base, 0, new boolean[base.length() + 1]);
     }
     
-    private int[] getSyllableBreaksRecurse(String base, int cur) {
+    /**
+     * @param failed positions already known to admit no valid breakup. 
+     * Prevents re-searching the same remainder, which is exponential.
+     */
+    private int[] getSyllableBreaksRecurse(String base, int cur, boolean[] failed) {
+        if (failed[cur]) {
+            return new int[0];
+        }
+        
         for (int i = 1; i <= base.length(); i++) {
             if (syllables.contains(base.substring(0, i))) {
                 // syllables ending the word do not need demarkation
@@ -214,7 +277,7 @@ public class PronunciationMgr {
                     return new int[]{-1};
                 }
                 
-                int[] subSearch = getSyllableBreaksRecurse(base.substring(i), cur + i);
+                int[] subSearch = getSyllableBreaksRecurse(base.substring(i), cur + i, failed);
                 
                 // length > 0 means the subsearch was a success, continue otherwise
                 if (subSearch.length > 0) {
@@ -224,6 +287,7 @@ public class PronunciationMgr {
             }
         }
         
+        failed[cur] = true;
         return new int[0];
     }
     
@@ -242,8 +306,153 @@ public class PronunciationMgr {
      * @throws java.lang.Exception if malformed regex expression encountered
      */
     public PronunciationNode[] getPronunciationElements(String base) throws Exception {
-        // -base.length() fed as initial depth to ensure that longer words cannot be artificially labeled as breaking max depth
-        return getPronunciationElements(base, -base.length(), true).toArray(PronunciationNode[]::new);
+        long version = getRulesVersion();
+        CachedResult cached = getCachedResult(base, version, true);
+        
+        if (cached != null) {
+            return copyElements(cached.elements);
+        }
+        
+        PronunciationNode[] ret = findPronunciationElements(base).toArray(PronunciationNode[]::new);
+        cacheResult(base, version, null, copyElements(ret));
+        
+        return ret;
+    }
+    
+    /**
+     * Returns number of pronunciation requests answered from the result cache
+     * since this manager was created
+     * @return cache hit count
+     */
+    public synchronized long getCacheHitCount() {
+        return cacheHits;
+    }
+    
+    /**
+     * Returns number of pronunciation requests which had to be generated
+     * since this manager was created
+     * @return cache miss count
+     */
+    public synchronized long getCacheMissCount() {
+        return cacheMisses;
+    }
+    
+    /**
+     * Returns number of words currently held in the result cache
+     * @return cached word count
+     */
+    public synchronized int getCacheSize() {
+        return resultCache.size();
+    }
+    
+    /**
+     * Returns version of all state affecting generated values. It is bumped
+     * on every change made through this manager, and on the first call after
+     * nodes are edited in place or regex or case settings change.
+     * @return current rules version
+     */
+    public synchronized long getRulesVersion() {
+        getCompiledTable();
+        return rulesVersion;
+    }
+    
+    /**
+     * Fetches cached results for a word, counting the hit or miss. Entries
+     * generated under any other rules version are not returned.
+     * @param elements whether pronunciation elements (true) or the
+     * pronunciation string (false) is requested
+     * @return cached entry holding requested value, null if not cached
+     */
+    private synchronized CachedResult getCachedResult(String base, 
+            long version, 
+            boolean elements) {
+        CachedResult ret = resultCache.get(base);
+        
+        if (ret != null && (ret.version != version 
+                || (elements ? ret.elements : ret.pronunciation) == null)) {
+            ret = null;
+        }
+        
+        if (ret == null) {
+            cacheMisses++;
+        } else {
+            cacheHits++;
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Stores generated values for a word. Discarded if the rules version
+     * changed while the values were being generated.
+     */
+    private synchronized void cacheResult(String base, 
+            long version, 
+            String pronunciation, 
+            PronunciationNode[] elements) {
+        if (rulesVersion != version) {
+            return;
+        }
+        
+        CachedResult entry = resultCache.get(base);
+        
+        if (entry == null || entry.version != version) {
+            entry = new CachedResult(version);
+            resultCache.put(base, entry);
+        }
+        
+        if (pronunciation != null) {
+            entry.pronunciation = pronunciation;
+        }
+        
+        if (elements != null) {
+            entry.elements = elements;
+        }
+    }
+    
+    /**
+     * Compares pronunciation lists exactly, value and pronunciation only. Node
+     * equality ignores whitespace, which is saved.
+     */
+    private static boolean sameValues(List<PronunciationNode> a, List<PronunciationNode> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        
+        for (int i = 0; i < a.size(); i++) {
+            if (!Objects.equals(a.get(i).getValue(), b.get(i).getValue()) 
+                    || !Objects.equals(a.get(i).getPronunciation(), b.get(i).getPronunciation())) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Discards compiled table and cached values, bumping the rules version
+     */
+    private synchronized void rulesChanged() {
+        compiledTable = null;
+        bumpRulesVersion();
+    }
+    
+    private synchronized void bumpRulesVersion() {
+        rulesVersion++;
+        resultCache.clear();
+    }
+    
+    // cached elements are copied going in and out so callers can't alter them
+    private static PronunciationNode[] copyElements(PronunciationNode[] elements) {
+        PronunciationNode[] ret = new PronunciationNode[elements.length];
+        
+        for (int i = 0; i < elements.length; i++) {
+            PronunciationNode copy = new PronunciationNode();
+            copy.setEqual(elements[i]);
+            ret[i] = copy;
+        }
+        
+        return ret;
     }
     
     /**
@@ -276,181 +485,78 @@ public class PronunciationMgr {
      * returns pronunciation objects of a given word
      *
      * @param base word to find pronunciation objects of
-     * @param depth current depth
-     * @param beginning true if beginning of word (cannot rely on depth)
      * @return pronunciation object list. If no perfect match found, empty
      * string returned
      */
-    private List<PronunciationNode> getPronunciationElements(String base, int depth, boolean beginning) throws Exception {
+    private List<PronunciationNode> findPronunciationElements(String base) throws Exception {
         List<PronunciationNode> ret;
 
-        if (depth > PGTUtil.MAX_PROC_RECURSE) {
-            throw new Exception("Max recursions for " + getToolLabel() + " exceeded.");
-        }
-        
         // return blank for empty string
         if (base.isEmpty() || pronunciations.isEmpty()) {
             ret = new ArrayList<>();
         } else {
-            // split logic here to use recursion, string comparison, or regex matching
-            if (recurse) {
-                ret = getPronunciationElementsRecurse(base);
-            } else if (core.getPropertiesManager().isDisableProcRegex()) {
-                ret = getPronunciationElementsNoRegex(base, depth);
-            } else {
-                ret = getPronunciationElementsWithRegex(base, depth, beginning);
-            }
+            // compiled table handles recursion, string comparison, or regex matching
+            ret = getCompiledTable().getElements(base);
         }
 
         return ret;
     }
     
-    private List<PronunciationNode> getPronunciationElementsWithRegex(String base, int depth, boolean beginning) throws Exception {
-        List<PronunciationNode> ret = new ArrayList<>();
+    /**
+     * Returns compiled form of pronunciation table, recompiling if the table
+     * or relevant settings have changed since last compiled (including nodes
+     * edited in place)
+     * @return current compiled table
+     */
+    private synchronized CompiledPronunciationTable getCompiledTable() {
+        boolean disableRegex = core.getPropertiesManager().isDisableProcRegex();
+        boolean ignoreCase = core.getPropertiesManager().isIgnoreCase();
+        CompiledPronunciationTable ret = compiledTable;
         
-        for (PronunciationNode curNode : pronunciations) {
-            String pattern = curNode.getValue();
-            // skip if set as starting characters, but later in word
-            if (pattern.startsWith("^") && !beginning) {
-                continue;
-            }
-
-            // original pattern
-            String origPattern = pattern;
-
-            // make pattern a starting pattern if not already, if it is already, allow it to accept following strings
-            if (pattern.startsWith("^")) {
-                pattern = "^(" + pattern.substring(1) + ").*";
-            } else {
-                pattern = "^(" + pattern + ").*";
-            }
-
-            Pattern findString = Pattern.compile(pattern);
-            Matcher matcher = findString.matcher(base);
-
-            if (matcher.matches()) {
-                String leadingChars = matcher.group(1);
-
-                // if a user has entered an empty pattern... just continue.
-                if (leadingChars.isEmpty()) {
-                    continue;
-                }
-                List<PronunciationNode> temp
-                        = getPronunciationElementsWithRegex(base.substring(leadingChars.length()), depth + 1, false);
-
-                try {
-                    if (leadingChars.length() == base.length() || !temp.isEmpty()) {
-                        PronunciationNode finalNode = new PronunciationNode();
-                        finalNode.setEqual(curNode);
-                        finalNode.setPronunciation(leadingChars.replaceAll(origPattern, curNode.getPronunciation()));
-                        finalNode.setOriginPattern(leadingChars);
-                        ret.add(finalNode);
-                        ret.addAll(temp);
-                        break;
-                    }
-                } catch (IndexOutOfBoundsException e) {
-                    throw new Exception("The pronunciation pair " + curNode.getValue() + "->"
-                            + curNode.getPronunciation() + " is generating a regex error. Please correct."
-                            + "\nError: " + e.getLocalizedMessage() + e.getClass().getName(), e);
-                }
+        if (ret == null || !ret.isCurrent(pronunciations, recurse, disableRegex, ignoreCase)) {
+            // a table still held here was made stale without going through this manager
+            if (ret != null) {
+                bumpRulesVersion();
             }
+            
+            ret = CompiledPronunciationTable.compile(pronunciations, recurse, disableRegex, ignoreCase);
+            compiledTable = ret;
         }
         
         return ret;
     }
-    
-    private List<PronunciationNode> getPronunciationElementsNoRegex(String base, int depth) {
-        List<PronunciationNode> ret = new ArrayList<>();
-        
-        for (PronunciationNode curNode : pronunciations) {
-            String pattern = curNode.getValue();
-            // do not overstep string
-            if (pattern.length() <= base.length()) {
-                // capture string to compare based on pattern length
-                String comp = base.substring(0, curNode.getValue().length());
-
-                if (core.getPropertiesManager().isIgnoreCase()) {
-                    comp = comp.toLowerCase();
-                    pattern = pattern.toLowerCase();
-                }
-
-                if (comp.equals(pattern)) {
-                    List<PronunciationNode> temp
-                            = getPronunciationElementsNoRegex(base.substring(pattern.length()), depth + 1);
-
-                    // if lengths are equal, success! return. If unequal and no further match found-failure
-                    if (pattern.length() == base.length() || !temp.isEmpty()) {
-                        PronunciationNode newNode = new PronunciationNode();
-                        newNode.setEqual(curNode);
-                        newNode.setOriginPattern(pattern);
-                        ret.add(newNode);
-                        ret.addAll(temp);
-                        break;
-                    }
-                }
-            }
-        }
-        
-        return ret;
-    }
-    
-    private List<PronunciationNode> getPronunciationElementsRecurse(String base) {
-        List<PronunciationNode> ret = new ArrayList<>();
-        
-        // when using recursion, only a single node can be returned, inherently.
-        String retStr = base;
-        PronunciationNode retNode = new PronunciationNode();
-
-        for (PronunciationNode curNode : pronunciations) {
-            retStr = retStr.replaceAll(curNode.getValue(), curNode.getPronunciation());
-        }
-
-        retNode.setPronunciation(retStr);
-        ret.add(retNode);
-        
-        return ret;
-    }
 
     /**
-     * Writes all pronunciation information to XML document
+     * Writes all pronunciation information to XML stream
      *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * @param writer writer to write to
+     * @throws XMLStreamException on write failure
      */
-    public void writeXML(Document doc, Element rootElement) {
-        Element collection = doc.createElement(PGTUtil.PRONUNCIATION_COLLECTION_XID);
-        
-        rootElement.appendChild(collection);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.PRONUNCIATION_COLLECTION_XID);
         
-        Element syllableList = doc.createElement(PGTUtil.PRO_GUIDE_SYLLABLES_LIST);
+        writer.writeStartElement(PGTUtil.PRO_GUIDE_SYLLABLES_LIST);
         for (String syllable : syllables) {
-            Element syllableNode = doc.createElement(PGTUtil.PRO_GUIDE_SYLLABLE);
-            syllableNode.appendChild(doc.createTextNode(syllable));
-            syllableList.appendChild(syllableNode);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_SYLLABLE, syllable);
         }
-        collection.appendChild(syllableList);
+        writer.writeEndElement();
         
-        Element syllableComposition = doc.createElement(PGTUtil.PRO_GUIDE_COMPOSITION_SYLLABLE);
-        syllableComposition.appendChild(doc.createTextNode(syllableCompositionEnabled ?
-                PGTUtil.TRUE : PGTUtil.FALSE));
-        collection.appendChild(syllableComposition);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_COMPOSITION_SYLLABLE, syllableCompositionEnabled ?
+                PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_RECURSIVE_XID, recurse ?
+                PGTUtil.TRUE : PGTUtil.FALSE);
         
-        Element recurseNode = doc.createElement(PGTUtil.PRO_GUIDE_RECURSIVE_XID);
-        recurseNode.appendChild(doc.createTextNode(recurse ?
-                PGTUtil.TRUE : PGTUtil.FALSE));
-        collection.appendChild(recurseNode);
-        
-        pronunciations.forEach((proc)->{
-            proc.writeXML(doc, collection);
-        });
+        for (PronunciationNode proc : pronunciations) {
+            proc.writeXML(writer);
+        }
         
-        Element illegalClustersCollectionElement = doc.createElement(PGTUtil.PRO_GUIDE_ILLEGAL_CLUSTER_COLLECTION);
-        collection.appendChild(illegalClustersCollectionElement);
+        writer.writeStartElement(PGTUtil.PRO_GUIDE_ILLEGAL_CLUSTER_COLLECTION);
         for (String illegalCluster : illegalClusters) {
-            Element illegalClusterElement = doc.createElement(PGTUtil.PRO_GUIDE_ILLEGAL_CLUSTER);
-            illegalClusterElement.appendChild(doc.createTextNode(illegalCluster));
-            illegalClustersCollectionElement.appendChild(illegalClusterElement);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_ILLEGAL_CLUSTER, illegalCluster);
         }
+        writer.writeEndElement();
+        
+        writer.writeEndElement();
     }
 
     /**
@@ -462,7 +568,12 @@ public class PronunciationMgr {
     }
 
     public void setRecurse(boolean _recurse) {
+        if (recurse != _recurse) {
+            core.markChanged();
+        }
+        
         this.recurse = _recurse;
+        rulesChanged();
     }
     
     /**
@@ -617,19 +728,46 @@ public class PronunciationMgr {
     
     public void addIllegalCluster(String illegalCluster) {
         if (!illegalClusters.contains(illegalCluster) && !illegalCluster.isBlank()) {
+            core.markChanged();
             illegalClusters.add(illegalCluster);
         }
     }
     
+    /**
+     * Replaces all illegal clusters. Blank and repeated values are skipped.
+     * @param _illegalClusters new clusters in order
+     */
+    public void setIllegalClusters(List<String> _illegalClusters) {
+        List<String> newClusters = new ArrayList<>();
+        
+        for (String cluster : _illegalClusters) {
+            if (!newClusters.contains(cluster) && !cluster.isBlank()) {
+                newClusters.add(cluster);
+            }
+        }
+        
+        if (!newClusters.equals(illegalClusters)) {
+            core.markChanged();
+            illegalClusters.clear();
+            illegalClusters.addAll(newClusters);
+        }
+    }
+    
     public String[] getIllegalClusters() {
         return illegalClusters.toArray(String[]::new);
     }
     
     public void deleteIllegalCluster(String cluster) {
-        illegalClusters.remove(cluster);
+        if (illegalClusters.remove(cluster)) {
+            core.markChanged();
+        }
     }
     
     public void clearIllegalClusters() {
+        if (!illegalClusters.isEmpty()) {
+            core.markChanged();
+        }
+        
         illegalClusters.clear();
     }
     
@@ -648,4 +786,19 @@ public class PronunciationMgr {
         
         return illegalClustersFound.toArray(String[]::new);
     }
+    
+    /**
+     * Generated values for a single word, tagged with the rules version they
+     * were generated under. Either value may be null if only the other has
+     * been requested.
+     */
+    private static class CachedResult {
+        final long version;
+        String pronunciation = null;
+        PronunciationNode[] elements = null;
+        
+        CachedResult(long _version) {
+            version = _version;
+        }
+    }
 }
@@ -26,13 +26,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.CustomControls.PAlphaMap;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.WebInterface;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * Contains and manages properties of given language
@@ -75,11 +76,24 @@ public abstract class PropertiesManager {
         this.core = _core;
     }
     
+    /**
+     * Records an edit to the language's properties with the language core
+     */
+    protected void markChanged() {
+        if (core != null) {
+            core.markChanged();
+        }
+    }
+    
     public boolean isExpandedLexListDisplay() {
         return expandedLexListDisplay;
     }
 
     public void setExpandedLexListDisplay(boolean expandedLexListDisplay) {
+        if (this.expandedLexListDisplay != expandedLexListDisplay) {
+            markChanged();
+        }
+        
         this.expandedLexListDisplay = expandedLexListDisplay;
     }
     
@@ -106,6 +120,10 @@ public abstract class PropertiesManager {
      * @param replacement the string to replace the character with
      */
     public void addCharacterReplacement(String character, String replacement) {
+        if (!Objects.equals(charRep.get(character), replacement)) {
+            markChanged();
+        }
+        
         if (charRep.containsKey(character)) {
             charRep.replace(character, replacement);
         } else {
@@ -113,11 +131,27 @@ public abstract class PropertiesManager {
         }
     }
     
+    /**
+     * Replaces all character replacements with those given
+     * @param reps replacement strings keyed by the character they replace
+     */
+    public void setCharacterReplacements(Map<String, String> reps) {
+        if (!charRep.equals(reps)) {
+            markChanged();
+            charRep.clear();
+            charRep.putAll(reps);
+        }
+    }
+    
     /**
      * Deletes replacement value for a character
      * @param character character for replacement values to be wiped for
      */
     public void delCharacterReplacement(String character) {
+        if (charRep.containsKey(character)) {
+            markChanged();
+        }
+        
         charRep.remove(character);
     }
     
@@ -125,6 +159,10 @@ public abstract class PropertiesManager {
      * Clears all character replacements
      */
     public void clearCharacterReplacement() {
+        if (!charRep.isEmpty()) {
+            markChanged();
+        }
+        
         charRep.clear();
     }
     
@@ -137,10 +175,15 @@ public abstract class PropertiesManager {
     }
 
     public void AddEmptyRep() {
+        markChanged();
         charRep.put("", "");
     }
     
     public void setLocalFontSize(double size) {
+        if (localFontSize != size) {
+            markChanged();
+        }
+        
         localFontSize = size;
     }
 
@@ -150,6 +193,10 @@ public abstract class PropertiesManager {
      * @param _cachedFont value of cached font
      */
     public void setCachedFont(byte[] _cachedFont) {
+        if (cachedConFont != _cachedFont) {
+            markChanged();
+        }
+        
         cachedConFont = _cachedFont;
     }
 
@@ -163,6 +210,10 @@ public abstract class PropertiesManager {
     }
     
     public void setCachedLocalFont(byte[] _cachedLocalFont) {
+        if (cachedLocalFont != _cachedLocalFont) {
+            markChanged();
+        }
+        
         cachedLocalFont = _cachedLocalFont;
     }
 
@@ -171,6 +222,10 @@ public abstract class PropertiesManager {
     }
 
     public void setDisableProcRegex(boolean _disableProcRegex) {
+        if (disableProcRegex != _disableProcRegex) {
+            markChanged();
+        }
+        
         disableProcRegex = _disableProcRegex;
     }
 
@@ -184,6 +239,10 @@ public abstract class PropertiesManager {
      * @param _ignoreCase new value
      */
     public void setIgnoreCase(boolean _ignoreCase) {
+        if (ignoreCase != _ignoreCase) {
+            markChanged();
+        }
+        
         ignoreCase = _ignoreCase;
     }
 
@@ -271,6 +330,7 @@ public abstract class PropertiesManager {
      */
     public void setAlphaOrder(String order, boolean overrideDupe) throws Exception {
         String error = "";
+        Map<String, Integer> oldOrder = new HashMap<>(alphaOrder.getDelegate());
 
         alphaOrder.clear();
 
@@ -301,6 +361,10 @@ public abstract class PropertiesManager {
             }
         }
         
+        if (!oldOrder.equals(alphaOrder.getDelegate())) {
+            markChanged();
+        }
+        
         if (!error.isEmpty()) {
             throw new Exception(error.trim());
         }
@@ -336,6 +400,10 @@ public abstract class PropertiesManager {
      * @param _langName the langName to set
      */
     public void setLangName(String _langName) {
+        if (!Objects.equals(langName, _langName)) {
+            markChanged();
+        }
+        
         this.langName = _langName;
     }
 
@@ -350,6 +418,10 @@ public abstract class PropertiesManager {
      * @param _typesMandatory the typesMandatory to set
      */
     public void setTypesMandatory(boolean _typesMandatory) {
+        if (typesMandatory != _typesMandatory) {
+            markChanged();
+        }
+        
         this.typesMandatory = _typesMandatory;
     }
 
@@ -364,6 +436,10 @@ public abstract class PropertiesManager {
      * @param _localMandatory the localMandatory to set
      */
     public void setLocalMandatory(boolean _localMandatory) {
+        if (localMandatory != _localMandatory) {
+            markChanged();
+        }
+        
         this.localMandatory = _localMandatory;
     }
 
@@ -378,6 +454,10 @@ public abstract class PropertiesManager {
      * @param _wordUniqueness the wordUniqueness to set
      */
     public void setWordUniqueness(boolean _wordUniqueness) {
+        if (wordUniqueness != _wordUniqueness) {
+            markChanged();
+        }
+        
         this.wordUniqueness = _wordUniqueness;
     }
 
@@ -392,6 +472,10 @@ public abstract class PropertiesManager {
      * @param _localUniqueness the localUniqueness to set
      */
     public void setLocalUniqueness(boolean _localUniqueness) {
+        if (localUniqueness != _localUniqueness) {
+            markChanged();
+        }
+        
         this.localUniqueness = _localUniqueness;
     }
 
@@ -408,6 +492,10 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistDropoffRate(int zompistDropoffRate) {
+        if (this.zompistDropoffRate != zompistDropoffRate) {
+            markChanged();
+        }
+        
         this.zompistDropoffRate = zompistDropoffRate;
     }
 
@@ -416,159 +504,62 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistMonosylableFrequency(int zompistMonosylableFrequency) {
+        if (this.zompistMonosylableFrequency != zompistMonosylableFrequency) {
+            markChanged();
+        }
+        
         this.zompistMonosylableFrequency = zompistMonosylableFrequency;
     }
 
     /**
-     * Writes all dictionary properties to XML document
+     * Writes all dictionary properties to XML stream
      *
-     * @param doc Document to write dictionary properties to
-     * @param rootElement root element of document
+     * @param writer writer to write dictionary properties to
+     * @throws XMLStreamException on write failure
      */
-    public void writeXML(Document doc, Element rootElement) {
-        Element propContainer = doc.createElement(PGTUtil.LANG_PROPERTIES_XID);
-        Element wordValue;
-        
-        rootElement.appendChild(propContainer);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.LANG_PROPERTIES_XID);
 
         // store font for Conlang words ONLY if no cached font
         if (cachedConFont == null) {
-            wordValue = doc.createElement(PGTUtil.FONT_CON_XID);
-            wordValue.appendChild(doc.createTextNode(getFontConFamily()));
-            propContainer.appendChild(wordValue);
-        }
-
-        // store font style
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_FONT_STYLE_XID);
-        wordValue.appendChild(doc.createTextNode(conFontStyle.toString()));
-        propContainer.appendChild(wordValue);
-
-        // store font size
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_FONT_SIZE_XID);
-        wordValue.appendChild(doc.createTextNode(Double.toString(conFontSize)));
-        propContainer.appendChild(wordValue);
-        
-        // store font size for local language font
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_LOCAL_FONT_SIZE_XID);
-        wordValue.appendChild(doc.createTextNode(Double.toString(localFontSize)));
-        propContainer.appendChild(wordValue);
-
-        // store name for conlang
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_LANG_NAME_XID);
-        wordValue.appendChild(doc.createTextNode(langName));
-        propContainer.appendChild(wordValue);
-
-        // store alpha order for conlang
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ALPHA_ORDER_XID);
-        wordValue.appendChild(doc.createTextNode(String.join(",", getOrderedAlphaList())));
-        propContainer.appendChild(wordValue);
-
-        // store option for mandatory Types
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_TYPE_MAND_XID);
-        wordValue.appendChild(doc.createTextNode(typesMandatory ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for mandatory Local word
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_LOCAL_MAND_XID);
-        wordValue.appendChild(doc.createTextNode(localMandatory ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for unique local word
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_LOCAL_UNIQUE_XID);
-        wordValue.appendChild(doc.createTextNode(localUniqueness ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for unique conwords
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_WORD_UNIQUE_XID);
-        wordValue.appendChild(doc.createTextNode(wordUniqueness ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for ignoring case
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_IGNORE_CASE_XID);
-        wordValue.appendChild(doc.createTextNode(ignoreCase ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for disabling regex or pronunciations
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_DISABLE_PROC_REGEX);
-        wordValue.appendChild(doc.createTextNode(disableProcRegex ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-        
-        // store option for overriding the regex display font
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_OVERRIDE_REGEX_FONT_XID);
-        wordValue.appendChild(doc.createTextNode(overrideRegexFont ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for displaying local words in lexicon
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_USE_LOCAL_LEX_XID);
-        wordValue.appendChild(doc.createTextNode(useLocalWordLex ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-
-        // store option for Author and copyright info
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_AUTH_COPYRIGHT_XID);
-        wordValue.appendChild(doc.createTextNode(copyrightAuthorInfo));
-        propContainer.appendChild(wordValue);
-
-        // store option local language name
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_LOCAL_NAME_XID);
-        wordValue.appendChild(doc.createTextNode(localLangName));
-        propContainer.appendChild(wordValue);
-        
-        // store option to use simplified conjugation autogeneration
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_USE_SIMPLIFIED_CONJ);
-        wordValue.appendChild(doc.createTextNode(useSimplifiedConjugations ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-        
-        // store option whether to display both conword and local word in lexicon list
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_EXPANDED_LEX_LIST_DISP);
-        wordValue.appendChild(doc.createTextNode(expandedLexListDisplay ? PGTUtil.TRUE : PGTUtil.FALSE));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist categories setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_CATEGORIES);
-        wordValue.appendChild(doc.createTextNode(zompistCategories));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist illegal clusters setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_ILLEGAL_CLUSTERS);
-        wordValue.appendChild(doc.createTextNode(zompistIllegalClusters));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist rewrite rules setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_REWRITE_RULES);
-        wordValue.appendChild(doc.createTextNode(zompistRewriteRules));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist syllables setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_SYLLABLES);
-        wordValue.appendChild(doc.createTextNode(zompistSyllableTypes));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist syllables setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_DROPOFF_RATE);
-        wordValue.appendChild(doc.createTextNode(Integer.toString(zompistDropoffRate)));
-        propContainer.appendChild(wordValue);
-        
-        // store Zompist syllables setup
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_ZOMPIST_MONOSYLLABLE_FREQUENCY);
-        wordValue.appendChild(doc.createTextNode(Integer.toString(zompistMonosylableFrequency)));
-        propContainer.appendChild(wordValue);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.FONT_CON_XID, getFontConFamily());
+        }
+
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_FONT_STYLE_XID, conFontStyle.toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_FONT_SIZE_XID, Double.toString(conFontSize));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_LOCAL_FONT_SIZE_XID, Double.toString(localFontSize));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_LANG_NAME_XID, langName);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ALPHA_ORDER_XID, String.join(",", getOrderedAlphaList()));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_TYPE_MAND_XID, typesMandatory ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_LOCAL_MAND_XID, localMandatory ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_LOCAL_UNIQUE_XID, localUniqueness ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_WORD_UNIQUE_XID, wordUniqueness ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_IGNORE_CASE_XID, ignoreCase ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_DISABLE_PROC_REGEX, disableProcRegex ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_OVERRIDE_REGEX_FONT_XID, overrideRegexFont ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_USE_LOCAL_LEX_XID, useLocalWordLex ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_AUTH_COPYRIGHT_XID, copyrightAuthorInfo);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_LOCAL_NAME_XID, localLangName);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_USE_SIMPLIFIED_CONJ, useSimplifiedConjugations ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_EXPANDED_LEX_LIST_DISP, expandedLexListDisplay ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_CATEGORIES, zompistCategories);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_ILLEGAL_CLUSTERS, zompistIllegalClusters);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_REWRITE_RULES, zompistRewriteRules);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_SYLLABLES, zompistSyllableTypes);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_DROPOFF_RATE, Integer.toString(zompistDropoffRate));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_ZOMPIST_MONOSYLLABLE_FREQUENCY, Integer.toString(zompistMonosylableFrequency));
         
         // store all replacement pairs
-        wordValue = doc.createElement(PGTUtil.LANG_PROP_CHAR_REP_CONTAINER_XID);
+        writer.writeStartElement(PGTUtil.LANG_PROP_CHAR_REP_CONTAINER_XID);
         for (Entry<String, String> pair : getAllCharReplacements()) {
-            Element node = doc.createElement(PGTUtil.LANG_PROPCHAR_REP_NODE_XID);
-            
-            Element val = doc.createElement(PGTUtil.LANG_PROP_CHAR_REP_CHAR_XID);
-            val.appendChild(doc.createTextNode(pair.getKey()));
-            node.appendChild(val);
-            
-            val = doc.createElement(PGTUtil.LANG_PROP_CHAR_REP_VAL_XID);
-            val.appendChild(doc.createTextNode(pair.getValue()));
-            node.appendChild(val);
-            
-            wordValue.appendChild(node);
+            writer.writeStartElement(PGTUtil.LANG_PROPCHAR_REP_NODE_XID);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_CHAR_REP_CHAR_XID, pair.getKey());
+            XMLStreamTools.writeTextElement(writer, PGTUtil.LANG_PROP_CHAR_REP_VAL_XID, pair.getValue());
+            writer.writeEndElement();
         }
-        propContainer.appendChild(wordValue);
+        writer.writeEndElement();
+        
+        writer.writeEndElement();
     }
 
     /**
@@ -582,6 +573,10 @@ public abstract class PropertiesManager {
      * @param _localLangName the localLangName to set
      */
     public void setLocalLangName(String _localLangName) {
+        if (!Objects.equals(localLangName, _localLangName)) {
+            markChanged();
+        }
+        
         this.localLangName = _localLangName;
     }
 
@@ -596,6 +591,10 @@ public abstract class PropertiesManager {
      * @param _copyrightAuthorInfo the copyrightAuthorInfo to set
      */
     public void setCopyrightAuthorInfo(String _copyrightAuthorInfo) {
+        if (!Objects.equals(copyrightAuthorInfo, _copyrightAuthorInfo)) {
+            markChanged();
+        }
+        
         this.copyrightAuthorInfo = _copyrightAuthorInfo;
     }
     
@@ -687,6 +686,10 @@ public abstract class PropertiesManager {
      * @param _overrideRegexFont the overrideRegexFont to set
      */
     public void setOverrideRegexFont(boolean _overrideRegexFont) {
+        if (overrideRegexFont != _overrideRegexFont) {
+            markChanged();
+        }
+        
         this.overrideRegexFont = _overrideRegexFont;
     }
 
@@ -701,6 +704,10 @@ public abstract class PropertiesManager {
      * @param _useLocalWordLex the useLocalWordLex to set
      */
     public void setUseLocalWordLex(boolean _useLocalWordLex) {
+        if (useLocalWordLex != _useLocalWordLex) {
+            markChanged();
+        }
+        
         this.useLocalWordLex = _useLocalWordLex;
     }
     
@@ -722,6 +729,10 @@ public abstract class PropertiesManager {
      * @param _useSimplifiedConjugations the useSimplifiedConjugations to set
      */
     public void setUseSimplifiedConjugations(boolean _useSimplifiedConjugations) {
+        if (useSimplifiedConjugations != _useSimplifiedConjugations) {
+            markChanged();
+        }
+        
         this.useSimplifiedConjugations = _useSimplifiedConjugations;
     }
     
@@ -740,6 +751,10 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistCategories(String zompistCategories) {
+        if (!Objects.equals(this.zompistCategories, zompistCategories)) {
+            markChanged();
+        }
+        
         this.zompistCategories = zompistCategories;
     }
 
@@ -748,6 +763,10 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistIllegalClusters(String zompistIllegalClusters) {
+        if (!Objects.equals(this.zompistIllegalClusters, zompistIllegalClusters)) {
+            markChanged();
+        }
+        
         this.zompistIllegalClusters = zompistIllegalClusters;
     }
 
@@ -756,6 +775,10 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistRewriteRules(String zompistRewriteRules) {
+        if (!Objects.equals(this.zompistRewriteRules, zompistRewriteRules)) {
+            markChanged();
+        }
+        
         this.zompistRewriteRules = zompistRewriteRules;
     }
 
@@ -764,6 +787,10 @@ public abstract class PropertiesManager {
     }
 
     public void setZompistSyllableTypes(String zompistSyllableTypes) {
+        if (!Objects.equals(this.zompistSyllableTypes, zompistSyllableTypes)) {
+            markChanged();
+        }
+        
         this.zompistSyllableTypes = zompistSyllableTypes;
     }
     
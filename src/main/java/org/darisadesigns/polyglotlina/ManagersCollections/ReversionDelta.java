@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.ManagersCollections;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Encodes one state of a language file as a delta against another. Language
+ * XML is split into tokens ending at each '&gt;' or line break, and runs of
+ * tokens shared with the base are recorded as byte ranges to copy from it.
+ * Everything else is stored literally.
+ *
+ * Deltas carry a versioned header holding the save time of the state they
+ * encode along with the length and CRC of the reconstructed bytes.
+ *
+ * @author draque
+ */
+public final class ReversionDelta {
+    private static final byte[] MAGIC = {'P', 'G', 'R', 'D'};
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + Long.BYTES + Integer.BYTES;
+    private static final byte OP_END = 0;
+    private static final byte OP_COPY = 1;
+    private static final byte OP_INSERT = 2;
+    private static final int WINDOW_TOKENS = 4;
+    private static final int MAX_CANDIDATES = 16;
+
+    private ReversionDelta() {}
+
+    /**
+     * Encodes target as a delta against base
+     *
+     * @param base bytes the delta will be applied to
+     * @param target bytes the delta reconstructs
+     * @param saveTime save time of target state
+     * @return encoded delta
+     */
+    public static byte[] encode(byte[] base, byte[] target, Instant saveTime) {
+        Encoder encoder = new Encoder(base, target);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(target.length / 8 + 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(target);
+
+            out.write(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(saveTime.getEpochSecond());
+            out.writeInt(saveTime.getNano());
+            out.writeInt(target.length);
+            out.writeLong(crc.getValue());
+            encoder.writeOps(out);
+            out.writeByte(OP_END);
+            out.flush();
+
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // in memory streams do not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reconstructs the bytes encoded by a delta
+     *
+     * @param base bytes delta was encoded against
+     * @param delta encoded delta
+     * @return reconstructed bytes
+     * @throws IOException if delta is malformed or does not reconstruct
+     * cleanly from given base
+     */
+    public static byte[] apply(byte[] base, byte[] delta) throws IOException {
+        DataInputStream in = openDelta(delta);
+        in.skipNBytes(Long.BYTES + Integer.BYTES);
+
+        byte[] ret = new byte[in.readInt()];
+        long expectedCrc = in.readLong();
+        int pos = 0;
+
+        for (byte op = in.readByte(); op != OP_END; op = in.readByte()) {
+            if (op == OP_COPY) {
+                int offset = in.readInt();
+                int length = in.readInt();
+
+                if (offset < 0 || length < 0 || offset > base.length - length || length > ret.length - pos) {
+                    throw new IOException("Reversion delta copies outside of its base.");
+                }
+
+                System.arraycopy(base, offset, ret, pos, length);
+                pos += length;
+            } else if (op == OP_INSERT) {
+                int length = in.readInt();
+
+                if (length < 0 || length > ret.length - pos) {
+                    throw new IOException("Reversion delta inserts past end of its state.");
+                }
+
+                in.readFully(ret, pos, length);
+                pos += length;
+            } else {
+                throw new IOException("Unknown reversion delta operation: " + op);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(ret);
+
+        if (pos != ret.length || crc.getValue() != expectedCrc) {
+            throw new IOException("Reversion delta does not match its base.");
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads the save time recorded in a delta without applying it
+     *
+     * @param delta encoded delta
+     * @return save time of encoded state
+     * @throws IOException if delta is malformed
+     */
+    public static Instant getSaveTime(byte[] delta) throws IOException {
+        DataInputStream in = openDelta(delta);
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+
+        try {
+            return Instant.ofEpochSecond(seconds, nanos);
+        } catch (DateTimeException e) {
+            throw new IOException("Reversion delta has invalid save time.", e);
+        }
+    }
+
+    private static DataInputStream openDelta(byte[] delta) throws IOException {
+        if (delta.length < HEADER_LENGTH || !Arrays.equals(delta, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IOException("Not a reversion delta.");
+        }
+
+        if (delta[MAGIC.length] != FORMAT_VERSION) {
+            throw new IOException("Unsupported reversion delta version: " + delta[MAGIC.length]
+                    + ". Please update PolyGlot to open this file's history.");
+        }
+
+        return new DataInputStream(new ByteArrayInputStream(delta, MAGIC.length + 1, delta.length - MAGIC.length - 1));
+    }
+
+    /**
+     * Greedy token matcher. Continues the current copy for as long as tokens
+     * agree, and otherwise looks up the next few target tokens in an index of
+     * base token windows.
+     */
+    private static final class Encoder {
+        private final byte[] base;
+        private final byte[] target;
+        private final int[] baseTokens;
+        private final int[] targetTokens;
+        private final int[] baseHashes;
+        private final int[] targetHashes;
+        private final int[] windowHeads;
+        private final int[] windowNext;
+        private int pendingCopyOffset = -1;
+        private int pendingCopyLength = 0;
+        private int pendingInsertStart = -1;
+        private int pendingInsertEnd = -1;
+
+        Encoder(byte[] _base, byte[] _target) {
+            base = _base;
+            target = _target;
+            baseTokens = tokenize(base);
+            targetTokens = tokenize(target);
+            baseHashes = hashTokens(base, baseTokens);
+            targetHashes = hashTokens(target, targetTokens);
+
+            int windows = Math.max(0, tokenCount(baseTokens) - WINDOW_TOKENS + 1);
+            windowHeads = new int[Integer.highestOneBit(Math.max(1, windows) * 2 - 1) << 1];
+            windowNext = new int[windows];
+
+            // inserted back to front so that chains list earlier windows first
+            for (int i = windows - 1; i >= 0; i--) {
+                int slot = windowHash(baseHashes, i) & (windowHeads.length - 1);
+                windowNext[i] = windowHeads[slot];
+                windowHeads[slot] = i + 1;
+            }
+        }
+
+        void writeOps(DataOutputStream out) throws IOException {
+            int targetCount = tokenCount(targetTokens);
+            int baseCount = tokenCount(baseTokens);
+            int expected = 0;
+            int t = 0;
+
+            while (t < targetCount) {
+                int matchStart = -1;
+                int matchLength = 0;
+
+                if (expected < baseCount && tokensEqual(expected, t)) {
+                    matchStart = expected;
+                    matchLength = matchLength(expected, t);
+                } else if (t + WINDOW_TOKENS <= targetCount) {
+                    int hash = windowHash(targetHashes, t);
+                    int examined = 0;
+
+                    for (int c = windowHeads[hash & (windowHeads.length - 1)] - 1;
+                            c >= 0 && examined < MAX_CANDIDATES; c = windowNext[c] - 1) {
+                        if (windowHash(baseHashes, c) != hash) {
+                            continue;
+                        }
+
+                        examined++;
+                        int length = matchLength(c, t);
+
+                        if (length >= WINDOW_TOKENS && (length > matchLength || (length == matchLength
+                                && Math.abs(c - expected) < Math.abs(matchStart - expected)))) {
+                            matchStart = c;
+                            matchLength = length;
+                        }
+                    }
+                }
+
+                if (matchLength > 0) {
+                    copy(out, baseTokens[matchStart], baseTokens[matchStart + matchLength] - baseTokens[matchStart]);
+                    t += matchLength;
+                    expected = matchStart + matchLength;
+                } else {
+                    insert(out, targetTokens[t], targetTokens[t + 1]);
+                    t++;
+                }
+            }
+
+            flushCopy(out);
+            flushInsert(out);
+        }
+
+        private void copy(DataOutputStream out, int offset, int length) throws IOException {
+            flushInsert(out);
+
+            if (pendingCopyOffset != -1 && pendingCopyOffset + pendingCopyLength == offset) {
+                pendingCopyLength += length;
+            } else {
+                flushCopy(out);
+                pendingCopyOffset = offset;
+                pendingCopyLength = length;
+            }
+        }
+
+        private void insert(DataOutputStream out, int start, int end) throws IOException {
+            flushCopy(out);
+
+            if (pendingInsertStart == -1) {
+                pendingInsertStart = start;
+            }
+
+            pendingInsertEnd = end;
+        }
+
+        private void flushCopy(DataOutputStream out) throws IOException {
+            if (pendingCopyOffset != -1) {
+                out.writeByte(OP_COPY);
+                out.writeInt(pendingCopyOffset);
+                out.writeInt(pendingCopyLength);
+                pendingCopyOffset = -1;
+                pendingCopyLength = 0;
+            }
+        }
+
+        private void flushInsert(DataOutputStream out) throws IOException {
+            if (pendingInsertStart != -1) {
+                out.writeByte(OP_INSERT);
+                out.writeInt(pendingInsertEnd - pendingInsertStart);
+                out.write(target, pendingInsertStart, pendingInsertEnd - pendingInsertStart);
+                pendingInsertStart = -1;
+                pendingInsertEnd = -1;
+            }
+        }
+
+        private int matchLength(int b, int t) {
+            int baseCount = tokenCount(baseTokens);
+            int targetCount = tokenCount(targetTokens);
+            int length = 0;
+
+            while (b + length < baseCount && t + length < targetCount && tokensEqual(b + length, t + length)) {
+                length++;
+            }
+
+            return length;
+        }
+
+        private boolean tokensEqual(int b, int t) {
+            return baseHashes[b] == targetHashes[t]
+                    && Arrays.equals(base, baseTokens[b], baseTokens[b + 1],
+                            target, targetTokens[t], targetTokens[t + 1]);
+        }
+
+        private static int windowHash(int[] hashes, int start) {
+            int ret = 1;
+
+            for (int i = start; i < start + WINDOW_TOKENS; i++) {
+                ret = 31 * ret + hashes[i];
+            }
+
+            return ret;
+        }
+
+        private static int tokenCount(int[] tokens) {
+            return tokens.length - 1;
+        }
+
+        /**
+         * @return start offset of every token, followed by length of data
+         */
+        private static int[] tokenize(byte[] data) {
+            int count = 0;
+
+            for (int i = 0; i < data.length; i++) {
+                if (data[i] == '>' || data[i] == '\n' || i == data.length - 1) {
+                    count++;
+                }
+            }
+
+            int[] ret = new int[count + 1];
+            int token = 1;
+
+            for (int i = 0; i < data.length; i++) {
+                if (data[i] == '>' || data[i] == '\n' || i == data.length - 1) {
+                    ret[token++] = i + 1;
+                }
+            }
+
+            return ret;
+        }
+
+        private static int[] hashTokens(byte[] data, int[] tokens) {
+            int[] ret = new int[tokenCount(tokens)];
+
+            for (int i = 0; i < ret.length; i++) {
+                int hash = 1;
+
+                for (int j = tokens[i]; j < tokens[i + 1]; j++) {
+                    hash = 31 * hash + data[j];
+                }
+
+                ret[i] = hash;
+            }
+
+            return ret;
+        }
+    }
+}
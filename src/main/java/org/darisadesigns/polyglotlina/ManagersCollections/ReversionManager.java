@@ -19,20 +19,24 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.Nodes.Payload;
 import org.darisadesigns.polyglotlina.Nodes.ReversionNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
 
 /**
  * This keeps track of reversion versions of a language and handles their interaction/rollbacks with the larger
- * system.
+ * system. The newest version is held in full, and older versions as deltas against the next newer one, with a
+ * full keyframe at least every KEYFRAME_INTERVAL versions to bound reconstruction.
  * @author DThompson
  */
 public class ReversionManager {
+    private static final int KEYFRAME_INTERVAL = 10;
     private List<ReversionNode> reversionList = new ArrayList<>();
     private final DictCore core;
     private int maxReversionCount = PGTUtil.DEFAULT_MAX_ROLLBACK_NUM;
@@ -48,10 +52,30 @@ public class ReversionManager {
      * @param saveTime The time at which this was saved
      */
     public void addVersion(byte[] addVersion, Instant saveTime) {
-        ReversionNode reversion = new ReversionNode(addVersion, saveTime, core);
+        addVersion(new ReversionNode(addVersion, saveTime, core));
+    }
+    
+    /**
+     * Adds a version to the beginning of the list whose XML is read only when
+     * needed, as addVersion(byte[], Instant). (used when the XML was written
+     * straight to file)
+     * @param payload source of the version's full XML
+     * @param size length of the version's full XML, or -1 if unknown
+     * @param saveTime The time at which this was saved
+     */
+    public void addVersion(Payload payload, int size, Instant saveTime) {
+        ReversionNode reversion = new ReversionNode(payload, null, saveTime, core);
+        reversion.setSize(size);
+        addVersion(reversion);
+    }
+    
+    private void addVersion(ReversionNode reversion) {
+        reversion.setWordCount(core.getWordCollection().getAllValues().size());
+        Collections.sort(reversionList);
         reversionList.add(0, reversion);
         
         trimReversions();
+        deltaEncodePrior();
     }
     
     /**
@@ -62,6 +86,32 @@ public class ReversionManager {
         ReversionNode reg = new ReversionNode(addVersion, core);
         reversionList.add(reg);
     }
+    
+    /**
+     * Adds a version to the end of the list whose bytes are read only when
+     * needed. (used when loading from file)
+     * @param payload source of the version's stored bytes
+     * @param isDelta true if the payload is a delta against the version
+     * currently at the end of the list
+     * @param saveTime The time at which this was saved
+     * @return the added version
+     * @throws IOException if a delta has no version to apply to
+     */
+    public ReversionNode addVersionToEnd(Payload payload, boolean isDelta, Instant saveTime) throws IOException {
+        ReversionNode base = null;
+        
+        if (isDelta) {
+            if (reversionList.isEmpty()) {
+                throw new IOException("Reversion delta has no base version.");
+            }
+            
+            base = reversionList.get(reversionList.size() - 1);
+        }
+        
+        ReversionNode reg = new ReversionNode(payload, base, saveTime, core);
+        reversionList.add(reg);
+        return reg;
+    }
 
     public ReversionNode[] getReversionList() {
         Collections.sort(reversionList);
@@ -83,6 +133,32 @@ public class ReversionManager {
         }
     }
     
+    /**
+     * Re-encodes the version just behind the newest as a delta against it,
+     * unless it is needed as a keyframe for the run of deltas behind it
+     */
+    private void deltaEncodePrior() {
+        if (reversionList.size() < 2 || reversionList.get(1).isDelta()) {
+            return;
+        }
+        
+        int deltaRun = 0;
+        while (deltaRun + 2 < reversionList.size() && reversionList.get(deltaRun + 2).isDelta()) {
+            deltaRun++;
+        }
+        
+        if (deltaRun + 1 >= KEYFRAME_INTERVAL) {
+            return;
+        }
+        
+        try {
+            reversionList.get(1).storeAsDeltaOf(reversionList.get(0));
+        } catch (IOException e) {
+            // prior version stays in full
+            core.getOSHandler().getIOHandler().writeErrorLog(e, "Unable to compress reversion.");
+        }
+    }
+    
     /**
      * Trims reversions down to the max number allowed in the options
      */
@@ -90,7 +166,7 @@ public class ReversionManager {
         int maxVersions = maxReversionCount;
         
         if (reversionList.size() > maxVersions && maxVersions != 0) {
-            reversionList = reversionList.subList(0, maxVersions);
+            reversionList = new ArrayList<>(reversionList.subList(0, maxVersions));
         }
     }
 }
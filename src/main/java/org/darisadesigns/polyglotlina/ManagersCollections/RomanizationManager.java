@@ -19,11 +19,12 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.PronunciationNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * Records romanization values
@@ -37,38 +38,20 @@ public class RomanizationManager extends PronunciationMgr {
         super(_core);
     }
     
-    /**
-     * Writes all romanization information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
-     */
     @Override
-    public void writeXML(Document doc, Element rootElement) {
-        PronunciationNode[] romGuide = getPronunciations();
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.ROM_GUIDE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.ROM_GUIDE_ENABLED_XID, enabled ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.ROM_GUIDE_RECURSE_XID, recurse ? PGTUtil.TRUE : PGTUtil.FALSE);
         
-        Element guideNode = doc.createElement(PGTUtil.ROM_GUIDE_XID);
-        rootElement.appendChild(guideNode);
-        
-        Element enabledNode = doc.createElement(PGTUtil.ROM_GUIDE_ENABLED_XID);
-        enabledNode.appendChild(doc.createTextNode(enabled ? PGTUtil.TRUE : PGTUtil.FALSE));
-        guideNode.appendChild(enabledNode);
-        
-        enabledNode = doc.createElement(PGTUtil.ROM_GUIDE_RECURSE_XID);
-        enabledNode.appendChild(doc.createTextNode(recurse ? PGTUtil.TRUE : PGTUtil.FALSE));
-        guideNode.appendChild(enabledNode);
-        
-        for (PronunciationNode curNode : romGuide) {
-            Element romNode = doc.createElement(PGTUtil.ROM_GUIDE_NODE_XID);
-            guideNode.appendChild(romNode);
-            
-            Element valueNode = doc.createElement(PGTUtil.ROM_GUIDE_BASE_XID);
-            valueNode.appendChild(doc.createTextNode(curNode.getValue()));
-            romNode.appendChild(valueNode);
-            
-            Element procNode = doc.createElement(PGTUtil.ROM_GUIDE_PHON_XID);
-            procNode.appendChild(doc.createTextNode(curNode.getPronunciation()));
-            romNode.appendChild(procNode);
+        for (PronunciationNode curNode : getPronunciations()) {
+            writer.writeStartElement(PGTUtil.ROM_GUIDE_NODE_XID);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.ROM_GUIDE_BASE_XID, curNode.getValue());
+            XMLStreamTools.writeTextElement(writer, PGTUtil.ROM_GUIDE_PHON_XID, curNode.getPronunciation());
+            writer.writeEndElement();
         }
+        
+        writer.writeEndElement();
     }
 
     public boolean isEnabled() {
@@ -76,6 +59,10 @@ public class RomanizationManager extends PronunciationMgr {
     }
 
     public void setEnabled(boolean _enabled) {
+        if (enabled != _enabled) {
+            core.markChanged();
+        }
+        
         this.enabled = _enabled;
     }
     
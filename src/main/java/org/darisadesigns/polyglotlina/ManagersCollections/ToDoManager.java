@@ -20,38 +20,44 @@
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
 import java.util.Objects;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ToDoNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  * Manager of the To Do list
  * @author DThompson
  */
 public class ToDoManager {
+    private final DictCore core;
     private ToDoNode root = null;
     private ToDoNode bufferNode;
     
+    public ToDoManager(DictCore _core) {
+        core = _core;
+    }
+    
     public ToDoNode getRoot() {
         if (root == null) {
             root = new ToDoNode(null, "", false);
+            root.setManager(this);
         }
         return root;
     }
     
     /**
-     * Writes to do information to XML document
-     *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * Records an edit to the to do list with the core
      */
-    public void writeXML(Document doc, Element rootElement) {
-        Element toDos = doc.createElement(PGTUtil.TODO_LOG_XID);
-        
-        getRoot().writeXML(doc, toDos);
-        
-        rootElement.appendChild(toDos);
+    public void markChanged() {
+        core.markChanged();
+    }
+    
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.TODO_LOG_XID);
+        getRoot().writeXML(writer);
+        writer.writeEndElement();
     }
     
     public ToDoNode getBuffer() {
@@ -83,6 +89,8 @@ public class ToDoManager {
     public void fixTodoNodeLoad() {
         if (root.hasChildren()) {
             root = root.getChildren()[0];
+            root.setParent(null);
+            root.setManager(this);
         }
     }
     
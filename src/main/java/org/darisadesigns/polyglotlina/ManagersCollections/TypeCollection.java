@@ -20,6 +20,8 @@
 
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.Nodes.TypeNode;
 import java.util.ArrayList;
@@ -27,8 +29,6 @@ import java.util.Collections;
 import java.util.List;
 import org.darisadesigns.polyglotlina.DictCore;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
@@ -169,19 +169,19 @@ public class TypeCollection extends DictionaryCollection<TypeNode> {
         return ret;
     }
     
-    /**
-     * Writes all type information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
-     */
-    public void writeXML(Document doc, Element rootElement) {
-        Element typeContainer = doc.createElement(PGTUtil.POS_COLLECTION_XID);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.POS_COLLECTION_XID);
         
         for (TypeNode curNode : getNodes()) {
-            curNode.writeXML(doc, typeContainer);
+            curNode.writeXML(writer);
         }
         
-        rootElement.appendChild(typeContainer);
+        writer.writeEndElement();
+    }
+
+    @Override
+    public void markChanged() {
+        core.markChanged();
     }
 
     @Override
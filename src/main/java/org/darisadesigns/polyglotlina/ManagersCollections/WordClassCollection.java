@@ -19,6 +19,8 @@
  */
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.PEntry;
@@ -30,8 +32,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Random;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Contains all word classes and what parts of speech they may apply to
@@ -41,6 +42,8 @@ public class WordClassCollection extends DictionaryCollection<WordClass> {
 
     private List<List<PEntry<Integer, Integer>>> comboCache = null;
     private final DictCore core;
+    // bumped on every edit to classes, so values derived from them can be checked for staleness
+    private final AtomicLong modificationCount = new AtomicLong();
 
     public WordClassCollection(DictCore _core) {
         super(new WordClass());
@@ -95,21 +98,32 @@ public class WordClassCollection extends DictionaryCollection<WordClass> {
     }
 
     /**
-     * Writes all word class information to XML document
+     * Tests whether any class applies to a given type. Cheaper than testing
+     * the length of getClassesForType(), as nothing is collected or sorted.
      *
-     * @param doc Document to write to
-     * @param rootElement root element of document
+     * @param typeId ID of type to test
+     * @return true if at least one class applies to the type
      */
-    public void writeXML(Document doc, Element rootElement) {
+    public boolean hasClassesForType(int typeId) {
+        for (WordClass prop : nodeMap.values()) {
+            if (prop.appliesToType(typeId) || prop.appliesToType(-1)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
         // element containing all classes
-        Element wordClasses = doc.createElement(PGTUtil.CLASSES_NODE_XID);
+        writer.writeStartElement(PGTUtil.CLASSES_NODE_XID);
 
         // creates each class
-        nodeMap.values().forEach((curClass) -> {
-            curClass.writeXML(doc, wordClasses);
-        });
+        for (WordClass curClass : nodeMap.values()) {
+            curClass.writeXML(writer);
+        }
 
-        rootElement.appendChild(wordClasses);
+        writer.writeEndElement();
     }
 
     /**
@@ -244,6 +258,21 @@ public class WordClassCollection extends DictionaryCollection<WordClass> {
         core.getWordCollection().classValueDeleted(classId, valueId);
     }
 
+    @Override
+    public void markChanged() {
+        modificationCount.incrementAndGet();
+        core.markChanged();
+    }
+    
+    /**
+     * Returns count of edits made to classes. Only ever increases.
+     *
+     * @return modification count
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @Override
     public WordClass notFoundNode() {
         WordClass emptyClass = new WordClass();
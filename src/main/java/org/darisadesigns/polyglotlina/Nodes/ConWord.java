@@ -25,7 +25,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConWordCollection;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConjugationManager;
@@ -34,8 +37,7 @@ import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.RegexTools;
 import org.darisadesigns.polyglotlina.RegexTools.ReplaceOptions;
 import org.darisadesigns.polyglotlina.WebInterface;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -124,6 +126,10 @@ public class ConWord extends DictNode {
     }
 
     public void setRulesOverride(boolean _rulesOverride) {
+        if (rulesOverride != _rulesOverride) {
+            markChanged();
+        }
+        
         rulesOverride = _rulesOverride;
     }
 
@@ -160,6 +166,10 @@ public class ConWord extends DictNode {
      * @param classValue new value to set class to
      */
     public void setClassTextValue(int classId, String classValue) {
+        if (!Objects.equals(classTextValues.get(classId), classValue)) {
+            markChanged();
+        }
+        
         if (classTextValues.containsKey(classId)) {
             classTextValues.replace(classId, classValue);
         } else {
@@ -178,6 +188,17 @@ public class ConWord extends DictNode {
         return classValues.containsKey(classId) && classValues.get(classId) == valueId;
     }
 
+    /**
+     * Tests whether this word's class values are exactly those passed. Does
+     * not purge out of date values.
+     *
+     * @param _classValues map of class id to value id to compare against
+     * @return true if identical
+     */
+    public boolean classValuesEqual(Map<Integer, Integer> _classValues) {
+        return classValues.equals(_classValues);
+    }
+
     /**
      * Gets all freetext class values Purges values which no longer exist
      *
@@ -289,6 +310,10 @@ public class ConWord extends DictNode {
     }
 
     public void setOverrideAutoConjugate(boolean _autoConjugationOverride) {
+        if (autoConjugationOverride != _autoConjugationOverride) {
+            markChanged();
+        }
+        
         autoConjugationOverride = _autoConjugationOverride;
     }
 
@@ -297,6 +322,10 @@ public class ConWord extends DictNode {
     }
 
     public void setProcOverride(boolean _procOverride) {
+        if (procOverride != _procOverride) {
+            markChanged();
+        }
+        
         procOverride = _procOverride;
     }
 
@@ -305,7 +334,13 @@ public class ConWord extends DictNode {
     }
 
     public void setLocalWord(String _localWord) {
-        this.localWord = _localWord.trim();
+        String newLocalWord = _localWord.trim();
+        
+        if (!newLocalWord.equals(localWord)) {
+            markChanged();
+        }
+        
+        this.localWord = newLocalWord;
     }
 
     /**
@@ -330,6 +365,10 @@ public class ConWord extends DictNode {
     }
 
     public void setWordTypeId(int _typeId) {
+        if (typeId != _typeId) {
+            markChanged();
+        }
+        
         typeId = _typeId;
     }
 
@@ -342,6 +381,10 @@ public class ConWord extends DictNode {
     }
 
     public void setDefinition(String _definition) {
+        if (!Objects.equals(definition, _definition)) {
+            markChanged();
+        }
+        
         this.definition = _definition;
     }
 
@@ -367,8 +410,21 @@ public class ConWord extends DictNode {
     }
 
     public void setPronunciation(String _pronunciation) {
+        if (!Objects.equals(pronunciation, _pronunciation)) {
+            markChanged();
+        }
+        
         this.pronunciation = _pronunciation;
     }
+    
+    /**
+     * Returns pronunciation as saved on the word, never generated
+     *
+     * @return saved pronunciation of word
+     */
+    public String getStoredPronunciation() {
+        return pronunciation;
+    }
 
     /**
      * Sets a the class of a word to a given value. If the class does not exist
@@ -379,6 +435,10 @@ public class ConWord extends DictNode {
      * @param valueId ID of value to set the class to
      */
     public void setClassValue(int classId, int valueId) {
+        if (getClassValue(classId) != valueId) {
+            markChanged();
+        }
+        
         classValues.remove(classId);
 
         if (valueId != -1) {
@@ -465,6 +525,10 @@ public class ConWord extends DictNode {
      * @param _etymNotes the etymNotes to set
      */
     public void setEtymNotes(String _etymNotes) {
+        if (!Objects.equals(etymNotes, _etymNotes)) {
+            markChanged();
+        }
+        
         this.etymNotes = _etymNotes;
     }
 
@@ -545,72 +609,44 @@ public class ConWord extends DictNode {
         return ret;
     }
 
-    public void writeXML(Document doc, Element rootElement) {
-        Element wordNode = doc.createElement(PGTUtil.WORD_XID);
-
-        Element wordValue = doc.createElement(PGTUtil.WORD_ID_XID);
-        Integer wordId = this.getId();
-        wordValue.appendChild(doc.createTextNode(wordId.toString()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.LOCALWORD_XID);
-        wordValue.appendChild(doc.createTextNode(this.localWord));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.CONWORD_XID);
-        wordValue.appendChild(doc.createTextNode(this.getValue()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.WORD_POS_ID_XID);
-        wordValue.appendChild(doc.createTextNode(this.getWordTypeId().toString()));
-        wordNode.appendChild(wordValue);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.WORD_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOCALWORD_XID, this.localWord);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CONWORD_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_POS_ID_XID, this.getWordTypeId().toString());
 
+        String pronunciation = null;
         try {
-            wordValue = doc.createElement(PGTUtil.WORD_PROC_XID);
-            wordValue.appendChild(doc.createTextNode(this.getPronunciation()));
-            wordNode.appendChild(wordValue);
+            pronunciation = this.getPronunciation();
         }
         catch (Exception e) {
             // Do nothing. Users are made aware of this issue elsewhere.
             // IOHandler.writeErrorLog(e);
         }
+        
+        if (pronunciation != null) {
+            XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_PROC_XID, pronunciation);
+        }
 
-        wordValue = doc.createElement(PGTUtil.WORD_DEF_XID);
-        wordValue.appendChild(doc.createTextNode(WebInterface.archiveHTML(this.definition, core)));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.WORD_PROCOVERRIDE_XID);
-        wordValue.appendChild(doc.createTextNode(this.procOverride ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.WORD_AUTODECLOVERRIDE_XID);
-        wordValue.appendChild(doc.createTextNode(this.autoConjugationOverride ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.WORD_RULEOVERRIDE_XID);
-        wordValue.appendChild(doc.createTextNode(this.rulesOverride ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(wordValue);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_DEF_XID, WebInterface.archiveHTML(this.definition, core));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_PROCOVERRIDE_XID, this.procOverride ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_AUTODECLOVERRIDE_XID, this.autoConjugationOverride ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_RULEOVERRIDE_XID, this.rulesOverride ? PGTUtil.TRUE : PGTUtil.FALSE);
 
-        wordValue = doc.createElement(PGTUtil.WORD_CLASSCOLLECTION_XID);
+        writer.writeStartElement(PGTUtil.WORD_CLASSCOLLECTION_XID);
         for (Entry<Integer, Integer> entry : this.getClassValues()) {
-            Element classVal = doc.createElement(PGTUtil.WORD_CLASS_AND_VALUE_XID);
-            classVal.appendChild(doc.createTextNode(entry.getKey() + "," + entry.getValue()));
-            wordValue.appendChild(classVal);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_CLASS_AND_VALUE_XID, entry.getKey() + "," + entry.getValue());
         }
-        wordNode.appendChild(wordValue);
+        writer.writeEndElement();
 
-        wordValue = doc.createElement(PGTUtil.WORD_CLASS_TEXT_VAL_COLLECTION_XID);
+        writer.writeStartElement(PGTUtil.WORD_CLASS_TEXT_VAL_COLLECTION_XID);
         for (Entry<Integer, String> entry : this.getClassTextValues()) {
-            Element classVal = doc.createElement(PGTUtil.WORD_CLASS_TEXT_VAL_XID);
-            classVal.appendChild(doc.createTextNode(entry.getKey() + "," + entry.getValue()));
-            wordValue.appendChild(classVal);
+            XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_CLASS_TEXT_VAL_XID, entry.getKey() + "," + entry.getValue());
         }
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.WORD_ETY_NOTES_XID);
-        wordValue.appendChild(doc.createTextNode(this.etymNotes));
-        wordNode.appendChild(wordValue);
+        writer.writeEndElement();
 
-        rootElement.appendChild(wordNode);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.WORD_ETY_NOTES_XID, this.etymNotes);
+        writer.writeEndElement();
     }
 }
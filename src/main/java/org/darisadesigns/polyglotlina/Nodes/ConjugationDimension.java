@@ -20,9 +20,10 @@
 
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * A single dimensional value of a conjugation element (for example, tense)
@@ -45,17 +46,11 @@ public class ConjugationDimension extends DictNode {
         this.value = copyNode.getValue();
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element wordValue = doc.createElement(PGTUtil.DIMENSION_NODE_XID);
-        Element dimNode = doc.createElement(PGTUtil.DIMENSION_ID_XID);
-        dimNode.appendChild(doc.createTextNode(this.getId().toString()));
-        wordValue.appendChild(dimNode);
-
-        dimNode = doc.createElement(PGTUtil.DIMENSION_NAME_XID);
-        dimNode.appendChild(doc.createTextNode(this.getValue()));
-        wordValue.appendChild(dimNode);
-
-        rootElement.appendChild(wordValue);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DIMENSION_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DIMENSION_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DIMENSION_NAME_XID, this.getValue());
+        writer.writeEndElement();
     }
     
     @Override
@@ -19,6 +19,9 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.darisadesigns.polyglotlina.ManagersCollections.ConjugationManager;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,8 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * class to contain declension transformation rule and all transformations
@@ -44,6 +46,8 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     private final Map<Integer, Integer> applyToClasses = new HashMap<>();
     private ConjugationGenTransform transBuffer = new ConjugationGenTransform();
     private String debugString = "";
+    // manager holding this rule, told of edits to it. Null until the rule is added to one.
+    private ConjugationManager manager = null;
     
     /**
      * initializes new declension rule
@@ -60,6 +64,21 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
         combinationId = "";
     }
     
+    /**
+     * Sets the manager told whenever this rule is edited. Transforms edited
+     * directly through their public fields are not reported.
+     * @param _manager manager holding this rule
+     */
+    public void setManager(ConjugationManager _manager) {
+        manager = _manager;
+    }
+    
+    private void edited() {
+        if (manager != null) {
+            manager.ruleEdited(typeId);
+        }
+    }
+    
     /**
      * Gets current declension transform buffer
      * @return current transform buffer
@@ -91,6 +110,8 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * from the original, false to skip values
      */
     public void setEqual(ConjugationGenRule r, boolean setTypeAndComb) {
+        edited();
+        
         if (setTypeAndComb) {
             typeId = r.typeId;
             combinationId = r.combinationId;
@@ -112,6 +133,7 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     }
     
     public void copyTransformationsFrom(ConjugationGenRule fromRule) {
+        edited();
         this.transformations.clear();
         
         for (ConjugationGenTransform transformation : fromRule.transformations) {
@@ -168,6 +190,7 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * @param trans transformation to add
      */
     public void addTransform(ConjugationGenTransform trans) {
+        edited();
         transformations.add(trans);
     }
     
@@ -183,14 +206,39 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * wipes all transformations
      */
     public void wipeTransforms() {
+        edited();
         transformations = new ArrayList<>();
     }
     
+    /**
+     * Replaces all transformations. The rule is left untouched (and not
+     * counted as edited) if the new transformations match the current ones.
+     * @param _transformations new transformations in order
+     */
+    public void setTransforms(List<ConjugationGenTransform> _transformations) {
+        boolean same = transformations.size() == _transformations.size();
+        
+        for (int i = 0; same && i < transformations.size(); i++) {
+            ConjugationGenTransform cur = transformations.get(i);
+            ConjugationGenTransform next = _transformations.get(i);
+            same = cur.regex.equals(next.regex) && cur.replaceText.equals(next.replaceText);
+        }
+        
+        if (!same) {
+            edited();
+            transformations = new ArrayList<>(_transformations);
+        }
+    }
+    
     public String getName() {
         return name;
     }
     
     public void setName(String _name) {
+        if (!Objects.equals(name, _name)) {
+            edited();
+        }
+        
         name = _name;
     }
     
@@ -199,6 +247,10 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     }
     
     public void setTypeId(int _typeId) {
+        if (typeId != _typeId) {
+            edited();
+        }
+        
         typeId = _typeId;
     }
     
@@ -207,6 +259,10 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     }
     
     public void setCombinationId(String _combinationId) {
+        if (!Objects.equals(combinationId, _combinationId)) {
+            edited();
+        }
+        
         combinationId = _combinationId;
     }
         
@@ -215,6 +271,10 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     }
     
     public void setRegex(String _regex) {
+        if (!Objects.equals(regex, _regex)) {
+            edited();
+        }
+        
         regex = _regex;
     }
     
@@ -228,7 +288,13 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
     }
 
     public void setIndex(int _index) {
-        this.index = _index;
+        if (index != _index) {
+            if (manager != null) {
+                manager.ruleReordered(typeId);
+            }
+            
+            this.index = _index;
+        }
     }
     
     /**
@@ -284,6 +350,21 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * @return true if rule should be applied to word
      */
     public boolean doesRuleApplyToWord(ConWord word) {
+        StringBuilder debug = new StringBuilder();
+        boolean ret = doesRuleApplyToWord(word, debug);
+        debugString = debug.toString();
+        
+        return ret;
+    }
+    
+    /**
+     * Tests whether a word should have this rule applied to it, as
+     * doesRuleApplyToWord(word), without touching the rule's debug string
+     * @param word word to test rule for
+     * @param debug receives human readable reasoning for result
+     * @return true if rule should be applied to word
+     */
+    public boolean doesRuleApplyToWord(ConWord word, StringBuilder debug) {
         if (word.getCore() == null) {
             throw new NullPointerException("Words without populated dictionary cores cannot be tested.");
         }
@@ -292,7 +373,7 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
         boolean wordTypeHasClasses = word.getCore().getWordClassCollection().getClassesForType(word.getWordTypeId()).length != 0;
         int wordTypeId = word.getWordTypeId();
         
-        debugString = "Rule: " + name + "\n";
+        debug.append("Rule: ").append(name).append("\n");
         
         // if -1 present in this rule, apply to all. Otherwise test against word classes. Skips mismatching PoS
         if (typeId == wordTypeId && (!wordTypeHasClasses || applyToClasses.containsKey(-1))) {
@@ -305,23 +386,23 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
                 int classId = curEntry.getKey();
                 
                 if (!word.wordHasClassValue(classId, curEntry.getValue())) {
-                    debugString += "    Word's class does not match filter values for rule. Rule will not be applied.\n";
+                    debug.append("    Word's class does not match filter values for rule. Rule will not be applied.\n");
                     ret = false;
                     break;
                 }
             }
         } else {
-            debugString += "    Rule PoS " 
+            debug.append("    Rule PoS " 
                     + word.getCore().getTypes().getNodeById(typeId).getValue()
                     + " does not match word PoS "
-                    + word.getCore().getTypes().getNodeById(wordTypeId).getValue() + "\n";
+                    + word.getCore().getTypes().getNodeById(wordTypeId).getValue() + "\n");
         }
         
         // test word against regex
         if (ret && word.getValue().matches(regex)) {
-            debugString += "    value: " + word.getValue() + " matches regex: \"" + regex + "\". Rule will be applied.\n";
+            debug.append("    value: " + word.getValue() + " matches regex: \"" + regex + "\". Rule will be applied.\n");
         } else if (ret) {
-            debugString += "    value: " + word.getValue() + " does not match regex: \"" + regex + "\". Rule will not be applied.\n";
+            debug.append("    value: " + word.getValue() + " does not match regex: \"" + regex + "\". Rule will not be applied.\n");
             ret = false;
         }
         
@@ -336,6 +417,8 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * @param valueId if of value within class
      */
     public void addClassToFilterList(Integer classId, Integer valueId) {
+        edited();
+        
         if (classId == -1) {
             wipeClassFilter();
             applyToClasses.put(classId, -1);
@@ -355,6 +438,8 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * @param valueId 
      */
     public void removeClassFromFilterList(Integer classId, Integer valueId) {
+        edited();
+        
         if (applyToClasses.containsKey(classId) && applyToClasses.get(classId).equals(valueId)) {
             applyToClasses.remove(classId);
         }
@@ -364,6 +449,7 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
      * Wipes all classes from rule selection filter
      */
     public void wipeClassFilter() {
+        edited();
         applyToClasses.clear();
     }
     
@@ -376,45 +462,27 @@ public class ConjugationGenRule implements Comparable<ConjugationGenRule> {
         return applyToClasses;
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element ruleNode = doc.createElement(PGTUtil.DEC_GEN_RULE_XID);
-        rootElement.appendChild(ruleNode);
-
-        Element wordValue = doc.createElement(PGTUtil.DEC_GEN_RULE_COMB_XID);
-        wordValue.appendChild(doc.createTextNode(this.combinationId));
-        ruleNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DEC_GEN_RULE_NAME_XID);
-        wordValue.appendChild(doc.createTextNode(this.name));
-        ruleNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DEC_GEN_RULE_REGEX_XID);
-        wordValue.appendChild(doc.createTextNode(this.regex));
-        ruleNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DEC_GEN_RULE_TYPE_XID);
-        wordValue.appendChild(doc.createTextNode(Integer.toString(this.typeId)));
-        ruleNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DEC_GEN_RULE_INDEX_XID);
-        wordValue.appendChild(doc.createTextNode(Integer.toString(this.index)));
-        ruleNode.appendChild(wordValue);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DEC_GEN_RULE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_COMB_XID, this.combinationId);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_NAME_XID, this.name);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_REGEX_XID, this.regex);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_TYPE_XID, Integer.toString(this.typeId));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_INDEX_XID, Integer.toString(this.index));
 
-        this.transformations.forEach((curTransform) -> {
-            curTransform.writeXML(doc, ruleNode);
-        });
-        
-        Element applyToClassesEntry = doc.createElement(PGTUtil.DEC_GEN_RULE_APPLY_TO_CLASSES_XID);
+        for (ConjugationGenTransform curTransform : this.transformations) {
+            curTransform.writeXML(writer);
+        }
         
         // record each class value to apply this rule to
-        applyToClasses.entrySet().forEach((curEntry) -> {
-            Element applyToClassValue = doc.createElement(PGTUtil.DEC_GEN_RULE_APPLY_TO_CLASS_VALUE_XID);
-            applyToClassValue.appendChild(doc.createTextNode(curEntry.getKey()
-                    + "," + curEntry.getValue()));
-            applyToClassesEntry.appendChild(applyToClassValue);
-        });
+        writer.writeStartElement(PGTUtil.DEC_GEN_RULE_APPLY_TO_CLASSES_XID);
+        for (Entry<Integer, Integer> curEntry : applyToClasses.entrySet()) {
+            XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_RULE_APPLY_TO_CLASS_VALUE_XID, curEntry.getKey()
+                    + "," + curEntry.getValue());
+        }
+        writer.writeEndElement();
         
-        ruleNode.appendChild(applyToClassesEntry);
+        writer.writeEndElement();
     }
 
     /**
@@ -19,10 +19,11 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.util.Objects;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * Container class for declension auto-transform transformation pairs
@@ -78,16 +79,10 @@ public final class ConjugationGenTransform {
         return ret;
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element transNode = doc.createElement(PGTUtil.DEC_GEN_TRANS_XID);
-        rootElement.appendChild(transNode);
-
-        Element wordValue = doc.createElement(PGTUtil.DEC_GEN_TRANS_REGEX_XID);
-        wordValue.appendChild(doc.createTextNode(this.regex));
-        transNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DEC_GEN_TRANS_REPLACE_XID);
-        wordValue.appendChild(doc.createTextNode(this.replaceText));
-        transNode.appendChild(wordValue);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DEC_GEN_TRANS_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_TRANS_REGEX_XID, this.regex);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DEC_GEN_TRANS_REPLACE_XID, this.replaceText);
+        writer.writeEndElement();
     }
 }
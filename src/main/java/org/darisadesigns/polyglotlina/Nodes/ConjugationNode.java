@@ -20,16 +20,16 @@
 
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.WebInterface;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConjugationManager;
 import org.darisadesigns.polyglotlina.RegexTools;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This class represents both the header for declension templates, and the actual
@@ -44,12 +44,29 @@ public class ConjugationNode extends DictNode {
     private int highestDimension = 1;
     private final Map<Integer, ConjugationDimension> dimensions = new HashMap<>();
     private ConjugationDimension buffer = new ConjugationDimension(-1);
+    // edits only count as changes to the language once the manager holds this node, not for working copies
+    private boolean held = false;
     
     public ConjugationNode(Integer _declensionId, ConjugationManager _manager) {
         super(_declensionId);
         manager = _manager;
     }
     
+    /**
+     * Marks this node as held by its manager, so that further edits to it are
+     * recorded as changes to the language
+     */
+    public void setHeld() {
+        held = true;
+    }
+    
+    @Override
+    protected void markChanged() {
+        if (held) {
+            manager.markChanged();
+        }
+    }
+    
     /**
      * Applies evolution transforms to conjugated forms of extant words
      * @param regex
@@ -58,7 +75,13 @@ public class ConjugationNode extends DictNode {
      * @throws java.lang.Exception 
      */
     public void evolveConjugatedNode(String regex, String replacement, RegexTools.ReplaceOptions instanceOption) throws Exception {
-        this.value = RegexTools.advancedReplace(value, regex, replacement, instanceOption);
+        String newValue = RegexTools.advancedReplace(value, regex, replacement, instanceOption);
+        
+        if (!newValue.equals(value)) {
+            markChanged();
+        }
+        
+        this.value = newValue;
     }
     
     /**
@@ -103,6 +126,7 @@ public class ConjugationNode extends DictNode {
      */
     public void setDimensionless(boolean _dimensionless) {
         if (dimensionless != _dimensionless) {
+            markChanged();
             dimensionless = _dimensionless;
             dimensions.clear();
 
@@ -138,7 +162,11 @@ public class ConjugationNode extends DictNode {
         addDim = new ConjugationDimension(ret);
         addDim.setValue(dim.getValue());
         
-        dimensions.put(ret, addDim);
+        ConjugationDimension oldDim = dimensions.put(ret, addDim);
+        
+        if (oldDim == null || !oldDim.getValue().equals(addDim.getValue())) {
+            markChanged();
+        }
                
         return ret;
     }
@@ -148,12 +176,20 @@ public class ConjugationNode extends DictNode {
      * @param _id id of dimension to be deleted
      */
     public void deleteDimension(Integer _id) {
-        dimensions.remove(_id);
+        if (dimensions.remove(_id) != null) {
+            markChanged();
+        }
     }
     
     public void setNotes(String _notes) {
         // handles very specific case where notes are set to null rather than blank
-        notes = _notes == null ? "" : _notes;
+        String newNotes = _notes == null ? "" : _notes;
+        
+        if (!notes.equals(newNotes)) {
+            markChanged();
+        }
+        
+        notes = newNotes;
     }
     
     public String getNotes() {
@@ -181,6 +217,10 @@ public class ConjugationNode extends DictNode {
     }
     
     public void setCombinedDimId(String _id) {
+        if (!combinedDimId.equals(_id)) {
+            markChanged();
+        }
+        
         combinedDimId = _id;
     }
     
@@ -193,68 +233,32 @@ public class ConjugationNode extends DictNode {
         return dimensionless ? id.toString() : combinedDimId;
     }
     
-    public void writeXMLTemplate(Document doc, Element rootElement, Integer relatedId) {
-        Element wordNode = doc.createElement(PGTUtil.DECLENSION_XID);
-        rootElement.appendChild(wordNode);
-
-        Element nodeValue = doc.createElement(PGTUtil.DECLENSION_ID_XID);
-        nodeValue.appendChild(doc.createTextNode(this.getId().toString()));
-        wordNode.appendChild(nodeValue);
-
-        nodeValue = doc.createElement(PGTUtil.DECLENSION_TEXT_XID);
-        nodeValue.appendChild(doc.createTextNode(this.getValue()));
-        wordNode.appendChild(nodeValue);
-
-        nodeValue = doc.createElement(PGTUtil.DECLENSION_NOTES_XID);
-        nodeValue.appendChild(doc.createTextNode(WebInterface.archiveHTML(this.notes, manager.getCore())));
-        wordNode.appendChild(nodeValue);
-
-        nodeValue = doc.createElement(PGTUtil.DECLENSION_IS_TEMPLATE_XID);
-        nodeValue.appendChild(doc.createTextNode("1"));
-        wordNode.appendChild(nodeValue);
-
-        nodeValue = doc.createElement(PGTUtil.DECLENSION_RELATED_ID_XID);
-        nodeValue.appendChild(doc.createTextNode(relatedId.toString()));
-        wordNode.appendChild(nodeValue);
-        
-        nodeValue = doc.createElement(PGTUtil.DECLENSION_IS_DIMENSIONLESS_XID);
-        nodeValue.appendChild(doc.createTextNode(this.dimensionless ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(nodeValue);
+    public void writeXMLTemplate(XMLStreamWriter writer, Integer relatedId) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DECLENSION_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_TEXT_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_NOTES_XID, WebInterface.archiveHTML(this.notes, manager.getCore()));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_IS_TEMPLATE_XID, "1");
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_RELATED_ID_XID, relatedId.toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_IS_DIMENSIONLESS_XID, this.dimensionless ? PGTUtil.TRUE : PGTUtil.FALSE);
 
         // record dimensions of declension
-        Iterator<ConjugationDimension> dimIt = this.getDimensions().iterator();
-        while (dimIt.hasNext()) {
-            dimIt.next().writeXML(doc, wordNode);
+        for (ConjugationDimension dim : this.getDimensions()) {
+            dim.writeXML(writer);
         }
+        
+        writer.writeEndElement();
     }
     
-    public void writeXMLWordConjugation(Document doc, Element rootElement, Integer relatedId) {
-        Element wordNode = doc.createElement(PGTUtil.DECLENSION_XID);
-        rootElement.appendChild(wordNode);
-
-        Element wordValue = doc.createElement(PGTUtil.DECLENSION_ID_XID);
-        wordValue.appendChild(doc.createTextNode(this.getId().toString()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DECLENSION_TEXT_XID);
-        wordValue.appendChild(doc.createTextNode(this.getValue()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DECLENSION_NOTES_XID);
-        wordValue.appendChild(doc.createTextNode(this.notes));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DECLENSION_RELATED_ID_XID);
-        wordValue.appendChild(doc.createTextNode(relatedId.toString()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DECLENSION_COMB_DIM_XID);
-        wordValue.appendChild(doc.createTextNode(this.getCombinedDimId()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.DECLENSION_IS_TEMPLATE_XID);
-        wordValue.appendChild(doc.createTextNode("0"));
-        wordNode.appendChild(wordValue);
+    public void writeXMLWordConjugation(XMLStreamWriter writer, Integer relatedId) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.DECLENSION_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_TEXT_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_NOTES_XID, this.notes);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_RELATED_ID_XID, relatedId.toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_COMB_DIM_XID, this.getCombinedDimId());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.DECLENSION_IS_TEMPLATE_XID, "0");
+        writer.writeEndElement();
     }
     
     @Override
@@ -21,6 +21,7 @@
 package org.darisadesigns.polyglotlina.Nodes;
 
 import java.util.Objects;
+import org.darisadesigns.polyglotlina.CustomControls.PAlphaCollator;
 import org.darisadesigns.polyglotlina.CustomControls.PAlphaMap;
 import org.darisadesigns.polyglotlina.ManagersCollections.DictionaryCollection;
 
@@ -32,6 +33,7 @@ public abstract class DictNode implements Comparable<DictNode> {
     protected String value;
     protected Integer id;    
     protected DictionaryCollection<? extends DictNode> parent = null;
+    private CachedKey collationKey = null;
 
     @Override
     abstract public boolean equals(Object comp);
@@ -78,7 +80,24 @@ public abstract class DictNode implements Comparable<DictNode> {
     }
 
     public void setValue(String conWord) {
-        this.value = conWord.trim();
+        String newValue = conWord.trim();
+        
+        if (!newValue.equals(value)) {
+            markChanged();
+        }
+        
+        this.value = newValue;
+    }
+    
+    /**
+     * Records that this node has been edited. Passed on to the collection
+     * holding the node, if any. Nodes held elsewhere override this to notify
+     * whatever holds them.
+     */
+    protected void markChanged() {
+        if (parent != null) {
+            parent.markChanged();
+        }
     }
 
     /**
@@ -90,83 +109,42 @@ public abstract class DictNode implements Comparable<DictNode> {
     @Override
     public int compareTo(DictNode _compare) {
         PAlphaMap<String, Integer> alphaOrder = getAlphaOrder();
-        final int BEFORE = -1;
-        final int EQUAL = 0;
-        final int AFTER = 1;
-        final String comp = _compare.getValue();
-        final String me = this.getValue();
         int ret;
         
         // if no alpha order established whatsoever or if parent is missing characters, use default sort
         if (alphaOrder.isMissingChars() || alphaOrder.isEmpty()) {
-            ret = me.compareTo(comp);
+            ret = this.getValue().compareTo(_compare.getValue());
         } else {
-            if (comp.equals(me) || (comp.isEmpty() && me.isEmpty())) {
-                ret = EQUAL;
-            } else if (comp.isEmpty()) {
-                ret = AFTER;
-            } else if (me.isEmpty()) {
-                ret = BEFORE;
-            } else {
-                // compare values based on largest front facing clusters found in alphabet order
-                int longest = alphaOrder.getLongestEntry();
-                int meLen = me.length();
-                int compLen = comp.length();
-                int meAlpha = -1;
-                int compAlpha = -1;
-                int preLen = 0;
-
-                for (int i = Math.min(meLen, longest); i >= 0; i--) {
-                    String mePrefix = me.substring(0, i);
-
-                    if (alphaOrder.containsKey(mePrefix)) {
-                        meAlpha = alphaOrder.get(mePrefix);
-                        break;
-                    }
-                }
-                
-                for (int i = Math.min(compLen, longest); i >= 0; i--) {
-                    String compPrefix = comp.substring(0, i);
-
-                    if (alphaOrder.containsKey(compPrefix)) {
-                        compAlpha = alphaOrder.get(compPrefix);
-                        preLen = compPrefix.length(); // record length for substring truncation if current patterns are equal
-                        break;
-                    }
-                }
-
-                if (meAlpha == -1 && compAlpha == -1) {
-                    // neither value is accounted for: equal
-                    ret = EQUAL;
-                } else if (meAlpha == -1) {
-                    // no prefixed value for own value: default to after
-                    ret = BEFORE;
-                } else if (compAlpha == -1) {
-                    // no prefixed pattern found for comp value: default placing comparison after
-                    ret = AFTER;
-                } else if (compAlpha > meAlpha) {
-                    ret = BEFORE;
-                } else if (compAlpha < meAlpha) {
-                    ret = AFTER;
-                } else {
-                    // two patterns are the same. Truncate and check subpatterns
-                    ConWord compChild = new ConWord();
-                    ConWord thisChild = new ConWord();
-
-                    compChild.setParent(parent);
-                    thisChild.setParent(parent);
-
-                    compChild.setValue(_compare.getValue().substring(preLen));
-                    thisChild.setValue(this.getValue().substring(preLen));
-
-                    ret = thisChild.compareTo(compChild);
-                }
-            }
+            // compare values based on precomputed keys of front facing clusters found in alphabet order
+            PAlphaCollator collator = alphaOrder.getCollator();
+            
+            ret = PAlphaCollator.compareKeys(this.getCollationKey(collator), 
+                    _compare.getCollationKey(collator));
         }
 
         return ret;
     }
     
+    /**
+     * Gets collation key of this node's value. Cached on the node and rebuilt
+     * only when either the value or the alphabet of the collator changes.
+     * 
+     * @param collator collator to generate key with
+     * @return array of alphabet ordinals representing value
+     */
+    public int[] getCollationKey(PAlphaCollator collator) {
+        CachedKey cached = collationKey;
+        String curValue = this.getValue();
+        
+        // identity comparison is deliberate: any reassignment of value invalidates key
+        if (cached == null || cached.source != curValue || cached.collator != collator) {
+            cached = new CachedKey(curValue, collator, collator.getCollationKey(curValue));
+            collationKey = cached;
+        }
+        
+        return cached.key;
+    }
+    
     private PAlphaMap<String, Integer> getAlphaOrder() {
         PAlphaMap<String, Integer> ret;
         
@@ -183,4 +161,20 @@ public abstract class DictNode implements Comparable<DictNode> {
     public String toString() {
         return value.isEmpty() ? " " : value;
     }
+    
+    /**
+     * Collation key along with the value and collator it was generated from.
+     * Held as a single object so that the cache is swapped atomically.
+     */
+    private static final class CachedKey {
+        private final String source;
+        private final PAlphaCollator collator;
+        private final int[] key;
+        
+        private CachedKey(String _source, PAlphaCollator _collator, int[] _key) {
+            source = _source;
+            collator = _collator;
+            key = _key;
+        }
+    }
 }
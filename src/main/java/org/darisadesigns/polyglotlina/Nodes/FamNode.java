@@ -44,6 +44,10 @@ public class FamNode extends DictNode {
      * @param _notes new notes
      */
     public void setNotes(String _notes) {
+        if (!notes.equals(_notes)) {
+            markChanged();
+        }
+        
         notes = _notes;
     }
     
@@ -90,6 +94,13 @@ public class FamNode extends DictNode {
         super.setValue(_value);
     }
     
+    @Override
+    protected void markChanged() {
+        if (manager != null) {
+            manager.markChanged();
+        }
+    }
+    
     /**
      * gets node's manager
      * @return Family Manager
@@ -113,6 +124,7 @@ public class FamNode extends DictNode {
      */
     public void addWord(ConWord _word) {
         if (!words.contains(_word)) {
+            markChanged();
             words.add(_word);
         }
     }
@@ -122,7 +134,9 @@ public class FamNode extends DictNode {
      * @param _word id of word to remove
      */
     public void removeWord(ConWord _word) {
-        words.remove(_word);
+        if (words.remove(_word)) {
+            markChanged();
+        }
     }
     
     /**
@@ -191,7 +205,9 @@ public class FamNode extends DictNode {
     }
     
     public void addNode(FamNode _node) {
-        subNodes.add(_node);
+        if (subNodes.add(_node)) {
+            markChanged();
+        }
     }
     
     /** 
@@ -213,7 +229,9 @@ public class FamNode extends DictNode {
      * @param _child 
      */
     public void removeChild(FamNode _child) {
-        subNodes.remove(_child);
+        if (subNodes.remove(_child)) {
+            markChanged();
+        }
     }
     
     @Override
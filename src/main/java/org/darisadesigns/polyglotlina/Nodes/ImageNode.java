@@ -19,7 +19,6 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import org.darisadesigns.polyglotlina.DictCore;
@@ -32,7 +31,7 @@ public class ImageNode extends DictNode {
 
     private DictCore core;
     private byte[] imageBytes = null;
-    private File tmpFile = null;
+    private Payload imagePayload = null;
     
     public ImageNode(DictCore _core) {
         super();
@@ -43,32 +42,27 @@ public class ImageNode extends DictNode {
      * @param _imageBytes the image bytes to set
      */
     public void setImageBytes(byte[] _imageBytes) {
+        markChanged();
         imageBytes = _imageBytes;
+        imagePayload = null;
     }
 
     /**
-     * Gets path to temporary file in which image has been stored (if one
-     * exists) for consumption in HTML based text areas
+     * Sets image to be read from the given source on first access. Any bytes
+     * already held are kept, and must match the source.
      *
-     * @return path of image file
-     * @throws java.io.IOException on file read error, or image not initialized
+     * @param _imagePayload source of the image's PNG bytes
      */
-    public String getImagePath() throws IOException {
-        if (imageBytes == null) {
-            throw new IOException("Image not instantiated. Cannot generate path.");
-        }
-
-        if (id == -1) {
-            throw new IOException("Image not inserted into image collection (id = -1). Cannot generate path.");
-        }
-
-        // create tmp file if none exists
-        if (tmpFile == null || !tmpFile.exists()) {
-            tmpFile = core.getOSHandler().getIOHandler()
-                    .createTmpFileFromImageBytes(imageBytes, id + "_polyGlotImage");
-        }
+    public void setImagePayload(Payload _imagePayload) {
+        imagePayload = _imagePayload;
+    }
 
-        return tmpFile.getAbsolutePath();
+    /**
+     * @return source the image was read (or is yet to be read) from, or null
+     * if the image has been set since
+     */
+    public Payload getImagePayload() {
+        return imagePayload;
     }
 
     /**
@@ -88,13 +82,33 @@ public class ImageNode extends DictNode {
         ImageNode tmpNode = (ImageNode) _node;
 
         imageBytes = tmpNode.imageBytes;
+        imagePayload = tmpNode.imagePayload;
         id = tmpNode.getId();
     }
     
     /**
-     * @return the image bytes
+     * @return the image bytes, or null if they could not be read
      */
     public byte[] getImageBytes() {
+        try {
+            return readImageBytes();
+        } catch (IOException e) {
+            core.getOSHandler().getIOHandler().writeErrorLog(e, "Unable to read image with id: " + id);
+            return null;
+        }
+    }
+
+    /**
+     * Gets image bytes, reading them from their source if not yet loaded
+     *
+     * @return the image bytes
+     * @throws IOException if the image source cannot be read
+     */
+    public byte[] readImageBytes() throws IOException {
+        if (imageBytes == null && imagePayload != null) {
+            imageBytes = imagePayload.read();
+        }
+
         return imageBytes;
     }
 
@@ -107,7 +121,8 @@ public class ImageNode extends DictNode {
         } else if (comp instanceof ImageNode) {
             ImageNode c = (ImageNode) comp;
 
-            ret = (imageBytes == null) || Arrays.equals(imageBytes, c.imageBytes);
+            byte[] bytes = getImageBytes();
+            ret = (bytes == null) || Arrays.equals(bytes, c.getImageBytes());
             ret = ret && value.equals(c.value);
         }
 
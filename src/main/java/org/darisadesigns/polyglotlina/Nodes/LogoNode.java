@@ -19,16 +19,19 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.WebInterface;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import java.util.Objects;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -39,6 +42,7 @@ public class LogoNode extends DictNode {
     private int strokes = 0;
     private String notes = "";
     private byte[] logoBytes;
+    private Payload logoPayload = null;
     private boolean isRadical = false;
     private String tmpRads = "";
     private String tmpReadingBuffer = "";
@@ -52,11 +56,50 @@ public class LogoNode extends DictNode {
     }
     
     public byte[] getLogoBytes() {
-        return logoBytes.length > 0 ? logoBytes : core.getLogoCollection().EMPTY_LOGO_NODE_IMAGE;
+        try {
+            byte[] bytes = readLogoBytes();
+            return bytes.length > 0 ? bytes : core.getLogoCollection().EMPTY_LOGO_NODE_IMAGE;
+        } catch (IOException e) {
+            core.getOSHandler().getIOHandler().writeErrorLog(e, "Unable to read logograph image: " + value);
+            return core.getLogoCollection().EMPTY_LOGO_NODE_IMAGE;
+        }
+    }
+    
+    /**
+     * Gets logograph's image bytes, reading them from their source if not yet
+     * loaded
+     * @return image bytes, empty if no image is set
+     * @throws IOException if the image source cannot be read
+     */
+    public byte[] readLogoBytes() throws IOException {
+        if (logoBytes.length == 0 && logoPayload != null) {
+            logoBytes = logoPayload.read();
+        }
+        
+        return logoBytes;
     }
     
     public void setLogoBytes(byte[] _logoBytes) {
+        markChanged();
         logoBytes = _logoBytes;
+        logoPayload = null;
+    }
+    
+    /**
+     * Sets image to be read from the given source on first access. Any bytes
+     * already held are kept, and must match the source.
+     * @param _logoPayload source of the logograph's PNG bytes
+     */
+    public void setLogoPayload(Payload _logoPayload) {
+        logoPayload = _logoPayload;
+    }
+    
+    /**
+     * @return source the image was read (or is yet to be read) from, or null
+     * if the image has been set since
+     */
+    public Payload getLogoPayload() {
+        return logoPayload;
     }
 
     public boolean isRadical() {
@@ -64,10 +107,18 @@ public class LogoNode extends DictNode {
     }
 
     public void setRadical(boolean _isRadical) {
+        if (isRadical != _isRadical) {
+            markChanged();
+        }
+        
         isRadical = _isRadical;
     }
 
     public void setStrokes(int _strokes) {
+        if (strokes != _strokes) {
+            markChanged();
+        }
+        
         strokes = _strokes;
     }
 
@@ -76,6 +127,10 @@ public class LogoNode extends DictNode {
     }
 
     public void setNotes(String _notes) {
+        if (!Objects.equals(notes, _notes)) {
+            markChanged();
+        }
+        
         notes = _notes;
     }
 
@@ -85,6 +140,7 @@ public class LogoNode extends DictNode {
 
     public void addRadical(LogoNode radicalId) {
         if (!radicals.contains(radicalId)) {
+            markChanged();
             radicals.add(radicalId);
         }
     }
@@ -94,16 +150,25 @@ public class LogoNode extends DictNode {
     }
 
     public void setRadicals(List<LogoNode> _radicals) {
+        if (!Objects.equals(radicals, _radicals)) {
+            markChanged();
+        }
+        
         radicals = _radicals;
     }
 
     public void addReading(String reading) {
         if (!readings.contains(reading)) {
+            markChanged();
             readings.add(reading);
         }
     }
 
     public void setReadings(List<String> _readings) {
+        if (!Objects.equals(readings, _readings)) {
+            markChanged();
+        }
+        
         readings = _readings;
     }
 
@@ -262,50 +327,27 @@ public class LogoNode extends DictNode {
         radicals = new ArrayList<>(setNode.radicals);
         readings = new ArrayList<>(setNode.readings);
         logoBytes = setNode.logoBytes;
+        logoPayload = setNode.logoPayload;
         notes = setNode.notes;
         value = setNode.value;
         strokes = setNode.getStrokes();
         id = setNode.getId();
     }
 
-    public void writeXML(Document doc, Element rootElement) {
-        Element logoElement = doc.createElement(PGTUtil.LOGOGRAPH_NODE_XID);
-        Element node;
-
-        node = doc.createElement(PGTUtil.LOGOGRAPH_ID_XID);
-        node.appendChild(doc.createTextNode(this.getId().toString()));
-        logoElement.appendChild(node);
-
-        node = doc.createElement(PGTUtil.LOGOGRAPH_VALUE_XID);
-        node.appendChild(doc.createTextNode(this.getValue()));
-        logoElement.appendChild(node);
-
-        node = doc.createElement(PGTUtil.LOGO_IS_RADICAL_XID);
-        node.appendChild(doc.createTextNode(this.isRadical ? PGTUtil.TRUE : PGTUtil.FALSE));
-        logoElement.appendChild(node);
-
-        node = doc.createElement(PGTUtil.LOGO_NOTES_XID);
-        node.appendChild(doc.createTextNode(WebInterface.archiveHTML(this.notes, core)));
-        logoElement.appendChild(node);
-
-        node = doc.createElement(PGTUtil.LOGO_RADICAL_LIST_XID);
-        node.appendChild(doc.createTextNode(this.getRadicalListString()));
-        logoElement.appendChild(node);
-
-        node = doc.createElement(PGTUtil.LOGO_STROKES_XID);
-        node.appendChild(doc.createTextNode(this.getStrokes().toString()));
-        logoElement.appendChild(node);
-
-        Iterator<String> readIt = this.readings.iterator();
-        while (readIt.hasNext()) {
-            String curReading = readIt.next();
-
-            node = doc.createElement(PGTUtil.LOGO_READING_LIST_XID);
-            node.appendChild(doc.createTextNode(curReading));
-            logoElement.appendChild(node);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.LOGOGRAPH_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGOGRAPH_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGOGRAPH_VALUE_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_IS_RADICAL_XID, this.isRadical ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_NOTES_XID, WebInterface.archiveHTML(this.notes, core));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_RADICAL_LIST_XID, this.getRadicalListString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_STROKES_XID, this.getStrokes().toString());
+
+        for (String curReading : this.readings) {
+            XMLStreamTools.writeTextElement(writer, PGTUtil.LOGO_READING_LIST_XID, curReading);
         }
 
-        rootElement.appendChild(logoElement);
+        writer.writeEndElement();
     }
 
     @Override
@@ -319,7 +361,7 @@ public class LogoNode extends DictNode {
 
             ret = value.replaceAll("\\s", "").equals(c.value.replaceAll("\\s", ""));
             ret = ret && WebInterface.getTextFromHtml(notes).equals(WebInterface.getTextFromHtml(c.notes));
-            ret = ret && Arrays.equals(logoBytes, c.logoBytes);
+            ret = ret && Arrays.equals(getLogoBytes(), c.getLogoBytes());
             ret = ret && isRadical == c.isRadical;
             ret = ret && radicals.equals(c.radicals);
             ret = ret && readings.equals(c.readings);
@@ -329,7 +371,7 @@ public class LogoNode extends DictNode {
     }
     
     public boolean isImageSet() {
-        return this.logoBytes.length > 0;
+        return this.logoBytes.length > 0 || logoPayload != null;
     }
 
     @Override
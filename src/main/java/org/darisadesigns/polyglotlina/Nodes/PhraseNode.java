@@ -20,10 +20,11 @@
 package org.darisadesigns.polyglotlina.Nodes;
 
 import java.util.Objects;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.ManagersCollections.PhraseManager;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  *
@@ -42,6 +43,10 @@ public class PhraseNode extends DictNode {
     }
 
     public void setConPhrase(String conPhrase) {
+        if (!Objects.equals(this.conPhrase, conPhrase)) {
+            markChanged();
+        }
+        
         this.conPhrase = conPhrase;
     }
 
@@ -50,10 +55,18 @@ public class PhraseNode extends DictNode {
     }
 
     public void setLocalPhrase(String localPhrase) {
+        if (!Objects.equals(this.localPhrase, localPhrase)) {
+            markChanged();
+        }
+        
         this.localPhrase = localPhrase;
     }
 
     public void setPronunciation(String pronunciation) {
+        if (!Objects.equals(this.pronunciation, pronunciation)) {
+            markChanged();
+        }
+        
         this.pronunciation = pronunciation;
     }
 
@@ -62,6 +75,10 @@ public class PhraseNode extends DictNode {
     }
 
     public void setNotes(String notes) {
+        if (!Objects.equals(this.notes, notes)) {
+            markChanged();
+        }
+        
         this.notes = notes;
     }
 
@@ -70,6 +87,10 @@ public class PhraseNode extends DictNode {
     }
 
     public void setProcOverride(boolean procOverride) {
+        if (this.procOverride != procOverride) {
+            markChanged();
+        }
+        
         this.procOverride = procOverride;
     }
     
@@ -89,50 +110,24 @@ public class PhraseNode extends DictNode {
     }
 
     public void setGloss(String gloss) {
+        if (!Objects.equals(this.value, gloss)) {
+            markChanged();
+        }
+        
         this.value = gloss;
     }
     
-    /**
-     * Writes all word information to XML document
-     * @param doc Document to write to
-     * @param rootElement root element of document
-     */
-    public void writeXML(Document doc, Element rootElement) {
-        Element phrase = doc.createElement(PGTUtil.PHRASE_NODE_XID);
-        
-        Element phraseValue = doc.createElement(PGTUtil.PHRASE_ID_XID);
-        phraseValue.appendChild(doc.createTextNode(getId().toString()));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_GLOSS_XID);
-        phraseValue.appendChild(doc.createTextNode(this.getValue()));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_CONPHRASE_XID);
-        phraseValue.appendChild(doc.createTextNode(conPhrase));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_LOCALPHRASE_XID);
-        phraseValue.appendChild(doc.createTextNode(localPhrase));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_PRONUNCIATION_XID);
-        phraseValue.appendChild(doc.createTextNode(pronunciation));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_PRONUNCIATION_OVERRIDE_XID);
-        phraseValue.appendChild(doc.createTextNode(procOverride ? PGTUtil.TRUE : PGTUtil.FALSE));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_NOTES_XID);
-        phraseValue.appendChild(doc.createTextNode(notes));
-        phrase.appendChild(phraseValue);
-        
-        phraseValue = doc.createElement(PGTUtil.PHRASE_ORDER_XID);
-        phraseValue.appendChild(doc.createTextNode(Integer.toString(orderId)));
-        phrase.appendChild(phraseValue);
-        
-        rootElement.appendChild(phrase);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.PHRASE_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_ID_XID, getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_GLOSS_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_CONPHRASE_XID, conPhrase);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_LOCALPHRASE_XID, localPhrase);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_PRONUNCIATION_XID, pronunciation);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_PRONUNCIATION_OVERRIDE_XID, procOverride ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_NOTES_XID, notes);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PHRASE_ORDER_XID, Integer.toString(orderId));
+        writer.writeEndElement();
     }
     
     @Override
@@ -189,6 +184,10 @@ public class PhraseNode extends DictNode {
     }
 
     public void setOrderId(int orderId) {
+        if (this.orderId != orderId) {
+            markChanged();
+        }
+        
         this.orderId = orderId;
     }
     
@@ -20,9 +20,10 @@
 
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * Records orthographic pronunciation values
@@ -67,18 +68,11 @@ public class PronunciationNode extends DictNode {
         this.setId(node.getId());
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element wordNode = doc.createElement(PGTUtil.PRO_GUIDE_XID);
-
-        Element wordValue = doc.createElement(PGTUtil.PRO_GUIDE_BASE_XID);
-        wordValue.appendChild(doc.createTextNode(this.getValue()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.PRO_GUIDE_PHON_XID);
-        wordValue.appendChild(doc.createTextNode(this.pronunciation));
-        wordNode.appendChild(wordValue);
-        
-        rootElement.appendChild(wordNode);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.PRO_GUIDE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_BASE_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.PRO_GUIDE_PHON_XID, this.pronunciation);
+        writer.writeEndElement();
     }
     
     @Override
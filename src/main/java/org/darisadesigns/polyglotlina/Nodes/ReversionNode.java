@@ -20,77 +20,126 @@
 package org.darisadesigns.polyglotlina.Nodes;
 
 import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.ManagersCollections.ReversionDelta;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
+import java.util.Arrays;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
- * A node representing one prior state of a language XML file
+ * A node representing one prior state of a language XML file. States are held
+ * either in full or as a delta against a newer state, which is only applied
+ * when the full XML is requested. Either form may be left in the language
+ * archive and read only on request.
  * @author DThompson
  */
 public class ReversionNode implements Comparable<ReversionNode> {
-    private final byte[] value;
+    private byte[] value;
+    private byte[] delta = null;
+    private ReversionNode base = null;
+    private Payload payload = null;
     private Instant saveTime;
+    private int size;
+    private int wordCount = -1;
     private final DictCore core;
 
     public ReversionNode(byte[] _value, DictCore _core) {
         value = _value;
-        saveTime = Instant.MIN;
+        size = _value.length;
         core = _core;
         
-        populateTimeFromDoc();
+        try {
+            saveTime = readSaveTime(new ByteArrayInputStream(_value));
+        } catch (IOException e) {
+            core.getOSHandler().getIOHandler().writeErrorLog(e);
+            saveTime = Instant.MIN;
+        }
     }
     
     public ReversionNode(byte[] _value, Instant _saveTime, DictCore _core) {
         value = _value;
+        size = _value.length;
         saveTime = _saveTime;
         core = _core;
     }
     
     /**
-     * Isolates lengthy process in individual thread
+     * Creates node stored as a delta against a newer state
+     * @param _delta delta as produced by ReversionDelta
+     * @param _base node delta was encoded against
+     * @param _core
+     * @throws IOException if delta header is unreadable
      */
-    private void populateTimeFromDoc() {
-        new Thread() {
-            public void run() {
-                saveTime = getLastSaveTimeFromRawDoc();
-            }
-        }.start();
+    public ReversionNode(byte[] _delta, ReversionNode _base, DictCore _core) throws IOException {
+        value = null;
+        delta = _delta;
+        base = _base;
+        size = -1;
+        saveTime = ReversionDelta.getSaveTime(_delta);
+        core = _core;
     }
     
-    private Instant getLastSaveTimeFromRawDoc() {
-        Instant ret;
+    /**
+     * Creates node whose bytes are read only when needed
+     * @param _payload source of stored bytes
+     * @param _base node the stored bytes are a delta against, or null if the
+     * payload is full XML
+     * @param _saveTime save time of state
+     * @param _core
+     */
+    public ReversionNode(Payload _payload, ReversionNode _base, Instant _saveTime, DictCore _core) {
+        value = null;
+        payload = _payload;
+        base = _base;
+        size = -1;
+        saveTime = _saveTime;
+        core = _core;
+    }
+    
+    /**
+     * Reads the save time from the header of language XML, stopping as soon
+     * as it is found
+     * @param xml stream of language XML (not closed)
+     * @return save time, or Instant.MIN if none is recorded
+     * @throws IOException if XML is unreadable before the save time
+     */
+    public static Instant readSaveTime(InputStream xml) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = null;
         
         try {
-            InputStream is = new ByteArrayInputStream(value);
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            Document doc;
-            doc = dBuilder.parse(is);
-            doc.getDocumentElement().normalize();
-            Node timeNode = doc.getElementsByTagName(PGTUtil.DICTIONARY_SAVE_DATE).item(0);
+            reader = factory.createXMLStreamReader(xml);
             
-            if (timeNode != null) {
-                ret = Instant.parse(timeNode.getTextContent());
-            } else {
-                ret = Instant.MIN;
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && reader.getLocalName().equals(PGTUtil.DICTIONARY_SAVE_DATE)) {
+                    return Instant.parse(reader.getElementText().trim());
+                }
+            }
+        } catch (XMLStreamException | DateTimeException e) {
+            throw new IOException("Unable to read save time of reversion: " + e.getLocalizedMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing further to release
+                }
             }
-        } catch (SAXException | IOException | ParserConfigurationException e) {
-            core.getOSHandler().getIOHandler().writeErrorLog(e);
-            ret = Instant.MIN;
         }
         
-        return ret;
+        return Instant.MIN;
     }
     
     @Override
@@ -104,6 +153,10 @@ public class ReversionNode implements Comparable<ReversionNode> {
             ret += "<UNKNOWN TIME>";
         }
         
+        if (wordCount >= 0) {
+            ret += " (" + wordCount + " words)";
+        }
+        
         return ret;
     }
 
@@ -113,7 +166,116 @@ public class ReversionNode implements Comparable<ReversionNode> {
         return -this.saveTime.compareTo(o.saveTime);
     }
     
-    public byte[] getValue () {
-        return value;
+    /**
+     * Returns full XML of this state, applying deltas back from the nearest
+     * state stored in full if needed
+     * @return raw XML
+     * @throws IOException if stored bytes cannot be read or a delta in the
+     * chain is corrupt
+     */
+    public byte[] getValue() throws IOException {
+        if (!isDelta()) {
+            return value != null ? value : payload.read();
+        }
+        
+        return ReversionDelta.apply(base.getValue(), getDelta());
+    }
+    
+    public boolean isDelta() {
+        return base != null;
+    }
+    
+    /**
+     * @return encoded delta, or null if stored in full
+     * @throws IOException if stored bytes cannot be read
+     */
+    public byte[] getDelta() throws IOException {
+        if (!isDelta()) {
+            return null;
+        }
+        
+        return delta != null ? delta : payload.read();
+    }
+    
+    /**
+     * @return node this delta applies to, or null if stored in full
+     */
+    public ReversionNode getBase() {
+        return base;
+    }
+    
+    /**
+     * @return source of stored bytes if they are not held in memory, or null
+     */
+    public Payload getPayload() {
+        return payload;
+    }
+    
+    /**
+     * Releases stored bytes held in memory in favor of reading them from the
+     * given source when needed
+     * @param _payload source of this node's bytes
+     * @param isFull true if the source holds the full XML of this state, in
+     * which case any delta relationship is dropped
+     */
+    public void setPayload(Payload _payload, boolean isFull) {
+        payload = _payload;
+        value = null;
+        delta = null;
+        
+        if (isFull) {
+            base = null;
+        }
+    }
+    
+    /**
+     * Replaces full XML of this state with a delta against the given newer
+     * state. The delta is checked before being kept, and the node is left in
+     * full if it does not reproduce this state.
+     * @param _base node to encode against
+     * @throws IOException if this node or its base cannot be read
+     */
+    public void storeAsDeltaOf(ReversionNode _base) throws IOException {
+        if (isDelta()) {
+            return;
+        }
+        
+        byte[] fullValue = getValue();
+        byte[] baseValue = _base.getValue();
+        byte[] newDelta = ReversionDelta.encode(baseValue, fullValue, saveTime);
+        
+        if (newDelta.length < fullValue.length && Arrays.equals(fullValue, ReversionDelta.apply(baseValue, newDelta))) {
+            size = fullValue.length;
+            delta = newDelta;
+            base = _base;
+            value = null;
+            payload = null;
+        }
+    }
+    
+    public Instant getSaveTime() {
+        return saveTime;
+    }
+    
+    /**
+     * @return length of full XML of this state, or -1 if unknown
+     */
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int _size) {
+        size = _size;
+    }
+    
+    /**
+     * @return number of words in this state, or -1 if unknown
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+    
+    public void setWordCount(int _wordCount) {
+        wordCount = _wordCount;
     }
 }
@@ -19,12 +19,14 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.darisadesigns.polyglotlina.ManagersCollections.ToDoManager;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * A single node in a to do list tree
@@ -35,6 +37,8 @@ public class ToDoNode {
     private ToDoNode parentNode;
     private boolean isDone;
     private final List<ToDoNode> children = new ArrayList<>();
+    // set on the root node only, which passes on edits made anywhere in its tree
+    private ToDoManager manager = null;
     
     public ToDoNode(ToDoNode _parentNode, String _value, boolean _isDone) {
         value = _value;
@@ -42,6 +46,21 @@ public class ToDoNode {
         isDone = _isDone;
     }
     
+    public void setManager(ToDoManager _manager) {
+        manager = _manager;
+    }
+    
+    /**
+     * Records an edit to this node, passing it up to the root's manager
+     */
+    private void markChanged() {
+        if (parentNode != null) {
+            parentNode.markChanged();
+        } else if (manager != null) {
+            manager.markChanged();
+        }
+    }
+    
     public boolean allChildrenDone() {
         boolean ret = true;
         
@@ -60,12 +79,14 @@ public class ToDoNode {
     public ToDoNode addChild(String childValue) {
         ToDoNode newChild = new ToDoNode(this, childValue, false);
         children.add(newChild);
+        markChanged();
         return newChild;
     }
     
     public void addChild(ToDoNode child) {
         child.parentNode = this;
         children.add(child);
+        markChanged();
     }
     
     public void setParent(ToDoNode _parent) {
@@ -86,7 +107,9 @@ public class ToDoNode {
      * @param delNode 
      */
     public void deleteChild(ToDoNode delNode) {
-        children.remove(delNode);
+        if (children.remove(delNode)) {
+            markChanged();
+        }
     }
     
     /**
@@ -109,11 +132,16 @@ public class ToDoNode {
             if (index > 0) {
                 children.remove(index);
                 children.add(index - 1, move);
+                markChanged();
             }
         }
     }
     
     public void setValue(String _value) {
+        if (!Objects.equals(value, _value)) {
+            markChanged();
+        }
+        
         value = _value;
     }
     
@@ -128,6 +156,7 @@ public class ToDoNode {
             if (index < children.size() - 1) {
                 children.remove(index);
                 children.add(index + 1, move);
+                markChanged();
             }
         }
     }
@@ -141,6 +170,10 @@ public class ToDoNode {
     }
     
     public void setDone(boolean _isDone) {
+        if (isDone != _isDone) {
+            markChanged();
+        }
+        
         isDone = _isDone;
     }
     
@@ -153,27 +186,16 @@ public class ToDoNode {
         return !children.isEmpty();
     }
     
-    /**
-     * Writes XML value of element to rootElement of given doc
-     * @param doc
-     * @param rootElement 
-     */
-    public void writeXML(Document doc, Element rootElement) {
-        Element writeNode = doc.createElement(PGTUtil.TODO_NODE_XID);
-        Element nodeDone = doc.createElement(PGTUtil.TODO_NODE_DONE_XID);
-        Element nodeLabel = doc.createElement(PGTUtil.TODO_NODE_LABEL_XID);
-        
-        nodeDone.appendChild(doc.createTextNode(this.isDone ? PGTUtil.TRUE : PGTUtil.FALSE));
-        writeNode.appendChild(nodeDone);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.TODO_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.TODO_NODE_DONE_XID, this.isDone ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.TODO_NODE_LABEL_XID, value);
         
-        nodeLabel.appendChild(doc.createTextNode(value));
-        writeNode.appendChild(nodeLabel);
-        
-        children.forEach((child) -> {
-            child.writeXML(doc, writeNode);
-        });
+        for (ToDoNode child : children) {
+            child.writeXML(writer);
+        }
         
-        rootElement.appendChild(writeNode);
+        writer.writeEndElement();
     }
     
     public ToDoNode getParent() {
@@ -20,11 +20,12 @@
 package org.darisadesigns.polyglotlina.Nodes;
 
 import java.util.Objects;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import org.darisadesigns.polyglotlina.WebInterface;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This represents a part of speech. Apologies for the naming scheme. "Type" doesn't really fit.
@@ -40,6 +41,10 @@ public class TypeNode extends DictNode {
     private boolean defMandatory = false;
 
     public void setPattern(String _regexPattern, DictCore _core) {
+        if (!Objects.equals(regexPattern, _regexPattern)) {
+            markChanged();
+        }
+        
         regexPattern = _regexPattern;
         core = _core;
     }
@@ -53,10 +58,18 @@ public class TypeNode extends DictNode {
     }
 
     public void setNotes(String _notes) {
+        if (!Objects.equals(notes, _notes)) {
+            markChanged();
+        }
+        
         notes = _notes;
     }
 
     public void setGloss(String _gloss) {
+        if (!Objects.equals(gloss, _gloss)) {
+            markChanged();
+        }
+        
         gloss = _gloss;
     }
 
@@ -117,6 +130,10 @@ public class TypeNode extends DictNode {
      * @param _procMandatory the procMandatory to set
      */
     public void setProcMandatory(boolean _procMandatory) {
+        if (procMandatory != _procMandatory) {
+            markChanged();
+        }
+        
         this.procMandatory = _procMandatory;
     }
 
@@ -131,41 +148,22 @@ public class TypeNode extends DictNode {
      * @param _defMandatory the defMandatory to set
      */
     public void setDefMandatory(boolean _defMandatory) {
+        if (defMandatory != _defMandatory) {
+            markChanged();
+        }
+        
         this.defMandatory = _defMandatory;
     }
 
-    public void writeXML(Document doc, Element rootElement) {
-        Element wordNode = doc.createElement(PGTUtil.POS_XID);
-        
-        Element wordValue = doc.createElement(PGTUtil.POS_ID_XID);
-        Integer wordId = this.getId();
-        wordValue.appendChild(doc.createTextNode(wordId.toString()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_NAME_XID);
-        wordValue.appendChild(doc.createTextNode(this.getValue()));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_NOTES_XID);
-        wordValue.appendChild(doc.createTextNode(WebInterface.archiveHTML(this.notes, core)));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_DEF_MAN_XID);
-        wordValue.appendChild(doc.createTextNode(this.defMandatory ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_PROC_MAN_XID);
-        wordValue.appendChild(doc.createTextNode(this.procMandatory ? PGTUtil.TRUE : PGTUtil.FALSE));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_PATTERN_XID);
-        wordValue.appendChild(doc.createTextNode(this.regexPattern));
-        wordNode.appendChild(wordValue);
-
-        wordValue = doc.createElement(PGTUtil.POS_GLOSS_XID);
-        wordValue.appendChild(doc.createTextNode(this.gloss));
-        wordNode.appendChild(wordValue);
-        
-        rootElement.appendChild(wordNode);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.POS_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_NAME_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_NOTES_XID, WebInterface.archiveHTML(this.notes, core));
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_DEF_MAN_XID, this.defMandatory ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_PROC_MAN_XID, this.procMandatory ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_PATTERN_XID, this.regexPattern);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.POS_GLOSS_XID, this.gloss);
+        writer.writeEndElement();
     }
 }
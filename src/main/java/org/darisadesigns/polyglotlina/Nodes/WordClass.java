@@ -19,14 +19,15 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * Word properties cover things such as gender. They may apply to all parts of
@@ -86,6 +87,7 @@ public class WordClass extends DictNode {
      */
     public void addApplyType(int _typeId) {
         if (!applyTypes.contains(_typeId)) {
+            markChanged();
             applyTypes.add(_typeId);
         }
     }
@@ -95,7 +97,9 @@ public class WordClass extends DictNode {
      * @param _typeId ID of type
      */
     public void deleteApplyType(Integer _typeId) {
-        applyTypes.remove(_typeId);
+        if (applyTypes.remove(_typeId)) {
+            markChanged();
+        }
     }
     
     /**
@@ -134,6 +138,7 @@ public class WordClass extends DictNode {
         }
         
         values.remove(valueId);
+        markChanged();
     }
     
     public WordClassValue getValueById(int _id) throws Exception {
@@ -171,7 +176,9 @@ public class WordClass extends DictNode {
         WordClassValue ret = new WordClassValue();
         ret.setId(_id);
         ret.setValue(name);
+        ret.setOwner(this);
         values.put(_id, ret);
+        markChanged();
         
         if (_id >= topId) {
             topId = _id + 1;
@@ -197,6 +204,10 @@ public class WordClass extends DictNode {
      * @param _freeText freetext value
      */
     public void setFreeText(boolean _freeText) {
+        if (freeText != _freeText) {
+            markChanged();
+        }
+        
         this.freeText = _freeText;
         this.associative = this.associative && !_freeText;
     }
@@ -218,54 +229,40 @@ public class WordClass extends DictNode {
      * @param _associative
      */
     public void setAssociative(boolean _associative) {
+        if (associative != _associative) {
+            markChanged();
+        }
+        
         this.associative = _associative;
         this.freeText = this.freeText && !_associative;
     }
     
-    public void writeXML(Document doc, Element rootElement) {
-        Element classElement = doc.createElement(PGTUtil.CLASS_XID);
-
-        // ID element
-        Element classValue = doc.createElement(PGTUtil.CLASS_ID_XID);
-        classValue.appendChild(doc.createTextNode(this.getId().toString()));
-        classElement.appendChild(classValue);
-
-        // Name element
-        classValue = doc.createElement(PGTUtil.CLASS_NAME_XID);
-        classValue.appendChild(doc.createTextNode(this.getValue()));
-        classElement.appendChild(classValue);
-
-        // Is Text Override
-        classValue = doc.createElement(PGTUtil.CLASS_IS_FREETEXT_XID);
-        classValue.appendChild(doc.createTextNode(this.freeText ? PGTUtil.TRUE : PGTUtil.FALSE));
-        classElement.appendChild(classValue);
-        
-        // Is class associative CLASS_IS_ASSOCIATIVE_XID
-        classValue = doc.createElement(PGTUtil.CLASS_IS_ASSOCIATIVE_XID);
-        classValue.appendChild(doc.createTextNode(this.associative ? PGTUtil.TRUE : PGTUtil.FALSE));
-        classElement.appendChild(classValue);
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.CLASS_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_NAME_XID, this.getValue());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_IS_FREETEXT_XID, this.freeText ? PGTUtil.TRUE : PGTUtil.FALSE);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_IS_ASSOCIATIVE_XID, this.associative ? PGTUtil.TRUE : PGTUtil.FALSE);
 
-        // generates element with all type IDs of types this class applies to
-        String applyTypesRec = "";
+        // all type IDs of types this class applies to
+        StringBuilder applyTypesRec = new StringBuilder();
         for (Integer typeId : this.getApplyTypes()) {
             if (!applyTypesRec.isEmpty()) {
-                applyTypesRec += ",";
+                applyTypesRec.append(',');
             }
 
-            applyTypesRec += typeId.toString();
+            applyTypesRec.append(typeId);
         }
-        classValue = doc.createElement(PGTUtil.CLASS_APPLY_TYPES_XID);
-        classValue.appendChild(doc.createTextNode(applyTypesRec));
-        classElement.appendChild(classValue);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_APPLY_TYPES_XID, applyTypesRec.toString());
 
         // element for collection of values of class
-        classValue = doc.createElement(PGTUtil.CLASS_VALUES_COLLECTION_XID);
+        writer.writeStartElement(PGTUtil.CLASS_VALUES_COLLECTION_XID);
         for (WordClassValue curValue : this.getValues()) {
-            curValue.writeXML(doc, classValue);
+            curValue.writeXML(writer);
         }
-        classElement.appendChild(classValue);
+        writer.writeEndElement();
 
-        rootElement.appendChild(classElement);
+        writer.writeEndElement();
     }
     
     @Override
@@ -19,15 +19,32 @@
  */
 package org.darisadesigns.polyglotlina.Nodes;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.darisadesigns.polyglotlina.PGTUtil;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 
 /**
  * This represents a single value within a word property
  * @author Draque Thompson
  */
 public class WordClassValue extends DictNode {
+    private WordClass owner = null;
+    
+    /**
+     * @param _owner class this is a value of, notified on edit
+     */
+    void setOwner(WordClass _owner) {
+        owner = _owner;
+    }
+    
+    @Override
+    protected void markChanged() {
+        if (owner != null) {
+            owner.markChanged();
+        }
+    }
+    
     @Override
     public void setEqual(DictNode _node) throws ClassCastException {
         if (!(_node instanceof WordClassValue)) {
@@ -38,20 +55,12 @@ public class WordClassValue extends DictNode {
         this.id = _node.getId();
     }
     
-     public void writeXML(Document doc, Element rootElement) {
-         Element valueNode = doc.createElement(PGTUtil.CLASS_VALUES_NODE_XID);
-
-        Element valueElement = doc.createElement(PGTUtil.CLASS_VALUE_ID_XID);
-        valueElement.appendChild(doc.createTextNode(this.getId().toString()));
-        valueNode.appendChild(valueElement);
-
-        // value string
-        valueElement = doc.createElement(PGTUtil.CLASS_VALUE_NAME_XID);
-        valueElement.appendChild(doc.createTextNode(this.getValue()));
-        valueNode.appendChild(valueElement);
-
-        rootElement.appendChild(valueNode);
-     }
+    public void writeXML(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(PGTUtil.CLASS_VALUES_NODE_XID);
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_VALUE_ID_XID, this.getId().toString());
+        XMLStreamTools.writeTextElement(writer, PGTUtil.CLASS_VALUE_NAME_XID, this.getValue());
+        writer.writeEndElement();
+    }
      
      @Override
     public boolean equals(Object comp) {
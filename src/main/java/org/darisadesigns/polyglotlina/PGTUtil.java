@@ -297,9 +297,13 @@ public class PGTUtil {
     public static final String OPTIONS_UI_WEB_SERVICE_MASTER_TOKEN_REFILL = "WebServiceMasterTokenRefill";
     public static final String OPTIONS_UI_WEB_SERVICE_INDIVIDUAL_TOKEN_CAPACITY = "WebServiceIndividualTokenCapacity";
     public static final String OPTIONS_UI_WEB_SERVICE_INDIVIDUAL_TOKEN_REFILL = "WebServiceIndividualTokenRefill";
+    public static final String OPTIONS_UI_WEB_SERVICE_EXECUTOR = "WebServiceExecutor";
+    public static final String OPTIONS_UI_WEB_SERVICE_THREAD_COUNT = "WebServiceThreadCount";
+    public static final String OPTIONS_UI_WEB_SERVICE_REQUEST_BACKLOG = "WebServiceRequestBacklog";
     public static final String OPTIONS_GPT_API_KEY = "GptApiKey_encrypted";
     public static final String OPTIONS_GPT_API_KEY_SECURE = "JpJAHMiw6LQOov45jfScnixHROHZqa5G";
     public static final String OPTIONS_ZOMPIST_USE_CONFONT = "ZompistUseConfont";
+    public static final String OPTIONS_SAVE_VERIFICATION = "SaveVerification";
     public static final String OPTIONS_PDF_PRINT_ORTH = "pdfPrintOrthography";
     public static final String OPTIONS_PDF_PRINT_GLOSSKEY = "pdfPrintGlosskey";
     public static final String OPTIONS_PDF_PRINT_LOCAL = "pdfPrintLocalLang";
@@ -343,6 +347,9 @@ public class PGTUtil {
     public static final String GRAMMAR_SOUNDS_SAVE_PATH = "grammarSounds/";
     public static final String REVERSION_SAVE_PATH = "reversion/";
     public static final String REVERSION_BASE_FILE_NAME = "reversionXMLFile";
+    public static final String REVERSION_DELTA_FILE_NAME = "reversionDelta";
+    public static final String REVERSION_MANIFEST_FILE_NAME = "reversionManifest";
+    public static final String REVERSION_MANIFEST_VERSION = "1";
     public static final String ERROR_LOG_FILE = "PolyGlot_error.log";
     public static final String WEB_SERVICE_LOG_FILE = "PolyGlot_webService.log";
     public static final String EMPTY_FILE = "<EMPTY>";
@@ -390,7 +397,7 @@ public class PGTUtil {
 
     // numeric constants...
     public static final Double DEFAULT_FONT_SIZE = 12.0;
-    public static final int MAX_PROC_RECURSE = 100;
+    public static final int PRONUNCIATION_CACHE_SIZE = 8192; // max words with cached pronunciations per manager
     public static final int DEFAULT_MAX_ROLLBACK_NUM = 10;
     public static final int MAX_FILE_PATH_LENGTH = 1000;
     public static final int MAX_LOG_CHARACTERS = 1024 * 1024; // One MB max size of log
@@ -30,6 +30,8 @@ import java.util.regex.PatternSyntaxException;
  * @author draque
  */
 public class RegexTools {
+    
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
 
     public static String advancedReplace(String value,
             String regex,
@@ -129,4 +131,38 @@ public class RegexTools {
         
         return ret;
     }
+    
+    /**
+     * Tests whether a string contains any characters with special meaning in
+     * regex. Strings without them match only their own literal text.
+     * @param test string to test
+     * @return true if any regex metacharacters present
+     */
+    public static boolean containsRegexSyntax(String test) {
+        for (int i = 0; i < test.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(test.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Tests whether a string contains any character which the regex "."
+     * does not match (in default mode)
+     * @param test string to test
+     * @return true if any line terminators present
+     */
+    public static boolean containsLineTerminator(String test) {
+        for (int i = 0; i < test.length(); i++) {
+            char c = test.charAt(i);
+            
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        
+        return false;
+    }
 }
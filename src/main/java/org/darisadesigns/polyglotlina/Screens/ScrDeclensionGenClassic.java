@@ -758,18 +758,20 @@ public final class ScrDeclensionGenClassic extends PDialog {
             return;
         }
 
-        saveRule.wipeTransforms();
-
         if (tblTransforms.getCellEditor() != null) {
             tblTransforms.getCellEditor().stopCellEditing();
         }
 
+        List<ConjugationGenTransform> transforms = new ArrayList<>();
+
         for (int i = 0; i < tblTransforms.getRowCount(); i++) {
             String regex = tblTransforms.getValueAt(i, 0).toString();
             String replaceText = tblTransforms.getValueAt(i, 1).toString();
 
-            saveRule.addTransform(new ConjugationGenTransform(regex, replaceText));
+            transforms.add(new ConjugationGenTransform(regex, replaceText));
         }
+
+        saveRule.setTransforms(transforms);
     }
 
     /**
@@ -42,6 +42,8 @@ import org.darisadesigns.polyglotlina.Desktop.PolyGlot;
  */
 public class ScrDeclensionGenSimple extends PDialog {
 
+    private static final String SIMPLE_REGEX = ".*";
+    private static final String SIMPLE_NAME = "SIMPLE-SETUP";
     private final int typeId;
     private boolean curPopulating = false;
 
@@ -104,7 +106,8 @@ public class ScrDeclensionGenSimple extends PDialog {
 
     /**
      * Deletes all existing rules from current combined ID and replaces with
-     * single displayed rule.
+     * single displayed rule. Nothing is replaced if the displayed rule is
+     * already the only one stored.
      *
      */
     public void saveRule() {
@@ -112,20 +115,48 @@ public class ScrDeclensionGenSimple extends PDialog {
 
         if (curPair != null) {
             ConjugationManager decMan = core.getConjugationManager();
-            decMan.deleteConjugationGenRules(typeId, curPair.combinedId);
-
             ConjugationGenTransform trans = new ConjugationGenTransform();
             trans.regex = txtRegex.getText();
             trans.replaceText = txtReplace.getText();
+            
+            if (isStoredRule(decMan.getConjugationRulesForTypeAndCombId(typeId, curPair.combinedId), trans)) {
+                return;
+            }
+            
+            decMan.deleteConjugationGenRules(typeId, curPair.combinedId);
 
             ConjugationGenRule rule = new ConjugationGenRule(typeId, curPair.combinedId);
-            rule.setRegex(".*"); // reduced complexity, so all rules apply universally
+            rule.setRegex(SIMPLE_REGEX); // reduced complexity, so all rules apply universally
             rule.addTransform(trans);
-            rule.setName("SIMPLE-SETUP");
+            rule.setName(SIMPLE_NAME);
 
             decMan.addConjugationGenRule(rule);
         }
     }
+    
+    /**
+     * Tests whether stored rules are exactly the single rule this screen
+     * would save, or there are none and the displayed rule is blank. Rule
+     * and transform equality ignore whitespace, so values are compared
+     * directly.
+     */
+    private static boolean isStoredRule(ConjugationGenRule[] rules, ConjugationGenTransform trans) {
+        if (rules.length == 0) {
+            return trans.regex.isEmpty() && trans.replaceText.isEmpty();
+        } else if (rules.length != 1) {
+            return false;
+        }
+        
+        ConjugationGenRule rule = rules[0];
+        ConjugationGenTransform[] transforms = rule.getTransforms();
+        
+        return rule.getRegex().equals(SIMPLE_REGEX)
+                && rule.getName().equals(SIMPLE_NAME)
+                && rule.getApplicableClasses().isEmpty()
+                && transforms.length == 1
+                && transforms[0].regex.equals(trans.regex)
+                && transforms[0].replaceText.equals(trans.replaceText);
+    }
 
     /**
      * populates constructed declension list
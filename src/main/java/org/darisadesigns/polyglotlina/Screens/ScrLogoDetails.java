@@ -878,9 +878,13 @@ public class ScrLogoDetails extends PFrame {
         tblReadings.setModel(procModel);
 
         // set logograph picture
-        ImageIcon icon = new ImageIcon(curNode.getLogoBytes());
-        icon = new ImageIcon(icon.getImage().getScaledInstance(lblLogo.getWidth(), lblLogo.getHeight(), Image.SCALE_SMOOTH));
-        lblLogo.setIcon(icon);
+        try {
+            BufferedImage logo = DesktopIOHandler.getInstance().getDecodedImage(curNode.getLogoBytes());
+            lblLogo.setIcon(new ImageIcon(logo.getScaledInstance(lblLogo.getWidth(), lblLogo.getHeight(), Image.SCALE_SMOOTH)));
+        } catch (IOException e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e);
+            lblLogo.setIcon(null);
+        }
 
         populateRelatedWords();
         setEnableControls(true);
@@ -38,9 +38,7 @@ import java.awt.event.ComponentListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.ActionMap;
@@ -50,6 +48,7 @@ import javax.swing.InputMap;
 import javax.swing.JComponent;
 import javax.swing.KeyStroke;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.PAddRemoveButton;
+import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopPropertiesManager;
 
 /**
@@ -216,7 +215,7 @@ public final class ScrLogoQuickView extends PFrame {
                 
                 if (selected != null) {
                     try {
-                        BufferedImage imgLogo = ImageIO.read(new ByteArrayInputStream(selected.getLogoBytes()));
+                        BufferedImage imgLogo = DesktopIOHandler.getInstance().getDecodedImage(selected.getLogoBytes());
                     lblLogoPic.setIcon(new ImageIcon(imgLogo.getScaledInstance(lblLogoPic.getWidth(), 
                             lblLogoPic.getHeight(), 
                             Image.SCALE_SMOOTH)));
@@ -85,7 +85,6 @@ import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopOSHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopPropertiesManager;
 import org.darisadesigns.polyglotlina.Desktop.ExportFileHelper;
-import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopGrammarManager;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManager;
 import org.darisadesigns.polyglotlina.Desktop.PGTUtil;
 import org.darisadesigns.polyglotlina.Desktop.PolyGlot;
@@ -466,24 +465,7 @@ public final class ScrMainMenu extends PFrame {
 
         try {
             core.readFile(fileName);
-            
-            // Tests are performed so quickly that this locks up file access
-            if (!PGTUtil.isInJUnitTest() && !PGTUtil.isUITestingMode()) {
-                new Thread() {
-                    @Override
-                    public void run() {
-                        try {
-                            var loadState = new DictCore(new DesktopPropertiesManager(), core.getOSHandler(), new PGTUtil(), new DesktopGrammarManager());
-                            loadState.readFile(fileName, null, false);
-                            core.setLoadState(loadState);
-                        } catch (ParserConfigurationException | IOException | IllegalStateException e) {
-                            // user informed below
-                            core.getOSHandler().getIOHandler().writeErrorLog(e, "On load of comparison file. Why failure here and not immediately above?");
-                        }
-                    }
-
-                }.start();
-            }
+            core.markSavedState();
             
             if (curWindow == null) {
                 saveAllValues();
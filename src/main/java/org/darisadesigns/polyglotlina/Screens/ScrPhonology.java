@@ -27,7 +27,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.DefaultListModel;
 import javax.swing.InputMap;
 import javax.swing.JComponent;
@@ -520,7 +522,7 @@ public final class ScrPhonology extends PFrame {
             tblRep.getCellEditor().stopCellEditing();
         }
 
-        propMan.clearCharacterReplacement();
+        Map<String, String> reps = new HashMap<>();
 
         for (int i = 0; i < tblRep.getRowCount(); i++) {
             String repChar = tblRep.getValueAt(i, 0).toString();
@@ -530,9 +532,11 @@ public final class ScrPhonology extends PFrame {
                 continue;
             }
 
-            propMan.addCharacterReplacement(repChar, value);
+            reps.put(repChar, value);
         }
 
+        propMan.setCharacterReplacements(reps);
+
         curPopulating = localPopulating;
     }
 
@@ -573,13 +577,14 @@ public final class ScrPhonology extends PFrame {
             tblIllegalClusters.getCellEditor().stopCellEditing();
         }
         
-        procMan.clearIllegalClusters();
-        
         var model = (DefaultTableModel)tblIllegalClusters.getModel();
+        List<String> clusters = new ArrayList<>();
         
         for (var i = 0; i < model.getRowCount(); i++) {
-            procMan.addIllegalCluster((String)model.getValueAt(i, 0));
+            clusters.add((String)model.getValueAt(i, 0));
         }
+        
+        procMan.setIllegalClusters(clusters);
     }
 
     private void deleteIllegalCluster() {
@@ -78,7 +78,7 @@ public final class ScrTestWordConj extends PDialog {
                 throw new Exception("No conjugation/declension form selected!");
             }
             
-            newForm = core.getConjugationManager().declineWord(testWord, curCombinedId);
+            newForm = core.getConjugationManager().declineWord(testWord, curCombinedId, true);
         } catch (Exception e) {
             // this is based on user error. Inform, but do not log.
             new DesktopInfoBox(this).error("Declension Test Error", e.getLocalizedMessage());
@@ -22,8 +22,11 @@ package org.darisadesigns.polyglotlina.ToolsHelpers;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConjugationManager;
@@ -53,9 +56,45 @@ public class ExportSpellingDictionary {
         saveToFile(targetLocation);
     }
     
+    /**
+     * Populates from all words, generating forms for each part of speech as a
+     * single parallel batch. Words with overridden forms are read directly.
+     * @param words words to populate from
+     */
     private void populateFromWordArray(ConWord[] words) {
+        Map<Integer, List<ConWord>> generatedByType = new HashMap<>();
+        
         for (ConWord word : words) {
-            populateFromWord(word);
+            if (word.isOverrideAutoConjugate()) {
+                populateFromWord(word);
+            } else {
+                wordSet.add(word.getValue());
+                generatedByType.computeIfAbsent(word.getWordTypeId(), k -> new ArrayList<>()).add(word);
+            }
+        }
+        
+        for (Entry<Integer, List<ConWord>> typeWords : generatedByType.entrySet()) {
+            int typeId = typeWords.getKey();
+            List<ConWord> typeWordList = typeWords.getValue();
+            List<String> combinedIds = new ArrayList<>();
+            
+            // singleton IDs are included within all combined IDs
+            for (ConjugationPair pair : conjMan.getAllCombinedIds(typeId)) {
+                if (!conjMan.isCombinedConjlSurpressed(pair.combinedId, typeId)) {
+                    combinedIds.add(pair.combinedId);
+                }
+            }
+            
+            String[][] forms = conjMan.declineWords(typeWordList, combinedIds);
+            
+            for (int i = 0; i < forms.length; i++) {
+                for (int j = 0; j < combinedIds.size(); j++) {
+                    // failures fall back to single generation, which logs error
+                    wordSet.add(forms[i][j] != null 
+                            ? forms[i][j] 
+                            : typeWordList.get(i).getWordForm(combinedIds.get(j)));
+                }
+            }
         }
     }
     
@@ -19,7 +19,6 @@
  */
 package org.darisadesigns.polyglotlina;
 
-import org.darisadesigns.polyglotlina.Nodes.ImageNode;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
@@ -44,6 +43,12 @@ import org.jsoup.safety.Safelist;
  */
 public class WebInterface {
 
+    // archived images are referenced by ID alone; display references hold a path ending in <ID>_<name>
+    private static final Pattern ARCHIVED_IMAGE_PATTERN = Pattern.compile("<img src=\"(\\d+)\">");
+    private static final Pattern DISPLAY_IMAGE_PATTERN = Pattern.compile("(<img src=\"[^>,_]+_[^>]+\">)");
+    private static final String IMAGE_DISPLAY_PATH = "/polyglot-image/";
+    private static final String IMAGE_DISPLAY_SUFFIX = "_polyGlotImage.png";
+
     /**
      * Checks for updates to PolyGlot
      *
@@ -109,34 +114,62 @@ public class WebInterface {
 
     /**
      * Takes archived HTML and translates it into display HTML. - Replaces
-     * archival image references to temp image refs
+     * archival image references with display image references. These point
+     * at no real file: displays resolve them by image ID (see
+     * getImageIdFromDisplayUrl), so nothing is written to disk.
      *
      * @param html archived html
-     * @param core
      * @return unarchived html
-     * @throws java.lang.Exception
      */
-    public static String unarchiveHTML(String html, DictCore core) throws Exception {
-        // pattern for finding archived images
-        Pattern pattern = Pattern.compile("(<img src=\"[^>,_]+\">)");
-        Matcher matcher = pattern.matcher(html);
+    public static String unarchiveHTML(String html) {
+        Matcher matcher = ARCHIVED_IMAGE_PATTERN.matcher(html);
 
-        while (matcher.find()) {
-            String regPath = matcher.group(1);
-            regPath = regPath.replace("<img src=\"", "");
-            regPath = regPath.replace("\"", "");
-            regPath = regPath.replace(">", "");
-            try {
-                int imageId = Integer.parseInt(regPath);
-                ImageNode image = (ImageNode) core.getImageCollection().getNodeById(imageId);
-                html = html.replace("<img src=\"" + regPath + "\">", "<img src=\"file:///" + image.getImagePath() + "\">");
-            }
-            catch (IOException | NumberFormatException e) {
-                throw new Exception("problem loading image : " + e.getLocalizedMessage(), e);
-            }
+        if (!matcher.find()) {
+            return html;
         }
 
-        return html;
+        StringBuilder ret = new StringBuilder();
+
+        do {
+            matcher.appendReplacement(ret, Matcher.quoteReplacement(
+                    "<img src=\"" + getImageDisplayUrl(Integer.parseInt(matcher.group(1))) + "\">"));
+        } while (matcher.find());
+
+        matcher.appendTail(ret);
+
+        return ret.toString();
+    }
+
+    /**
+     * Gets display reference for an image, as used in unarchived HTML
+     *
+     * @param imageId ID of image
+     * @return URL of image for display
+     */
+    public static String getImageDisplayUrl(int imageId) {
+        return "file://" + IMAGE_DISPLAY_PATH + imageId + IMAGE_DISPLAY_SUFFIX;
+    }
+
+    /**
+     * Gets ID of image a display reference points to
+     *
+     * @param url URL from unarchived HTML
+     * @return image ID, or null if the URL is not an image display reference
+     */
+    public static Integer getImageIdFromDisplayUrl(String url) {
+        // URL objects print file URLs with a single slash
+        String path = url == null ? "" : url.replaceFirst("^file:/*", "/");
+
+        if (!path.startsWith(IMAGE_DISPLAY_PATH) || !path.endsWith(IMAGE_DISPLAY_SUFFIX)) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(path.substring(IMAGE_DISPLAY_PATH.length(),
+                    path.length() - IMAGE_DISPLAY_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
@@ -148,9 +181,7 @@ public class WebInterface {
      * @return archivable html
      */
     public static String archiveHTML(String html, DictCore core) {
-        // pattern for finding unarchived images
-        Pattern pattern = Pattern.compile("(<img src=\"[^>,_]+_[^>]+\">)");
-        Matcher matcher = pattern.matcher(html);
+        Matcher matcher = DISPLAY_IMAGE_PATTERN.matcher(html);
 
         while (matcher.find()) {
             String regPath = matcher.group(1);
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+/**
+ * A single range of bytes requested via an HTTP Range header. Requests for
+ * several ranges at once are not supported, and are answered with the whole
+ * body, as HTTP allows.
+ *
+ * @author draquethompson
+ */
+public final class ByteRange {
+
+    /**
+     * Range that is well formed, but lies wholly outside the content
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, 0);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long length;
+
+    private ByteRange(long _start, long _length) {
+        start = _start;
+        length = _length;
+    }
+
+    /**
+     * Parses a Range header against content of the given length. Open ended
+     * and suffix ranges are clamped to the content.
+     *
+     * @param rangeHeader value of Range header, or null
+     * @param contentLength length of whole content
+     * @return requested range, UNSATISFIABLE if it lies outside the content,
+     * or null if the whole content should be sent instead
+     */
+    public static ByteRange parse(String rangeHeader, long contentLength) {
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        var spec = rangeHeader.trim();
+
+        if (!spec.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        spec = spec.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+
+        if (spec.contains(",") || dash < 0) {
+            return null;
+        }
+
+        try {
+            var firstText = spec.substring(0, dash).trim();
+            var lastText = spec.substring(dash + 1).trim();
+
+            if (firstText.isEmpty()) {
+                // suffix range: final n bytes
+                long suffix = Long.parseLong(lastText);
+
+                if (suffix <= 0 || contentLength == 0) {
+                    return UNSATISFIABLE;
+                }
+
+                long first = Math.max(0, contentLength - suffix);
+                return new ByteRange(first, contentLength - first);
+            }
+
+            long first = Long.parseLong(firstText);
+            long last = lastText.isEmpty() ? Long.MAX_VALUE : Long.parseLong(lastText);
+
+            if (first < 0 || last < first) {
+                return null;
+            }
+
+            if (first >= contentLength) {
+                return UNSATISFIABLE;
+            }
+
+            last = Math.min(last, contentLength - 1);
+            return new ByteRange(first, last - first + 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @param contentLength length of whole content
+     * @return value of Content-Range header for this range
+     */
+    public String toContentRange(long contentLength) {
+        if (this == UNSATISFIABLE) {
+            return "bytes */" + contentLength;
+        }
+
+        return "bytes " + start + "-" + (start + length - 1) + "/" + contentLength;
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A web service response serialized ahead of being requested, along with the
+ * validators clients may use to avoid fetching it again. The ETag is strong,
+ * derived from the bytes of the body.
+ *
+ * Text content is also held gzip and deflate compressed, each variant
+ * carrying its own ETag. Content that is already compressed (archives,
+ * images, fonts) is only held as is.
+ *
+ * @author draquethompson
+ */
+public final class CachedResponse {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    // IMF-fixdate: RFC_1123_DATE_TIME drops the leading zero from the day
+    private static final DateTimeFormatter HTTP_DATE
+            = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH);
+
+    private final byte[] body;
+    private final String contentType;
+    private final String eTag;
+    private final Instant lastModified;
+    private final byte[] gzipBody;
+    private final byte[] deflateBody;
+
+    /**
+     * @param _body full body of response (not copied, must not be changed)
+     * @param _contentType content type of body
+     * @param _lastModified time content was last changed
+     */
+    public CachedResponse(byte[] _body, String _contentType, Instant _lastModified) {
+        body = _body;
+        contentType = _contentType;
+        eTag = buildETag(_body);
+        // HTTP dates carry only whole seconds
+        lastModified = _lastModified.truncatedTo(ChronoUnit.SECONDS);
+
+        if (isCompressible(_contentType)) {
+            gzipBody = compress(_body, true);
+            deflateBody = compress(_body, false);
+        } else {
+            gzipBody = null;
+            deflateBody = null;
+        }
+    }
+
+    public CachedResponse(String _body, String _contentType, Instant _lastModified) {
+        this(_body.getBytes(StandardCharsets.UTF_8), _contentType, _lastModified);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @param encoding content coding chosen by selectEncoding, null for none
+     * @return body in the given coding
+     */
+    public byte[] getBody(String encoding) {
+        if (GZIP.equals(encoding)) {
+            return gzipBody;
+        } else if (DEFLATE.equals(encoding)) {
+            return deflateBody;
+        }
+
+        return body;
+    }
+
+    /**
+     * @return true if compressed variants are held, so that the response
+     * sent depends on Accept-Encoding
+     */
+    public boolean hasEncodings() {
+        return gzipBody != null || deflateBody != null;
+    }
+
+    /**
+     * Chooses the content coding to send given the client's Accept-Encoding.
+     * The held coding with the highest quality wins, gzip on a tie.
+     *
+     * @param acceptEncoding value of Accept-Encoding header, or null
+     * @return GZIP, DEFLATE, or null to send the body as is
+     */
+    public String selectEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || !hasEncodings()) {
+            return null;
+        }
+
+        double gzipQuality = gzipBody == null ? 0 : getQuality(acceptEncoding, GZIP);
+        double deflateQuality = deflateBody == null ? 0 : getQuality(acceptEncoding, DEFLATE);
+
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return GZIP;
+        } else if (deflateQuality > 0) {
+            return DEFLATE;
+        }
+
+        return null;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return quoted strong entity tag
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @param encoding content coding chosen by selectEncoding, null for none
+     * @return quoted strong entity tag of body in the given coding
+     */
+    public String getETag(String encoding) {
+        if (encoding == null) {
+            return eTag;
+        }
+
+        return eTag.substring(0, eTag.length() - 1) + "-" + encoding + "\"";
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return last modified time formatted as an HTTP date
+     */
+    public String getLastModifiedHeader() {
+        return formatHttpDate(lastModified);
+    }
+
+    /**
+     * @param time time to format (fractions of a second are dropped)
+     * @return time formatted as an HTTP date
+     */
+    public static String formatHttpDate(Instant time) {
+        return HTTP_DATE.format(time.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * Tests whether a client's copy is still current. If-None-Match takes
+     * precedence; If-Modified-Since is only consulted without it.
+     *
+     * @param ifNoneMatch value of If-None-Match header, or null
+     * @param ifModifiedSince value of If-Modified-Since header, or null
+     * @return true if a 304 may be sent in place of the body
+     */
+    public boolean isNotModified(String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null && hasEncodings()) {
+            // a copy held in any coding is the same content
+            return matchesETag(getETag(GZIP), ifNoneMatch)
+                    || matchesETag(getETag(DEFLATE), ifNoneMatch)
+                    || matchesETag(eTag, ifNoneMatch);
+        }
+
+        return isNotModified(eTag, lastModified, ifNoneMatch, ifModifiedSince);
+    }
+
+    /**
+     * Tests whether a client's copy of content is still current, for content
+     * not held in a cached response
+     *
+     * @param eTag quoted strong entity tag of content
+     * @param lastModified time content was last changed
+     * @param ifNoneMatch value of If-None-Match header, or null
+     * @param ifModifiedSince value of If-Modified-Since header, or null
+     * @return true if a 304 may be sent in place of the body
+     */
+    public static boolean isNotModified(String eTag, Instant lastModified, String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            return matchesETag(eTag, ifNoneMatch);
+        }
+
+        if (ifModifiedSince != null) {
+            try {
+                var since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Compares against a list of entity tags as sent in If-None-Match. Weak
+     * tags are compared as though strong, as the header calls for.
+     */
+    private static boolean matchesETag(String eTag, String ifNoneMatch) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+
+            if (tag.equals("*")) {
+                return true;
+            }
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets quality the client gives a coding in Accept-Encoding. Codings not
+     * listed take the quality of "*", if present.
+     */
+    private static double getQuality(String acceptEncoding, String coding) {
+        double wildcard = 0;
+
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (name.equals(coding) || (coding.equals(GZIP) && name.equals("x-gzip"))) {
+                return quality;
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+
+        return wildcard;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.equals("application/json");
+    }
+
+    /**
+     * Compresses body once, up front, so best compression costs requests
+     * nothing
+     *
+     * @return compressed body, or null if compression does not shrink it
+     */
+    private static byte[] compress(byte[] body, boolean gzip) {
+        var compressed = new ByteArrayOutputStream(Math.max(32, body.length / 4));
+        // a deflater passed in is not ended when its stream closes
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+        try (OutputStream out = gzip
+                ? new BestGZIPOutputStream(compressed)
+                : new DeflaterOutputStream(compressed, deflater)) {
+            out.write(body);
+        } catch (IOException e) {
+            // writes to memory do not fail
+            return null;
+        } finally {
+            deflater.end();
+        }
+
+        return compressed.size() < body.length ? compressed.toByteArray() : null;
+    }
+
+    private static String buildETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * GZIPOutputStream offers no way to set its level other than through its
+     * deflater
+     */
+    private static final class BestGZIPOutputStream extends GZIPOutputStream {
+
+        private BestGZIPOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responses of the web service, serialized when the served files are loaded
+ * and keyed by endpoint, file and media id. A new cache is built on each
+ * refresh rather than entries being changed in place.
+ *
+ * @author draquethompson
+ */
+public final class ResponseCache {
+
+    public static final int NO_MEDIA_ID = -1;
+
+    private final ConcurrentHashMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    public void put(String endpoint, String fileName, CachedResponse response) {
+        put(endpoint, fileName, NO_MEDIA_ID, response);
+    }
+
+    public void put(String endpoint, String fileName, int mediaId, CachedResponse response) {
+        responses.put(getKey(endpoint, fileName, mediaId), response);
+    }
+
+    /**
+     * @return cached response, or null if none
+     */
+    public CachedResponse get(String endpoint, String fileName) {
+        return get(endpoint, fileName, NO_MEDIA_ID);
+    }
+
+    /**
+     * @return cached response, or null if none
+     */
+    public CachedResponse get(String endpoint, String fileName, int mediaId) {
+        return responses.get(getKey(endpoint, fileName, mediaId));
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    private static String getKey(String endpoint, String fileName, int mediaId) {
+        return endpoint + "\n" + fileName + "\n" + mediaId;
+    }
+}
@@ -19,44 +19,101 @@
  */
 package org.darisadesigns.polyglotlina.Webservice;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
+ * Token bucket limiter that is safe to share between request threads without
+ * locking.
+ *
+ * The whole of the bucket's state is packed into a single timestamp: the time
+ * at which the bucket would next be full. Each token taken pushes that time
+ * one refill interval later, and a token may be taken as long as it would not
+ * end up more than a full bucket's worth of intervals ahead of now. Because
+ * there is only the one value, it is moved forward with a compare and set,
+ * and no two requests can both spend the same token.
  *
  * @author draquethompson
  */
 public class TokenBucketRateLimiter {
 
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
     private final long capacity;
-    private final long refillRate;
-    private final AtomicLong tokens;
-    private final AtomicLong lastRefillTimestamp;
+    private final long refillInterval;
+    private final long burstWindow;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+    private final LongAdder rejected = new LongAdder();
 
+    /**
+     * @param capacity most tokens the bucket holds, and so the largest burst
+     * @param refillRate tokens restored per second; zero never restores any
+     */
     public TokenBucketRateLimiter(long capacity, long refillRate) {
-        this.capacity = capacity;
-        this.refillRate = refillRate;
-        this.tokens = new AtomicLong(capacity);
-        this.lastRefillTimestamp = new AtomicLong(LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli());
+        this(capacity, refillRate, System::nanoTime);
+    }
+
+    /**
+     * @param capacity most tokens the bucket holds, and so the largest burst
+     * @param refillRate tokens restored per second; zero never restores any
+     * @param clock source of nanosecond time, as System.nanoTime
+     */
+    TokenBucketRateLimiter(long capacity, long refillRate, LongSupplier clock) {
+        this.capacity = Math.max(0, capacity);
+        // without refill, space intervals as far apart as time arithmetic allows
+        this.refillInterval = refillRate > 0
+                ? NANOS_PER_SECOND / refillRate
+                : Long.MAX_VALUE / 4 / (this.capacity + 1);
+        this.burstWindow = this.capacity * refillInterval;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
     }
 
-    public synchronized boolean tryConsume() {
-        refill();
-        if (tokens.get() > 0) {
-            tokens.decrementAndGet();
-            return true;
+    public boolean tryConsume() {
+        if (capacity > 0) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+
+            while (true) {
+                // nano times may wrap, so they are only ever compared by difference
+                long next = (current - now < 0 ? now : current) + refillInterval;
+
+                if (next - now > burstWindow) {
+                    break;
+                }
+
+                long witness = fullAt.compareAndExchange(current, next);
+
+                if (witness == current) {
+                    return true;
+                }
+
+                current = witness;
+            }
         }
+
+        rejected.increment();
         return false;
     }
 
-    private void refill() {
-        long now = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
-        long timeSinceLastRefill = now - lastRefillTimestamp.get();
-        long tokensToRefill = timeSinceLastRefill * refillRate / 1000;
-        if (tokensToRefill > 0) {
-            tokens.updateAndGet(currentTokens -> Math.min(currentTokens + tokensToRefill, capacity));
-            lastRefillTimestamp.set(now);
-        }
+    /**
+     * Tests whether the bucket has sat full for a time, in which case
+     * discarding it loses nothing, as a new bucket starts out full
+     *
+     * @param idleNanos time bucket must have been full for
+     * @return true if bucket has been full at least that long
+     */
+    public boolean isIdleFor(long idleNanos) {
+        return clock.getAsLong() - fullAt.get() >= idleNanos;
+    }
+
+    /**
+     * @return number of requests refused by this limiter
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
     }
 }
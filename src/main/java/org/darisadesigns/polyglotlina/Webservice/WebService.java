@@ -30,16 +30,24 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.darisadesigns.polyglotlina.Desktop.DesktopHelpHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopOSHandler;
@@ -47,6 +55,7 @@ import org.darisadesigns.polyglotlina.Desktop.DesktopPFontHandler;
 import org.darisadesigns.polyglotlina.Desktop.DesktopPropertiesManager;
 import org.darisadesigns.polyglotlina.Desktop.DummyInfoBox;
 import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopGrammarManager;
+import org.darisadesigns.polyglotlina.Desktop.ManagersCollections.DesktopOptionsManager.WebServiceExecutor;
 import org.darisadesigns.polyglotlina.Desktop.PGTUtil;
 import org.darisadesigns.polyglotlina.Desktop.PolyGlot;
 import org.darisadesigns.polyglotlina.Desktop.SoundRecorder;
@@ -59,6 +68,18 @@ import org.darisadesigns.polyglotlina.WebInterface;
  */
 public class WebService {
     public final static String CONTENT_TYPE = "Content-Type";
+    public final static String ETAG = "ETag";
+    public final static String LAST_MODIFIED = "Last-Modified";
+    public final static String CACHE_CONTROL = "Cache-Control";
+    public final static String IF_NONE_MATCH = "If-None-Match";
+    public final static String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public final static String ACCEPT_RANGES = "Accept-Ranges";
+    public final static String RANGE = "Range";
+    public final static String IF_RANGE = "If-Range";
+    public final static String CONTENT_RANGE = "Content-Range";
+    public final static String ACCEPT_ENCODING = "Accept-Encoding";
+    public final static String CONTENT_ENCODING = "Content-Encoding";
+    public final static String VARY = "Vary";
     public final static String GET_METADATA = "/metadata";
     public final static String GET_XML = "/raw_xml";
     public final static String GET_FULL_FILE = "/file";
@@ -68,16 +89,29 @@ public class WebService {
     public final static String GET_SOUND = "/sound";
     public final static String REFRESH = "/refresh";
     public final static String AVALABLE_FILES = "/files";
+    private final static int SHUTDOWN_WAIT_SECONDS = 2;
+    private final static long RATE_LIMIT_EVICTION_MINUTES = 1;
+    // long enough that a client's next request would have found a full bucket anyway
+    private final static long RATE_LIMIT_IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
 
     private final ConcurrentHashMap<String, TokenBucketRateLimiter> rateLimiterPerAddress;
+    // kept apart from the limiters, as idle ones are discarded
+    private final LongAdder addressRejections = new LongAdder();
     private final TokenBucketRateLimiter masterRateLimiter;
     private final TokenBucketRateLimiter refreshRateLimiter;
     private final PolyGlot polyGlot;
     private final File logFile;
     private HttpServer server;
-    private Map<String, DictCore> pgdFiles;
-    private boolean running = false;
+    private ExecutorService requestExecutor;
+    private ScheduledExecutorService rateLimitEvictor;
+    private volatile Map<String, DictCore> pgdFiles;
+    private volatile ResponseCache responses;
+    private volatile boolean running = false;
     private String log = "";
+    // kept apart from this object's monitor so that logging never waits on a refresh or shutdown
+    private final Object logLock = new Object();
+    // serializes refreshes of served files
+    private final Object refreshLock = new Object();
     
     private byte[] charisUnicodeBytes;
 
@@ -98,7 +132,7 @@ public class WebService {
         doSetup();
     }
 
-    public void doServe() throws IOException {
+    public synchronized void doServe() throws IOException {
         if (running) {
             return;
         }
@@ -112,8 +146,16 @@ public class WebService {
         });
         
         int port = polyGlot.getOptionsManager().getWebServicePort();
+        int backlog = polyGlot.getOptionsManager().getWebServiceRequestBacklog();
         
-        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), backlog);
+        requestExecutor = createRequestExecutor();
+        server.setExecutor(requestExecutor);
+
+        rateLimitEvictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("PolyGlot rate limit eviction").daemon(true).factory());
+        rateLimitEvictor.scheduleWithFixedDelay(this::evictIdleRateLimiters,
+                RATE_LIMIT_EVICTION_MINUTES, RATE_LIMIT_EVICTION_MINUTES, TimeUnit.MINUTES);
 
         server.createContext("/", (HttpExchange exchange) -> {
             if (rateLimitAllowed(exchange)) {
@@ -138,7 +180,33 @@ public class WebService {
 
         server.start();
         running = true;
-        log("Server started on port " + port);
+        log("Server started on port " + port + " with "
+                + polyGlot.getOptionsManager().getWebServiceExecutor().name().toLowerCase() + " request threads");
+    }
+    
+    /**
+     * Creates executor that requests are run on, so that one slow client does
+     * not hold up the others. Pooled executors queue up to the request
+     * backlog; past that, the thread accepting connections runs the request
+     * itself, which holds further connections in the accept backlog until the
+     * pool catches up.
+     *
+     * @return executor for requests
+     */
+    private ExecutorService createRequestExecutor() {
+        var optMan = polyGlot.getOptionsManager();
+
+        if (optMan.getWebServiceExecutor() == WebServiceExecutor.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("PolyGlot web request ", 0).factory());
+        }
+
+        int threadCount = optMan.getWebServiceThreadCount();
+
+        return new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(optMan.getWebServiceRequestBacklog()),
+                Thread.ofPlatform().name("PolyGlot web request ", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
     }
     
     private static Map<String, String> parseQueryParams(URI requestUri) {
@@ -160,42 +228,92 @@ public class WebService {
         String clientIp = exchange.getRemoteAddress().getAddress().getHostAddress();
 
         // Create a rate limiter for the client IP if it doesn't exist
-        rateLimiterPerAddress.putIfAbsent(clientIp, new TokenBucketRateLimiter(
-                polyGlot.getOptionsManager().getWebServiceIndividualTokenCapacity(),
-                polyGlot.getOptionsManager().getWebServiceIndividualTokenRefil())
+        TokenBucketRateLimiter addressRateLimiter = rateLimiterPerAddress.computeIfAbsent(clientIp,
+                ip -> new TokenBucketRateLimiter(
+                        polyGlot.getOptionsManager().getWebServiceIndividualTokenCapacity(),
+                        polyGlot.getOptionsManager().getWebServiceIndividualTokenRefil())
         );
-        TokenBucketRateLimiter addressRateLimiter = rateLimiterPerAddress.get(clientIp);
         
-        return addressRateLimiter.tryConsume() && masterRateLimiter.tryConsume();
+        if (!addressRateLimiter.tryConsume()) {
+            addressRejections.increment();
+            return false;
+        }
+        
+        return masterRateLimiter.tryConsume();
+    }
+    
+    /**
+     * Drops limiters of clients that have been quiet long enough for their
+     * buckets to have filled back up. A request racing with this may spend a
+     * token from a bucket as it is dropped, in which case the client's next
+     * request simply starts a new, full bucket.
+     */
+    private void evictIdleRateLimiters() {
+        int evicted = 0;
+        var limiters = rateLimiterPerAddress.values().iterator();
+        
+        while (limiters.hasNext()) {
+            if (limiters.next().isIdleFor(RATE_LIMIT_IDLE_NANOS)) {
+                limiters.remove();
+                evicted++;
+            }
+        }
+        
+        if (evicted > 0) {
+            log("Evicted " + evicted + " idle rate limiter(s), " + getActiveRateLimiterCount() + " active, "
+                    + getRateLimitRejectionCount() + " request(s) rejected so far");
+        }
+    }
+    
+    /**
+     * @return number of client addresses currently holding a rate limiter
+     */
+    public int getActiveRateLimiterCount() {
+        return rateLimiterPerAddress.size();
+    }
+    
+    /**
+     * @return number of requests refused by any rate limiter since startup
+     */
+    public long getRateLimitRejectionCount() {
+        return addressRejections.sum()
+                + masterRateLimiter.getRejectedCount()
+                + refreshRateLimiter.getRejectedCount();
     }
 
     private void doSetup() throws Exception {
-        populateServedFiles();
+        // needed before responses are cached
         charisUnicodeBytes = getCharisUnicodeBytes();
+        populateServedFiles();
     }
     
     private void log(String _log) {
         var timeStamp = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format(LocalDateTime.now());
         var newLogLine = "\n" + timeStamp + " : " + _log;
-        log += newLogLine;
         
-        try {
-            if (!logFile.exists()) {
-                logFile.createNewFile();
-            }
+        synchronized (logLock) {
+            log += newLogLine;
 
-            if (logFile.exists()) {
-                try ( BufferedWriter writer = new BufferedWriter(new FileWriter(logFile, true))) {
-                    writer.write(log);
+            try {
+                if (!logFile.exists()) {
+                    logFile.createNewFile();
                 }
+
+                if (logFile.exists()) {
+                    try ( BufferedWriter writer = new BufferedWriter(new FileWriter(logFile, true))) {
+                        writer.write(log);
+                    }
+                }
+            } catch(IOException e) {
+                DesktopIOHandler.getInstance().writeErrorLog(e);
             }
-        } catch(IOException e) {
-            DesktopIOHandler.getInstance().writeErrorLog(e);
         }
     }
     
     public String getLog() {
-        return log;
+        synchronized (logLock) {
+            return log;
+        }
     }
 
     private void handleRequest(HttpExchange exchange) throws Exception {
@@ -288,8 +406,6 @@ public class WebService {
     
     private void getAvailableFiles(HttpExchange exchange) throws PWebServerException, IOException {
         var params = parseQueryParams(exchange.getRequestURI());
-        var objectMapper = new ObjectMapper();
-        var files = objectMapper.createObjectNode();
         
         if (!params.isEmpty()) {
             throw new PWebServerException("Bad Request");
@@ -298,17 +414,7 @@ public class WebService {
         log("File list requested from: " 
                 + exchange.getRemoteAddress().getAddress().getHostAddress());
         
-        for (var file : pgdFiles.keySet()) {
-            files.put(file, pgdFiles.get(file).getPropertiesManager().getLangName());
-        }
-        
-        var response = files.toString().getBytes(StandardCharsets.UTF_8);
-
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType("json"));
-        exchange.sendResponseHeaders(200, response.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(response);
-        }
+        sendCached(exchange, responses.get(AVALABLE_FILES, ""));
     }
 
     private void getMetadata(HttpExchange exchange) throws PWebServerException, IOException {
@@ -322,34 +428,7 @@ public class WebService {
         log("Metadata for: " + fileName + " requested from: " 
                 + exchange.getRemoteAddress().getAddress().getHostAddress());
 
-        var core = pgdFiles.get(fileName);
-        var propMan = (DesktopPropertiesManager) core.getPropertiesManager();
-
-        var imageIds = new ArrayList<String>();
-        for (var image : core.getImageCollection().getAllImages()) {
-            imageIds.add(image.getId().toString());
-        }
-
-        var soundIds = new ArrayList<String>();
-        for (var sound : core.getGrammarManager().getSoundMap().keySet()) {
-            soundIds.add(sound.toString());
-        }
-
-        var objectMapper = new ObjectMapper();
-        var jsonObject = objectMapper.createObjectNode();
-        jsonObject.put("Language", propMan.getLangName());
-        jsonObject.put("Copyright", WebInterface.getTextFromHtml(propMan.getCopyrightAuthorInfo()));
-        jsonObject.put("Conlang Font", propMan.getFontCon().getFamily());
-        jsonObject.put("Local Font", propMan.getFontLocal().getFamily());
-        jsonObject.put("Image IDs", String.join(", ", imageIds));
-        jsonObject.put("Sound IDs", String.join(", ", soundIds));
-        
-        var response = jsonObject.toString().getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType("json"));
-        exchange.sendResponseHeaders(200, response.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(response);
-        }
+        sendCached(exchange, responses.get(GET_METADATA, fileName));
     }
 
     private void getFont(HttpExchange exchange, boolean conFont) throws PWebServerException, IOException {
@@ -363,21 +442,7 @@ public class WebService {
         log((conFont ? "Con" : "Local") + " font requested for: " + fileName + " from: "
                 + exchange.getRemoteAddress().getAddress().getHostAddress());
         
-        DictCore core = pgdFiles.get(fileName);
-        
-        var propMan = ((DesktopPropertiesManager)core.getPropertiesManager());
-        
-        var font = conFont ? propMan.getCachedFont() : propMan.getCachedLocalFont();
-        
-        if (font == null) {
-            font = charisUnicodeBytes;
-        }
-        
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType(fileName));
-        exchange.sendResponseHeaders(200, font.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(font);
-        }
+        sendCached(exchange, responses.get(conFont ? GET_CONLANG_FONT : GET_LOCAL_FONT, fileName));
     }
     
     private void getFullFile(HttpExchange exchange) throws PWebServerException, IOException {
@@ -392,21 +457,13 @@ public class WebService {
                 + exchange.getRemoteAddress().getAddress().getHostAddress());
 
         try {
-            var file = getLanguageFile(fileName);
-            
-            byte[] fileContent = Files.readAllBytes(file.toPath());
-            
-            exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType(fileName));
-            exchange.sendResponseHeaders(200, fileContent.length);
-            try (OutputStream os = exchange.getResponseBody()) {
-                os.write(fileContent);
-            }
+            sendFile(exchange, getLanguageFile(fileName), getContentType(fileName));
         } catch (PWebServerException e) {
             process404(exchange);
         }        
     }
 
-    private void getRawXml(HttpExchange exchange) throws PWebServerException {
+    private void getRawXml(HttpExchange exchange) throws PWebServerException, IOException {
         var params = parseQueryParams(exchange.getRequestURI());
         var fileName = params.getOrDefault("file", "");
 
@@ -417,18 +474,15 @@ public class WebService {
         log("XML requested for: " + fileName + " from: " 
                 + exchange.getRemoteAddress().getAddress().getHostAddress());
 
-        try {
-            var xmlBytes = pgdFiles.get(fileName).getRawXml().getBytes(StandardCharsets.UTF_8);
+        var xml = responses.get(GET_XML, fileName);
 
-            exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType(".txt"));
-            exchange.sendResponseHeaders(200, xmlBytes.length);
-            try (OutputStream os = exchange.getResponseBody()) {
-                os.write(xmlBytes);
-            }
-        }
-        catch (ParserConfigurationException | IOException | TransformerException e) {
-            error(exchange, "Internal server error: " + e.getLocalizedMessage());
+        if (xml == null) {
+            // failure to write the XML is logged when the cache is built
+            error(exchange, "Internal server error: unable to write language XML");
+            return;
         }
+
+        sendCached(exchange, xml);
     }
 
     private void reject(HttpExchange exchange, String reason) throws IOException {
@@ -488,16 +542,7 @@ public class WebService {
             throw new PWebServerException("Bad Request");
         }
         
-        var core = pgdFiles.get(fileName);
-        
-        var imageNode = core.getImageCollection().getNodeById(imageId);
-        var imageBytes = imageNode.getImageBytes();
-
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType("jpg"));
-        exchange.sendResponseHeaders(200, imageBytes.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(imageBytes);
-        }
+        sendCached(exchange, responses.get(GET_IMAGE, fileName, imageId));
     }
     
     private void getSound(HttpExchange exchange) throws PWebServerException, IOException {
@@ -520,35 +565,172 @@ public class WebService {
             throw new PWebServerException("Bad Request");
         }
         
-        var core = pgdFiles.get(fileName);
-        
-        byte[] sound;
-        
-        try {
-            byte[] rawSound = core.getGrammarManager().getRecording(mediaId);
-            sound = SoundRecorder.pcmAudioToWav(rawSound);
-        } catch (Exception e) {
+        sendCached(exchange, responses.get(GET_SOUND, fileName, mediaId));
+    }
+    
+    private void index(HttpExchange exchange) throws IOException {
+        sendCached(exchange, responses.get("/", ""));
+    }
+
+    /**
+     * Sends a cached response, or only its headers if the client's copy is
+     * still current. Missing responses are sent as 404s.
+     *
+     * @param exchange
+     * @param response response to send, null if none exists
+     * @throws IOException
+     */
+    private void sendCached(HttpExchange exchange, CachedResponse response) throws IOException {
+        if (response == null) {
             process404(exchange);
             return;
         }
-        
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType(".wav"));
-        exchange.sendResponseHeaders(200, sound.length);
+
+        var requestHeaders = exchange.getRequestHeaders();
+        // ranges are only served from the uncompressed body
+        var encoding = requestHeaders.getFirst(RANGE) == null
+                ? response.selectEncoding(requestHeaders.getFirst(ACCEPT_ENCODING))
+                : null;
+
+        var headers = exchange.getResponseHeaders();
+        headers.set(CONTENT_TYPE, response.getContentType());
+        headers.set(ETAG, response.getETag(encoding));
+        headers.set(LAST_MODIFIED, response.getLastModifiedHeader());
+        // content may change on refresh, so clients must always revalidate
+        headers.set(CACHE_CONTROL, "no-cache");
+        headers.set(ACCEPT_RANGES, "bytes");
+
+        if (response.hasEncodings()) {
+            headers.set(VARY, ACCEPT_ENCODING);
+        }
+
+        if (encoding != null) {
+            headers.set(CONTENT_ENCODING, encoding);
+        }
+
+        if (response.isNotModified(requestHeaders.getFirst(IF_NONE_MATCH),
+                requestHeaders.getFirst(IF_MODIFIED_SINCE))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        var body = response.getBody(encoding);
+        var range = encoding != null ? null
+                : getRequestedRange(exchange, response.getETag(), response.getLastModifiedHeader(), body.length);
+
+        if (range == ByteRange.UNSATISFIABLE) {
+            rangeNotSatisfiable(exchange, body.length);
+            return;
+        }
+
+        int start = range == null ? 0 : (int) range.getStart();
+        int length = range == null ? body.length : (int) range.getLength();
+
+        exchange.sendResponseHeaders(range == null ? 200 : 206, length == 0 ? -1 : length);
         try (OutputStream os = exchange.getResponseBody()) {
-            os.write(sound);
+            os.write(body, start, length);
         }
     }
-    
-    private void index(HttpExchange exchange) throws IOException {
-        var page = new Index(pgdFiles).buildPage().getBytes(StandardCharsets.UTF_8);
-        
-        exchange.getResponseHeaders().set(CONTENT_TYPE, getContentType("html"));
-        exchange.sendResponseHeaders(200, page.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(page);
+
+    /**
+     * Streams a file straight from disk, so that it is never held in memory
+     * whole. Supports conditional and range requests in the same way as
+     * cached responses, with the ETag taken from the file's size and
+     * modification time.
+     *
+     * @param exchange
+     * @param file file to send
+     * @param contentType content type of file
+     * @throws IOException
+     */
+    private void sendFile(HttpExchange exchange, File file, String contentType) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            var modified = Instant.ofEpochMilli(file.lastModified());
+            var eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(file.lastModified()) + "\"";
+            var lastModified = CachedResponse.formatHttpDate(modified);
+
+            var headers = exchange.getResponseHeaders();
+            headers.set(CONTENT_TYPE, contentType);
+            headers.set(ETAG, eTag);
+            headers.set(LAST_MODIFIED, lastModified);
+            headers.set(CACHE_CONTROL, "no-cache");
+            headers.set(ACCEPT_RANGES, "bytes");
+
+            var requestHeaders = exchange.getRequestHeaders();
+
+            if (CachedResponse.isNotModified(eTag, modified, requestHeaders.getFirst(IF_NONE_MATCH),
+                    requestHeaders.getFirst(IF_MODIFIED_SINCE))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            var range = getRequestedRange(exchange, eTag, lastModified, length);
+
+            if (range == ByteRange.UNSATISFIABLE) {
+                rangeNotSatisfiable(exchange, length);
+                return;
+            }
+
+            long start = range == null ? 0 : range.getStart();
+            long count = range == null ? length : range.getLength();
+
+            exchange.sendResponseHeaders(range == null ? 200 : 206, count == 0 ? -1 : count);
+            try (OutputStream os = exchange.getResponseBody()) {
+                var out = Channels.newChannel(os);
+                long sent = 0;
+
+                while (sent < count) {
+                    long transferred = channel.transferTo(start + sent, count - sent, out);
+
+                    if (transferred <= 0) {
+                        // file was truncated while being sent
+                        throw new IOException("File changed while being sent: " + file.getName());
+                    }
+
+                    sent += transferred;
+                }
+            }
         }
     }
 
+    /**
+     * Gets range requested by client, setting Content-Range if one is to be
+     * sent. A range is ignored if If-Range names a version other than the
+     * current one.
+     *
+     * @param exchange
+     * @param eTag entity tag of current content
+     * @param lastModified last modified header of current content
+     * @param length length of whole content
+     * @return requested range, ByteRange.UNSATISFIABLE, or null to send the
+     * whole content
+     */
+    private ByteRange getRequestedRange(HttpExchange exchange, String eTag, String lastModified, long length) {
+        var requestHeaders = exchange.getRequestHeaders();
+        var ifRange = requestHeaders.getFirst(IF_RANGE);
+
+        if (ifRange != null && !ifRange.trim().equals(eTag) && !ifRange.trim().equals(lastModified)) {
+            return null;
+        }
+
+        var range = ByteRange.parse(requestHeaders.getFirst(RANGE), length);
+
+        if (range != null && range != ByteRange.UNSATISFIABLE) {
+            exchange.getResponseHeaders().set(CONTENT_RANGE, range.toContentRange(length));
+        }
+
+        return range;
+    }
+
+    private void rangeNotSatisfiable(HttpExchange exchange, long length) throws IOException {
+        exchange.getResponseHeaders().set(CONTENT_RANGE, ByteRange.UNSATISFIABLE.toContentRange(length));
+        exchange.sendResponseHeaders(416, -1);
+        exchange.close();
+    }
+
     private void process404(HttpExchange exchange) throws IOException {
         var bodyContents = "<h1>Requested content at location: " + exchange.getRequestURI().getPath() + " not found.</h1>";
         var page = buildDocument("404 - not found", bodyContents).getBytes(StandardCharsets.UTF_8);
@@ -567,15 +749,41 @@ public class WebService {
         return "<!DOCTYPE html><html><head><title>" + title + "</title></head><body>" + contents + "</body></html>";
     }
     
-    public void shutDown() {
+    /**
+     * Stops accepting requests, giving those in progress a short time to
+     * complete before their threads are interrupted
+     */
+    public synchronized void shutDown() {
         if (running) {
             log("Shutting down webservice");
             if (server != null) {
-                server.stop(0);
+                server.stop(SHUTDOWN_WAIT_SECONDS);
+            }
+
+            if (rateLimitEvictor != null) {
+                rateLimitEvictor.shutdownNow();
             }
 
+            if (requestExecutor != null) {
+                requestExecutor.shutdown();
+
+                try {
+                    if (!requestExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                        requestExecutor.shutdownNow();
+                    }
+                } catch (InterruptedException e) {
+                    requestExecutor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            log("Rate limiting rejected " + getRateLimitRejectionCount() + " request(s), "
+                    + getActiveRateLimiterCount() + " client limiter(s) active");
+
             running = false;
             server = null;
+            requestExecutor = null;
+            rateLimitEvictor = null;
         }
     }
     
@@ -583,35 +791,137 @@ public class WebService {
         return running;
     }
 
+    /**
+     * Reloads all served files and rebuilds their responses. Requests keep being
+     * served from the prior files until the new ones are swapped in.
+     *
+     * @throws Exception if served files cannot be loaded
+     */
     private void populateServedFiles() throws Exception {
-        File servedDirectory = polyGlot.getOptionsManager().getWebServiceTargetFolder().toFile();
-        pgdFiles = new HashMap<>();
-
-        if (!servedDirectory.exists()) {
-            if (!servedDirectory.mkdir()) {
-                throw new IOException("Unable to create directory to serve files.");
-            }
+        synchronized (refreshLock) {
+            File servedDirectory = polyGlot.getOptionsManager().getWebServiceTargetFolder().toFile();
+            // built apart and swapped in whole, as requests may be read from it meanwhile
+            Map<String, DictCore> servedFiles = new HashMap<>();
+            var servedResponses = new ResponseCache();
+
+            if (!servedDirectory.exists()) {
+                if (!servedDirectory.mkdir()) {
+                    throw new IOException("Unable to create directory to serve files.");
+                }
             
-            log("Creating webservice directory: " + servedDirectory.getAbsolutePath());
-        }
-        
-        if (servedDirectory.isDirectory()) {
-            for (File file : servedDirectory.listFiles()) {
-                if (file.getName().endsWith(".pgd")) {
-                    var helpHandler = new DesktopHelpHandler();
-                    var fontHandler = new DesktopPFontHandler();
-                    var osHandler = new DesktopOSHandler(DesktopIOHandler.getInstance(), new DummyInfoBox(), helpHandler, fontHandler);
-                    var core = new DictCore(new DesktopPropertiesManager(), osHandler, new PGTUtil(), new DesktopGrammarManager());
-                    PolyGlot.getTestShell(core);
-                    core.readFile(file.getCanonicalPath());
-                    pgdFiles.put(file.getName(), core);
+                log("Creating webservice directory: " + servedDirectory.getAbsolutePath());
+            }
+        
+            if (servedDirectory.isDirectory()) {
+                for (File file : servedDirectory.listFiles()) {
+                    if (file.getName().endsWith(".pgd")) {
+                        var helpHandler = new DesktopHelpHandler();
+                        var fontHandler = new DesktopPFontHandler();
+                        var osHandler = new DesktopOSHandler(DesktopIOHandler.getInstance(), new DummyInfoBox(), helpHandler, fontHandler);
+                        var core = new DictCore(new DesktopPropertiesManager(), osHandler, new PGTUtil(), new DesktopGrammarManager());
+                        PolyGlot.getTestShell(core);
+                        core.readFile(file.getCanonicalPath());
+                        servedFiles.put(file.getName(), core);
+                        cacheResponses(servedResponses, file, core);
+                    }
                 }
+
+                var now = Instant.now();
+                servedResponses.put("/", "", new CachedResponse(new Index(servedFiles).buildPage(), getContentType("html"), now));
+                servedResponses.put(AVALABLE_FILES, "", new CachedResponse(buildAvailableFiles(servedFiles), getContentType("json"), now));
+
+                responses = servedResponses;
+                pgdFiles = servedFiles;
+            } else {
+                throw new PWebServerException(servedDirectory.getAbsolutePath() + " must be a directory.");
+            }
+        }
+    }
+
+    /**
+     * Serializes every response for a single served file ahead of it being
+     * requested
+     *
+     * @param cache cache to fill
+     * @param file served file
+     * @param core language loaded from file
+     */
+    private void cacheResponses(ResponseCache cache, File file, DictCore core) {
+        var fileName = file.getName();
+        var modified = Instant.ofEpochMilli(file.lastModified());
+        var propMan = (DesktopPropertiesManager) core.getPropertiesManager();
+
+        cache.put(GET_METADATA, fileName, new CachedResponse(buildMetadata(core), getContentType("json"), modified));
+
+        try {
+            var xml = new ByteArrayOutputStream();
+            core.writeXml(xml, modified);
+            cache.put(GET_XML, fileName, new CachedResponse(xml.toByteArray(), getContentType(".txt"), modified));
+        } catch (IOException e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, "Unable to write XML for: " + fileName);
+        }
+
+        var conFont = propMan.getCachedFont();
+        var localFont = propMan.getCachedLocalFont();
+        cache.put(GET_CONLANG_FONT, fileName, new CachedResponse(
+                conFont == null ? charisUnicodeBytes : conFont, getContentType(fileName), modified));
+        cache.put(GET_LOCAL_FONT, fileName, new CachedResponse(
+                localFont == null ? charisUnicodeBytes : localFont, getContentType(fileName), modified));
+
+        for (var image : core.getImageCollection().getAllImages()) {
+            var imageBytes = image.getImageBytes();
+
+            if (imageBytes != null) {
+                cache.put(GET_IMAGE, fileName, image.getId(), new CachedResponse(imageBytes, getContentType("jpg"), modified));
+            }
+        }
+
+        for (var soundId : core.getGrammarManager().getRecordingIds()) {
+            try {
+                byte[] sound = SoundRecorder.pcmAudioToWav(core.getGrammarManager().getRecording(soundId));
+                cache.put(GET_SOUND, fileName, soundId, new CachedResponse(sound, getContentType(".wav"), modified));
+            } catch (Exception e) {
+                // requests for unreadable sounds are answered as missing
+                DesktopIOHandler.getInstance().writeErrorLog(e, "Unable to read sound: " + soundId + " in: " + fileName);
             }
-        } else {
-            throw new PWebServerException(servedDirectory.getAbsolutePath() + " must be a directory.");
         }
     }
 
+    private static String buildAvailableFiles(Map<String, DictCore> servedFiles) {
+        var files = new ObjectMapper().createObjectNode();
+
+        for (var file : servedFiles.keySet()) {
+            files.put(file, servedFiles.get(file).getPropertiesManager().getLangName());
+        }
+
+        return files.toString();
+    }
+
+    private static String buildMetadata(DictCore core) {
+        var propMan = (DesktopPropertiesManager) core.getPropertiesManager();
+
+        var imageIds = new ArrayList<String>();
+        for (var image : core.getImageCollection().getAllImages()) {
+            imageIds.add(image.getId().toString());
+        }
+
+        var soundIds = new ArrayList<String>();
+        for (var sound : core.getGrammarManager().getRecordingIds()) {
+            soundIds.add(sound.toString());
+        }
+
+        var objectMapper = new ObjectMapper();
+        var jsonObject = objectMapper.createObjectNode();
+        jsonObject.put("Language", propMan.getLangName());
+        jsonObject.put("Copyright", WebInterface.getTextFromHtml(propMan.getCopyrightAuthorInfo()));
+        jsonObject.put("Conlang Font", propMan.getFontCon().getFamily());
+        jsonObject.put("Local Font", propMan.getFontLocal().getFamily());
+        jsonObject.put("Image IDs", String.join(", ", imageIds));
+        jsonObject.put("Sound IDs", String.join(", ", soundIds));
+
+        return jsonObject.toString();
+    }
+
     private static String getContentType(String path) {
         if (path.endsWith("html") || path.endsWith("htm") || path.endsWith("/")) {
             return "text/html";
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Helpers for writing language XML with a streaming writer.
+ *
+ * @author draque
+ */
+public final class XMLStreamTools {
+    
+    private XMLStreamTools() {}
+    
+    /**
+     * Creates UTF-8 writer over given stream. Closing the writer does not
+     * close the stream.
+     * 
+     * Carriage returns are written as character references (as the DOM
+     * transformer did) so that they survive line end normalization when read
+     * back. Language XML carries no comments, CDATA or processing
+     * instructions, so any carriage return written is part of a value.
+     * @param out stream to write to
+     * @return new writer
+     * @throws XMLStreamException 
+     */
+    public static XMLStreamWriter newWriter(OutputStream out) throws XMLStreamException {
+        Writer target = new CarriageReturnEscaper(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        return XMLOutputFactory.newFactory().createXMLStreamWriter(target);
+    }
+    
+    /**
+     * Writes element containing only the given text
+     * @param writer writer to write to
+     * @param name name of element
+     * @param text text value of element. Null is written as empty.
+     * @throws XMLStreamException 
+     */
+    public static void writeTextElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writeText(writer, text);
+        writer.writeEndElement();
+    }
+    
+    /**
+     * Writes escaped text
+     * @param writer writer to write to
+     * @param text text to write. Null is written as empty.
+     * @throws XMLStreamException 
+     */
+    public static void writeText(XMLStreamWriter writer, String text) throws XMLStreamException {
+        if (text != null && !text.isEmpty()) {
+            writer.writeCharacters(text);
+        }
+    }
+    
+    /**
+     * Replaces carriage returns passing through with character references
+     */
+    private static final class CarriageReturnEscaper extends FilterWriter {
+        private static final String CARRIAGE_RETURN_REF = "&#13;";
+        
+        CarriageReturnEscaper(Writer target) {
+            super(target);
+        }
+        
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '\r') {
+                out.write(CARRIAGE_RETURN_REF);
+            } else {
+                out.write(c);
+            }
+        }
+        
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int start = off;
+            int end = off + len;
+            
+            for (int i = off; i < end; i++) {
+                if (cbuf[i] == '\r') {
+                    out.write(cbuf, start, i - start);
+                    out.write(CARRIAGE_RETURN_REF);
+                    start = i + 1;
+                }
+            }
+            
+            out.write(cbuf, start, end - start);
+        }
+        
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            write(str.toCharArray(), off, len);
+        }
+    }
+}
@@ -19,13 +19,20 @@
  */
 package TestResources;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import org.darisadesigns.polyglotlina.PGTUtil;
+import org.darisadesigns.polyglotlina.XMLStreamTools;
 import org.w3c.dom.Document;
 
 /**
@@ -63,4 +70,32 @@ public class TestResources {
         
         return ret;
     }
+    
+    /**
+     * Tests whether XML streamed within a dictionary root element matches a
+     * given value once read back as an xml Document
+     * @param write writes the XML to test
+     * @param expectedXml
+     * @return
+     * @throws Exception 
+     */
+    public static boolean textXmlStreamEquals(XmlWrite write, String expectedXml) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter writer = XMLStreamTools.newWriter(out);
+        
+        writer.writeStartElement(PGTUtil.DICTIONARY_XID);
+        write.write(writer);
+        writer.writeEndElement();
+        writer.close();
+        
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray()));
+        
+        return textXmlDocEquals(doc, expectedXml);
+    }
+    
+    @FunctionalInterface
+    public interface XmlWrite {
+        void write(XMLStreamWriter writer) throws XMLStreamException;
+    }
 }
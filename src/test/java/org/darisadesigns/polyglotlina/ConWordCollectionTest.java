@@ -25,6 +25,7 @@ import java.io.IOException;
 import javax.xml.parsers.ParserConfigurationException;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConWordCollection;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
+import org.darisadesigns.polyglotlina.Nodes.ConjugationGenRule;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
@@ -427,4 +428,67 @@ public class ConWordCollectionTest {
             fail(e);
         }
     }
+    
+    @Test
+    public void testFilterReflectsInPlaceEdits() {
+        System.out.println("ConWordCollectionTest.testFilterReflectsInPlaceEdits");
+        
+        DictCore dictCore = DummyCore.newCore();
+        ConWordCollection words = dictCore.getWordCollection();
+        
+        try {
+            words.addWord(new ConWord("alpha", "first"));
+            words.addWord(new ConWord("beta", "second"));
+            
+            ConWord filter = new ConWord();
+            filter.setValue("lph");
+            assertEquals(1, words.filteredList(filter).length);
+            
+            // edit word directly, bypassing modifyNode
+            ConWord beta = words.filteredList(new ConWord())[1];
+            beta.setValue("gamma-lphx");
+            
+            filter = new ConWord();
+            filter.setValue("lph");
+            assertEquals(2, words.filteredList(filter).length);
+            
+            // regex fallback on local word
+            filter = new ConWord();
+            filter.setLocalWord("s.c.nd");
+            var found = words.filteredList(filter);
+            assertEquals(1, found.length);
+            assertEquals("gamma-lphx", found[0].getValue());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testFilterMatchesGeneratedForms() {
+        System.out.println("ConWordCollectionTest.testFilterMatchesGeneratedForms");
+        
+        DictCore dictCore = DummyCore.newCore();
+        
+        try {
+            dictCore.readFile(PGTUtil.TESTRESOURCES + "one_dim_zero_extra_zero_dep.pgd");
+            ConWordCollection words = dictCore.getWordCollection();
+            ConWord word = words.getWordNodes()[0];
+            
+            ConWord filter = new ConWord();
+            filter.setValue("testb");
+            assertEquals(1, words.filteredList(filter).length);
+            
+            // edit rules directly, bypassing the conjugation manager
+            for (ConjugationGenRule rule : dictCore.getConjugationManager()
+                    .getConjugationRulesForType(word.getWordTypeId())) {
+                rule.setRegex("^$");
+            }
+            
+            filter = new ConWord();
+            filter.setValue("testb");
+            assertEquals(0, words.filteredList(filter).length);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
 }
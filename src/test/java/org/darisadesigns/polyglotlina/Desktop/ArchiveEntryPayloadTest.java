@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.File;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class ArchiveEntryPayloadTest {
+    
+    @Test
+    public void testToStringDistinguishesContent() {
+        System.out.println("ArchiveEntryPayloadTest.testToStringDistinguishesContent");
+        
+        File archive = new File("test.pgd");
+        
+        assertEquals(new ArchiveEntryPayload(archive, entry(1, 10)).toString(), 
+                new ArchiveEntryPayload(archive, entry(1, 10)).toString());
+        assertNotEquals(new ArchiveEntryPayload(archive, entry(1, 10)).toString(), 
+                new ArchiveEntryPayload(archive, entry(2, 10)).toString());
+        assertNotEquals(new ArchiveEntryPayload(archive, entry(1, 10)).toString(), 
+                new ArchiveEntryPayload(archive, entry(1, 11)).toString());
+    }
+    
+    private static ZipEntry entry(long crc, long size) {
+        ZipEntry ret = new ZipEntry("images/1.png");
+        ret.setCrc(crc);
+        ret.setSize(size);
+        return ret;
+    }
+}
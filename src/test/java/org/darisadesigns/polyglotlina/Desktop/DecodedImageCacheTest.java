@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class DecodedImageCacheTest {
+    
+    @Test
+    public void testSameArrayDecodedOnce() {
+        System.out.println("DecodedImageCacheTest.testSameArrayDecodedOnce");
+        
+        try {
+            DecodedImageCache cache = new DecodedImageCache(DecodedImageCache.DEFAULT_MAX_BYTES);
+            byte[] png = pngBytes(10, 10);
+            BufferedImage first = cache.getImage(png);
+            
+            assertEquals(10, first.getWidth());
+            assertSame(first, cache.getImage(png));
+            assertNotSame(first, cache.getImage(png.clone()));
+            assertEquals(2, cache.size());
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        System.out.println("DecodedImageCacheTest.testLeastRecentlyUsedEvicted");
+        
+        try {
+            byte[] a = pngBytes(10, 10);
+            byte[] b = pngBytes(10, 10);
+            byte[] c = pngBytes(10, 10);
+            DecodedImageCache sizing = new DecodedImageCache(DecodedImageCache.DEFAULT_MAX_BYTES);
+            sizing.getImage(a);
+            
+            // room for exactly two images
+            DecodedImageCache cache = new DecodedImageCache(sizing.getTotalBytes() * 2);
+            BufferedImage decodedA = cache.getImage(a);
+            BufferedImage decodedB = cache.getImage(b);
+            cache.getImage(a);
+            cache.getImage(c);
+            
+            assertEquals(2, cache.size());
+            assertTrue(cache.getTotalBytes() <= sizing.getTotalBytes() * 2);
+            assertSame(decodedA, cache.getImage(a));
+            assertNotSame(decodedB, cache.getImage(b));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testOversizedImageNotCached() {
+        System.out.println("DecodedImageCacheTest.testOversizedImageNotCached");
+        
+        try {
+            DecodedImageCache cache = new DecodedImageCache(16);
+            BufferedImage image = cache.getImage(pngBytes(10, 10));
+            
+            assertNotNull(image);
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getTotalBytes());
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testUnreadableImage() {
+        System.out.println("DecodedImageCacheTest.testUnreadableImage");
+        
+        DecodedImageCache cache = new DecodedImageCache(DecodedImageCache.DEFAULT_MAX_BYTES);
+        
+        assertThrows(IOException.class, () -> cache.getImage(new byte[]{1, 2, 3}));
+    }
+    
+    private static byte[] pngBytes(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -75,6 +75,10 @@ public class DesktopOptionsManagerTest {
             int autoSavMs = 12345678;
             String gptKey = "bleeblebloop";
             boolean useConFontZompist = false;
+            DesktopOptionsManager.SaveVerification verificationExpected = DesktopOptionsManager.SaveVerification.CHECKSUM;
+            DesktopOptionsManager.WebServiceExecutor executorExpected = DesktopOptionsManager.WebServiceExecutor.POOLED;
+            int threadCountExpected = 7;
+            int requestBacklogExpected = 33;
 
             // create test core to set values in...
             DictCore core = DummyCore.newCore();
@@ -91,6 +95,10 @@ public class DesktopOptionsManagerTest {
             opt.setMsBetweenSaves(autoSavMs);
             opt.setGptApiKey(gptKey);
             opt.setZompistUseConlangFont(useConFontZompist);
+            opt.setSaveVerification(verificationExpected);
+            opt.setWebServiceExecutor(executorExpected);
+            opt.setWebServiceThreadCount(threadCountExpected);
+            opt.setWebServiceRequestBacklog(requestBacklogExpected);
 
             // save values to disk...
             DesktopIOHandler.getInstance().writeOptionsIni(core.getConfigDirectory(), opt);
@@ -113,6 +121,10 @@ public class DesktopOptionsManagerTest {
             assertEquals(autoSavMs, opt.getMsBetweenSaves());
             assertEquals(gptKey, opt.getGptApiKey());
             assertEquals(useConFontZompist, opt.isZompistUseConlangFont());
+            assertEquals(verificationExpected, opt.getSaveVerification());
+            assertEquals(executorExpected, opt.getWebServiceExecutor());
+            assertEquals(threadCountExpected, opt.getWebServiceThreadCount());
+            assertEquals(requestBacklogExpected, opt.getWebServiceRequestBacklog());
         } catch (Exception e) {
             DesktopIOHandler.getInstance().writeErrorLog(e);
             fail(e);
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.darisadesigns.polyglotlina.PGTUtil;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class PArchiveWriterTest {
+    private final byte[] text = "some repetitive text ".repeat(500).getBytes(StandardCharsets.UTF_8);
+    private final byte[] noise = new byte[4096];
+    
+    public PArchiveWriterTest() {
+        new Random(42).nextBytes(noise);
+    }
+    
+    @Test
+    public void testUnchangedEntriesCopied() {
+        System.out.println("PArchiveWriterTest.testUnchangedEntriesCopied");
+        
+        try {
+            File first = tempArchive();
+            File second = tempArchive();
+            byte[] changed = "changed".getBytes(StandardCharsets.UTF_8);
+            Map<String, byte[]> sources;
+            
+            try (PArchiveWriter out = new PArchiveWriter(new BufferedOutputStream(new FileOutputStream(first)), null)) {
+                out.putNextEntry(new ZipEntry(PGTUtil.LANG_FILE_NAME));
+                out.write("<dictionary/>".getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+                out.writeEntry("text", text, true);
+                out.writeEntry("noise", noise, false);
+                out.finish();
+                sources = out.getWrittenSources();
+                assertEquals(0, out.getCopiedEntryCount());
+            }
+            
+            PArchiveSnapshot snapshot = new PArchiveSnapshot(first, sources, true);
+            
+            try (PArchiveWriter out = new PArchiveWriter(new BufferedOutputStream(new FileOutputStream(second)), snapshot)) {
+                out.writeEntry("renamedText", text, true);
+                out.writeEntry("noise", noise, false);
+                out.writeEntry("changed", changed, true);
+                out.finish();
+                assertEquals(2, out.getCopiedEntryCount());
+            }
+            
+            try (ZipFile zipFile = new ZipFile(second)) {
+                assertArrayEquals(text, readEntry(zipFile, "renamedText"));
+                assertArrayEquals(noise, readEntry(zipFile, "noise"));
+                assertArrayEquals(changed, readEntry(zipFile, "changed"));
+                assertEquals(ZipEntry.STORED, zipFile.getEntry("noise").getMethod());
+            }
+            
+            // sequential readers must be able to read the archive as well
+            try (ZipInputStream in = new ZipInputStream(new FileInputStream(second))) {
+                int count = 0;
+                
+                while (in.getNextEntry() != null) {
+                    in.readAllBytes();
+                    count++;
+                }
+                
+                assertEquals(3, count);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testModifiedArchiveNotReused() {
+        System.out.println("PArchiveWriterTest.testModifiedArchiveNotReused");
+        
+        try {
+            File first = tempArchive();
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(first), null)) {
+                out.writeEntry("text", text, true);
+            }
+            
+            PArchiveSnapshot snapshot = new PArchiveSnapshot(first, Map.of("text", text), true);
+            first.setLastModified(first.lastModified() - 10000);
+            
+            assertFalse(snapshot.isCurrent());
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(tempArchive()), snapshot)) {
+                out.writeEntry("text", text, true);
+                assertEquals(0, out.getCopiedEntryCount());
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testUntrustedSourceVerified() {
+        System.out.println("PArchiveWriterTest.testUntrustedSourceVerified");
+        
+        try {
+            File first = tempArchive();
+            
+            try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(first))) {
+                out.putNextEntry(new ZipEntry("text"));
+                out.write(text);
+                out.closeEntry();
+            }
+            
+            // correct content is copied from archive written elsewhere, wrong content is not
+            PArchiveSnapshot snapshot = new PArchiveSnapshot(first, Map.of("text", text), false);
+            PArchiveSnapshot wrongSnapshot = new PArchiveSnapshot(first, Map.of("text", noise), false);
+            File second = tempArchive();
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(second), snapshot)) {
+                out.writeEntry("text", text, true);
+                assertEquals(1, out.getCopiedEntryCount());
+            }
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(tempArchive()), wrongSnapshot)) {
+                out.writeEntry("text", noise, true);
+                assertEquals(0, out.getCopiedEntryCount());
+            }
+            
+            try (ZipFile zipFile = new ZipFile(second)) {
+                assertArrayEquals(text, readEntry(zipFile, "text"));
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testCopyEntryByName() {
+        System.out.println("PArchiveWriterTest.testCopyEntryByName");
+        
+        try {
+            File first = tempArchive();
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(first), null)) {
+                out.writeEntry("text", text, true);
+            }
+            
+            PArchiveSnapshot snapshot = new PArchiveSnapshot(first, Map.of(), false);
+            File second = tempArchive();
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(second), snapshot)) {
+                assertFalse(out.copyEntry("other", second, "text"));
+                assertFalse(out.copyEntry("missing", first, "missing"));
+                assertTrue(out.copyEntry("moved", first, "text"));
+                assertEquals(1, out.getCopiedEntryCount());
+            }
+            
+            try (ZipFile zipFile = new ZipFile(second)) {
+                assertArrayEquals(text, readEntry(zipFile, "moved"));
+                assertEquals(1, zipFile.size());
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private static File tempArchive() throws IOException {
+        File ret = File.createTempFile("POLYGLOT", "zip", PGTUtil.getTempDirectory().toFile());
+        ret.deleteOnExit();
+        return ret;
+    }
+    
+    private static byte[] readEntry(ZipFile zipFile, String name) throws IOException {
+        try (InputStream in = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Desktop;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import org.darisadesigns.polyglotlina.PGTUtil;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class SaveVerifierTest {
+    private static final String XML = "<dictionary><lexicon><word/><word/></lexicon>"
+            + "<partsOfSpeech><class><name/></class></partsOfSpeech></dictionary>";
+    private final byte[] noise = new byte[4096];
+    
+    public SaveVerifierTest() {
+        new Random(7).nextBytes(noise);
+    }
+    
+    @Test
+    public void testMatchingCountsPass() {
+        System.out.println("SaveVerifierTest.testMatchingCountsPass");
+        
+        try {
+            SaveVerifier.verifyXmlStructure(xmlStream(XML),
+                    Map.of(PGTUtil.LEXICON_XID, 2, PGTUtil.POS_COLLECTION_XID, 1));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testCountMismatchFails() {
+        System.out.println("SaveVerifierTest.testCountMismatchFails");
+        
+        assertThrows(IOException.class, () -> SaveVerifier.verifyXmlStructure(xmlStream(XML),
+                Map.of(PGTUtil.LEXICON_XID, 3)));
+        assertThrows(IOException.class, () -> SaveVerifier.verifyXmlStructure(xmlStream("<dictionary><lexicon>"),
+                Map.of(PGTUtil.LEXICON_XID, 0)));
+    }
+    
+    @Test
+    public void testMissingEntryFails() {
+        System.out.println("SaveVerifierTest.testMissingEntryFails");
+        
+        PArchiveSnapshot.RawEntry image = new PArchiveSnapshot.RawEntry();
+        image.name = PGTUtil.IMAGES_SAVE_PATH + "1.png";
+        List<PArchiveSnapshot.RawEntry> written = List.of(image);
+        
+        try {
+            SaveVerifier.verifyEntriesWritten(written, List.of(image.name));
+        } catch (IOException e) {
+            fail(e);
+        }
+        
+        assertThrows(IOException.class, () -> SaveVerifier.verifyEntriesWritten(written,
+                List.of(image.name, PGTUtil.IMAGES_SAVE_PATH + "2.png")));
+    }
+    
+    @Test
+    public void testArchiveVerification() {
+        System.out.println("SaveVerifierTest.testArchiveVerification");
+        
+        try {
+            File archive = File.createTempFile("POLYGLOT", "zip", PGTUtil.getTempDirectory().toFile());
+            archive.deleteOnExit();
+            List<PArchiveSnapshot.RawEntry> written;
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(archive), null)) {
+                out.putNextEntry(new ZipEntry(PGTUtil.LANG_FILE_NAME));
+                out.write(XML.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+                out.writeEntry("noise", noise, false);
+                out.finish();
+                written = out.getWrittenEntries();
+            }
+            
+            Map<String, Integer> counts = Map.of(PGTUtil.LEXICON_XID, 2);
+            SaveVerifier.verify(archive, written, counts);
+            
+            // damage a byte of the stored entry's payload
+            byte[] contents = Files.readAllBytes(archive.toPath());
+            int offset = indexOf(contents, noise);
+            assertTrue(offset > 0);
+            
+            try (RandomAccessFile raf = new RandomAccessFile(archive, "rw")) {
+                raf.seek(offset + 100);
+                raf.write(~noise[100]);
+            }
+            
+            assertThrows(IOException.class, () -> SaveVerifier.verify(archive, written, counts));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testCopiedEntryVerification() {
+        System.out.println("SaveVerifierTest.testCopiedEntryVerification");
+        
+        try {
+            File first = File.createTempFile("POLYGLOT", "zip", PGTUtil.getTempDirectory().toFile());
+            first.deleteOnExit();
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(first), null)) {
+                out.writeEntry("noise", noise, false);
+                out.writeEntry("packed", XML.getBytes(StandardCharsets.UTF_8), true);
+            }
+            
+            File second = File.createTempFile("POLYGLOT", "zip", PGTUtil.getTempDirectory().toFile());
+            second.deleteOnExit();
+            PArchiveSnapshot snapshot = new PArchiveSnapshot(first, Map.of(), false);
+            List<PArchiveSnapshot.RawEntry> written;
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(second), snapshot)) {
+                assertTrue(out.copyEntry("noise", first, "noise"));
+                assertTrue(out.copyEntry("packed", first, "packed"));
+                out.finish();
+                written = out.getWrittenEntries();
+            }
+            
+            SaveVerifier.verify(second, written, null);
+            
+            // damage the source payload without touching its directory
+            long lastModified = first.lastModified();
+            int offset = indexOf(Files.readAllBytes(first.toPath()), noise);
+            assertTrue(offset > 0);
+            
+            try (RandomAccessFile raf = new RandomAccessFile(first, "rw")) {
+                raf.seek(offset + 100);
+                raf.write(~noise[100]);
+            }
+            
+            first.setLastModified(lastModified);
+            snapshot = new PArchiveSnapshot(first, Map.of(), false);
+            
+            try (PArchiveWriter out = new PArchiveWriter(new FileOutputStream(second), snapshot)) {
+                assertTrue(out.copyEntry("noise", first, "noise"));
+                out.finish();
+                written = out.getWrittenEntries();
+            }
+            
+            List<PArchiveSnapshot.RawEntry> copied = written;
+            assertThrows(IOException.class, () -> SaveVerifier.verify(second, copied, null));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private static ByteArrayInputStream xmlStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
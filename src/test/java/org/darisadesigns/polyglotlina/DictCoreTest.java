@@ -22,6 +22,7 @@ package org.darisadesigns.polyglotlina;
 import TestResources.DummyCore;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import org.darisadesigns.polyglotlina.Desktop.CustomControls.DesktopGrammarChapNode;
@@ -166,6 +167,7 @@ public class DictCoreTest {
         try {
             core.readFile(PGTUtil.TESTRESOURCES + "missing_no_element.pgd");
             DictCore corruptCore = DummyCore.newCore();
+            // streamed read fails partway, so nothing it read may survive recovery
             corruptCore.readFile(PGTUtil.TESTRESOURCES + "missing_opening_element.pgd");
 
             assertEquals(core, corruptCore);
@@ -181,6 +183,7 @@ public class DictCoreTest {
         try {
             core.readFile(PGTUtil.TESTRESOURCES + "missing_no_element.pgd");
             DictCore corruptCore = DummyCore.newCore();
+            // streamed read fails partway, so nothing it read may survive recovery
             corruptCore.readFile(PGTUtil.TESTRESOURCES + "missing_closing_elements.pgd");
 
             assertEquals(core, corruptCore);
@@ -188,4 +191,90 @@ public class DictCoreTest {
             fail(e);
         }
     }
+    
+    @Test
+    public void testStreamedSaveKeepsCarriageReturns() {
+        System.out.println("DictCoreTest.testStreamedSaveKeepsCarriageReturns");
+        String definition = "first line\r\nsecond <line> & \"third\"\r";
+        
+        try {
+            DictCore target = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            
+            ConWord word = new ConWord();
+            word.setValue("test");
+            word.setDefinition(definition);
+            int wordId = core.getWordCollection().addWord(word);
+            
+            core.writeFile(targetFile.toString(), false, false);
+            target.readFile(targetFile.toString());
+            
+            assertEquals(definition, target.getWordCollection().getNodeById(wordId).getDefinition());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testRawXmlParsesToEqualCore() {
+        System.out.println("DictCoreTest.testRawXmlParsesToEqualCore");
+        
+        try {
+            for (String fixture : new String[]{"test_equality.pgd", "Lodenkur_TEST.pgd"}) {
+                String fileName = PGTUtil.TESTRESOURCES + fixture;
+                DictCore origin = DummyCore.newCore();
+                DictCore target = DummyCore.newCore();
+                origin.readFile(fileName);
+                
+                // XML from the streamed writer, with fonts and media from the fixture
+                target.readFile(fileName, origin.getRawXml().getBytes(StandardCharsets.UTF_8));
+                
+                assertEquals(origin, target, fixture);
+            }
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testHasChangedTracksEditsAndSaves() {
+        System.out.println("DictCoreTest.testHasChangedTracksEditsAndSaves");
+        
+        try {
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            
+            core.readFile(PGTUtil.TESTRESOURCES + "test_equality.pgd");
+            assertFalse(core.hasChanged());
+            
+            core.markSavedState();
+            assertFalse(core.hasChanged());
+            
+            ConWord word = core.getWordCollection().getWordNodes()[0];
+            String oldValue = word.getValue();
+            word.setValue(oldValue + "-changed");
+            assertTrue(core.hasChanged());
+            
+            // edits are counted, not diffed: reverting one still leaves it unsaved
+            word.setValue(oldValue);
+            assertTrue(core.hasChanged());
+            
+            // rewriting an identical value is not an edit
+            core.writeFile(targetFile.toString(), true, false);
+            word.setValue(oldValue);
+            assertFalse(core.hasChanged());
+            
+            word.setValue(oldValue + "-changed");
+            core.writeFile(targetFile.toString(), false, false);
+            assertTrue(core.hasChanged());
+            
+            core.writeFile(targetFile.toString(), true, false);
+            assertFalse(core.hasChanged());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.DomParser;
+
+import TestResources.DummyCore;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLStreamException;
+import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.PGTUtil;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author draque
+ */
+public class PStaxParserTest {
+
+    public PStaxParserTest() {
+    }
+
+    @Test
+    public void testStreamedLoadMatchesDom() {
+        System.out.println("PStaxParserTest.testStreamedLoadMatchesDom");
+        
+        compareRecurse(new File(PGTUtil.TESTRESOURCES));
+    }
+    
+    private void compareRecurse(File curFile) {
+        // corrupted files cannot be streamed: they are repaired and loaded via DOM
+        if (curFile.getName().equals("corrupted")) {
+            return;
+        }
+        
+        if (curFile.isDirectory()) {
+            for (File child : curFile.listFiles()) {
+                compareRecurse(child);
+            }
+        } else if (curFile.getAbsolutePath().endsWith("pgd")) {
+            System.out.println("\t" + curFile.getName());
+            
+            try (ZipFile zipFile = new ZipFile(curFile)) {
+                var entry = zipFile.getEntry(PGTUtil.LANG_FILE_NAME);
+                DictCore dom = DummyCore.newCore();
+                DictCore streamed = DummyCore.newCore();
+                PDomParser domParser = new PDomParser(dom);
+                PStaxParser staxParser = new PStaxParser(streamed);
+                
+                try (InputStream xml = zipFile.getInputStream(entry)) {
+                    staxParser.readXml(xml);
+                }
+                
+                // malformed files are loaded via DOM recovery instead (see DictCoreTest)
+                if (staxParser.getError() instanceof XMLStreamException) {
+                    return;
+                }
+                
+                try (InputStream xml = zipFile.getInputStream(entry)) {
+                    domParser.readXml(xml);
+                }
+                
+                assertNull(domParser.getError());
+                assertNull(staxParser.getError());
+                assertEquals(domParser.getIssues(), staxParser.getIssues());
+                assertEquals(dom, streamed);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+}
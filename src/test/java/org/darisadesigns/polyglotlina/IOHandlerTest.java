@@ -31,8 +31,18 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
+import org.darisadesigns.polyglotlina.Desktop.ErrorLogWriter;
+import org.darisadesigns.polyglotlina.Nodes.ImageNode;
+import org.darisadesigns.polyglotlina.Nodes.LogoNode;
+import org.darisadesigns.polyglotlina.Nodes.ReversionNode;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterAll;
@@ -58,6 +68,7 @@ public class IOHandlerTest {
         System.out.println("IOHandlerTest.testWriteErrorLogBasic");
         
         DesktopIOHandler.getInstance().writeErrorLog(new Exception("This is a test."));
+        DesktopIOHandler.getInstance().flushErrorLog();
         File myLog = PGTUtil.getErrorDirectory().resolve(PGTUtil.ERROR_LOG_FILE).toFile();
         
         assertTrue(myLog.exists());
@@ -95,22 +106,28 @@ public class IOHandlerTest {
         System.out.println("IOHandlerTest.testWriteErrorLogsMaxLength");
         
         var ioHandler = DesktopIOHandler.getInstance();
-        var systemInfoLength = DesktopIOHandler.getInstance().getSystemInformation().length();
-        var expectedLength = PGTUtil.MAX_LOG_CHARACTERS 
-                + systemInfoLength 
-                + PGTUtil.ERROR_LOG_SPEARATOR.length()
-                + 1; // off by one due to concatenation effect when adding system info (newline)
-        var testError = "\nThis is a test: blahblahblahblahblahblahblahblahblahblahblahblahblahblah : ";
+        var testError = "\nThis is a test: blahblahblahblahblahblahblahblahblahblahblahblahblahblah : ".repeat(64);
         
         try {
             ioHandler.clearErrorLog();
         
-            for (int i = 0; i < 150; i++) {
-                ioHandler.writeErrorLog(new Exception(testError));
+            // distinct comments keep entries from being coalesced
+            for (int i = 0; i < 300; i++) {
+                ioHandler.writeErrorLog(new Exception(testError), "entry " + i);
             }
             
-            int logLength = DesktopIOHandler.getInstance().getErrorLog().length();
-            assertEquals(expectedLength, logLength);
+            String log = ioHandler.getErrorLog();
+            String currentLog = Files.readString(ioHandler.getErrorLogFile().toPath());
+            File rotatedLog = PGTUtil.getErrorDirectory().resolve(PGTUtil.ERROR_LOG_FILE + ".1").toFile();
+            
+            assertTrue(log.length() <= PGTUtil.MAX_LOG_CHARACTERS);
+            assertTrue(log.contains("entry 299"));
+            assertTrue(log.contains(PGTUtil.ERROR_LOG_SPEARATOR));
+            assertTrue(rotatedLog.exists());
+            
+            // the tail of the rotated log is read ahead of the current one
+            assertTrue(log.endsWith(currentLog));
+            assertTrue(log.length() > currentLog.length());
         } catch (IOException e) {
             DesktopIOHandler.getInstance().writeErrorLog(e, e.getLocalizedMessage());
             fail(e);
@@ -337,10 +354,11 @@ public class IOHandlerTest {
     public void testMultipleErrorLogs() {
         IOHandler ioHandler = DesktopIOHandler.getInstance();
         
-        ioHandler.writeErrorLog(new Exception("testError"));
-        ioHandler.writeErrorLog(new Exception("testError"));
-        
         try {
+            ioHandler.clearErrorLog();
+            ioHandler.writeErrorLog(new Exception("testError"));
+            ioHandler.writeErrorLog(new Exception("testError"));
+            
             String errorLog = ioHandler.getErrorLog();
             assertEquals(errorLog.indexOf(PGTUtil.ERROR_LOG_SPEARATOR),
                     errorLog.lastIndexOf(PGTUtil.ERROR_LOG_SPEARATOR));
@@ -349,6 +367,59 @@ public class IOHandlerTest {
         }
     }
     
+    @Test
+    public void testErrorLogCoalescesRepeats() {
+        System.out.println("IOHandlerTest.testErrorLogCoalescesRepeats");
+        
+        var ioHandler = DesktopIOHandler.getInstance();
+        
+        try {
+            ioHandler.clearErrorLog();
+            
+            for (int i = 0; i < 50; i++) {
+                ioHandler.writeErrorLog(new Exception("repeated error " + i));
+            }
+            
+            String errorLog = ioHandler.getErrorLog();
+            
+            assertTrue(errorLog.contains("Exception: repeated error 0"));
+            assertFalse(errorLog.contains("Exception: repeated error 1\n"));
+            assertTrue(errorLog.contains("Previous error repeated 49 more time(s), with message(s):\n"));
+            assertTrue(errorLog.contains("\trepeated error 1\n"));
+            assertTrue(errorLog.contains("\trepeated error " + ErrorLogWriter.MAX_REPEAT_MESSAGES + "\n"));
+            assertFalse(errorLog.contains("\trepeated error " + (ErrorLogWriter.MAX_REPEAT_MESSAGES + 1) + "\n"));
+            assertTrue(errorLog.contains("\t(" + (49 - ErrorLogWriter.MAX_REPEAT_MESSAGES)
+                    + " more with messages not listed)\n"));
+        } catch (IOException e) {
+            fail(e);
+        }
+        
+        wipeErrorLog();
+    }
+    
+    @Test
+    public void testErrorLogCoalescesRepeatsWithoutMessage() {
+        System.out.println("IOHandlerTest.testErrorLogCoalescesRepeatsWithoutMessage");
+        
+        var ioHandler = DesktopIOHandler.getInstance();
+        
+        try {
+            ioHandler.clearErrorLog();
+            
+            for (int i = 0; i < 3; i++) {
+                ioHandler.writeErrorLog(new Exception());
+            }
+            
+            String errorLog = ioHandler.getErrorLog();
+            
+            assertTrue(errorLog.contains("Previous error repeated 2 more time(s), with message(s):\n\tnull\n"));
+        } catch (IOException e) {
+            fail(e);
+        }
+        
+        wipeErrorLog();
+    }
+    
     @Test
     public void testUnpackRepackLanguage() {
         System.out.println("IOHandlerTest.testUnpackRepackLanguage");
@@ -381,6 +452,233 @@ public class IOHandlerTest {
         }
     }
     
+    @Test
+    public void testImagesSavedWithoutReencoding() {
+        System.out.println("IOHandlerTest.testImagesSavedWithoutReencoding");
+        
+        try {
+            DictCore origin = DummyCore.newCore();
+            DictCore target = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            
+            byte[] pngBytes = DesktopIOHandler.getInstance().getFileByteArray(PGTUtil.TESTRESOURCES + "EmptyImage.png");
+            byte[] jpgBytes = DesktopIOHandler.getInstance().getFileByteArray(PGTUtil.TESTRESOURCES + "test.jpg");
+            
+            ImageNode png = new ImageNode(origin);
+            png.setImageBytes(pngBytes);
+            int pngId = origin.getImageCollection().insert(png);
+            
+            ImageNode jpg = new ImageNode(origin);
+            jpg.setImageBytes(jpgBytes);
+            int jpgId = origin.getImageCollection().insert(jpg);
+            
+            origin.writeFile(targetFile.toString(), false, false);
+            
+            try (ZipFile zipFile = new ZipFile(targetFile)) {
+                ZipEntry pngEntry = zipFile.getEntry(PGTUtil.IMAGES_SAVE_PATH + pngId + ".png");
+                ZipEntry jpgEntry = zipFile.getEntry(PGTUtil.IMAGES_SAVE_PATH + jpgId + ".png");
+                
+                assertEquals(ZipEntry.STORED, pngEntry.getMethod());
+                
+                try (InputStream pngStream = zipFile.getInputStream(pngEntry);
+                        InputStream jpgStream = zipFile.getInputStream(jpgEntry)) {
+                    assertArrayEquals(pngBytes, pngStream.readAllBytes());
+                    assertTrue(DesktopIOHandler.isPngBytes(jpgStream.readAllBytes()));
+                }
+            }
+            
+            target.readFile(targetFile.toString());
+            
+            assertArrayEquals(pngBytes, target.getImageCollection().getNodeById(pngId).getImageBytes());
+            assertTrue(DesktopIOHandler.isPngBytes(target.getImageCollection().getNodeById(jpgId).getImageBytes()));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testIncrementalSaveRoundTrip() {
+        System.out.println("IOHandlerTest.testIncrementalSaveRoundTrip");
+        
+        try {
+            DictCore origin = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            Files.copy(Paths.get(PGTUtil.TESTRESOURCES + "test_equality.pgd"), targetFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            
+            Map<String, ZipEntry> originalEntries = readEntries(targetFile);
+            
+            // saves over the file just read, then over the file just written
+            origin.readFile(targetFile.toString());
+            origin.writeFile(targetFile.toString(), true, false);
+            Map<String, ZipEntry> firstEntries = readEntries(targetFile);
+            origin.writeFile(targetFile.toString(), true, false);
+            Map<String, ZipEntry> secondEntries = readEntries(targetFile);
+            
+            // font, logographs, image and recording are untouched, so copied as
+            // is: entries written afresh would be stamped with the time of saving
+            String[] media = {PGTUtil.CON_FONT_FILE_NAME, "logoGraphs/2.png", "logoGraphs/3.png",
+                "logoGraphs/4.png", "images/2.png", "grammarSounds/0.raw"};
+            
+            for (String name : media) {
+                assertEquals(originalEntries.get(name).getTime(), secondEntries.get(name).getTime(), name);
+                assertEquals(firstEntries.get(name).getCrc(), secondEntries.get(name).getCrc());
+                assertEquals(firstEntries.get(name).getCompressedSize(), secondEntries.get(name).getCompressedSize());
+            }
+            
+            DictCore target = DummyCore.newCore();
+            target.readFile(targetFile.toString());
+            
+            assertEquals(origin, target);
+            assertEquals(origin.getReversionManager().getReversionList().length,
+                    target.getReversionManager().getReversionList().length);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testFontsCopiedAfterSavedStateRecorded() {
+        System.out.println("IOHandlerTest.testFontsCopiedAfterSavedStateRecorded");
+        
+        try {
+            DictCore origin = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            Files.copy(Paths.get(PGTUtil.TESTRESOURCES + "test_equality.pgd"), targetFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            Map<String, ZipEntry> originalEntries = readEntries(targetFile);
+            
+            // opened as from the menu, with the file checked by a second core
+            // before the first saves it
+            origin.readFile(targetFile.toString());
+            origin.markSavedState();
+            DummyCore.newCore().readFile(targetFile.toString(), null, true, false);
+            
+            origin.writeFile(targetFile.toString(), true, false);
+            assertEquals(originalEntries.get(PGTUtil.CON_FONT_FILE_NAME).getTime(),
+                    readEntries(targetFile).get(PGTUtil.CON_FONT_FILE_NAME).getTime());
+            
+            DummyCore.newCore().readFile(targetFile.toString(), null, true, false);
+            
+            origin.writeFile(targetFile.toString(), true, false);
+            assertEquals(originalEntries.get(PGTUtil.CON_FONT_FILE_NAME).getTime(),
+                    readEntries(targetFile).get(PGTUtil.CON_FONT_FILE_NAME).getTime());
+            assertFalse(origin.hasChanged());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testReversionsReadLazilyAfterReload() {
+        System.out.println("IOHandlerTest.testReversionsReadLazilyAfterReload");
+        
+        try {
+            DictCore origin = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            Files.copy(Paths.get(PGTUtil.TESTRESOURCES + "test_equality.pgd"), targetFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            
+            origin.readFile(targetFile.toString());
+            origin.getWordCollection().getWordNodes()[0].setValue("first edit");
+            origin.writeFile(targetFile.toString(), true, false);
+            origin.getWordCollection().getWordNodes()[0].setValue("second edit");
+            origin.writeFile(targetFile.toString(), true, false);
+            
+            DictCore target = DummyCore.newCore();
+            target.readFile(targetFile.toString());
+            
+            ReversionNode[] originStates = origin.getReversionManager().getReversionList();
+            ReversionNode[] targetStates = target.getReversionManager().getReversionList();
+            
+            assertEquals(originStates.length, targetStates.length);
+            
+            // newest state is left in the archive just written, not read back into memory
+            assertNotNull(originStates[0].getPayload());
+            assertEquals(originStates[0].getValue().length, originStates[0].getSize());
+            
+            for (int i = 0; i < targetStates.length; i++) {
+                assertNotNull(targetStates[i].getPayload());
+                assertEquals(originStates[i].getSaveTime(), targetStates[i].getSaveTime());
+                assertArrayEquals(originStates[i].getValue(), targetStates[i].getValue());
+            }
+            
+            assertTrue(targetStates[2].isDelta());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testMediaReadLazilyAfterReload() {
+        System.out.println("IOHandlerTest.testMediaReadLazilyAfterReload");
+        
+        try {
+            DictCore origin = DummyCore.newCore();
+            File targetFile = File.createTempFile("POLYGLOT", "pgt",
+                PGTUtil.getTempDirectory().toFile());
+            targetFile.deleteOnExit();
+            byte[] pngBytes = DesktopIOHandler.getInstance().getFileByteArray(PGTUtil.TESTRESOURCES + "EmptyImage.png");
+            
+            ImageNode image = new ImageNode(origin);
+            image.setImageBytes(pngBytes);
+            int imageId = origin.getImageCollection().insert(image);
+            
+            LogoNode logo = new LogoNode(origin);
+            logo.setValue("logo");
+            logo.setLogoBytes(pngBytes);
+            int logoId = origin.getLogoCollection().insert(1, logo);
+            
+            origin.writeFile(targetFile.toString(), false, false);
+            
+            DictCore target = DummyCore.newCore();
+            target.readFile(targetFile.toString());
+            target.markSavedState();
+            ImageNode targetImage = target.getImageCollection().getNodeById(imageId);
+            LogoNode targetLogo = target.getLogoCollection().getNodeById(logoId);
+            
+            assertNotNull(targetImage.getImagePayload());
+            assertNotNull(targetLogo.getLogoPayload());
+            assertTrue(targetLogo.isImageSet());
+            assertFalse(target.hasChanged());
+            
+            // untouched media is copied over and bound to the rewritten archive
+            target.writeFile(targetFile.toString(), true, false);
+            
+            assertNotNull(targetImage.getImagePayload());
+            assertArrayEquals(pngBytes, targetImage.getImageBytes());
+            assertArrayEquals(pngBytes, targetLogo.getLogoBytes());
+            assertFalse(target.hasChanged());
+            
+            targetLogo.setLogoBytes(pngBytes.clone());
+            
+            assertNull(targetLogo.getLogoPayload());
+            assertTrue(target.hasChanged());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    private static Map<String, ZipEntry> readEntries(File archive) throws IOException {
+        Map<String, ZipEntry> ret = new HashMap<>();
+        
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                ret.put(entry.getName(), entry);
+            }
+        }
+        
+        return ret;
+    }
+    
     /**
      * Recursively deletes directory
      * @param directoryToBeDeleted 
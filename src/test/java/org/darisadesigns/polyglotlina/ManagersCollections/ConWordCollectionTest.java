@@ -213,6 +213,57 @@ public class ConWordCollectionTest extends PTest {
         assertTrue(core.getPropertiesManager().isAlphabetComplete());
     }
     
+    @Test
+    public void testWordNodesOrderMaintained() {
+        System.out.println("ConWordCollectionTest.testWordNodesOrderMaintained");
+        
+        DictCore core = DummyCore.newCore();
+        ConWordCollection collection = core.getWordCollection();
+        String[] words = new String[]{"d", "b", "c", "a"};
+        
+        try {
+            core.getPropertiesManager().setAlphaOrder("d,c,b,a");
+            
+            for (String word : words) {
+                ConWord newWord = new ConWord();
+                newWord.setValue(word);
+                collection.addWord(newWord);
+            }
+            
+            // build ordered index
+            assertEquals("d,c,b,a", joinValues(collection.getWordNodes()));
+            
+            ConWord wordB = collection.getWordNodes()[2];
+            ConWord modWord = new ConWord();
+            modWord.setValue("cc");
+            collection.modifyNode(wordB.getId(), modWord);
+            assertEquals("d,c,cc,a", joinValues(collection.getWordNodes()));
+            
+            collection.deleteNodeById(collection.getWordNodes()[0].getId());
+            assertEquals("c,cc,a", joinValues(collection.getWordNodes()));
+            
+            // values changed in place must be picked up
+            collection.getWordNodes()[2].setValue("d");
+            assertEquals("d,c,cc", joinValues(collection.getWordNodes()));
+            
+            // alphabet changes reorder everything
+            core.getPropertiesManager().setAlphaOrder("a,b,c,d");
+            assertEquals("c,cc,d", joinValues(collection.getWordNodes()));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    private String joinValues(ConWord[] words) {
+        List<String> values = new ArrayList<>();
+        
+        for (ConWord word : words) {
+            values.add(word.getValue());
+        }
+        
+        return String.join(",", values);
+    }
+    
     @Test
     public void testEvolveLanguageBasicReplaceAll() {
         System.out.println("ConWordCollectionTest.testEvolveLanguageBasicReplaceAll");
@@ -30,6 +30,8 @@ import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationGenRule;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationGenTransform;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationPair;
+import org.darisadesigns.polyglotlina.Nodes.TypeNode;
+import org.darisadesigns.polyglotlina.Nodes.WordClass;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
@@ -238,6 +240,102 @@ public class ConjugationManagerTest {
         return ret;
     }
 
+    @Test
+    public void testDeclineWordsMatchesDeclineWord() {
+        System.out.println("ConjugationManagerTest.testDeclineWordsMatchesDeclineWord");
+        
+        try {
+            core.readFile(PGTUtil.TESTRESOURCES + "Lodenkur_TEST.pgd");
+            ConjugationManager decMan = core.getConjugationManager();
+            
+            for (TypeNode type : core.getTypes().getNodes()) {
+                ConWord filter = new ConWord();
+                filter.setWordTypeId(type.getId());
+                List<ConWord> words = Arrays.asList(core.getWordCollection().filteredList(filter));
+                List<String> combinedIds = new ArrayList<>();
+                
+                for (ConjugationPair pair : decMan.getAllCombinedIds(type.getId())) {
+                    combinedIds.add(pair.combinedId);
+                }
+                
+                String[][] forms = decMan.declineWords(words, combinedIds);
+                assertEquals(words.size(), forms.length);
+                
+                for (int i = 0; i < words.size(); i++) {
+                    for (int j = 0; j < combinedIds.size(); j++) {
+                        String expected;
+                        
+                        try {
+                            expected = decMan.declineWord(words.get(i), combinedIds.get(j));
+                        } catch (Exception e) {
+                            expected = null;
+                        }
+                        
+                        assertEquals(expected, forms[i][j]);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, "testDeclineWordsMatchesDeclineWord");
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testGenerationVersionBumpedOnChange() {
+        System.out.println("ConjugationManagerTest.testGenerationVersionBumpedOnChange");
+        
+        try {
+            DictCore dictCore = DummyCore.newCore();
+            dictCore.readFile(PGTUtil.TESTRESOURCES + "one_dim_zero_extra_zero_dep.pgd");
+            ConjugationManager decMan = dictCore.getConjugationManager();
+            int typeId = dictCore.getWordCollection().getWordNodes()[0].getWordTypeId();
+            int otherTypeId = typeId + 1000;
+            
+            // compiling rules first settles their indices
+            decMan.getCompiledRules(typeId);
+            long version = decMan.getGenerationVersion(typeId);
+            long otherVersion = decMan.getGenerationVersion(otherTypeId);
+            assertEquals(version, decMan.getGenerationVersion(typeId));
+            
+            // edited in place, only this part of speech is affected
+            decMan.getConjugationRulesForType(typeId)[0].setRegex("^$");
+            assertTrue(decMan.getGenerationVersion(typeId) > version);
+            assertEquals(otherVersion, decMan.getGenerationVersion(otherTypeId));
+            
+            version = decMan.getGenerationVersion(typeId);
+            dictCore.getWordClassCollection().addNode(new WordClass());
+            assertTrue(decMan.getGenerationVersion(typeId) > version);
+        } catch (Exception e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, "testGenerationVersionBumpedOnChange");
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testDeleteNoRulesLeavesUnchanged() {
+        System.out.println("ConjugationManagerTest.testDeleteNoRulesLeavesUnchanged");
+        
+        try {
+            DictCore dictCore = DummyCore.newCore();
+            dictCore.readFile(PGTUtil.TESTRESOURCES + "one_dim_zero_extra_zero_dep.pgd");
+            ConjugationManager decMan = dictCore.getConjugationManager();
+            int typeId = dictCore.getWordCollection().getWordNodes()[0].getWordTypeId();
+            
+            decMan.getCompiledRules(typeId);
+            dictCore.markSavedState();
+            long version = decMan.getGenerationVersion(typeId);
+            
+            decMan.deleteConjugationGenRules(typeId, "no such combined ID");
+            
+            assertFalse(dictCore.hasChanged());
+            assertEquals(version, decMan.getGenerationVersion(typeId));
+        } catch (Exception e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, "testDeleteNoRulesLeavesUnchanged");
+            fail(e);
+        }
+    }
+    
     private boolean allFormsPresent(ConjugationManager decMan, ConWord word, String[] forms) throws Exception {
         boolean ret = true;
         
@@ -30,6 +30,7 @@ import org.darisadesigns.polyglotlina.Desktop.DesktopIOHandler;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.Nodes.ConWord;
 import org.darisadesigns.polyglotlina.Nodes.ConjugationGenRule;
+import org.darisadesigns.polyglotlina.Nodes.ConjugationPair;
 import org.darisadesigns.polyglotlina.Nodes.TypeNode;
 import org.darisadesigns.polyglotlina.PGTUtil;
 import static org.junit.jupiter.api.Assertions.*;
@@ -399,7 +400,7 @@ public class DeclensionManagerTest {
         word.setCore(debugCore);
         
         try {
-            debugCore.getConjugationManager().declineWord(word, ",2,");
+            debugCore.getConjugationManager().declineWord(word, ",2,", true);
 
             String result = "";
 
@@ -456,7 +457,7 @@ public class DeclensionManagerTest {
         word.setClassValue(2, 0); // class val #1
         
         try {
-            debugCore.getConjugationManager().declineWord(word, ",2,");
+            debugCore.getConjugationManager().declineWord(word, ",2,", true);
 
             String result = "";
 
@@ -513,7 +514,7 @@ public class DeclensionManagerTest {
         word.setClassValue(2, 2); // class val #2
         
         try {
-            debugCore.getConjugationManager().declineWord(word, ",2,");
+            debugCore.getConjugationManager().declineWord(word, ",2,", true);
 
             String result = "";
 
@@ -566,7 +567,7 @@ public class DeclensionManagerTest {
         word.setCore(debugCore);
         
         try {
-            debugCore.getConjugationManager().declineWord(word, ",3,");
+            debugCore.getConjugationManager().declineWord(word, ",3,", true);
 
             String result = "";
 
@@ -624,7 +625,7 @@ public class DeclensionManagerTest {
         word.setCore(debugCore);
         
         try {
-            debugCore.getConjugationManager().declineWord(word, ",3,");
+            debugCore.getConjugationManager().declineWord(word, ",3,", true);
 
             String result = "";
 
@@ -951,4 +952,85 @@ public class DeclensionManagerTest {
             fail(e);
         }
     }
+    
+    @Test
+    public void testCompiledRulesMatchDebugRules() {
+        System.out.println("DeclensionManagerTest.testCompiledRulesMatchDebugRules");
+        
+        DictCore debugCore = DummyCore.newCore();
+        
+        try {
+            debugCore.readFile(PGTUtil.TESTRESOURCES + "test_conj_debug.pgd");
+            ConjugationManager decMan = debugCore.getConjugationManager();
+            ConWord word = new ConWord();
+            word.setValue("hi");
+            word.setWordTypeId(2);
+            word.setCore(debugCore);
+            
+            assertFormsMatch(decMan, word);
+            word.setClassValue(2, 0);
+            assertFormsMatch(decMan, word);
+            word.setClassValue(2, 1);
+            assertFormsMatch(decMan, word);
+            
+            // edit transform in place, bypassing rule setters
+            ConjugationGenRule rule = decMan.getConjugationRulesForType(2)[0];
+            rule.getTransforms()[0].replaceText = "EDITED";
+            assertFormsMatch(decMan, word);
+            assertTrue(decMan.declineWord(word, rule.getCombinationId()).contains("EDITED"));
+        } catch (Exception e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, e.getLocalizedMessage());
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testRuleEditsScopedToManager() {
+        System.out.println("DeclensionManagerTest.testRuleEditsScopedToManager");
+        
+        DictCore editedCore = DummyCore.newCore();
+        DictCore otherCore = DummyCore.newCore();
+        
+        try {
+            editedCore.readFile(PGTUtil.TESTRESOURCES + "test_conj_debug.pgd");
+            otherCore.readFile(PGTUtil.TESTRESOURCES + "test_conj_debug.pgd");
+            ConjugationManager editedMan = editedCore.getConjugationManager();
+            ConjugationManager otherMan = otherCore.getConjugationManager();
+            ConWord editedWord = new ConWord();
+            editedWord.setValue("hi");
+            editedWord.setWordTypeId(2);
+            editedWord.setCore(editedCore);
+            ConWord otherWord = new ConWord();
+            otherWord.setValue("hi");
+            otherWord.setWordTypeId(2);
+            otherWord.setCore(otherCore);
+            
+            ConjugationGenRule rule = editedMan.getConjugationRulesForType(2)[0];
+            String combinedId = rule.getCombinationId();
+            String original = otherMan.declineWord(otherWord, combinedId);
+            assertEquals(original, editedMan.declineWord(editedWord, combinedId));
+            
+            // debug breakdown is left alone by declensions not asking for it
+            editedMan.declineWord(editedWord, combinedId, true);
+            String[] breakdown = editedMan.getDecGenDebug();
+            otherMan.declineWord(otherWord, combinedId);
+            editedMan.declineWord(editedWord, combinedId);
+            assertArrayEquals(breakdown, editedMan.getDecGenDebug());
+            
+            rule.setRegex("^nomatch$");
+            assertFormsMatch(editedMan, editedWord);
+            assertFormsMatch(otherMan, otherWord);
+            assertEquals(original, otherMan.declineWord(otherWord, combinedId));
+        } catch (Exception e) {
+            DesktopIOHandler.getInstance().writeErrorLog(e, e.getLocalizedMessage());
+            fail(e);
+        }
+    }
+    
+    private static void assertFormsMatch(ConjugationManager decMan, ConWord word) throws Exception {
+        for (ConjugationPair pair : decMan.getAllCombinedIds(word.getWordTypeId())) {
+            assertEquals(decMan.declineWord(word, pair.combinedId, true), 
+                    decMan.declineWord(word, pair.combinedId));
+        }
+    }
 }
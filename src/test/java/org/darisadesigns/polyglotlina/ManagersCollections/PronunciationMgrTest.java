@@ -508,4 +508,116 @@ public class PronunciationMgrTest {
             fail (e);
         }
     }
+    
+    @Test
+    public void testUnmatchableLongWordCompletes() {
+        System.out.println("PronunciationMgtTest.testUnmatchableLongWordCompletes");
+        
+        String testVal = "a".repeat(200) + "b";
+        
+        DictCore core = DummyCore.newCore();
+        core.getPropertiesManager().setDisableProcRegex(false); // enable regex
+        PronunciationMgr procMan = core.getPronunciationMgr();
+        procMan.setRecurse(false); // disable recursion
+        procMan.addPronunciation(new PronunciationNode("a", "A"));
+        procMan.addPronunciation(new PronunciationNode("aa", "X"));
+        procMan.addPronunciation(new PronunciationNode("a+c", "Y"));
+        
+        try {
+            assertEquals("", procMan.getPronunciation(testVal));
+            assertEquals("AAA", procMan.getPronunciation("aaa"));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testInPlaceNodeEditReflected() {
+        System.out.println("PronunciationMgtTest.testInPlaceNodeEditReflected");
+        
+        DictCore core = DummyCore.newCore();
+        core.getPropertiesManager().setDisableProcRegex(false); // enable regex
+        PronunciationMgr procMan = core.getPronunciationMgr();
+        procMan.setRecurse(false); // disable recursion
+        PronunciationNode nodeA = new PronunciationNode("a", "A");
+        procMan.addPronunciation(nodeA);
+        procMan.addPronunciation(new PronunciationNode("b", "B"));
+        
+        try {
+            assertEquals("AB", procMan.getPronunciation("ab"));
+            
+            // nodes are edited in place by the UI
+            nodeA.setPronunciation("Q");
+            assertEquals("QB", procMan.getPronunciation("ab"));
+            
+            nodeA.setValue("b.");
+            assertEquals("", procMan.getPronunciation("ab"));
+            assertEquals("Q", procMan.getPronunciation("ba"));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testResultCacheHitsAndFlushes() {
+        System.out.println("PronunciationMgrTest.testResultCacheHitsAndFlushes");
+        
+        DictCore core = DummyCore.newCore();
+        core.getPropertiesManager().setDisableProcRegex(false); // enable regex
+        PronunciationMgr procMan = core.getPronunciationMgr();
+        procMan.setRecurse(false); // disable recursion
+        PronunciationNode nodeA = new PronunciationNode("a", "A");
+        procMan.addPronunciation(nodeA);
+        procMan.addPronunciation(new PronunciationNode("b", "B"));
+        
+        try {
+            assertEquals("AB", procMan.getPronunciation("ab"));
+            assertEquals("AB", procMan.getPronunciation("ab"));
+            assertEquals(1, procMan.getCacheHitCount());
+            assertEquals(1, procMan.getCacheMissCount());
+            
+            // returned elements must not alter cached values
+            procMan.getPronunciationElements("ab")[0].setPronunciation("Z");
+            assertEquals("A", procMan.getPronunciationElements("ab")[0].getPronunciation());
+            
+            nodeA.setPronunciation("Q");
+            assertEquals("QB", procMan.getPronunciation("ab"));
+            
+            procMan.addSyllable("a");
+            procMan.addSyllable("b");
+            procMan.setSyllableCompositionEnabled(true);
+            assertEquals("Q˙B", procMan.getPronunciation("ab"));
+            
+            core.getPropertiesManager().setIgnoreCase(true);
+            procMan.getPronunciation("ba");
+            assertEquals(1, procMan.getCacheSize());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testRulesVersionBumpedOnChange() {
+        System.out.println("PronunciationMgrTest.testRulesVersionBumpedOnChange");
+        
+        DictCore core = DummyCore.newCore();
+        PronunciationMgr procMan = core.getPronunciationMgr();
+        PronunciationNode nodeA = new PronunciationNode("a", "A");
+        procMan.addPronunciation(nodeA);
+        
+        long version = procMan.getRulesVersion();
+        assertEquals(version, procMan.getRulesVersion());
+        
+        // edited in place, without going through the manager
+        nodeA.setPronunciation("Q");
+        assertTrue(procMan.getRulesVersion() > version);
+        
+        version = procMan.getRulesVersion();
+        procMan.addSyllable("a");
+        assertTrue(procMan.getRulesVersion() > version);
+        
+        version = procMan.getRulesVersion();
+        core.getPropertiesManager().setIgnoreCase(!core.getPropertiesManager().isIgnoreCase());
+        assertTrue(procMan.getRulesVersion() > version);
+    }
 }
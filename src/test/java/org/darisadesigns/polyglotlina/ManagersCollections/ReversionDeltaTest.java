@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.ManagersCollections;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class ReversionDeltaTest {
+    
+    @Test
+    public void testRoundTrip() {
+        System.out.println("ReversionDeltaTest.testRoundTrip");
+        
+        StringBuilder baseXml = new StringBuilder("<dictionary><lexicon>");
+        for (int i = 0; i < 1000; i++) {
+            baseXml.append("<word><wordId>").append(i).append("</wordId><conWord>word").append(i).append("</conWord></word>");
+        }
+        baseXml.append("</lexicon></dictionary>");
+        
+        String targetXml = baseXml.toString()
+                .replace("<conWord>word500</conWord>", "<conWord>changed</conWord>")
+                .replace("<word><wordId>10</wordId><conWord>word10</conWord></word>", "");
+        byte[] base = baseXml.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] target = targetXml.getBytes(StandardCharsets.UTF_8);
+        Instant saveTime = Instant.parse("2024-01-02T03:04:05.678Z");
+        
+        try {
+            byte[] delta = ReversionDelta.encode(base, target, saveTime);
+            
+            assertTrue(delta.length < target.length / 20);
+            assertArrayEquals(target, ReversionDelta.apply(base, delta));
+            assertEquals(saveTime, ReversionDelta.getSaveTime(delta));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testUnrelatedAndEmptyStates() {
+        System.out.println("ReversionDeltaTest.testUnrelatedAndEmptyStates");
+        
+        byte[][] states = {
+            new byte[0],
+            {1, 2, 3, 4},
+            "<a><b>text</b></a>".getBytes(StandardCharsets.UTF_8),
+            "line one\nline two\n".getBytes(StandardCharsets.UTF_8)
+        };
+        
+        try {
+            for (byte[] base : states) {
+                for (byte[] target : states) {
+                    assertArrayEquals(target, ReversionDelta.apply(base, ReversionDelta.encode(base, target, Instant.MIN)));
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testWrongBaseRejected() {
+        System.out.println("ReversionDeltaTest.testWrongBaseRejected");
+        
+        byte[] base = "<a><b>one</b><b>two</b><b>three</b><b>four</b></a>".getBytes(StandardCharsets.UTF_8);
+        byte[] target = "<a><b>one</b><b>two</b><b>3</b><b>four</b></a>".getBytes(StandardCharsets.UTF_8);
+        byte[] otherBase = "<a><b>uno</b><b>dos</b><b>tres</b><b>cuatro</b></a>".getBytes(StandardCharsets.UTF_8);
+        byte[] delta = ReversionDelta.encode(base, target, Instant.now());
+        
+        assertThrows(IOException.class, () -> ReversionDelta.apply(otherBase, delta));
+        assertThrows(IOException.class, () -> ReversionDelta.apply(base, target));
+    }
+}
@@ -20,8 +20,11 @@
 package org.darisadesigns.polyglotlina.ManagersCollections;
 
 import TestResources.DummyCore;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.Nodes.ReversionNode;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,4 +62,45 @@ public class ReversionManagerTest {
         assertEquals(expectedCount, result);
     }
     
+    @Test
+    public void testOlderVersionsStoredAsDeltas() {
+        System.out.println("ReversionManagerTest.testOlderVersionsStoredAsDeltas");
+        
+        DictCore core = DummyCore.newCore();
+        ReversionManager revMan = core.getReversionManager();
+        revMan.setMaxReversionCount(30);
+        Instant saveTime = Instant.parse("2024-01-01T00:00:00Z");
+        byte[][] versions = new byte[25][];
+        
+        for (int i = 0; i < versions.length; i++) {
+            StringBuilder xml = new StringBuilder("<dictionary><lexicon>");
+            for (int j = 0; j < 200; j++) {
+                xml.append("<word><wordId>").append(j).append("</wordId><value>")
+                        .append(j == i ? "edited" : "word" + j).append("</value></word>");
+            }
+            xml.append("</lexicon></dictionary>");
+            
+            versions[i] = xml.toString().getBytes(StandardCharsets.UTF_8);
+            revMan.addVersion(versions[i], saveTime.plusSeconds(i));
+        }
+        
+        ReversionNode[] nodes = revMan.getReversionList();
+        assertEquals(versions.length, nodes.length);
+        assertFalse(nodes[0].isDelta());
+        
+        try {
+            int chain = 0;
+            for (int i = 0; i < nodes.length; i++) {
+                chain = nodes[i].isDelta() ? chain + 1 : 0;
+                
+                assertTrue(chain < 10);
+                assertArrayEquals(versions[versions.length - 1 - i], nodes[i].getValue());
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        
+        assertTrue(nodes[1].isDelta());
+        assertSame(nodes[0], nodes[1].getBase());
+    }
 }
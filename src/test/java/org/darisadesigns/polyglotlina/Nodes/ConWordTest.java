@@ -21,23 +21,14 @@ package org.darisadesigns.polyglotlina.Nodes;
 
 import TestResources.DummyCore;
 import TestResources.TestResources;
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 import org.darisadesigns.polyglotlina.CustomControls.PAlphaMap;
 import org.darisadesigns.polyglotlina.DictCore;
 import org.darisadesigns.polyglotlina.ManagersCollections.ConWordCollection;
-import org.darisadesigns.polyglotlina.PGTUtil;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
@@ -259,6 +250,51 @@ public class ConWordTest {
         assertEquals(orderMe.get(0), before);
     }
 
+    @Test
+    public void testCompareToMultigraph() {
+        System.out.println("ConWordTest.testCompareToMultigraph");
+        
+        PAlphaMap<String, Integer> alphaOrder = new PAlphaMap<>();
+        alphaOrder.put("a", 0);
+        alphaOrder.put("c", 1);
+        alphaOrder.put("ch", 2);
+        alphaOrder.put("h", 3);
+        
+        ConWordCollection collection = new ConWordCollection(core);
+        collection.setAlphaOrder(alphaOrder);
+        
+        ConWord cha = new ConWord();
+        ConWord cah = new ConWord();
+        ConWord ca = new ConWord();
+        cha.setParent(collection);
+        cah.setParent(collection);
+        ca.setParent(collection);
+        
+        cha.setValue("cha");
+        cah.setValue("cah");
+        ca.setValue("ca");
+        
+        List<ConWord> orderMe = Arrays.asList(cha, cah, ca);
+        Collections.sort(orderMe);
+        
+        assertEquals(ca, orderMe.get(0));
+        assertEquals(cah, orderMe.get(1));
+        assertEquals(cha, orderMe.get(2));
+        
+        // changing alphabet must invalidate cached keys
+        alphaOrder.put("ch", 0);
+        alphaOrder.put("a", 2);
+        Collections.sort(orderMe);
+        
+        assertEquals(cha, orderMe.get(0));
+        
+        // changing value must invalidate cached key
+        cha.setValue("h");
+        Collections.sort(orderMe);
+        
+        assertEquals(cha, orderMe.get(2));
+    }
+
     @Test
     public void testWriteXML() {
         System.out.println("ConWordTest.testWriteXML");
@@ -285,15 +321,8 @@ public class ConWordTest {
                 + "</word></dictionary>";
 
         try {
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-            doc.appendChild(rootElement);
-
-            word.writeXML(doc, rootElement);
-            assertTrue(TestResources.textXmlDocEquals(doc, expectedValue));
-        } catch (IOException | ParserConfigurationException | TransformerException | DOMException e) {
+            assertTrue(TestResources.textXmlStreamEquals(writer -> word.writeXML(writer), expectedValue));
+        } catch (Exception e) {
             fail(e);
         }
     }
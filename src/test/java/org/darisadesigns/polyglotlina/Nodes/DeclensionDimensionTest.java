@@ -20,15 +20,7 @@
 package org.darisadesigns.polyglotlina.Nodes;
 
 import TestResources.TestResources;
-import java.io.IOException;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import org.darisadesigns.polyglotlina.PGTUtil;
 import org.junit.jupiter.api.Test;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -63,18 +55,11 @@ public class DeclensionDimensionTest {
                 + "</dimensionNode></dictionary>";
         
         try {
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-            doc.appendChild(rootElement);
-            
             ConjugationDimension testDim = new ConjugationDimension();
             testDim.setValue("TESTVAL");
-            testDim.writeXML(doc, rootElement);
         
-            assertTrue(TestResources.textXmlDocEquals(doc, expectedValue));
-        } catch (IOException | TransformerException |ParserConfigurationException e) {
+            assertTrue(TestResources.textXmlStreamEquals(writer -> testDim.writeXML(writer), expectedValue));
+        } catch (Exception e) {
             fail(e);
         }
     }
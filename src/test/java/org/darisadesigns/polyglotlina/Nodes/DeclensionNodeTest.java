@@ -21,14 +21,9 @@ package org.darisadesigns.polyglotlina.Nodes;
 
 import TestResources.DummyCore;
 import TestResources.TestResources;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import org.darisadesigns.polyglotlina.DictCore;
-import org.darisadesigns.polyglotlina.PGTUtil;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
@@ -194,15 +189,9 @@ public class DeclensionNodeTest {
         
         try {
             testNode.insertBuffer();
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-            doc.appendChild(rootElement);
 
-            testNode.writeXMLTemplate(doc, rootElement, relatedId);
-            
-            assertTrue(TestResources.textXmlDocEquals(doc, expectedXml));
+            assertTrue(TestResources.textXmlStreamEquals(
+                    writer -> testNode.writeXMLTemplate(writer, relatedId), expectedXml));
         } catch (Exception e) {
             fail(e);
         }
@@ -234,15 +223,9 @@ public class DeclensionNodeTest {
         
         try {
             testNode.insertBuffer();
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-            doc.appendChild(rootElement);
 
-            testNode.writeXMLTemplate(doc, rootElement, relatedId);
-            
-            assertTrue(TestResources.textXmlDocEquals(doc, expectedXml));
+            assertTrue(TestResources.textXmlStreamEquals(
+                    writer -> testNode.writeXMLTemplate(writer, relatedId), expectedXml));
         } catch (Exception e) {
             fail(e);
         }
@@ -21,17 +21,8 @@ package org.darisadesigns.polyglotlina.Nodes;
 
 import TestResources.DummyCore;
 import TestResources.TestResources;
-import java.io.IOException;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import org.darisadesigns.polyglotlina.PGTUtil;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 /**
  *
@@ -112,16 +103,8 @@ public class LogoNodeTest {
                 + "</LogoGraphNode></dictionary>";
         
         try {
-            DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-            Document doc = docBuilder.newDocument();
-            Element rootElement = doc.createElement(PGTUtil.DICTIONARY_XID);
-            doc.appendChild(rootElement);
-            
-            logoTest.writeXML(doc, rootElement);
-        
-            assertTrue(TestResources.textXmlDocEquals(doc, expectedValue));
-        } catch (IOException | ParserConfigurationException | TransformerException | DOMException e) {
+            assertTrue(TestResources.textXmlStreamEquals(writer -> logoTest.writeXML(writer), expectedValue));
+        } catch (Exception e) {
             fail(e);
         }
     }
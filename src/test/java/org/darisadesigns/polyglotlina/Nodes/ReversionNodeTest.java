@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Nodes;
+
+import TestResources.DummyCore;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.darisadesigns.polyglotlina.DictCore;
+import org.darisadesigns.polyglotlina.ManagersCollections.ReversionDelta;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class ReversionNodeTest {
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><dictionary>"
+            + "<PolyGlotVer>3.0</PolyGlotVer><DictSaveDate>2024-05-06T07:08:09Z</DictSaveDate>"
+            + "<lexicon><word><wordId>1</wordId></word></lexicon></dictionary>";
+    
+    @Test
+    public void testReadSaveTime() {
+        System.out.println("ReversionNodeTest.testReadSaveTime");
+        
+        try {
+            assertEquals(Instant.parse("2024-05-06T07:08:09Z"),
+                    ReversionNode.readSaveTime(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8))));
+            assertEquals(Instant.MIN,
+                    ReversionNode.readSaveTime(new ByteArrayInputStream("<dictionary/>".getBytes(StandardCharsets.UTF_8))));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    @Test
+    public void testPayloadReadOnlyOnRequest() {
+        System.out.println("ReversionNodeTest.testPayloadReadOnlyOnRequest");
+        
+        DictCore core = DummyCore.newCore();
+        byte[] newer = XML.getBytes(StandardCharsets.UTF_8);
+        byte[] older = XML.replace("<wordId>1</wordId>", "<wordId>2</wordId>").getBytes(StandardCharsets.UTF_8);
+        byte[] delta = ReversionDelta.encode(newer, older, Instant.EPOCH);
+        AtomicInteger reads = new AtomicInteger();
+        
+        ReversionNode full = new ReversionNode(() -> {
+            reads.incrementAndGet();
+            return newer;
+        }, null, Instant.now(), core);
+        ReversionNode deltaNode = new ReversionNode(() -> {
+            reads.incrementAndGet();
+            return delta;
+        }, full, Instant.EPOCH, core);
+        
+        assertEquals(0, reads.get());
+        assertFalse(full.isDelta());
+        assertTrue(deltaNode.isDelta());
+        
+        try {
+            assertArrayEquals(older, deltaNode.getValue());
+            assertEquals(2, reads.get());
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+}
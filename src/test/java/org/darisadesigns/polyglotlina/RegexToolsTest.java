@@ -50,6 +50,15 @@ public class RegexToolsTest {
         assertFalse(RegexTools.isRegexLegal("?\\@"));
     }
     
+    @Test
+    public void testContainsRegexSyntax() {
+        assertTrue(RegexTools.containsRegexSyntax("b.d"));
+        assertTrue(RegexTools.containsRegexSyntax("^a"));
+        assertTrue(RegexTools.containsRegexSyntax("r|t"));
+        assertFalse(RegexTools.containsRegexSyntax("plain text"));
+        assertFalse(RegexTools.containsRegexSyntax("#002: YOU"));
+    }
+    
     @Test
     public void deleteMe() {
         for (String word : "hi, , you".split(",")) {
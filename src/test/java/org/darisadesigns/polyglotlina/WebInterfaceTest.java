@@ -19,6 +19,11 @@
  */
 package org.darisadesigns.polyglotlina;
 
+import TestResources.DummyCore;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,4 +62,30 @@ public class WebInterfaceTest {
         assertEquals(expectedResult, result);
     }
     
+    @Test
+    public void testUnarchiveArchiveRoundTrip() {
+        DictCore core = DummyCore.newCore();
+        String archived = "<html><body>a <img src=\"3\"> b <img src=\"12\"></body></html>";
+        
+        String display = WebInterface.unarchiveHTML(archived);
+        
+        assertFalse(display.contains("<img src=\"3\">"));
+        assertTrue(display.contains(WebInterface.getImageDisplayUrl(12)));
+        assertEquals(archived, WebInterface.archiveHTML(display, core));
+        assertEquals(archived, WebInterface.archiveHTML(archived, core));
+    }
+    
+    @Test
+    public void testImageIdFromDisplayUrl() {
+        try {
+            URL url = new URI(WebInterface.getImageDisplayUrl(42)).toURL();
+            
+            assertEquals(Integer.valueOf(42), WebInterface.getImageIdFromDisplayUrl(WebInterface.getImageDisplayUrl(42)));
+            assertEquals(Integer.valueOf(42), WebInterface.getImageIdFromDisplayUrl(url.toString()));
+            assertNull(WebInterface.getImageIdFromDisplayUrl("file:///tmp/42_polyGlotImage.png"));
+            assertNull(WebInterface.getImageIdFromDisplayUrl("https://example.com/image.png"));
+        } catch (MalformedURLException | URISyntaxException e) {
+            fail(e);
+        }
+    }
 }
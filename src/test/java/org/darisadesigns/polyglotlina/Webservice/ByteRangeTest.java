@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class ByteRangeTest {
+    
+    @Test
+    public void testClosedAndOpenRanges() {
+        System.out.println("ByteRangeTest.testClosedAndOpenRanges");
+        
+        var closed = ByteRange.parse("bytes=0-99", 1000);
+        assertEquals(0L, closed.getStart());
+        assertEquals(100L, closed.getLength());
+        assertEquals("bytes 0-99/1000", closed.toContentRange(1000));
+        
+        var open = ByteRange.parse("bytes=900-", 1000);
+        assertEquals(900L, open.getStart());
+        assertEquals(100L, open.getLength());
+        
+        // end past content is clamped
+        var clamped = ByteRange.parse("bytes=990-5000", 1000);
+        assertEquals("bytes 990-999/1000", clamped.toContentRange(1000));
+    }
+    
+    @Test
+    public void testSuffixRange() {
+        System.out.println("ByteRangeTest.testSuffixRange");
+        
+        var suffix = ByteRange.parse("bytes=-10", 1000);
+        assertEquals(990L, suffix.getStart());
+        assertEquals(10L, suffix.getLength());
+        
+        var wholeFile = ByteRange.parse("bytes=-5000", 1000);
+        assertEquals(0L, wholeFile.getStart());
+        assertEquals(1000L, wholeFile.getLength());
+    }
+    
+    @Test
+    public void testUnsatisfiable() {
+        System.out.println("ByteRangeTest.testUnsatisfiable");
+        
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+        assertEquals("bytes */1000", ByteRange.UNSATISFIABLE.toContentRange(1000));
+    }
+    
+    @Test
+    public void testIgnoredRanges() {
+        System.out.println("ByteRangeTest.testIgnoredRanges");
+        
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-5", 1000));
+        assertNull(ByteRange.parse("bytes=0-5,10-20", 1000));
+        assertNull(ByteRange.parse("bytes=50-10", 1000));
+        assertNull(ByteRange.parse("bytes=abc-", 1000));
+    }
+}
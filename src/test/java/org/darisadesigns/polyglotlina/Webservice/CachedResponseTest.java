@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class CachedResponseTest {
+    
+    private static final Instant MODIFIED = Instant.parse("2026-03-01T10:15:30.500Z");
+    
+    @Test
+    public void testETagStrongAndStable() {
+        System.out.println("CachedResponseTest.testETagStrongAndStable");
+        
+        var first = new CachedResponse("<xml/>", "text/plain", MODIFIED);
+        var second = new CachedResponse("<xml/>", "text/plain", Instant.now());
+        var different = new CachedResponse("<xml />", "text/plain", MODIFIED);
+        
+        assertTrue(first.getETag().startsWith("\""));
+        assertTrue(first.getETag().endsWith("\""));
+        assertEquals(first.getETag(), second.getETag());
+        assertNotEquals(first.getETag(), different.getETag());
+    }
+    
+    @Test
+    public void testIfNoneMatch() {
+        System.out.println("CachedResponseTest.testIfNoneMatch");
+        
+        var response = new CachedResponse("content", "text/plain", MODIFIED);
+        var eTag = response.getETag();
+        
+        assertTrue(response.isNotModified(eTag, null));
+        assertTrue(response.isNotModified("\"other\", " + eTag, null));
+        assertTrue(response.isNotModified("W/" + eTag, null));
+        assertTrue(response.isNotModified("*", null));
+        assertFalse(response.isNotModified("\"other\"", null));
+        assertFalse(response.isNotModified(null, null));
+        
+        // If-None-Match wins over If-Modified-Since
+        assertFalse(response.isNotModified("\"other\"", response.getLastModifiedHeader()));
+    }
+    
+    @Test
+    public void testIfModifiedSince() {
+        System.out.println("CachedResponseTest.testIfModifiedSince");
+        
+        var response = new CachedResponse("content", "text/plain", MODIFIED);
+        
+        assertEquals("Sun, 01 Mar 2026 10:15:30 GMT", response.getLastModifiedHeader());
+        assertTrue(response.isNotModified(null, response.getLastModifiedHeader()));
+        assertTrue(response.isNotModified(null, "Mon, 2 Mar 2026 00:00:00 GMT"));
+        assertTrue(response.isNotModified(null, "Mon, 02 Mar 2026 00:00:00 GMT"));
+        assertFalse(response.isNotModified(null, "Sat, 28 Feb 2026 00:00:00 GMT"));
+        assertFalse(response.isNotModified(null, "not a date"));
+    }
+    
+    @Test
+    public void testResponseCacheKeys() {
+        System.out.println("CachedResponseTest.testResponseCacheKeys");
+        
+        var cache = new ResponseCache();
+        var image = new CachedResponse(new byte[]{1, 2, 3}, "image/png", MODIFIED);
+        var metadata = new CachedResponse("{}", "application/json", MODIFIED);
+        
+        cache.put(WebService.GET_IMAGE, "lang.pgd", 4, image);
+        cache.put(WebService.GET_METADATA, "lang.pgd", metadata);
+        
+        assertSame(image, cache.get(WebService.GET_IMAGE, "lang.pgd", 4));
+        assertSame(metadata, cache.get(WebService.GET_METADATA, "lang.pgd"));
+        assertNull(cache.get(WebService.GET_IMAGE, "lang.pgd", 5));
+        assertNull(cache.get(WebService.GET_IMAGE, "other.pgd", 4));
+        assertEquals(2, cache.size());
+    }
+    
+    @Test
+    public void testSelectEncoding() {
+        System.out.println("CachedResponseTest.testSelectEncoding");
+        
+        var text = new CachedResponse("<dictionary>" + "word ".repeat(200) + "</dictionary>", "text/plain", MODIFIED);
+        var image = new CachedResponse(new byte[512], "image/png", MODIFIED);
+        
+        assertTrue(text.hasEncodings());
+        assertFalse(image.hasEncodings());
+        assertEquals(CachedResponse.GZIP, text.selectEncoding("gzip, deflate, br"));
+        assertEquals(CachedResponse.DEFLATE, text.selectEncoding("gzip;q=0.5, deflate"));
+        assertEquals(CachedResponse.GZIP, text.selectEncoding("x-gzip"));
+        assertEquals(CachedResponse.GZIP, text.selectEncoding("*"));
+        assertNull(text.selectEncoding("gzip;q=0, deflate;q=0"));
+        assertNull(text.selectEncoding("br"));
+        assertNull(text.selectEncoding(null));
+        assertNull(image.selectEncoding("gzip"));
+    }
+    
+    @Test
+    public void testEncodedBodies() throws IOException {
+        System.out.println("CachedResponseTest.testEncodedBodies");
+        
+        var source = "<dictionary>" + "word ".repeat(200) + "</dictionary>";
+        var text = new CachedResponse(source, "text/plain", MODIFIED);
+        byte[] gzip = text.getBody(CachedResponse.GZIP);
+        byte[] deflate = text.getBody(CachedResponse.DEFLATE);
+        
+        assertTrue(gzip.length < text.getBody().length);
+        assertTrue(deflate.length < text.getBody().length);
+        assertSame(text.getBody(), text.getBody(null));
+        assertEquals(source, new String(new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes(), "UTF-8"));
+        assertEquals(source, new String(new InflaterInputStream(new ByteArrayInputStream(deflate)).readAllBytes(), "UTF-8"));
+    }
+    
+    @Test
+    public void testEncodedETags() {
+        System.out.println("CachedResponseTest.testEncodedETags");
+        
+        var text = new CachedResponse("<dictionary>" + "word ".repeat(200) + "</dictionary>", "text/plain", MODIFIED);
+        String gzipTag = text.getETag(CachedResponse.GZIP);
+        
+        assertNotEquals(text.getETag(), gzipTag);
+        assertNotEquals(gzipTag, text.getETag(CachedResponse.DEFLATE));
+        assertTrue(gzipTag.startsWith("\"") && gzipTag.endsWith("\""));
+        assertTrue(text.isNotModified(gzipTag, null));
+        assertTrue(text.isNotModified(text.getETag(), null));
+        assertFalse(text.isNotModified("\"other-gzip\"", null));
+    }
+}
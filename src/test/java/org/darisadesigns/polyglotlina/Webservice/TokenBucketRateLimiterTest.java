@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Draque Thompson, draquemail@gmail.com
+ * All rights reserved.
+ *
+ * Licensed under: MIT License
+ * See LICENSE.TXT included with this code to read the full license agreement.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.darisadesigns.polyglotlina.Webservice;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author draque
+ */
+public class TokenBucketRateLimiterTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    public void testBurstThenRefill() {
+        System.out.println("TokenBucketRateLimiterTest.testBurstThenRefill");
+        
+        var clock = new AtomicLong(Long.MAX_VALUE - SECOND); // spans nano time wrapping
+        var limiter = new TokenBucketRateLimiter(3, 2, clock::get);
+        
+        assertTrue(limiter.tryConsume());
+        assertTrue(limiter.tryConsume());
+        assertTrue(limiter.tryConsume());
+        assertFalse(limiter.tryConsume());
+        
+        clock.addAndGet(SECOND / 2);
+        assertTrue(limiter.tryConsume());
+        assertFalse(limiter.tryConsume());
+        
+        // refill never exceeds capacity
+        clock.addAndGet(SECOND * 10);
+        assertTrue(limiter.tryConsume());
+        assertTrue(limiter.tryConsume());
+        assertTrue(limiter.tryConsume());
+        assertFalse(limiter.tryConsume());
+        assertEquals(3L, limiter.getRejectedCount());
+    }
+    
+    @Test
+    public void testNoRefill() {
+        System.out.println("TokenBucketRateLimiterTest.testNoRefill");
+        
+        var clock = new AtomicLong();
+        var limiter = new TokenBucketRateLimiter(2, 0, clock::get);
+        var empty = new TokenBucketRateLimiter(0, 5, clock::get);
+        
+        assertTrue(limiter.tryConsume());
+        assertTrue(limiter.tryConsume());
+        clock.addAndGet(SECOND * 3600);
+        assertFalse(limiter.tryConsume());
+        assertFalse(empty.tryConsume());
+    }
+    
+    @Test
+    public void testIdleFor() {
+        System.out.println("TokenBucketRateLimiterTest.testIdleFor");
+        
+        var clock = new AtomicLong();
+        var limiter = new TokenBucketRateLimiter(2, 1, clock::get);
+        
+        assertTrue(limiter.isIdleFor(0));
+        limiter.tryConsume();
+        limiter.tryConsume();
+        assertFalse(limiter.isIdleFor(0));
+        
+        // full again after two seconds, idle for one more after that
+        clock.addAndGet(SECOND * 2);
+        assertTrue(limiter.isIdleFor(0));
+        assertFalse(limiter.isIdleFor(SECOND));
+        clock.addAndGet(SECOND);
+        assertTrue(limiter.isIdleFor(SECOND));
+    }
+    
+    @Test
+    public void testConcurrentConsumeNeverOverspends() throws InterruptedException {
+        System.out.println("TokenBucketRateLimiterTest.testConcurrentConsumeNeverOverspends");
+        
+        var clock = new AtomicLong();
+        var limiter = new TokenBucketRateLimiter(1000, 1, clock::get);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var threads = new Thread[8];
+        
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                
+                for (int j = 0; j < 500; j++) {
+                    if (limiter.tryConsume()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        
+        start.countDown();
+        
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(1000, granted.get());
+        assertEquals(3000L, limiter.getRejectedCount());
+    }
+}